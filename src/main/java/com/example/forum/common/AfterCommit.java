@@ -0,0 +1,28 @@
+package com.example.forum.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers a side effect on in-memory state (rankings, search indexes) until the surrounding transaction commits,
+ * so a rollback never leaves it describing rows that do not exist. Rolled-back work is simply dropped.
+ * Without an active transaction the action runs immediately.
+ * Anything the action needs from entities must be read before deferring; lazy associations may be gone by then.
+ */
+public class AfterCommit {
+
+    public static void run(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.forum.common;
+
+import com.example.forum.exception.common.InvalidCursorException;
+import com.example.forum.model.post.Post;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Seek position inside the home feed.
+ * Holds the sort keys of the last row a client has seen so the next page can
+ * continue with a (like_count, created_at, id) predicate instead of OFFSET.
+ */
+public record FeedCursor(SortOrder sort, long likeCount, Instant createdAt, long id) {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    public static FeedCursor after(SortOrder sort, Post post) {
+        return new FeedCursor(sort, post.getLikeCount(), post.getCreatedAt(), post.getId());
+    }
+
+    public String encode() {
+
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                sort.name(),
+                Long.toString(likeCount),
+                createdAt.toString(),
+                Long.toString(id));
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * A cursor issued for another sort order is rejected because its keys would not line up.
+     */
+    public static FeedCursor decode(String token, SortOrder expectedSort) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+
+            if (parts.length != 5 || !VERSION.equals(parts[0]))
+                throw new InvalidCursorException();
+
+            SortOrder sort = SortOrder.valueOf(parts[1]);
+            if (sort != expectedSort)
+                throw new InvalidCursorException();
+
+            return new FeedCursor(
+                    sort,
+                    Long.parseLong(parts[2]),
+                    Instant.parse(parts[3]),
+                    Long.parseLong(parts[4])
+            );
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.forum.common;
+
+import com.example.forum.exception.common.InvalidCursorException;
+import com.example.forum.dto.notification.NotificationResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Seek position inside a notification inbox.
+ * Holds the (last_event_at, id) of the last row a client has seen; pages continue with
+ * a seek predicate on the receiver's index instead of OFFSET.
+ * n1 cursors (created_at based) are rejected; the client starts again from the first page.
+ */
+public record NotificationCursor(Instant lastEventAt, long id) {
+
+    private static final String VERSION = "n2";
+    private static final String SEPARATOR = "|";
+
+    public static NotificationCursor after(NotificationResponseDTO notification) {
+        return new NotificationCursor(notification.getLastEventAt(), notification.getNotificationId());
+    }
+
+    public String encode() {
+
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                lastEventAt.toString(),
+                Long.toString(id));
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     */
+    public static NotificationCursor decode(String token) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+
+            if (parts.length != 3 || !VERSION.equals(parts[0]))
+                throw new InvalidCursorException();
+
+            return new NotificationCursor(Instant.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
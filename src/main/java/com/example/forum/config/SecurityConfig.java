@@ -4,10 +4,13 @@ import com.example.forum.repository.user.UserRepository;
 import com.example.forum.security.CustomUserDetailsService;
 import com.example.forum.security.JwtAuthenticationFilter;
 import com.example.forum.security.JwtTokenProvider;
+import com.example.forum.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -29,6 +32,12 @@ public class SecurityConfig {
     @Value("${frontend.origins}")
     private List<String> frontendOrigins;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public UserDetailsService userDetailsService(UserRepository userRepository) {
         return new CustomUserDetailsService(userRepository);
@@ -41,6 +50,9 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Actuator answers only on its own management port (loopback by default), never on the public one
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).access((authentication, context) ->
+                                new AuthorizationDecision(isManagementPort(context.getRequest().getLocalPort())))
                         .requestMatchers("/api/auth/**", "/swagger-ui/**", "/v3/api-docs/**", "/ws-chat/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/**", "/api/communities/**", "/api/comments/**", "/api/search", "/api/trending/**", "/api/tags/**").permitAll()
                         .requestMatchers("/api/communities/**").authenticated()
@@ -56,8 +68,8 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
-                                                           UserDetailsService userDetailsService) {
-        return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+                                                           PrincipalCache principalCache) {
+        return new JwtAuthenticationFilter(jwtTokenProvider, principalCache);
     }
 
     @Bean
@@ -78,4 +90,8 @@ public class SecurityConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    private boolean isManagementPort(int localPort) {
+        return managementPort > 0 && managementPort != serverPort && localPort == managementPort;
+    }
 }
@@ -0,0 +1,26 @@
+package com.example.forum.config;
+
+import com.example.forum.service.messaging.RedisStompBroadcaster;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes this node to the STOMP relay channel when messaging.broker.mode=redis.
+ */
+@Configuration
+@ConditionalOnProperty(name = "messaging.broker.mode", havingValue = "redis")
+public class StompRelayConfig {
+
+    @Bean
+    public RedisMessageListenerContainer stompRelayListenerContainer(RedisConnectionFactory cf,
+                                                                     RedisStompBroadcaster broadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        container.addMessageListener(broadcaster, new ChannelTopic(broadcaster.getChannel()));
+        return container;
+    }
+}
@@ -1,4 +1,19 @@
 package com.example.forum.config;
 
-public class WebConfig {
+import com.example.forum.service.presence.PresenceHeartbeatInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final PresenceHeartbeatInterceptor presenceHeartbeatInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(presenceHeartbeatInterceptor).addPathPatterns("/api/**");
+    }
 }
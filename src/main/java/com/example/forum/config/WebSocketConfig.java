@@ -1,9 +1,16 @@
 package com.example.forum.config;
 
 import com.example.forum.security.JwtHandshakeInterceptor;
+import com.example.forum.security.UserIdHandshakeHandler;
+import com.example.forum.service.presence.PresenceHeartbeatInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -14,17 +21,39 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+    private final UserIdHandshakeHandler userIdHandshakeHandler;
+    private final PresenceHeartbeatInterceptor presenceHeartbeatInterceptor;
+
+    // STOMP heart-beats keep an idle but connected client online (see PresenceHeartbeatInterceptor)
+    private static final long[] HEARTBEAT_MILLIS = {25_000, 25_000};
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-chat")
                 .addInterceptors(jwtHandshakeInterceptor)
+                .setHandshakeHandler(userIdHandshakeHandler)
                 .setAllowedOriginPatterns("*");
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        // /topic: chat rooms, /queue: per-user pushes addressed through /user/queue/...
+        registry.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(HEARTBEAT_MILLIS)
+                .setTaskScheduler(messageBrokerTaskScheduler);
+        registry.setUserDestinationPrefix("/user");
         registry.setApplicationDestinationPrefixes("/app");
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(presenceHeartbeatInterceptor);
+    }
 }
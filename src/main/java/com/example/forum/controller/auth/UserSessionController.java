@@ -1,7 +1,7 @@
 package com.example.forum.controller.auth;
 
 import com.example.forum.security.CustomUserDetails;
-import com.example.forum.service.auth.RedisService;
+import com.example.forum.service.presence.PresenceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -14,13 +14,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/users")
 public class UserSessionController {
 
-    private final RedisService redisService;
+    private final PresenceService presenceService;
 
     @PostMapping("/ping")
     public ResponseEntity<Void> ping(@AuthenticationPrincipal CustomUserDetails userDetails) {
 
         Long userId = userDetails.getUser().getId();
-        redisService.markUserOnline(userId);
+        presenceService.heartbeat(userId);
         return ResponseEntity.ok().build();
     }
 }
@@ -2,7 +2,7 @@ package com.example.forum.controller.chat.api;
 
 import com.example.forum.controller.chat.docs.ChatApiDocs;
 import com.example.forum.dto.CommonResponse;
-import com.example.forum.dto.chat.ChatMessageDTO;
+import com.example.forum.dto.chat.ChatMessagePageDTO;
 import com.example.forum.dto.chat.ChatRoomDTO;
 import com.example.forum.dto.chat.MarkAsReadRequest;
 import com.example.forum.service.chat.ChatService;
@@ -28,15 +28,19 @@ public class ChatController implements ChatApiDocs {
     @Override
     public ResponseEntity<CommonResponse<Map<String, Object>>> getMessages(
             @PathVariable String roomId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int size,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         String currUsername = authValidator.extractUsername(userDetails);
 
-        List<ChatMessageDTO> messages = chatService.getMessage(roomId, currUsername);
+        ChatMessagePageDTO page = chatService.getMessages(roomId, currUsername, beforeId, size);
         Long lastReadMessageId = chatService.getLastReadMessageId(roomId, currUsername);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("messages", messages);
+        response.put("messages", page.getMessages());
+        response.put("nextBeforeId", page.getNextBeforeId());
+        response.put("hasMore", page.isHasMore());
         response.put("lastReadMessageId", lastReadMessageId);
 
         return ResponseEntity.ok(CommonResponse.success(response));
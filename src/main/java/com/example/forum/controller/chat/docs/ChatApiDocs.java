@@ -27,7 +27,8 @@ public interface ChatApiDocs {
 
     @Operation(
             summary = "Get chat messages for a room",
-            description = "Retrieves all chat messages in the specified room.",
+            description = "Retrieves one page of messages, oldest first. Without beforeId the latest page is returned; " +
+                    "pass nextBeforeId from the response to load older messages.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Messages retrieved successfully"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized - user not logged in"),
@@ -39,6 +40,12 @@ public interface ChatApiDocs {
             @Parameter(description = "ID of the chat room", required = true)
             @PathVariable String roomId,
 
+            @Parameter(description = "Return messages older than this message ID")
+            @RequestParam(required = false) Long beforeId,
+
+            @Parameter(description = "Page size (max 100)", example = "50")
+            @RequestParam(defaultValue = "50") int size,
+
             @Parameter(hidden = true)
             @AuthenticationPrincipal UserDetails userDetails
     );
@@ -62,7 +69,7 @@ public interface ChatApiDocs {
 
     @Operation(
             summary = "Get user's chat rooms",
-            description = "Retrieves a list of chat rooms along with the last message for each room.",
+            description = "Retrieves the user's chat rooms, most recent first, with the last message and unread count for each room.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Chat rooms retrieved successfully"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized - user not logged in")
@@ -2,35 +2,48 @@ package com.example.forum.controller.chat.websocket;
 
 import com.example.forum.dto.chat.ChatMessageDTO;
 import com.example.forum.helper.chat.ChatMessageBuilder;
-import com.example.forum.service.chat.ChatService;
+import com.example.forum.security.CustomUserDetails;
+import com.example.forum.service.chat.ingest.ChatMessageIngestor;
+import com.example.forum.service.messaging.StompBroadcaster;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpAttributesContextHolder;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
+import java.util.Map;
+
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 public class ChatWebSocketController {
 
-    private final ChatService chatService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMessageIngestor chatMessageIngestor;
+    private final StompBroadcaster messagingTemplate;
     private final ChatMessageBuilder chatMessageBuilder;
 
     @MessageMapping("/chat.send")
     public void sendMessage(ChatMessageDTO message, Message<?> rawMessage) {
 
-        UserDetails userDetails = (UserDetails)
-                SimpAttributesContextHolder.currentAttributes().getAttribute("user");
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(rawMessage.getHeaders());
+        CustomUserDetails userDetails = (CustomUserDetails) attributes.get("user");
 
         String senderUsername = userDetails.getUsername();
         message.setSenderUsername(senderUsername);
 
-        ChatMessageDTO enriched = chatMessageBuilder.enrichSenderProfile(message);
-        ChatMessageDTO saved = chatService.saveMessage(enriched);
-
-        messagingTemplate.convertAndSend("/topic/chat." + saved.getRoomId(), saved);
+        ChatMessageDTO enriched = chatMessageBuilder.enrichSenderProfile(message, attributes);
+
+        // Broadcast as soon as the ingestor allows it (right away, or after the batch commits).
+        // After a flush this runs on the room's completion lane, not on the flusher thread.
+        chatMessageIngestor.submit(enriched, userDetails.getUser().getId())
+                .whenComplete((saved, e) -> {
+                    if (e != null) {
+                        log.warn("Chat message in room {} from {} was not delivered: {}",
+                                enriched.getRoomId(), senderUsername, e.getMessage());
+                        return;
+                    }
+                    messagingTemplate.convertAndSend("/topic/chat." + saved.getRoomId(), saved);
+                });
     }
 }
@@ -2,6 +2,7 @@ package com.example.forum.controller.notification.api;
 
 import com.example.forum.controller.notification.docs.NotificationApiDocs;
 import com.example.forum.dto.CommonResponse;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.notification.LinkResponseDTO;
 import com.example.forum.dto.notification.NotificationResponseDTO;
 import com.example.forum.mapper.notification.NotificationMapper;
@@ -36,6 +37,41 @@ public class NotificationController implements NotificationApiDocs {
         return ResponseEntity.ok(CommonResponse.success(response));
     }
 
+    @Override
+    public ResponseEntity<CommonResponse<CursorPageDTO<NotificationResponseDTO>>> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        String username = authValidator.extractUsername(userDetails);
+        CursorPageDTO<NotificationResponseDTO> inbox = notificationService.getInbox(username, cursor, size, unreadOnly);
+
+        return ResponseEntity.ok(CommonResponse.success(inbox));
+    }
+
+    @Override
+    public ResponseEntity<CommonResponse<Long>> getUnreadCount(@AuthenticationPrincipal UserDetails userDetails) {
+
+        String username = authValidator.extractUsername(userDetails);
+
+        return ResponseEntity.ok(CommonResponse.success(notificationService.getUnreadCount(username)));
+    }
+
+    @Override
+    public ResponseEntity<CommonResponse<List<NotificationResponseDTO>>> getNotificationsAfter(
+            @RequestParam Long afterId,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        String username = authValidator.extractUsername(userDetails);
+        List<NotificationResponseDTO> response = notificationService.getNotificationsAfter(username, afterId, limit).stream()
+                .map(NotificationMapper::toDto)
+                .toList();
+
+        return ResponseEntity.ok(CommonResponse.success(response));
+    }
+
     @Override
     public ResponseEntity<CommonResponse<Void>> markAllAsRead(@AuthenticationPrincipal UserDetails userDetails) {
 
@@ -1,6 +1,7 @@
 package com.example.forum.controller.notification.docs;
 
 import com.example.forum.dto.CommonResponse;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.notification.LinkResponseDTO;
 import com.example.forum.dto.notification.NotificationResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -47,6 +49,102 @@ public interface NotificationApiDocs {
     );
 
 
+    @Operation(
+            summary = "Get notification inbox by cursor",
+            description = "Retrieves the inbox newest first using keyset pagination. Pass the returned nextCursor to fetch the following page.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successfully retrieved inbox page",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized - user not logged in",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/inbox")
+    ResponseEntity<CommonResponse<CursorPageDTO<NotificationResponseDTO>>> getInbox(
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Number of notifications per page (max 50)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Only unread notifications", example = "false")
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails
+    );
+
+
+    @Operation(
+            summary = "Get unread notification count",
+            description = "Returns the badge count for the currently logged-in user, served from a cached counter.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successfully retrieved unread count",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized - user not logged in",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/unread-count")
+    ResponseEntity<CommonResponse<Long>> getUnreadCount(
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails
+    );
+
+
+    @Operation(
+            summary = "Get notifications after an id",
+            description = "Catch-up for clients reconnecting to /user/queue/notifications. " +
+                    "Returns notifications with an id greater than afterId, oldest first (max 100).",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successfully retrieved notifications",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = NotificationResponseDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized - user not logged in",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/after")
+    ResponseEntity<CommonResponse<List<NotificationResponseDTO>>> getNotificationsAfter(
+            @Parameter(description = "Last notification id the client has seen", required = true)
+            @RequestParam Long afterId,
+
+            @Parameter(description = "Maximum number of notifications to return (1-100)")
+            @RequestParam(defaultValue = "50") int limit,
+
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails
+    );
+
+
     @Operation(
             summary = "Mark all notifications as read",
             description = "Marks all notifications for the currently logged-in user as read.",
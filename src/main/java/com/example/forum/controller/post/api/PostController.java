@@ -3,6 +3,7 @@ package com.example.forum.controller.post.api;
 import com.example.forum.common.SortOrder;
 import com.example.forum.controller.post.docs.PostApiDocs;
 import com.example.forum.dto.CommonResponse;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.post.PostDetailDTO;
 import com.example.forum.dto.post.PostCreateRequestDTO;
 import com.example.forum.dto.post.PostResponseDTO;
@@ -46,6 +47,21 @@ public class PostController implements PostApiDocs {
         return ResponseEntity.ok(CommonResponse.success(posts));
     }
 
+    @Override
+    public ResponseEntity<CommonResponse<CursorPageDTO<PostResponseDTO>>> getFeed(
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        String username = (userDetails == null) ? null : authValidator.extractUsername(userDetails);
+
+        SortOrder sortOrder = SortOrder.from(sort);
+        CursorPageDTO<PostResponseDTO> feed = postService.getFeed(sortOrder, cursor, size, username);
+
+        return ResponseEntity.ok(CommonResponse.success(feed));
+    }
+
     @Override
     public ResponseEntity<CommonResponse<PostDetailDTO>> getPostDetail(
             @PathVariable Long postId,
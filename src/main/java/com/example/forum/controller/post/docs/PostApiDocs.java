@@ -1,6 +1,7 @@
 package com.example.forum.controller.post.docs;
 
 import com.example.forum.dto.CommonResponse;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.post.PostDetailDTO;
 import com.example.forum.dto.post.PostCreateRequestDTO;
 import com.example.forum.dto.post.PostResponseDTO;
@@ -56,6 +57,41 @@ public interface PostApiDocs {
             @AuthenticationPrincipal UserDetails userDetails
     );
 
+    // ---------------------- Feed for Home (cursor) ----------------------
+    @Operation(
+            summary = "Get home feed by cursor",
+            description = "Retrieves the home feed using keyset pagination. Pass the returned nextCursor to fetch the following page.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successfully retrieved feed",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid sort value or cursor",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/feed")
+    ResponseEntity<CommonResponse<CursorPageDTO<PostResponseDTO>>> getFeed(
+            @Parameter(description = "Sort order: top, newest, or oldest", example = "newest")
+            @RequestParam(defaultValue = "newest") String sort,
+
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Number of posts per page (max 50)", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails
+    );
+
     // ---------------------- Posts for Detail ----------------------
     @Operation(
             summary = "Get post detail",
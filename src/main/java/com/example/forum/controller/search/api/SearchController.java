@@ -48,22 +48,26 @@ public class SearchController implements SearchApiDocs {
     @Override
     public ResponseEntity<CommonResponse<List<PostPreviewDTO>>> searchPosts(
             @RequestParam("keyword") String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         String username = (userDetails == null) ? null : authValidator.extractUsername(userDetails);
 
-        List<PostPreviewDTO> response = searchService.searchPosts(keyword, username);
+        List<PostPreviewDTO> response = searchService.searchPosts(keyword, username, page, size);
         return ResponseEntity.ok(CommonResponse.success(response));
     }
 
     @Override
     public ResponseEntity<CommonResponse<List<CommunityPreviewDTO>>> searchCommunities(
             @RequestParam("keyword") String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         String username = (userDetails == null) ? null : authValidator.extractUsername(userDetails);
 
-        List<CommunityPreviewDTO> response = searchService.searchCommunities(keyword, username);
+        List<CommunityPreviewDTO> response = searchService.searchCommunities(keyword, username, page, size);
         return ResponseEntity.ok(CommonResponse.success(response));
     }
 }
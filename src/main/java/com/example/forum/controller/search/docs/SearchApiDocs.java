@@ -50,8 +50,8 @@ public interface SearchApiDocs {
     );
 
     @Operation(
-            summary = "Search users by nickname",
-            description = "Returns a list of users whose nickname matches the keyword.",
+            summary = "Search users by username prefix",
+            description = "Returns up to five users whose username starts with the keyword.",
             responses = @ApiResponse(
                     responseCode = "200",
                     description = "List of users",
@@ -68,8 +68,8 @@ public interface SearchApiDocs {
     );
 
     @Operation(
-            summary = "Search posts by title or content",
-            description = "Returns a list of posts whose title or content matches the keyword.",
+            summary = "Search posts by title, content or tags",
+            description = "Returns a page of posts ranked by relevance (BM25). The last word is also matched as a prefix.",
             responses = @ApiResponse(
                     responseCode = "200",
                     description = "List of posts",
@@ -84,12 +84,18 @@ public interface SearchApiDocs {
             @Parameter(description = "Post keyword", required = true)
             @RequestParam("keyword") String keyword,
 
+            @Parameter(description = "Page number (zero-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size (max 50)", example = "5")
+            @RequestParam(defaultValue = "5") int size,
+
             @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
     );
 
     @Operation(
             summary = "Search communities by name or description",
-            description = "Returns a list of communities whose name or description matches the keyword.",
+            description = "Returns a page of communities ranked by relevance (BM25). The last word is also matched as a prefix.",
             responses = @ApiResponse(
                     responseCode = "200",
                     description = "List of communities",
@@ -104,6 +110,12 @@ public interface SearchApiDocs {
             @Parameter(description = "Community keyword", required = true)
             @RequestParam("keyword") String keyword,
 
+            @Parameter(description = "Page number (zero-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size (max 50)", example = "5")
+            @RequestParam(defaultValue = "5") int size,
+
             @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
     );
 }
@@ -0,0 +1,27 @@
+package com.example.forum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One slice of a cursor (keyset) paginated list.
+ * nextCursor is opaque to clients and is null when there is nothing left to load.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorPageDTO<T> of(List<T> items, String nextCursor) {
+        return new CursorPageDTO<>(items, nextCursor, nextCursor != null);
+    }
+
+    public static <T> CursorPageDTO<T> empty() {
+        return new CursorPageDTO<>(List.of(), null, false);
+    }
+}
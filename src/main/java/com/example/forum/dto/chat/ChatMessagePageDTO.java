@@ -0,0 +1,20 @@
+package com.example.forum.dto.chat;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a room's history, oldest message first.
+ * Pass nextBeforeId back as beforeId to load the page before it; it is null when hasMore is false.
+ */
+@Getter @Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessagePageDTO {
+
+    private List<ChatMessageDTO> messages;
+    private Long nextBeforeId;
+    private boolean hasMore;
+}
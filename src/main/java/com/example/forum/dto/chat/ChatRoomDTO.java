@@ -13,6 +13,8 @@ public class ChatRoomDTO {
 
     private String roomId;
     private ProfilePreviewDTO user;
+    private Long lastMessageId;
     private String lastMessage;
     private Instant lastMessageAt;
+    private int unreadCount;
 }
@@ -0,0 +1,16 @@
+package com.example.forum.dto.notification;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Payload pushed to /user/queue/notifications.
+ * - notification is null for read-state changes, which only carry a negative unreadDelta.
+ */
+@Getter
+@Builder
+public class NotificationPushDTO {
+
+    private NotificationResponseDTO notification;
+    private int unreadDelta;
+}
@@ -17,6 +17,8 @@ public class NotificationResponseDTO {
     private Long targetId;
     private Long commentId;
     private String message;
+    private int actorCount;
     private Boolean isRead;
     private Instant createdAt;
+    private Instant lastEventAt;
 }
@@ -0,0 +1,17 @@
+package com.example.forum.dto.notification;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+public class NotificationRetentionRunDTO {
+
+    private Instant startedAt;
+    private long durationMs;
+    private int archived;
+    private int dropped;
+    private double archivedPerSecond;
+}
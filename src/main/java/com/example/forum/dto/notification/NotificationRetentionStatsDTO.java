@@ -0,0 +1,17 @@
+package com.example.forum.dto.notification;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class NotificationRetentionStatsDTO {
+
+    private long hotRows;
+    private long hotBytes;
+    private long archiveRows;
+    private long archiveBytes;
+
+    // null until the first run on this node
+    private NotificationRetentionRunDTO lastRun;
+}
@@ -33,8 +33,12 @@ public class PostDetailDTO {
     private Boolean likedByMe;
     private Boolean isAuthor;
 
+    // Most recent likers only; likeCount holds the total
     private List<LikeUserDTO> likeUsers;
+
+    // First page of top-level comments with their replies
     private List<CommentResponseDTO> comments;
+    private Boolean hasMoreComments;
 
     private Instant createdAt;
     private Instant updatedAt;
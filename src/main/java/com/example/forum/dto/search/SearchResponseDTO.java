@@ -17,4 +17,9 @@ public class SearchResponseDTO {
     private List<PostPreviewDTO> posts;
     private List<CommunityPreviewDTO> communities;
     private List<ProfilePreviewDTO> users;
+
+    // Set when the section missed the search deadline and was returned empty
+    private boolean postsTimedOut;
+    private boolean communitiesTimedOut;
+    private boolean usersTimedOut;
 }
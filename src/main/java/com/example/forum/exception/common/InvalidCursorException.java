@@ -0,0 +1,12 @@
+package com.example.forum.exception.common;
+
+import com.example.forum.exception.CustomException;
+import lombok.Getter;
+
+@Getter
+public class InvalidCursorException extends CustomException {
+
+    public InvalidCursorException() {
+        super("Invalid or expired cursor.", 400);
+    }
+}
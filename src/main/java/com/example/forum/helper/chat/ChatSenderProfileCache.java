@@ -0,0 +1,80 @@
+package com.example.forum.helper.chat;
+
+import com.example.forum.dto.image.ImageDTO;
+import com.example.forum.dto.profile.ProfilePreviewDTO;
+import com.example.forum.model.profile.Profile;
+import com.example.forum.model.user.User;
+import com.example.forum.security.CustomUserDetails;
+import com.example.forum.service.profile.ProfileUpdatedEvent;
+import com.example.forum.validator.auth.AuthValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sender profile preview kept in the STOMP session attributes.
+ * - Filled at handshake from the user that JwtHandshakeInterceptor just loaded, so sends make no DB calls.
+ * - Each entry carries the user's profile version; ProfileUpdatedEvent bumps the version after commit,
+ *   and a session holding an older version reloads once on its next send.
+ * - Versions are per node: a session on another node keeps the old preview until it reconnects.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatSenderProfileCache {
+
+    public static final String SESSION_ATTRIBUTE = "senderProfile";
+
+    private final AuthValidator userValidator;
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public void prime(Map<String, Object> sessionAttributes, User user) {
+        sessionAttributes.put(SESSION_ATTRIBUTE, new SenderProfile(toPreview(user), versionOf(user.getId())));
+    }
+
+    public ProfilePreviewDTO get(Map<String, Object> sessionAttributes) {
+
+        CustomUserDetails userDetails = (CustomUserDetails) sessionAttributes.get("user");
+        Long userId = userDetails.getUser().getId();
+
+        // Read the version before loading, so an update racing with the reload is caught on the next send
+        long version = versionOf(userId);
+        if (sessionAttributes.get(SESSION_ATTRIBUTE) instanceof SenderProfile cached && cached.version() == version)
+            return cached.preview();
+
+        ProfilePreviewDTO preview = toPreview(userValidator.validateUserByUsername(userDetails.getUsername()));
+        sessionAttributes.put(SESSION_ATTRIBUTE, new SenderProfile(preview, version));
+        return preview;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        versions.merge(event.userId(), 1L, Long::sum);
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private long versionOf(Long userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    private static ProfilePreviewDTO toPreview(User sender) {
+        Profile profile = sender.getProfile();
+
+        return ProfilePreviewDTO.builder()
+                .username(sender.getUsername())
+                .nickname(profile.getNickname())
+                .imageDto(ImageDTO.builder()
+                        .imageUrl(profile.getImageUrl())
+                        .imagePositionX(profile.getImagePositionX())
+                        .imagePositionY(profile.getImagePositionY())
+                        .build())
+                .build();
+    }
+
+    private record SenderProfile(ProfilePreviewDTO preview, long version) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.forum.helper.post;
+
+import com.example.forum.dto.post.PostPreviewDTO;
+import com.example.forum.dto.post.PostResponseDTO;
+import com.example.forum.mapper.post.PostMapper;
+import com.example.forum.model.community.Community;
+import com.example.forum.model.post.Post;
+import com.example.forum.model.post.PostFile;
+import com.example.forum.repository.post.PostImageRepository;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.repository.post.PostTagRepository;
+import com.example.forum.util.CommunityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read path for post lists.
+ * Given the ids of one page, fills every card with a fixed number of queries
+ * (posts + to-one associations, files, tags) no matter how many posts the page holds.
+ * Like/comment counts come from the denormalized columns on Post.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostAssembler {
+
+    private final PostRepository postRepository;
+    private final PostImageRepository postImageRepository;
+    private final PostTagRepository postTagRepository;
+
+    @Transactional(readOnly = true)
+    public List<PostResponseDTO> assembleResponses(List<Long> postIds,
+                                                   Set<Long> hiddenPostIds,
+                                                   Set<Long> favoriteCommunityIds) {
+
+        if (postIds.isEmpty()) return List.of();
+
+        PageData data = load(postIds);
+
+        return data.posts().stream()
+                .map(post -> {
+                    Community community = post.getCategory() != null
+                            ? post.getCategory().getCommunity()
+                            : null;
+
+                    return PostMapper.toPostResponseDTO(
+                            post,
+                            data.filesOf(post),
+                            data.tagsOf(post),
+                            hiddenPostIds.contains(post.getId()),
+                            CommunityUtils.isFavorite(community, favoriteCommunityIds)
+                    );
+                })
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PostPreviewDTO> assemblePreviews(List<Long> postIds, Set<Long> hiddenPostIds) {
+
+        if (postIds.isEmpty()) return List.of();
+
+        PageData data = load(postIds);
+
+        return data.posts().stream()
+                .map(post -> PostMapper.toPreviewDTO(
+                        post,
+                        data.filesOf(post),
+                        data.tagsOf(post),
+                        hiddenPostIds.contains(post.getId())
+                ))
+                .toList();
+    }
+
+    public static List<Long> idsOf(List<Post> posts) {
+        return posts.stream().map(Post::getId).toList();
+    }
+
+    private PageData load(List<Long> postIds) {
+
+        Map<Long, Post> byId = postRepository.findCardsByIdIn(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        Map<Long, List<PostFile>> files = postImageRepository.findByPostIdInOrderByIdAsc(postIds).stream()
+                .collect(Collectors.groupingBy(file -> file.getPost().getId()));
+
+        Map<Long, List<String>> tags = postTagRepository.findByPostIdInWithTag(postIds).stream()
+                .collect(Collectors.groupingBy(
+                        pt -> pt.getPost().getId(),
+                        Collectors.mapping(pt -> pt.getTag().getName(), Collectors.toList())
+                ));
+        tags.values().forEach(Collections::sort);
+
+        // Keep the order of the page query; drop ids deleted in between
+        List<Post> ordered = postIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageData(ordered, files, tags);
+    }
+
+    private record PageData(List<Post> posts,
+                            Map<Long, List<PostFile>> files,
+                            Map<Long, List<String>> tags) {
+
+        List<PostFile> filesOf(Post post) {
+            return files.getOrDefault(post.getId(), List.of());
+        }
+
+        List<String> tagsOf(Post post) {
+            return tags.getOrDefault(post.getId(), List.of());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.forum.helper.viewer;
+
+import com.example.forum.common.SortedLongSet;
+
+/**
+ * What a feed page needs to know about its viewer besides the posts themselves.
+ */
+public record ViewerContext(SortedLongSet hiddenPostIds, SortedLongSet favoriteCommunityIds) {
+
+    public static final ViewerContext EMPTY = new ViewerContext(SortedLongSet.empty(), SortedLongSet.empty());
+
+    private static final String SEPARATOR = ";";
+
+    /**
+     * "hiddenIds;favoriteIds", each part comma-separated and possibly empty.
+     */
+    String encode() {
+        return hiddenPostIds.encode() + SEPARATOR + favoriteCommunityIds.encode();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value was not produced by encode()
+     */
+    static ViewerContext decode(String encoded) {
+
+        int separator = encoded.indexOf(SEPARATOR);
+        if (separator < 0)
+            throw new IllegalArgumentException("Malformed viewer context: " + encoded);
+
+        return new ViewerContext(
+                SortedLongSet.decode(encoded.substring(0, separator)),
+                SortedLongSet.decode(encoded.substring(separator + 1)));
+    }
+}
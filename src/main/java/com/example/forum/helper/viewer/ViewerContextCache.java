@@ -0,0 +1,208 @@
+package com.example.forum.helper.viewer;
+
+import com.example.forum.common.SortedLongSet;
+import com.example.forum.repository.community.CommunityFavoriteRepository;
+import com.example.forum.repository.post.HiddenPostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hidden post ids and favorite community ids per user, read by every feed-style page.
+ * - Three layers: a bounded in-process map (viewer-context.local-ttl), one Redis string per user
+ *   (viewer-context.redis-ttl), then two id-only queries.
+ * - Evicted from Redis and from this node after commit on ViewerContextChangedEvent (hide/unhide, favorite/unfavorite).
+ *   Other nodes keep their local copy until local-ttl, which is why it is short.
+ * - A read that loaded from the database before an eviction must not write its stale result back afterwards.
+ *   Each eviction bumps a per-user generation in Redis; a loaded context is written only if the generation
+ *   read before the load is still current. This node guards its own map the same way with a local counter.
+ * - Redis errors fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewerContextCache {
+
+    private static final String KEY_PREFIX = "viewer:context:";
+    private static final String GENERATION_PREFIX = "viewer:context:gen:";
+
+    // SET only if no eviction happened since the caller read the generation (a missing counter is generation 0)
+    private static final RedisScript<Long> WRITE_IF_CURRENT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // DEL and INCR atomically; the counter only has to outlive loads in flight, so redis-ttl is plenty
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            local generation = redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return generation
+            """, Long.class);
+
+    private final HiddenPostRepository hiddenPostRepository;
+    private final CommunityFavoriteRepository communityFavoriteRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${viewer-context.local-ttl:PT15S}")
+    private Duration localTtl;
+
+    @Value("${viewer-context.redis-ttl:PT30M}")
+    private Duration redisTtl;
+
+    @Value("${viewer-context.max-size:10000}")
+    private int maxSize;
+
+    private Map<Long, Entry> entries;
+
+    // Bumped under the entries lock by every eviction on this node
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    private Counter localHits;
+    private Counter redisHits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+
+        localHits = Counter.builder("viewer.context.cache").tag("result", "local")
+                .description("Viewer contexts served from this node's memory")
+                .register(meterRegistry);
+        redisHits = Counter.builder("viewer.context.cache").tag("result", "redis")
+                .description("Viewer contexts served from Redis")
+                .register(meterRegistry);
+        misses = Counter.builder("viewer.context.cache").tag("result", "miss")
+                .description("Viewer contexts loaded from the database")
+                .register(meterRegistry);
+    }
+
+    public ViewerContext get(Long userId) {
+
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            localHits.increment();
+            return cached.context();
+        }
+
+        long seenLocalGeneration = localGeneration.get();
+        RedisState state = readRedis(userId);
+        ViewerContext context = state.context();
+        if (context != null) {
+            redisHits.increment();
+        } else {
+            misses.increment();
+            context = load(userId);
+            if (state.generation() != null)
+                writeRedis(userId, context, state.generation());
+        }
+
+        synchronized (entries) {
+            if (localGeneration.get() == seenLocalGeneration)
+                entries.put(userId, new Entry(context, now + localTtl.toMillis()));
+        }
+        return context;
+    }
+
+    public void evict(Long userId) {
+
+        try {
+            redisTemplate.execute(EVICT, List.of(key(userId), generationKey(userId)),
+                    Long.toString(redisTtl.toMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Viewer context for user {} may be stale until it expires: {}", userId, e.getMessage());
+        }
+
+        // After Redis, so a local read that picked up the old Redis value is refused by the bump
+        synchronized (entries) {
+            localGeneration.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onViewerContextChanged(ViewerContextChangedEvent event) {
+        evict(event.userId());
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private ViewerContext load(Long userId) {
+        return new ViewerContext(
+                SortedLongSet.of(hiddenPostRepository.findHiddenPostIdsByUserId(userId)),
+                SortedLongSet.of(communityFavoriteRepository.findCommunityIdsByUserId(userId)));
+    }
+
+    /**
+     * Cached context and current generation in one round trip; both null if Redis is unavailable.
+     */
+    private RedisState readRedis(Long userId) {
+
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(List.of(key(userId), generationKey(userId)));
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, loading viewer context from the database: {}", e.getMessage());
+            return RedisState.UNAVAILABLE;
+        }
+        if (values == null || values.size() != 2)
+            return RedisState.UNAVAILABLE;
+
+        String generation = (values.get(1) != null) ? values.get(1) : "0";
+        try {
+            String encoded = values.get(0);
+            return new RedisState(encoded != null ? ViewerContext.decode(encoded) : null, generation);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring unreadable viewer context for user {}: {}", userId, e.getMessage());
+            return new RedisState(null, generation);
+        }
+    }
+
+    private void writeRedis(Long userId, ViewerContext context, String generation) {
+        try {
+            redisTemplate.execute(WRITE_IF_CURRENT, List.of(key(userId), generationKey(userId)),
+                    generation, context.encode(), Long.toString(redisTtl.toMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to mirror viewer context to Redis: {}", e.getMessage());
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String generationKey(Long userId) {
+        return GENERATION_PREFIX + userId;
+    }
+
+    private record RedisState(ViewerContext context, String generation) {
+        static final RedisState UNAVAILABLE = new RedisState(null, null);
+    }
+
+    private record Entry(ViewerContext context, long expiresAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.forum.helper.viewer;
+
+/**
+ * Published when a user's hidden posts or favorite communities change.
+ */
+public record ViewerContextChangedEvent(Long userId) {
+}
@@ -25,14 +25,16 @@ public class ChatMapper {
                 .build();
     }
 
-    public ChatRoomDTO toChatRoomDTO(ChatRoom room, User currentUser, ChatMessage lastMessage) {
-        User other = room.getUser1().equals(currentUser) ? room.getUser2() : room.getUser1();
+    public ChatRoomDTO toChatRoomDTO(ChatRoom room, User currentUser) {
+        User other = room.getUser1().getId().equals(currentUser.getId()) ? room.getUser2() : room.getUser1();
 
         return ChatRoomDTO.builder()
                 .roomId(room.getRoomId())
                 .user(ProfileMapper.toProfilePreviewDTO(other))
-                .lastMessage(lastMessage != null ? lastMessage.getContent() : null)
-                .lastMessageAt(lastMessage != null ? lastMessage.getSentAt() : null)
+                .lastMessageId(room.getLastMessageId())
+                .lastMessage(room.getLastMessagePreview())
+                .lastMessageAt(room.getLastMessageAt())
+                .unreadCount(room.getUnreadCountFor(currentUser))
                 .build();
     }
 }
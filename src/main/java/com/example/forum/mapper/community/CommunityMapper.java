@@ -10,6 +10,7 @@ import com.example.forum.model.community.Community;
 import com.example.forum.model.community.CommunityMember;
 import com.example.forum.model.community.CommunityRole;
 import com.example.forum.model.community.CommunityRule;
+import com.example.forum.service.presence.CommunityPresence;
 
 import java.util.Comparator;
 import java.util.List;
@@ -18,7 +19,7 @@ public class CommunityMapper {
 
     public static CommunityDetailDTO toDetailDTO(
             Community community,
-            List<CommunityMember> allMembers,
+            CommunityPresence presence,
             List<CommunityMember> onlineMembers,
             CommunityRole currentUserRole,
             boolean isFavorite,
@@ -46,8 +47,8 @@ public class CommunityMapper {
                                 .map(CategoryMapper::toDTO)
                                 .toList()
                 )
-                .onlineCount(onlineMembers.size())
-                .memberCount(allMembers.size())
+                .onlineCount((int) presence.onlineCount())
+                .memberCount((int) presence.memberCount())
                 .role(currentUserRole)
                 .onlineUsers(UserMapper.toListDtoByCommunityMemberList(onlineMembers))
                 .isFavorite(isFavorite)
@@ -3,6 +3,7 @@ package com.example.forum.mapper.notification;
 import com.example.forum.dto.notification.NotificationResponseDTO;
 import com.example.forum.mapper.user.UserMapper;
 import com.example.forum.model.notification.Notification;
+import com.example.forum.service.notification.NotificationMessageBuilder;
 
 public class NotificationMapper {
 
@@ -11,12 +12,24 @@ public class NotificationMapper {
         return NotificationResponseDTO.builder()
                 .notificationId(notification.getId())
                 .type(notification.getType())
-                .message(notification.getMessage())
+                .message(message(notification))
+                .actorCount(notification.getActorCount())
                 .isRead(notification.isRead())
                 .sender(UserMapper.toDtoWithEmail(notification.getSender()))
                 .targetId(notification.getTargetId())
                 .commentId(notification.getComment() != null ? notification.getComment().getId() : null)
                 .createdAt(notification.getCreatedAt())
+                .lastEventAt(notification.getLastEventAt())
                 .build();
     }
+
+    private static String message(Notification notification) {
+        if (notification.getActorCount() <= 1 || notification.getSender() == null)
+            return notification.getMessage();
+
+        return NotificationMessageBuilder.buildCoalescedNotification(
+                notification.getType(),
+                notification.getSender().getProfile().getNickname(),
+                notification.getActorCount() - 1);
+    }
 }
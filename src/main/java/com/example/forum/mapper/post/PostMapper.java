@@ -9,6 +9,7 @@ import com.example.forum.mapper.comment.CommentMapper;
 import com.example.forum.mapper.community.CommunityMapper;
 import com.example.forum.mapper.image.ImageMapper;
 import com.example.forum.mapper.user.UserMapper;
+import com.example.forum.model.comment.Comment;
 import com.example.forum.model.community.Community;
 import com.example.forum.model.like.PostReaction;
 import com.example.forum.model.post.Post;
@@ -25,6 +26,15 @@ import static com.example.forum.common.TimeUtils.formatTimeAgo;
 public class PostMapper {
 
     public static PostResponseDTO toPostResponseDTO(Post post, boolean isHidden, boolean isFavoriteCommunity) {
+        return toPostResponseDTO(post, post.getFiles(), extractTagNames(post), isHidden, isFavoriteCommunity);
+    }
+
+    /**
+     * Maps a post whose files and tag names were batch-loaded by the caller,
+     * so the lazy collections on the entity are never touched.
+     */
+    public static PostResponseDTO toPostResponseDTO(Post post, List<PostFile> files, List<String> tagNames,
+                                                    boolean isHidden, boolean isFavoriteCommunity) {
 
         return PostResponseDTO.builder()
                 .id(post.getId())
@@ -36,19 +46,38 @@ public class PostMapper {
                                 ? CommunityMapper.toPreviewDTO(post.getCategory().getCommunity(), isFavoriteCommunity)
                                 : null
                 )
-                .fileUrls(post.getFiles() != null
-                            ? convertFileUrls(post.getFiles())
+                .fileUrls(files != null
+                            ? convertFileUrls(files)
                             : null)
-                .commentCount(post.getComments() != null ? post.getComments().size() : 0)
-                .likeCount(post.getLikes() != null ? post.getLikes().size() : 0)
+                .commentCount(post.getCommentCount())
+                .likeCount(post.getLikeCount())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
                 .isHidden(isHidden)
-                .tags(extractTagNames(post))
+                .tags(tagNames)
                 .build();
     }
 
     public static PostDetailDTO toPostDetailDTO(Post post, User viewer, boolean isHidden, boolean isFavoriteCommunity) {
+        return toPostDetailDTO(
+                post,
+                viewer,
+                post.getLikes().stream().anyMatch(like -> like.getUser().equals(viewer)),
+                post.getLikes(),
+                post.getComments(),
+                false,
+                isHidden,
+                isFavoriteCommunity
+        );
+    }
+
+    /**
+     * Maps a post detail from separately loaded, bounded parts
+     * (recent likers and the first page of the comment tree).
+     */
+    public static PostDetailDTO toPostDetailDTO(Post post, User viewer, boolean likedByMe,
+                                                List<PostReaction> recentLikes, List<Comment> comments,
+                                                boolean hasMoreComments, boolean isHidden, boolean isFavoriteCommunity) {
         return PostDetailDTO.builder()
                 .id(post.getId())
                 .title(post.getTitle())
@@ -65,28 +94,19 @@ public class PostMapper {
 
                 .visibility(post.getVisibility().toString())
 
-                .likedByMe(post.getLikes().stream().anyMatch(like -> like.getUser().equals(viewer)))
-                .likeCount(post.getLikes().size())
+                .likedByMe(likedByMe)
+                .likeCount(post.getLikeCount())
                 .fileUrls(post.getFiles() != null
                         ? convertFileUrls(post.getFiles())
                         : null)
 
                 // Like users
-                .likeUsers(post.getLikes().stream()
-                        .map(like -> {
-                            User u = like.getUser();
-                            // users' profile
-                            return LikeUserDTO.builder()
-                                    .username(u.getUsername())
-                                    .nickname(u.getProfile().getNickname())
-                                    .imageDTO(ImageMapper.toDto(
-                                            u.getProfile().getImageUrl(),
-                                            u.getProfile().getImagePositionX(),
-                                            u.getProfile().getImagePositionY()))
-                                    .build();
-                        }).toList())
-                .commentCount(post.getComments().size())
-                .comments(CommentMapper.toResponseList(post.getComments()))
+                .likeUsers(recentLikes.stream()
+                        .map(PostMapper::toLikeUserDTO)
+                        .toList())
+                .commentCount(post.getCommentCount())
+                .comments(CommentMapper.toResponseList(comments))
+                .hasMoreComments(hasMoreComments)
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
                 .isHidden(isHidden)
@@ -106,16 +126,20 @@ public class PostMapper {
     }
 
     public static PostPreviewDTO toPreviewDTO(Post post, boolean isHidden) {
+        return toPreviewDTO(post, post.getFiles(), extractTagNames(post), isHidden);
+    }
+
+    public static PostPreviewDTO toPreviewDTO(Post post, List<PostFile> files, List<String> tagNames, boolean isHidden) {
 
         return PostPreviewDTO.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
                 .fileUrls(
-                        convertFileUrls(post.getFiles())
+                        convertFileUrls(files)
                 )
-                .likeCount(post.getLikes().size())
-                .commentCount(post.getComments().size())
+                .likeCount(post.getLikeCount())
+                .commentCount(post.getCommentCount())
                 .createdAtFormatted(formatTimeAgo(post.getCreatedAt()))
 
                 .communityName(
@@ -141,7 +165,7 @@ public class PostMapper {
                 .authorNickname(post.getAuthor().getProfile().getNickname())
                 .author(UserMapper.toDtoWithEmail(post.getAuthor()))
                 .isHidden(isHidden)
-                .tags(extractTagNames(post))
+                .tags(tagNames)
                 .build();
     }
 
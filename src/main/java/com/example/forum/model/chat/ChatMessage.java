@@ -11,13 +11,18 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 
 @Entity
+@Table(indexes = {
+        // History pages: seek backwards by id within a room
+        @Index(name = "ix_chat_message_room_id", columnList = "roomId, id")
+})
 @Builder
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatMessage {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Assigned by ChatMessageIdGenerator; rows are written by ChatMessageBatchWriter
+    @Id
     private Long id;
 
     private String roomId;
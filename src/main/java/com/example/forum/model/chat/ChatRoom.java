@@ -4,13 +4,30 @@ import com.example.forum.model.user.User;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
+/**
+ * A 1:1 conversation, plus a summary of it for the room list.
+ * - lastMessage* and the per-side unread counts are maintained by ChatServiceImpl on send and read,
+ *   so the room list is one query with no per-room lookups. ChatRoomSummaryService repairs drift.
+ * - userNUnreadCount: messages from the other side after userN's last read message.
+ */
 @Entity
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "ix_chat_room_room_id", columnList = "roomId"),
+        // Room list: most recent conversations of a user, whichever side they are on
+        @Index(name = "ix_chat_room_user1_last_message", columnList = "user1_id, lastMessageAt"),
+        @Index(name = "ix_chat_room_user2_last_message", columnList = "user2_id, lastMessageAt")
+})
 public class ChatRoom {
 
+    // Characters of the last message kept for the room list preview
+    public static final int PREVIEW_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,4 +41,23 @@ public class ChatRoom {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user2_id")
     private User user2;
+
+    private Long lastMessageId;
+
+    @Column(length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    private Instant lastMessageAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int user1UnreadCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int user2UnreadCount = 0;
+
+    public int getUnreadCountFor(User user) {
+        return user1 != null && user1.getId().equals(user.getId()) ? user1UnreadCount : user2UnreadCount;
+    }
 }
@@ -15,8 +15,18 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Table(indexes = {
-        @Index(name = "ix_notification_receiver_unread_created",
-                columnList = "receiver_id, isRead, createdAt")
+        // Unread inbox pages and the unread count seed: seek on (lastEventAt, id) within (receiver, unread)
+        @Index(name = "ix_notification_receiver_unread_last_event",
+                columnList = "receiver_id, isRead, lastEventAt"),
+        // Full inbox pages and catch-up: seek on (lastEventAt, id) within the receiver
+        @Index(name = "ix_notification_receiver_last_event",
+                columnList = "receiver_id, lastEventAt"),
+        // Retention: read rows past the archive age, oldest first
+        @Index(name = "ix_notification_read_last_event",
+                columnList = "isRead, lastEventAt"),
+        // Coalescing: find the open (unread) aggregate for a (type, receiver, target) key
+        @Index(name = "ix_notification_aggregate_key",
+                columnList = "aggregate_key, isRead")
 })
 public class Notification {
 
@@ -45,6 +55,19 @@ public class Notification {
     @Column(length = 500)
     private String message;
 
+    // Copied from the outbox event that produced this row; unique, so replays are ignored
+    @Column(name = "idempotency_key", unique = true, length = 36)
+    private String idempotencyKey;
+
+    // Same-type events on the same target are merged into one row while it is unread and inside the window
+    @Column(name = "aggregate_key", length = 100)
+    private String aggregateKey;
+
+    // Distinct senders folded into this row (see NotificationActor); sender/message/comment describe the latest event
+    @Builder.Default
+    @Column(name = "actor_count", nullable = false)
+    private int actorCount = 1;
+
     @Builder.Default
     @Column(nullable = false)
     private boolean isRead = false;
@@ -57,6 +80,12 @@ public class Notification {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    // Time of the latest event folded into this row; a merge moves it up, unlike createdAt.
+    // Inbox order, catch-up and retention key on it. updatedAt is not used because marking as read bumps it.
+    @CreationTimestamp
+    @Column(nullable = false)
+    private Instant lastEventAt;
+
     // private Instant readAt;
 
     public enum NotificationType {
@@ -0,0 +1,37 @@
+package com.example.forum.model.notification;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Distinct senders folded into a coalesced notification.
+ * - One row per (notification, sender), so the same user liking twice is counted once in actor_count.
+ * - Written with INSERT IGNORE by NotificationBatchWriter; deleted together with its notification.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(NotificationActor.Key.class)
+@Table(name = "notification_actor")
+public class NotificationActor {
+
+    @Id
+    @Column(name = "notification_id")
+    private Long notificationId;
+
+    @Id
+    @Column(name = "sender_id")
+    private Long senderId;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long notificationId;
+        private Long senderId;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.forum.model.notification;
+
+import com.example.forum.model.comment.Comment;
+import com.example.forum.model.notification.Notification.NotificationType;
+import com.example.forum.model.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Cold storage for read notifications past the retention age, moved here by NotificationRetentionService.
+ * - Keeps the original id and lastEventAt, so inbox cursors continue seamlessly from the hot table.
+ * - Rows are append-only and aged out by created_at range, which also maps directly onto
+ *   RANGE partitions if the table is ever partitioned by month.
+ * - No foreign keys: archived rows must not block deleting users or comments.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "notification_archive", indexes = {
+        // Archived inbox pages: seek on (last_event_at, id) within the receiver
+        @Index(name = "ix_notification_archive_receiver_last_event", columnList = "receiver_id, last_event_at"),
+        // Aging out by range
+        @Index(name = "ix_notification_archive_created", columnList = "created_at")
+})
+public class NotificationArchive {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "receiver_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User receiver;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sender_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User sender;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationType type;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "comment_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Comment comment;
+
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(name = "actor_count", nullable = false)
+    private int actorCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_event_at", nullable = false, updatable = false)
+    private Instant lastEventAt;
+
+    @Column(name = "archived_at", nullable = false, updatable = false)
+    private Instant archivedAt;
+
+    /**
+     * Detached, read-only view used to render archived rows and resolve their links; never persisted.
+     */
+    public Notification toNotification() {
+        return Notification.builder()
+                .id(id)
+                .receiver(receiver)
+                .sender(sender)
+                .type(type)
+                .comment(comment)
+                .targetId(targetId)
+                .message(message)
+                .actorCount(actorCount)
+                .isRead(true)
+                .createdAt(createdAt)
+                .lastEventAt(lastEventAt)
+                .updatedAt(archivedAt)
+                .build();
+    }
+}
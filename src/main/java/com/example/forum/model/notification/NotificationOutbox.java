@@ -0,0 +1,65 @@
+package com.example.forum.model.notification;
+
+import com.example.forum.model.notification.Notification.NotificationType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A notification waiting to be written, appended in the same transaction as the action that caused it.
+ * - Holds ids only, so the write path never re-loads users.
+ * - idempotencyKey is copied onto the Notification row; a retried dispatch cannot insert it twice.
+ * - Rows are deleted once dispatched; rows that reached the attempt limit stay for inspection.
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "ix_notification_outbox_next_attempt", columnList = "next_attempt_at, id")
+})
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, unique = true, length = 36)
+    private String idempotencyKey;
+
+    @Column(name = "receiver_id", nullable = false)
+    private Long receiverId;
+
+    @Column(name = "sender_id")
+    private Long senderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationType type;
+
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @Column(length = 500)
+    private String message;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -21,6 +21,13 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // Keyset feed: seek on (created_at, id), visibility filtered from the index before row lookup
+        @Index(name = "ix_post_created_id_visibility",
+                columnList = "createdAt, id, visibility"),
+        @Index(name = "ix_post_like_created_id_visibility",
+                columnList = "like_count, createdAt, id, visibility")
+})
 public class Post {
 
     @Id
@@ -55,6 +62,15 @@ public class Post {
     @JoinColumn(name = "author_id")
     private User author;
 
+    // Denormalized counters, written only through PostRepository's atomic delta updates
+    @Builder.Default
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private int likeCount = 0;
+
+    @Builder.Default
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private int commentCount = 0;
+
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments;
 
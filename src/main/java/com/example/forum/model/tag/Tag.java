@@ -1,17 +1,18 @@
 package com.example.forum.model.tag;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", indexes = {
+        // Top tags: read the first rows of this index instead of grouping post_tags
+        @Index(name = "ix_tags_usage_count", columnList = "usage_count")
+})
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Tag {
 
     @Id
@@ -20,4 +21,13 @@ public class Tag {
 
     @Column(nullable = false, unique = true, length = 50)
     private String name;
+
+    // Number of posts carrying this tag, written only through TagRepository's atomic delta updates
+    @Column(name = "usage_count", nullable = false, updatable = false)
+    private int usageCount = 0;
+
+    public Tag(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
 }
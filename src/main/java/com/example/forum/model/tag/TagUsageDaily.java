@@ -0,0 +1,35 @@
+package com.example.forum.model.tag;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day tag usage bucket: how many posts created on bucket_date (UTC) carry the tag.
+ * Rows are written only through TagUsageDailyRepository's upserts.
+ */
+@Entity
+@Table(name = "tag_usage_daily", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"bucket_date", "tag_id"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TagUsageDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tag_id", nullable = false)
+    private Tag tag;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private int uses;
+}
@@ -37,7 +37,9 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Bookmark> bookmarks = new ArrayList<>();
 
-    @Setter
+    // Legacy is_online column (bit not null, no default); still mapped so inserts write false.
+    // Not maintained: online state lives in PresenceService.
+    @Column(name = "is_online", nullable = false)
     private boolean isOnline;
 
     private LocalDateTime createdAt;
@@ -0,0 +1,47 @@
+package com.example.forum.repository.chat;
+
+import com.example.forum.dto.chat.ChatMessageDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Multi-row insert of chat messages whose ids were assigned by ChatMessageIdGenerator.
+ * A plain INSERT: a primary key collision means two nodes produced the same id, so it must fail
+ * (and fail the message's future) rather than be skipped. A failed batch is rolled back as a whole,
+ * so the ingestor's per-message retry never meets its own rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatMessageBatchWriter {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO chat_message (id, room_id, sender_id, content, sent_at)
+        VALUES (?, ?, ?, ?, ?)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<PendingChatMessage> messages) {
+
+        if (messages.isEmpty())
+            return;
+
+        // Same convention as hibernate.jdbc.time_zone: timestamps are stored in UTC
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, pending) -> {
+            ChatMessageDTO message = pending.message();
+            ps.setLong(1, message.getId());
+            ps.setString(2, message.getRoomId());
+            ps.setLong(3, pending.senderId());
+            ps.setString(4, message.getContent());
+            ps.setTimestamp(5, Timestamp.from(message.getSentAt()), utc);
+        });
+    }
+}
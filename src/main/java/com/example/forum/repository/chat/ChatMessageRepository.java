@@ -1,18 +1,24 @@
 package com.example.forum.repository.chat;
 
 import com.example.forum.model.chat.ChatMessage;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
-    @EntityGraph(attributePaths = {"sender", "sender.profile"})
-    List<ChatMessage> findByRoomIdOrderBySentAtAsc(String roomId);
-
-    Optional<ChatMessage> findTopByRoomIdOrderBySentAtDesc(String roomId);
+    // Newest first, seeking backwards on (room_id, id); cost depends on the page size, not the room size
+    @Query("""
+        select m from ChatMessage m
+        join fetch m.sender s
+        left join fetch s.profile
+        where m.roomId = :roomId and m.id < :beforeId
+        order by m.id desc
+    """)
+    List<ChatMessage> findPageBefore(@Param("roomId") String roomId, @Param("beforeId") Long beforeId, Pageable pageable);
 }
@@ -3,13 +3,91 @@ package com.example.forum.repository.chat;
 import com.example.forum.model.chat.ChatRoom;
 import com.example.forum.model.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     Optional<ChatRoom> findByRoomId(String roomId);
-    List<ChatRoom> findAllByUser1OrUser2(User user1, User user2);
+
+    // Room list in one query: both participants and their profiles, most recent conversation first
+    @Query("""
+        select r from ChatRoom r
+        join fetch r.user1 u1
+        left join fetch u1.profile
+        join fetch r.user2 u2
+        left join fetch u2.profile
+        where r.user1 = :user or r.user2 = :user
+        order by r.lastMessageAt desc nulls last, r.id desc
+    """)
+    List<ChatRoom> findInboxByUser(@Param("user") User user);
+
+    // -------------------------------------------------------------------
+    // Summary maintenance: atomic, so concurrent sends and reads never lose an update
+    // -------------------------------------------------------------------
+
+    // One call per (room, sender) in a write batch: count messages, messageId the newest of them.
+    // MySQL applies SET assignments left to right: last_message_id must stay last so the IF()s see the old value
+    @Modifying
+    @Query(value = """
+        UPDATE chat_room
+        SET user1_unread_count = user1_unread_count + IF(user1_id = :senderId, 0, :count),
+            user2_unread_count = user2_unread_count + IF(user2_id = :senderId, 0, :count),
+            last_message_preview = IF(last_message_id IS NULL OR last_message_id < :messageId, :preview, last_message_preview),
+            last_message_at = IF(last_message_id IS NULL OR last_message_id < :messageId, :sentAt, last_message_at),
+            last_message_id = GREATEST(COALESCE(last_message_id, 0), :messageId)
+        WHERE room_id = :roomId
+    """, nativeQuery = true)
+    int recordMessages(@Param("roomId") String roomId,
+                       @Param("senderId") Long senderId,
+                       @Param("count") int count,
+                       @Param("messageId") Long messageId,
+                       @Param("preview") String preview,
+                       @Param("sentAt") Instant sentAt);
+
+    // Recounts the reader's side from the messages after their last read one (a short range scan on (room_id, id))
+    @Modifying
+    @Query(value = """
+        UPDATE chat_room r
+        JOIN (SELECT COUNT(*) AS unread
+              FROM chat_message m
+              WHERE m.room_id = :roomId AND m.id > :lastReadMessageId AND m.sender_id <> :userId) c
+        SET r.user1_unread_count = IF(r.user1_id = :userId, c.unread, r.user1_unread_count),
+            r.user2_unread_count = IF(r.user2_id = :userId, c.unread, r.user2_unread_count)
+        WHERE r.room_id = :roomId
+    """, nativeQuery = true)
+    int refreshUnread(@Param("roomId") String roomId,
+                      @Param("userId") Long userId,
+                      @Param("lastReadMessageId") Long lastReadMessageId);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM chat_room", nativeQuery = true)
+    long findMaxId();
+
+    // Drift repair for one id range; later assignments read the freshly set last_message_id
+    // (preview length = ChatRoom.PREVIEW_LENGTH)
+    @Modifying
+    @Query(value = """
+        UPDATE chat_room r
+        SET r.last_message_id = (SELECT MAX(m.id) FROM chat_message m WHERE m.room_id = r.room_id),
+            r.last_message_preview = (SELECT LEFT(m.content, 100) FROM chat_message m WHERE m.id = r.last_message_id),
+            r.last_message_at = (SELECT m.sent_at FROM chat_message m WHERE m.id = r.last_message_id),
+            r.user1_unread_count = (
+                SELECT COUNT(*) FROM chat_message m
+                WHERE m.room_id = r.room_id AND m.sender_id <> r.user1_id
+                  AND m.id > COALESCE((SELECT s.last_read_message_id FROM chat_read_status s
+                                       WHERE s.room_id = r.room_id AND s.user_id = r.user1_id), 0)),
+            r.user2_unread_count = (
+                SELECT COUNT(*) FROM chat_message m
+                WHERE m.room_id = r.room_id AND m.sender_id <> r.user2_id
+                  AND m.id > COALESCE((SELECT s.last_read_message_id FROM chat_read_status s
+                                       WHERE s.room_id = r.room_id AND s.user_id = r.user2_id), 0))
+        WHERE r.id BETWEEN :fromId AND :toId
+    """, nativeQuery = true)
+    int reconcileSummaries(@Param("fromId") long fromId, @Param("toId") long toId);
 }
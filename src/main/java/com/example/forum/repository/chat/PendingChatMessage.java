@@ -0,0 +1,9 @@
+package com.example.forum.repository.chat;
+
+import com.example.forum.dto.chat.ChatMessageDTO;
+
+/**
+ * A chat message accepted by the ingest pipeline but not yet written: the broadcast form plus the sender id.
+ */
+public record PendingChatMessage(ChatMessageDTO message, Long senderId) {
+}
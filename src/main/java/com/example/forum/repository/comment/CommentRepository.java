@@ -1,11 +1,13 @@
 package com.example.forum.repository.comment;
 
 import com.example.forum.model.comment.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +15,22 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.replies WHERE c.post.id = :postId AND c.parentComment IS NULL")
     List<Comment> findTopLevelCommentsWithReplies(@Param("postId") Long postId);
+
+    @Query("""
+        SELECT c FROM Comment c
+        JOIN FETCH c.author a
+        LEFT JOIN FETCH a.profile
+        WHERE c.post.id = :postId AND c.parentComment IS NULL
+        ORDER BY c.id ASC
+    """)
+    List<Comment> findTopLevelByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("""
+        SELECT c FROM Comment c
+        JOIN FETCH c.author a
+        LEFT JOIN FETCH a.profile
+        WHERE c.parentComment.id IN :parentIds
+        ORDER BY c.id ASC
+    """)
+    List<Comment> findRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
 }
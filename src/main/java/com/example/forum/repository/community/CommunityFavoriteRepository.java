@@ -4,6 +4,8 @@ import com.example.forum.model.community.Community;
 import com.example.forum.model.community.CommunityFavorite;
 import com.example.forum.model.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +18,7 @@ public interface CommunityFavoriteRepository extends JpaRepository<CommunityFavo
     List<CommunityFavorite> findAllByUser(User user);
     boolean existsByUserAndCommunity(User user, Community community);
     void deleteByUserAndCommunity(User user, Community community);
+
+    @Query("select f.community.id from CommunityFavorite f where f.user.id = :userId")
+    List<Long> findCommunityIdsByUserId(@Param("userId") Long userId);
 }
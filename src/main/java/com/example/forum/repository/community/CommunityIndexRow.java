@@ -0,0 +1,13 @@
+package com.example.forum.repository.community;
+
+/**
+ * Projection with the community columns the search index tokenizes.
+ */
+public interface CommunityIndexRow {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
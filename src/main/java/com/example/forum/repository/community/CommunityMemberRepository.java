@@ -5,9 +5,12 @@ import com.example.forum.model.community.CommunityMember;
 import com.example.forum.model.community.CommunityRole;
 import com.example.forum.model.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +31,23 @@ public interface CommunityMemberRepository extends JpaRepository<CommunityMember
     long countByCommunity(Community community);
     Optional<CommunityMember> findByCommunityIdAndUserId(Long communityId, Long userId);
 
+    // Presence: member ids only, to build the Redis member set without loading entities
+    @Query("select cm.user.id from CommunityMember cm where cm.community.id = :communityId")
+    List<Long> findUserIdsByCommunityId(@Param("communityId") Long communityId);
+
+    // Presence: communities of users changing online state, as (userId, communityId) pairs
+    @Query("select cm.user.id as userId, cm.community.id as communityId from CommunityMember cm where cm.user.id in :userIds")
+    List<MembershipRow> findMembershipsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    long countByCommunityId(Long communityId);
+
+    @Query("""
+        select cm from CommunityMember cm
+        join fetch cm.user u
+        left join fetch u.profile
+        where cm.community = :community and u.id in :userIds
+    """)
+    List<CommunityMember> findByCommunityAndUserIdIn(@Param("community") Community community,
+                                                     @Param("userIds") Collection<Long> userIds);
+
 }
@@ -15,7 +15,8 @@ public interface CommunityRepository extends JpaRepository<Community, Long> {
 
     boolean existsByName(String name);
 
-    List<Community> findTop5ByNameContainingIgnoreCase(String name);
+    @Query(value = "SELECT id AS id, name AS name, description AS description FROM community", nativeQuery = true)
+    List<CommunityIndexRow> findAllIndexRows();
 
     @Query(value =
             """
@@ -0,0 +1,8 @@
+package com.example.forum.repository.community;
+
+public interface MembershipRow {
+
+    Long getUserId();
+
+    Long getCommunityId();
+}
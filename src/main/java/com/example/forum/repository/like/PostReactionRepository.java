@@ -4,7 +4,10 @@ import com.example.forum.model.like.PostReaction;
 import com.example.forum.model.like.ReactionType;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,4 +26,17 @@ public interface PostReactionRepository extends JpaRepository<PostReaction, Long
     void deleteByPostId(Long postId);
 
     List<PostReaction> findByPostAndReactionType(Post post, ReactionType reactionType);
+
+    @Query("""
+        select r from PostReaction r
+        join fetch r.user u
+        left join fetch u.profile
+        where r.post.id = :postId and r.reactionType = :type
+        order by r.id desc
+    """)
+    List<PostReaction> findRecentWithUserByPostId(@Param("postId") Long postId,
+                                                  @Param("type") ReactionType type,
+                                                  Pageable pageable);
+
+    boolean existsByPostIdAndUserIdAndReactionType(Long postId, Long userId, ReactionType reactionType);
 }
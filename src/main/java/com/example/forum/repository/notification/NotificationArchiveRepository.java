@@ -0,0 +1,80 @@
+package com.example.forum.repository.notification;
+
+import com.example.forum.model.notification.NotificationArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, Long> {
+
+    // -------------------------------------------------------------------
+    // Archived inbox (keyset), same ordering as the hot inbox
+    // -------------------------------------------------------------------
+
+    @Query("""
+        select a from NotificationArchive a
+        left join fetch a.sender s
+        left join fetch s.profile
+        where a.receiver.id = :receiverId
+        order by a.lastEventAt desc, a.id desc
+    """)
+    List<NotificationArchive> findInboxFirst(@Param("receiverId") Long receiverId, Pageable pageable);
+
+    @Query("""
+        select a from NotificationArchive a
+        left join fetch a.sender s
+        left join fetch s.profile
+        where a.receiver.id = :receiverId
+          and (a.lastEventAt < :lastEventAt or (a.lastEventAt = :lastEventAt and a.id < :id))
+        order by a.lastEventAt desc, a.id desc
+    """)
+    List<NotificationArchive> findInboxAfter(@Param("receiverId") Long receiverId,
+                                             @Param("lastEventAt") Instant lastEventAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    // -------------------------------------------------------------------
+    // Retention
+    // -------------------------------------------------------------------
+
+    // Copies hot rows already locked by the caller; IGNORE makes a re-run after a partial failure harmless
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO notification_archive
+            (id, receiver_id, sender_id, type, comment_id, target_id, message, actor_count,
+             created_at, last_event_at, archived_at)
+        SELECT id, receiver_id, sender_id, type, comment_id, target_id, message, actor_count,
+               created_at, last_event_at, :now
+        FROM notification
+        WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int copyFromNotifications(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM notification_archive
+        WHERE created_at < :before
+        ORDER BY created_at
+        LIMIT :limit
+    """, nativeQuery = true)
+    int deleteCreatedBefore(@Param("before") Instant before, @Param("limit") int limit);
+
+    // InnoDB estimates: cheap to read, close enough for monitoring
+    @Query(value = """
+        SELECT table_name AS tableName,
+               table_rows AS approxRows,
+               data_length + index_length AS bytes
+        FROM information_schema.tables
+        WHERE table_schema = DATABASE()
+          AND table_name IN ('notification', 'notification_archive')
+    """, nativeQuery = true)
+    List<TableSizeRow> findTableSizes();
+}
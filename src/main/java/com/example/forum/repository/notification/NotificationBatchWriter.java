@@ -0,0 +1,95 @@
+package com.example.forum.repository.notification;
+
+import com.example.forum.model.notification.NotificationOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Multi-row insert of notifications built from outbox events.
+ * JPA cannot batch inserts of IDENTITY entities, so this goes through JDBC directly.
+ * INSERT IGNORE on the unique idempotency_key makes a replayed batch a no-op.
+ * Actors of coalesced rows go to notification_actor the same way; its (notification_id, sender_id)
+ * primary key drops senders that are already recorded.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchWriter {
+
+    private static final String INSERT_SQL = """
+        INSERT IGNORE INTO notification
+            (idempotency_key, receiver_id, sender_id, type, target_id, comment_id, message,
+             aggregate_key, actor_count, is_read, created_at, updated_at, last_event_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?, ?)
+    """;
+
+    private static final String INSERT_ACTOR_SQL = """
+        INSERT IGNORE INTO notification_actor (notification_id, sender_id)
+        VALUES (?, ?)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the rows actually inserted (replays of an already written event are left out)
+     */
+    public List<NotificationInsert> insertAll(List<NotificationInsert> rows) {
+
+        if (rows.isEmpty())
+            return List.of();
+
+        // Same convention as hibernate.jdbc.time_zone: timestamps are stored in UTC
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            NotificationOutbox e = row.event();
+            Timestamp occurredAt = Timestamp.from(e.getCreatedAt());
+            ps.setString(1, e.getIdempotencyKey());
+            ps.setLong(2, e.getReceiverId());
+            ps.setObject(3, e.getSenderId(), Types.BIGINT);
+            ps.setString(4, e.getType().name());
+            ps.setObject(5, e.getTargetId(), Types.BIGINT);
+            ps.setObject(6, e.getCommentId(), Types.BIGINT);
+            ps.setString(7, e.getMessage());
+            ps.setString(8, row.aggregateKey());
+            ps.setInt(9, row.actorCount());
+            ps.setTimestamp(10, occurredAt, utc);
+            ps.setTimestamp(11, occurredAt, utc);
+            ps.setTimestamp(12, occurredAt, utc);
+        });
+
+        // 0 = ignored duplicate; SUCCESS_NO_INFO (driver-rewritten batches) counts as written
+        List<NotificationInsert> inserted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[0][i] != 0)
+                inserted.add(rows.get(i));
+        }
+        return inserted;
+    }
+
+    /**
+     * Records the senders of each notification; senders already recorded for it are ignored.
+     */
+    public void insertActors(Map<Long, ? extends Collection<Long>> sendersByNotification) {
+
+        List<Long[]> rows = new ArrayList<>();
+        sendersByNotification.forEach((notificationId, senders) ->
+                senders.forEach(senderId -> rows.add(new Long[]{notificationId, senderId})));
+        if (rows.isEmpty())
+            return;
+
+        jdbcTemplate.batchUpdate(INSERT_ACTOR_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+        });
+    }
+}
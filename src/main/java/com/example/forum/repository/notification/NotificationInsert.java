@@ -0,0 +1,14 @@
+package com.example.forum.repository.notification;
+
+import com.example.forum.model.notification.NotificationOutbox;
+
+/**
+ * One notification row to insert: the (latest) outbox event it is built from, plus its coalescing state.
+ * aggregateKey is null for notification types that are never merged.
+ */
+public record NotificationInsert(NotificationOutbox event, String aggregateKey, int actorCount) {
+
+    public static NotificationInsert single(NotificationOutbox event) {
+        return new NotificationInsert(event, null, 1);
+    }
+}
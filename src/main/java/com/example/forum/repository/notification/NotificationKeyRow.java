@@ -0,0 +1,6 @@
+package com.example.forum.repository.notification;
+
+public interface NotificationKeyRow {
+    Long getId();
+    String getIdempotencyKey();
+}
@@ -0,0 +1,47 @@
+package com.example.forum.repository.notification;
+
+import com.example.forum.model.notification.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Claims due events; rows locked by another dispatcher are skipped rather than waited on
+    @Query(value = """
+        SELECT * FROM notification_outbox
+        WHERE next_attempt_at <= UTC_TIMESTAMP(6)
+          AND attempts < :maxAttempts
+        ORDER BY next_attempt_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<NotificationOutbox> lockDueBatch(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM notification_outbox WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<NotificationOutbox> lockById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from NotificationOutbox o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Schedules the next attempt :delaySeconds from now; the backoff is computed by the dispatcher
+    @Modifying
+    @Query(value = """
+        UPDATE notification_outbox
+        SET next_attempt_at = UTC_TIMESTAMP(6) + INTERVAL :delaySeconds SECOND,
+            attempts = attempts + 1,
+            last_error = LEFT(:error, 500)
+        WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int markFailed(@Param("ids") Collection<Long> ids,
+                   @Param("error") String error,
+                   @Param("delaySeconds") long delaySeconds);
+}
@@ -2,13 +2,179 @@ package com.example.forum.repository.notification;
 
 import com.example.forum.model.notification.Notification;
 import com.example.forum.model.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     List<Notification> findByReceiverOrderByCreatedAtDesc(User receiver);
+
+    // -------------------------------------------------------------------
+    // Inbox (keyset): latest activity first, continue after the last (lastEventAt, id) seen
+    // -------------------------------------------------------------------
+
+    @Query("""
+        select n from Notification n
+        left join fetch n.sender s
+        left join fetch s.profile
+        where n.receiver.id = :receiverId
+        order by n.lastEventAt desc, n.id desc
+    """)
+    List<Notification> findInboxFirst(@Param("receiverId") Long receiverId, Pageable pageable);
+
+    @Query("""
+        select n from Notification n
+        left join fetch n.sender s
+        left join fetch s.profile
+        where n.receiver.id = :receiverId
+          and (n.lastEventAt < :lastEventAt or (n.lastEventAt = :lastEventAt and n.id < :id))
+        order by n.lastEventAt desc, n.id desc
+    """)
+    List<Notification> findInboxAfter(@Param("receiverId") Long receiverId,
+                                      @Param("lastEventAt") Instant lastEventAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("""
+        select n from Notification n
+        left join fetch n.sender s
+        left join fetch s.profile
+        where n.receiver.id = :receiverId and n.isRead = false
+        order by n.lastEventAt desc, n.id desc
+    """)
+    List<Notification> findUnreadInboxFirst(@Param("receiverId") Long receiverId, Pageable pageable);
+
+    @Query("""
+        select n from Notification n
+        left join fetch n.sender s
+        left join fetch s.profile
+        where n.receiver.id = :receiverId and n.isRead = false
+          and (n.lastEventAt < :lastEventAt or (n.lastEventAt = :lastEventAt and n.id < :id))
+        order by n.lastEventAt desc, n.id desc
+    """)
+    List<Notification> findUnreadInboxAfter(@Param("receiverId") Long receiverId,
+                                            @Param("lastEventAt") Instant lastEventAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    // -------------------------------------------------------------------
+    // Read state: set-based updates, so no rows are loaded into memory
+    // -------------------------------------------------------------------
+
+    @Modifying
+    @Query("""
+        update Notification n set n.isRead = true, n.updatedAt = :now
+        where n.receiver.id = :receiverId and n.isRead = false
+    """)
+    int markAllRead(@Param("receiverId") Long receiverId, @Param("now") Instant now);
+
+    // Returns 0 when the row was already read, so a concurrent resolve is only counted once
+    @Modifying
+    @Query("""
+        update Notification n set n.isRead = true, n.updatedAt = :now
+        where n.id = :id and n.isRead = false
+    """)
+    int markRead(@Param("id") Long id, @Param("now") Instant now);
+
+    @Query("select count(n) from Notification n where n.receiver.id = :receiverId and n.isRead = false")
+    long countUnread(@Param("receiverId") Long receiverId);
+
+    // Catch-up after reconnect: rows newer than the last id the client has seen, plus older aggregates
+    // that absorbed events after :since (a merge keeps the row's id)
+    @Query("""
+        select n from Notification n
+        left join fetch n.sender s
+        left join fetch s.profile
+        where n.receiver = :receiver
+          and (n.id > :afterId or n.lastEventAt > :since)
+        order by n.lastEventAt asc, n.id asc
+    """)
+    List<Notification> findAfter(@Param("receiver") User receiver,
+                                 @Param("afterId") Long afterId,
+                                 @Param("since") Instant since,
+                                 Pageable pageable);
+
+    @Query("select n.createdAt from Notification n where n.id = :id and n.receiver = :receiver")
+    Optional<Instant> findCreatedAt(@Param("id") Long id, @Param("receiver") User receiver);
+
+    // -------------------------------------------------------------------
+    // Coalescing
+    // -------------------------------------------------------------------
+
+    @Query("""
+        select n.id as id, n.aggregateKey as aggregateKey from Notification n
+        where n.aggregateKey in :keys and n.isRead = false and n.lastEventAt >= :since
+    """)
+    List<OpenAggregateRow> findOpenAggregates(@Param("keys") Collection<String> keys, @Param("since") Instant since);
+
+    // Folds more events into an unread aggregate and moves it to the top of the inbox; returns 0 if it was
+    // read in the meantime. The actor count is recounted from notification_actor, so repeat senders count once.
+    @Modifying
+    @Query(value = """
+        UPDATE notification
+        SET actor_count = (SELECT COUNT(*) FROM notification_actor WHERE notification_id = :id),
+            sender_id = :senderId,
+            comment_id = :commentId,
+            message = :message,
+            last_event_at = :now,
+            updated_at = :now
+        WHERE id = :id AND is_read = false
+    """, nativeQuery = true)
+    int mergeInto(@Param("id") Long id,
+                  @Param("senderId") Long senderId,
+                  @Param("commentId") Long commentId,
+                  @Param("message") String message,
+                  @Param("now") Instant now);
+
+    @Query("""
+        select n from Notification n
+        left join fetch n.sender s
+        left join fetch s.profile
+        where n.id in :ids
+    """)
+    List<Notification> findByIdInWithSender(@Param("ids") Collection<Long> ids);
+
+    // Rows just written by the outbox dispatcher, loaded for the real-time push
+    @Query("""
+        select n from Notification n
+        left join fetch n.sender s
+        left join fetch s.profile
+        where n.idempotencyKey in :keys
+    """)
+    List<Notification> findByIdempotencyKeyIn(@Param("keys") Collection<String> keys);
+
+    // Ids of rows just written by the outbox dispatcher, to attach their actors
+    @Query("select n.id as id, n.idempotencyKey as idempotencyKey from Notification n where n.idempotencyKey in :keys")
+    List<NotificationKeyRow> findIdsByIdempotencyKeyIn(@Param("keys") Collection<String> keys);
+
+    // -------------------------------------------------------------------
+    // Retention: claim one chunk of archivable rows; SKIP LOCKED lets concurrent runs split the work
+    // -------------------------------------------------------------------
+
+    @Query(value = """
+        SELECT id FROM notification
+        WHERE is_read = true AND last_event_at < :before
+        ORDER BY last_event_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Long> lockArchivable(@Param("before") Instant before, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from Notification n where n.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from NotificationActor a where a.notificationId in :ids")
+    int deleteActorsByNotificationIdIn(@Param("ids") Collection<Long> ids);
 }
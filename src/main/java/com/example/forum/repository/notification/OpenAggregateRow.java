@@ -0,0 +1,6 @@
+package com.example.forum.repository.notification;
+
+public interface OpenAggregateRow {
+    Long getId();
+    String getAggregateKey();
+}
@@ -0,0 +1,10 @@
+package com.example.forum.repository.notification;
+
+public interface TableSizeRow {
+
+    String getTableName();
+
+    Long getApproxRows();
+
+    Long getBytes();
+}
@@ -21,4 +21,7 @@ public interface HiddenPostRepository extends JpaRepository<HiddenPost, Long> {
 
     @Query("select h.post.id from HiddenPost h where h.user = :user")
     List<Long> findHiddenPostIdsByUser(@Param("user") User user);
+
+    @Query("select h.post.id from HiddenPost h where h.user.id = :userId")
+    List<Long> findHiddenPostIdsByUserId(@Param("userId") Long userId);
 }
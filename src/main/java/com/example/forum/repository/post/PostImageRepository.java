@@ -4,6 +4,11 @@ import com.example.forum.model.post.PostFile;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PostImageRepository extends JpaRepository<PostFile, Long> {
+
+    List<PostFile> findByPostIdInOrderByIdAsc(Collection<Long> postIds);
 }
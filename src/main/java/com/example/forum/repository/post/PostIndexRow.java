@@ -0,0 +1,13 @@
+package com.example.forum.repository.post;
+
+/**
+ * Projection with the post columns the search index tokenizes.
+ */
+public interface PostIndexRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+}
@@ -6,12 +6,14 @@ import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,11 +48,9 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // Home Feed - TOP LIKED
     @Query(
             value = """
-                        SELECT p.* FROM post p
-                        LEFT JOIN post_likes l ON p.id = l.post_id
-                        WHERE p.visibility = 'PUBLIC' OR p.visibility = 'COMMUNITY'
-                        GROUP BY p.id
-                        ORDER BY COUNT(l.id) DESC, p.created_at DESC
+                        SELECT * FROM post
+                        WHERE visibility = 'PUBLIC' OR visibility = 'COMMUNITY'
+                        ORDER BY like_count DESC, created_at DESC, id DESC
                         LIMIT :limit OFFSET :offset
                     """,
 
@@ -58,14 +58,63 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     )
     List<Post> findPagedPostsTopLiked(@Param("limit") int limit, @Param("offset") int offset);
 
-    @Query(
-            """
-                SELECT p FROM Post p 
-                WHERE p.createdAt >= :from 
-                ORDER BY SIZE(p.likes) DESC
-            """
-    )
-    List<Post> findTopPostsSince(@Param("from") LocalDateTime from, Pageable pageable);
+    // -------------------------------------------------------------------
+    // Home Feed (keyset): continue after the last row the client has seen
+    // -------------------------------------------------------------------
+
+    // Keyset - NEWEST
+    @Query(value = """
+        SELECT * FROM post
+        WHERE (visibility = 'PUBLIC' OR visibility = 'COMMUNITY')
+          AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id))
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Post> findFeedNewestAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            @Param("limit") int limit
+    );
+
+    // Keyset - OLDEST
+    @Query(value = """
+        SELECT * FROM post
+        WHERE (visibility = 'PUBLIC' OR visibility = 'COMMUNITY')
+          AND (created_at > :createdAt OR (created_at = :createdAt AND id > :id))
+        ORDER BY created_at ASC, id ASC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Post> findFeedOldestAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            @Param("limit") int limit
+    );
+
+    // Keyset - TOP LIKED (first page)
+    @Query(value = """
+        SELECT * FROM post
+        WHERE visibility = 'PUBLIC' OR visibility = 'COMMUNITY'
+        ORDER BY like_count DESC, created_at DESC, id DESC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Post> findFeedTopLikedFirst(@Param("limit") int limit);
+
+    // Keyset - TOP LIKED
+    @Query(value = """
+        SELECT * FROM post
+        WHERE (visibility = 'PUBLIC' OR visibility = 'COMMUNITY')
+          AND (like_count < :likeCount
+               OR (like_count = :likeCount AND created_at < :createdAt)
+               OR (like_count = :likeCount AND created_at = :createdAt AND id < :id))
+        ORDER BY like_count DESC, created_at DESC, id DESC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Post> findFeedTopLikedAfter(
+            @Param("likeCount") int likeCount,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            @Param("limit") int limit
+    );
 
 
     // -------------------------------------------------------------------
@@ -85,11 +134,9 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     @Query("""
         SELECT p FROM Post p
-        LEFT JOIN p.likes l
         WHERE p.author = :author
           AND (:includePrivate = true OR p.visibility <> 'PRIVATE')
-        GROUP BY p
-        ORDER BY COUNT(l) DESC, p.createdAt DESC
+        ORDER BY p.likeCount DESC, p.createdAt DESC
     """)
     Page<Post> findPostsByAuthorWithLikeCount(
             @Param("author") User author,
@@ -135,18 +182,44 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     );
 
     // -------------------------------------------------------------------
-    // Post Detail: Fetch post with author, profile, likes, comments
+    // Post Detail: core row with its to-one associations only.
+    // Likes and comments are loaded separately as bounded queries.
+    // -------------------------------------------------------------------
+
+    @Query("""
+        SELECT p FROM Post p
+        JOIN FETCH p.author a
+        LEFT JOIN FETCH a.profile
+        LEFT JOIN FETCH p.category c
+        LEFT JOIN FETCH c.community
+        WHERE p.id = :postId
+    """)
+    Optional<Post> findDetailById(@Param("postId") Long postId);
+
+    // -------------------------------------------------------------------
+    // Feed cards: to-one associations a PostResponseDTO needs, for a whole page at once
     // -------------------------------------------------------------------
 
-    @EntityGraph(attributePaths = {
-            "author", "author.profile",
-            "category", "category.community",
-            "likes", "likes.user", "likes.user.profile",
-            "comments", "comments.author", "comments.author.profile"
-    })
-    Optional<Post> findById(Long postId);
+    @Query("""
+        SELECT p FROM Post p
+        JOIN FETCH p.author a
+        LEFT JOIN FETCH a.profile
+        LEFT JOIN FETCH p.category c
+        LEFT JOIN FETCH c.community
+        WHERE p.id IN :ids
+    """)
+    List<Post> findCardsByIdIn(@Param("ids") Collection<Long> ids);
 
-    List<Post> findTop5ByTitleContainingIgnoreCase(String title);
+    // Search index rebuild: id-ordered chunks of the indexed columns only
+    @Query(value = """
+        SELECT id AS id, title AS title, content AS content
+        FROM post
+        WHERE id > :afterId
+          AND (visibility = 'PUBLIC' OR visibility = 'COMMUNITY')
+        ORDER BY id ASC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<PostIndexRow> findIndexRowsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
 
     //
     // --------------- Community Related Query ---------------
@@ -198,10 +271,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query(
             """
                 SELECT p FROM Post p
-                LEFT JOIN p.likes l
                 WHERE p.category.community = :community AND p.category = :category
-                GROUP BY p
-                ORDER BY COUNT(l) DESC, p.createdAt DESC
+                ORDER BY p.likeCount DESC, p.createdAt DESC
             """
     )
     Page<Post> findByCommunityAndCategoryWithLikeCount(
@@ -226,12 +297,10 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query(
             """
                 SELECT p FROM Post p
-                LEFT JOIN p.likes l
                 WHERE p.category.community.id = :communityId
                   AND p.category.id = :categoryId
                   AND p.createdAt >= :fromDate
-                GROUP BY p
-                ORDER BY COUNT(l) DESC, p.createdAt DESC
+                ORDER BY p.likeCount DESC, p.createdAt DESC
             """
     )
     List<Post> findTopPostsByCommunityAndCategoryAndDateAfter(
@@ -279,10 +348,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query(
         """
             SELECT p FROM Post p
-            LEFT JOIN p.likes l
             WHERE p.category.community.id = :communityId
-            GROUP BY p
-            ORDER BY COUNT(l) DESC, p.createdAt DESC
+            ORDER BY p.likeCount DESC, p.createdAt DESC
         """
     )
     List<Post> findCommunityPostsTopLiked(@Param("communityId") Long communityId, Pageable pageable);
@@ -310,22 +377,77 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query(
         """
             SELECT p FROM Post p
-            LEFT JOIN p.likes l
             WHERE p.category.community.id = :communityId AND p.category.name = :categoryName
-            GROUP BY p
-            ORDER BY COUNT(l) DESC, p.createdAt DESC
+            ORDER BY p.likeCount DESC, p.createdAt DESC
         """
     )
     List<Post> findCommunityPostsByCategoryTopLiked(@Param("communityId") Long communityId, @Param("categoryName") String categoryName, Pageable pageable);
 
-    @Query(
-        """
-            SELECT p FROM Post p
-            WHERE p.createdAt >= :from
-            ORDER BY SIZE(p.comments) DESC
-        """
-    )
-    Page<Post> findTrendingPosts(@Param("from") LocalDateTime from, Pageable pageable);
-
     int countByCategoryCommunityId(Long communityId);
+
+    // -------------------------------------------------------------------
+    // Denormalized counters: atomic deltas, never below zero
+    // -------------------------------------------------------------------
+
+    @Modifying
+    @Query(value = """
+        UPDATE post SET like_count = GREATEST(like_count + :delta, 0)
+        WHERE id = :postId
+    """, nativeQuery = true)
+    int addLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = """
+        UPDATE post SET comment_count = GREATEST(comment_count + :delta, 0)
+        WHERE id = :postId
+    """, nativeQuery = true)
+    int addCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM post", nativeQuery = true)
+    long findMaxId();
+
+    // Recomputes both counters from the source tables for one id range
+    @Modifying
+    @Query(value = """
+        UPDATE post p
+        SET p.like_count = (
+                SELECT COUNT(*) FROM post_likes l
+                WHERE l.post_id = p.id AND l.reaction_type = 'LIKE'),
+            p.comment_count = (
+                SELECT COUNT(*) FROM comment c
+                WHERE c.post_id = p.id)
+        WHERE p.id BETWEEN :fromId AND :toId
+    """, nativeQuery = true)
+    int reconcileCounters(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // -------------------------------------------------------------------
+    // Trending engine rebuild: ages are computed in SQL against UTC_TIMESTAMP()
+    // -------------------------------------------------------------------
+
+    @Query(value = """
+        SELECT p.id AS postId, TIMESTAMPDIFF(SECOND, p.created_at, UTC_TIMESTAMP()) AS ageSeconds
+        FROM post p
+        WHERE p.created_at >= UTC_TIMESTAMP() - INTERVAL :seconds SECOND
+          AND (p.visibility = 'PUBLIC' OR p.visibility = 'COMMUNITY')
+    """, nativeQuery = true)
+    List<TrendingActivityRow> findTrendingCandidates(@Param("seconds") long seconds);
+
+    @Query(value = """
+        SELECT l.post_id AS postId, TIMESTAMPDIFF(SECOND, l.created_at, UTC_TIMESTAMP()) AS ageSeconds
+        FROM post_likes l
+        JOIN post p ON p.id = l.post_id
+        WHERE p.created_at >= UTC_TIMESTAMP() - INTERVAL :seconds SECOND
+          AND (p.visibility = 'PUBLIC' OR p.visibility = 'COMMUNITY')
+          AND l.reaction_type = 'LIKE'
+    """, nativeQuery = true)
+    List<TrendingActivityRow> findRecentTrendingLikes(@Param("seconds") long seconds);
+
+    @Query(value = """
+        SELECT c.post_id AS postId, TIMESTAMPDIFF(SECOND, c.created_at, UTC_TIMESTAMP()) AS ageSeconds
+        FROM comment c
+        JOIN post p ON p.id = c.post_id
+        WHERE p.created_at >= UTC_TIMESTAMP() - INTERVAL :seconds SECOND
+          AND (p.visibility = 'PUBLIC' OR p.visibility = 'COMMUNITY')
+    """, nativeQuery = true)
+    List<TrendingActivityRow> findRecentTrendingComments(@Param("seconds") long seconds);
 }
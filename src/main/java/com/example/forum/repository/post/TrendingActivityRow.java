@@ -0,0 +1,12 @@
+package com.example.forum.repository.post;
+
+/**
+ * Projection used to replay recent activity into the trending engine.
+ * Age is computed by the database so no timezone conversion happens in between.
+ */
+public interface TrendingActivityRow {
+
+    Long getPostId();
+
+    Long getAgeSeconds();
+}
@@ -1,14 +1,13 @@
 package com.example.forum.repository.tag;
 
 import com.example.forum.model.tag.Tag;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -18,19 +17,37 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     Optional<Tag> findByNameIgnoreCase(String name);
     List<Tag> findByNameIn(Collection<String> names);
-    Page<Tag> findByNameStartingWithIgnoreCase(String prefix, Pageable pageable);
-
-    @Query(
-        """
-            SELECT t.name
-            FROM Post p
-            JOIN p.postTags pt
-            JOIN pt.tag t
-            WHERE p.createdAt >= :from
-            GROUP BY t.name
-            ORDER BY COUNT(p.id) DESC
-        """
-    )
-    List<String> findTopTagsSince(@Param("from") LocalDateTime from, Pageable pageable);
 
+    // Autocomplete rebuild: every tag with its maintained post count
+    @Query(value = "SELECT t.name AS name, t.usage_count AS uses FROM tags t", nativeQuery = true)
+    List<TagUsageRow> findAllUsage();
+
+    // Top tags: an index read on usage_count
+    @Query("select t.name from Tag t where t.usageCount > 0 order by t.usageCount desc, t.id desc")
+    List<String> findTopNames(Pageable pageable);
+
+    // -------------------------------------------------------------------
+    // Denormalized usage counter: atomic deltas, never below zero
+    // -------------------------------------------------------------------
+
+    @Modifying
+    @Query(value = """
+        UPDATE tags SET usage_count = GREATEST(usage_count + :delta, 0)
+        WHERE id IN (:tagIds)
+    """, nativeQuery = true)
+    int addUsageCount(@Param("tagIds") Collection<Long> tagIds, @Param("delta") int delta);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM tags", nativeQuery = true)
+    long findMaxId();
+
+    // Recomputes usage_count from post_tags for one id range
+    @Modifying
+    @Query(value = """
+        UPDATE tags t
+        SET t.usage_count = (
+                SELECT COUNT(*) FROM post_tags pt
+                WHERE pt.tag_id = t.id)
+        WHERE t.id BETWEEN :fromId AND :toId
+    """, nativeQuery = true)
+    int reconcileUsageCounts(@Param("fromId") long fromId, @Param("toId") long toId);
 }
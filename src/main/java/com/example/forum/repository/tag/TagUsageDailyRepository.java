@@ -0,0 +1,60 @@
+package com.example.forum.repository.tag;
+
+import com.example.forum.model.tag.TagUsageDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TagUsageDailyRepository extends JpaRepository<TagUsageDaily, Long> {
+
+    // Atomic upsert of one bucket, never below zero
+    @Modifying
+    @Query(value = """
+        INSERT INTO tag_usage_daily (tag_id, bucket_date, uses)
+        VALUES (:tagId, :bucketDate, GREATEST(:delta, 0))
+        ON DUPLICATE KEY UPDATE uses = GREATEST(uses + :delta, 0)
+    """, nativeQuery = true)
+    int addUses(@Param("tagId") Long tagId, @Param("bucketDate") LocalDate bucketDate, @Param("delta") int delta);
+
+    // Hot tags: sums at most one row per (day, tag) in the window, walking the unique (bucket_date, tag_id) index
+    @Query(value = """
+        SELECT t.name
+        FROM tag_usage_daily d
+        JOIN tags t ON t.id = d.tag_id
+        WHERE d.bucket_date >= :from
+        GROUP BY t.id, t.name
+        HAVING SUM(d.uses) > 0
+        ORDER BY SUM(d.uses) DESC, t.id ASC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<String> findTopTagNamesSince(@Param("from") LocalDate from, @Param("limit") int limit);
+
+    // -------------------------------------------------------------------
+    // Reconciliation: buckets are rebuilt from post_tags for the retained window
+    // -------------------------------------------------------------------
+
+    @Modifying
+    @Query(value = "DELETE FROM tag_usage_daily WHERE bucket_date >= :from", nativeQuery = true)
+    int deleteSince(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO tag_usage_daily (tag_id, bucket_date, uses)
+        SELECT pt.tag_id, DATE(p.created_at), COUNT(*)
+        FROM post_tags pt
+        JOIN post p ON p.id = pt.post_id
+        WHERE p.created_at >= :from
+        GROUP BY pt.tag_id, DATE(p.created_at)
+    """, nativeQuery = true)
+    int rebuildSince(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "DELETE FROM tag_usage_daily WHERE bucket_date < :before", nativeQuery = true)
+    int deleteBefore(@Param("before") LocalDate before);
+}
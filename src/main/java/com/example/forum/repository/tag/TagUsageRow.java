@@ -0,0 +1,11 @@
+package com.example.forum.repository.tag;
+
+/**
+ * Projection of a tag name with the number of posts that use it.
+ */
+public interface TagUsageRow {
+
+    String getName();
+
+    Long getUses();
+}
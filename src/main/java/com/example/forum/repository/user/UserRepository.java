@@ -1,6 +1,7 @@
 package com.example.forum.repository.user;
 
 import com.example.forum.model.user.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,5 +16,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 
-    List<User> findTop5ByUsernameContainingIgnoreCase(String keyword);
+    // Prefix match so the unique index on username can be used (column collation is case-insensitive).
+    // Profile is fetched up front because search sections are mapped off the request thread.
+    @EntityGraph(attributePaths = "profile")
+    List<User> findTop5ByUsernameStartingWithOrderByUsernameAsc(String prefix);
 }
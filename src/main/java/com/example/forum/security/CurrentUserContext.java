@@ -0,0 +1,51 @@
+package com.example.forum.security;
+
+import com.example.forum.model.user.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * The authenticated user of the current HTTP request, loaded at most once per request.
+ * - AuthValidator.validateUserByUsername answers the authenticated username from here, so a feed that
+ *   resolves the viewer in several services (feed, hidden posts, favorites) costs one user query.
+ * - The User is loaded inside the request, where open-in-view keeps it managed and lazy associations
+ *   such as the profile still load. The one on the CustomUserDetails principal is not handed out: it was
+ *   loaded by the filter outside that persistence context and may be shared through PrincipalCache.
+ * - Other usernames, and calls outside an HTTP request (STOMP, schedulers, event listeners), always load.
+ */
+@Component
+public class CurrentUserContext {
+
+    private static final String ATTRIBUTE = CurrentUserContext.class.getName() + ".user";
+
+    public User resolve(String username, Supplier<User> loader) {
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String authenticated = authenticatedUsername();
+        if (request == null || authenticated == null || !authenticated.equals(username))
+            return loader.get();
+
+        if (request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached
+                && username.equals(cached.getUsername()))
+            return cached;
+
+        User user = loader.get();
+        request.setAttribute(ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private static String authenticatedUsername() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details)
+                ? details.getUsername()
+                : null;
+    }
+}
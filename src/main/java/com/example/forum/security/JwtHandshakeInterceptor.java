@@ -1,5 +1,7 @@
 package com.example.forum.security;
 
+import com.example.forum.helper.chat.ChatSenderProfileCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.server.ServerHttpRequest;
@@ -8,7 +10,6 @@ import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
@@ -20,7 +21,8 @@ import java.util.Map;
 public class JwtHandshakeInterceptor implements HandshakeInterceptor {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final ChatSenderProfileCache senderProfileCache;
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
@@ -30,9 +32,11 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
             HttpServletRequest httpRequest = servletRequest.getServletRequest();
             String token = httpRequest.getParameter("token");
 
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                String username = jwtTokenProvider.getUsernameFromJWT(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            String username = (token == null) ? null
+                    : jwtTokenProvider.parseClaims(token).map(Claims::getSubject).orElse(null);
+
+            if (username != null) {
+                UserDetails userDetails = principalCache.get(username);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -40,6 +44,8 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
                 attributes.put("user", userDetails);
+                if (userDetails instanceof CustomUserDetails customUserDetails)
+                    senderProfileCache.prime(attributes, customUserDetails.getUser());
                 return true;
             }
         }
@@ -1,17 +1,18 @@
 package com.example.forum.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
@@ -44,6 +45,21 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry once and returns the claims; empty when the token is not valid.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        try {
+            return Optional.of(Jwts.parserBuilder()
+                    .setSigningKey(secretKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
     public String getUsernameFromJWT(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(secretKey)
@@ -53,11 +69,6 @@ public class JwtTokenProvider {
                 .getSubject();
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        String username = getUsernameFromJWT(token);
-        return username.equals(userDetails.getUsername()) && validateToken(token);
-    }
-
     public boolean validateToken(String token) {
 
         try {
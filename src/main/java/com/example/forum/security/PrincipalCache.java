@@ -0,0 +1,90 @@
+package com.example.forum.security;
+
+import com.example.forum.service.profile.ProfileUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Authenticated principals by username, so a request with a valid token does not query the users table.
+ * - Bounded (least recently used entries go first) and each entry lives for security.principal-cache.ttl.
+ * - Evicted on logout and, after commit, on ProfileUpdatedEvent (username, nickname or image change),
+ *   so the User carried by the principal is never older than the last profile update on this node.
+ * - Per node: an update made on another node is picked up here when the entry expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.principal-cache.ttl:PT60S}")
+    private Duration ttl;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private Map<String, Entry> entries;
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+
+        hits = Counter.builder("security.principal.cache").tag("result", "hit")
+                .description("Authenticated requests served without a user lookup")
+                .register(meterRegistry);
+        misses = Counter.builder("security.principal.cache").tag("result", "miss")
+                .description("Authenticated requests that loaded the user from the database")
+                .register(meterRegistry);
+    }
+
+    public UserDetails get(String username) {
+
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(username);
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.userDetails();
+        }
+
+        misses.increment();
+        UserDetails loaded = userDetailsService.loadUserByUsername(username);
+        entries.put(username, new Entry(loaded, now + ttl.toMillis()));
+        return loaded;
+    }
+
+    public void evict(String username) {
+        entries.remove(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.userDetails() instanceof CustomUserDetails details
+                    && event.userId().equals(details.getUser().getId()));
+        }
+    }
+
+    private record Entry(UserDetails userDetails, long expiresAt) {
+    }
+}
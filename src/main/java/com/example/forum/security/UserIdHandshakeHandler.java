@@ -0,0 +1,29 @@
+package com.example.forum.security;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Names the STOMP session principal after the authenticated user's id, so user destinations
+ * (/user/queue/...) can be addressed by id and survive username changes.
+ */
+@Component
+public class UserIdHandshakeHandler extends DefaultHandshakeHandler {
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+
+        if (attributes.get("user") instanceof CustomUserDetails details) {
+            String userId = String.valueOf(details.getUser().getId());
+            return () -> userId;
+        }
+
+        return super.determineUser(request, wsHandler, attributes);
+    }
+}
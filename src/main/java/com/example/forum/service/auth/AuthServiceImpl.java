@@ -10,6 +10,8 @@ import com.example.forum.model.user.User;
 import com.example.forum.repository.profile.ProfileRepository;
 import com.example.forum.repository.user.UserRepository;
 import com.example.forum.security.JwtTokenProvider;
+import com.example.forum.security.PrincipalCache;
+import com.example.forum.service.presence.PresenceService;
 import com.example.forum.validator.auth.AuthValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,7 +31,8 @@ public class AuthServiceImpl implements AuthService{
     private final ProfileRepository profileRepository;
 
     // Services
-    private final RedisService redisService;
+    private final PresenceService presenceService;
+    private final PrincipalCache principalCache;
 
     // Security
     private final PasswordEncoder passwordEncoder;
@@ -101,6 +104,7 @@ public class AuthServiceImpl implements AuthService{
         // Retrieves currently requesting user
         User user = authValidator.validateUserByUsername(username);
         markUserOffline(user); // Marks the user as offline
+        principalCache.evict(user.getUsername());
     }
 
     /**
@@ -122,10 +126,10 @@ public class AuthServiceImpl implements AuthService{
 
     // Helper methods
     private void markUserOnline(User user) {
-        redisService.markUserOnline(user.getId());
+        presenceService.heartbeat(user.getId());
     }
 
     private void markUserOffline(User user) {
-        redisService.markUserOffline(user.getId());
+        presenceService.markOffline(user.getId());
     }
 }
@@ -1,7 +1,7 @@
 package com.example.forum.service.bookmark;
 
 import com.example.forum.dto.post.PostPreviewDTO;
-import com.example.forum.mapper.post.PostMapper;
+import com.example.forum.helper.post.PostAssembler;
 import com.example.forum.model.bookmark.Bookmark;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
@@ -25,6 +25,9 @@ public class BookmarkServiceImpl implements BookmarkService {
     // Services
     private final HiddenPostService hiddenPostService;
 
+    // Helper
+    private final PostAssembler postAssembler;
+
     // Validators
     private final PostValidator postValidator;
     private final AuthValidator userValidator;
@@ -32,7 +35,7 @@ public class BookmarkServiceImpl implements BookmarkService {
     @Override
     public void toggleBookmark(Long postId, String username) {
 
-        Post post = postValidator.validatePost(postId);
+        Post post = postValidator.validatePostReference(postId);
         User user = userValidator.validateUserByUsername(username);
 
         bookmarkRepository.findByUserAndPost(user, post)
@@ -45,7 +48,7 @@ public class BookmarkServiceImpl implements BookmarkService {
     @Override
     public boolean isBookmarked(Long postId, String username) {
 
-        Post post = postValidator.validatePost(postId);
+        Post post = postValidator.validatePostReference(postId);
         User user = userValidator.validateUserByUsername(username);
 
         return bookmarkRepository.existsByUserAndPost(user, post);
@@ -58,8 +61,11 @@ public class BookmarkServiceImpl implements BookmarkService {
 
         Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
 
-        return bookmarkRepository.findAllByUser(user).stream()
-                .map(bookmark -> PostMapper.toPreviewDTO(bookmark.getPost(), hiddenPostIds.contains(bookmark.getPost().getId())))
+        // Bookmark.post stays an uninitialized proxy here; only its id is read
+        List<Long> postIds = bookmarkRepository.findAllByUser(user).stream()
+                .map(bookmark -> bookmark.getPost().getId())
                 .toList();
+
+        return postAssembler.assemblePreviews(postIds, hiddenPostIds);
     }
 }
@@ -1,6 +1,6 @@
 package com.example.forum.service.chat;
 
-import com.example.forum.dto.chat.ChatMessageDTO;
+import com.example.forum.dto.chat.ChatMessagePageDTO;
 import com.example.forum.dto.chat.ChatRoomDTO;
 
 import java.util.List;
@@ -8,8 +8,7 @@ import java.util.List;
 public interface ChatService {
 
     String getOrCreateRoomId(String user1username, String user2username);
-    ChatMessageDTO saveMessage(ChatMessageDTO dto);
-    List<ChatMessageDTO> getMessage(String roomId, String currUsername);
+    ChatMessagePageDTO getMessages(String roomId, String currUsername, Long beforeId, int size);
     List<ChatRoomDTO> getUserChatRooms(String username);
     void markAsRead(String roomId, String username, Long lastReadMessageId);
     Long getLastReadMessageId(String roomId, String username);
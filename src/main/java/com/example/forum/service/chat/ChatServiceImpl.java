@@ -1,6 +1,7 @@
 package com.example.forum.service.chat;
 
 import com.example.forum.dto.chat.ChatMessageDTO;
+import com.example.forum.dto.chat.ChatMessagePageDTO;
 import com.example.forum.dto.chat.ChatRoomDTO;
 import com.example.forum.mapper.chat.ChatMapper;
 import com.example.forum.model.chat.ChatMessage;
@@ -14,10 +15,13 @@ import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.chat.ChatValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +42,8 @@ public class ChatServiceImpl implements ChatService {
     // Mapper
     private final ChatMapper chatMapper;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Override
     public String getOrCreateRoomId(String user1Username, String user2Username) {
 
@@ -68,47 +74,35 @@ public class ChatServiceImpl implements ChatService {
     }
 
     @Override
-    public ChatMessageDTO saveMessage(ChatMessageDTO dto) {
+    public ChatMessagePageDTO getMessages(String roomId, String currUsername, Long beforeId, int size) {
 
-        User sender = userValidator.validateUserByUsername(dto.getSenderUsername());
+        User currUser = userValidator.validateUserByUsername(currUsername);
+        chatValidator.validateUserRoom(roomId, currUser);
 
-        Instant sentAt = Instant.now();
+        int limit = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
 
-        ChatMessage message = ChatMessage.builder()
-                .roomId(dto.getRoomId())
-                .sender(sender)
-                .content(dto.getContent())
-                .sentAt(sentAt)
-                .build();
+        // Newest first, one extra row to learn whether older messages exist
+        List<ChatMessage> rows = chatMessageRepository.findPageBefore(
+                roomId, beforeId == null ? Long.MAX_VALUE : beforeId, PageRequest.of(0, limit + 1));
 
-        ChatMessage saved = chatMessageRepository.save(message);
-        return chatMapper.toChatMessageDTO(saved);
-    }
-
-    @Override
-    public List<ChatMessageDTO> getMessage(String roomId, String currUsername) {
+        boolean hasMore = rows.size() > limit;
+        List<ChatMessage> page = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+        Collections.reverse(page);
 
-        User currUser = userValidator.validateUserByUsername(currUsername);
-        chatValidator.validateUserRoom(roomId, currUser);
-
-        return chatMessageRepository.findByRoomIdOrderBySentAtAsc(roomId)
-                .stream()
-                .map(chatMapper::toChatMessageDTO)
-                .toList();
+        return ChatMessagePageDTO.builder()
+                .messages(page.stream().map(chatMapper::toChatMessageDTO).toList())
+                .nextBeforeId(hasMore ? page.get(0).getId() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
     public List<ChatRoomDTO> getUserChatRooms(String username) {
         User me = userValidator.validateUserByUsername(username);
 
-        return chatRoomRepository.findAllByUser1OrUser2(me, me)
+        return chatRoomRepository.findInboxByUser(me)
                 .stream()
-                .map(room -> {
-                    ChatMessage lastMessage = chatMessageRepository
-                            .findTopByRoomIdOrderBySentAtDesc(room.getRoomId())
-                            .orElse(null);
-                    return chatMapper.toChatRoomDTO(room, me, lastMessage);
-                })
+                .map(room -> chatMapper.toChatRoomDTO(room, me))
                 .toList();
     }
 
@@ -128,6 +122,7 @@ public class ChatServiceImpl implements ChatService {
                 status.setUpdatedAt(Instant.now());
 
                 chatReadStatusRepository.save(status);
+                chatRoomRepository.refreshUnread(roomId, user.getId(), lastReadMessageId);
             }
 
         } else {
@@ -139,6 +134,7 @@ public class ChatServiceImpl implements ChatService {
                     .build();
 
             chatReadStatusRepository.save(status);
+            chatRoomRepository.refreshUnread(roomId, user.getId(), lastReadMessageId);
         }
     }
 
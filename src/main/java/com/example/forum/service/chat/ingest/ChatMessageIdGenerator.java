@@ -0,0 +1,173 @@
+package com.example.forum.service.chat.ingest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Assigns chat message ids in memory, before the row exists, so a message can be broadcast right away.
+ * - Layout (53 bits, safe as a JSON number in browsers): 41 bits of milliseconds since 2024-01-01,
+ *   5 bits of node id, 7 bits of per-millisecond sequence (128 ids per ms per node).
+ * - Ids grow with time across nodes (up to clock skew), so history pages by id stay in send order,
+ *   and they are all larger than the old AUTO_INCREMENT ids.
+ * - The node id comes from chat.ingest.node-id or, when unset, from a lease in Redis
+ *   ("chat:ingest:node:{id}", SET NX with chat.ingest.node-lease-ttl, renewed on a schedule).
+ *   Startup fails when no id can be leased, and ids are refused once the lease has run out without renewal,
+ *   so two live nodes never share a node id.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final String LEASE_KEY_PREFIX = "chat:ingest:node:";
+
+    // Extends the lease only while this node still owns it
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${chat.ingest.node-id:-1}")
+    private long nodeId;
+
+    @Value("${chat.ingest.node-lease-ttl:PT30S}")
+    private Duration leaseTtl;
+
+    private final String leaseToken = UUID.randomUUID().toString();
+    private boolean leased;
+    private long leaseValidUntil;
+
+    private long lastMillis = -1;
+    private long sequence;
+
+    @PostConstruct
+    void start() {
+        if (nodeId >= 0)
+            return;
+
+        leased = true;
+        acquireLease();
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (!leased)
+            return;
+
+        leaseValidUntil = 0;
+        try {
+            redisTemplate.execute(RELEASE, List.of(leaseKey(nodeId)), leaseToken);
+        } catch (DataAccessException e) {
+            log.warn("Could not release chat node id {}, it frees up when the lease expires: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the node id lease has expired and could not be renewed
+     */
+    public synchronized long nextId() {
+
+        if (leased && System.currentTimeMillis() >= leaseValidUntil)
+            throw new IllegalStateException("Chat node id lease has expired; not issuing message ids");
+
+        // A clock that steps back keeps counting from the last millisecond instead of reusing ids
+        long millis = Math.max(System.currentTimeMillis() - EPOCH_MILLIS, lastMillis);
+        if (millis == lastMillis) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0)
+                millis++;
+        } else {
+            sequence = 0;
+        }
+        lastMillis = millis;
+
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | ((nodeId & MAX_NODE) << SEQUENCE_BITS) | sequence;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.ingest.node-lease-renew-interval:PT10S}")
+    public synchronized void renewLease() {
+
+        if (!leased)
+            return;
+
+        long now = System.currentTimeMillis();
+        try {
+            Long renewed = redisTemplate.execute(RENEW, List.of(leaseKey(nodeId)),
+                    leaseToken, Long.toString(leaseTtl.toMillis()));
+            if (renewed != null && renewed == 1) {
+                leaseValidUntil = now + leaseTtl.toMillis();
+                return;
+            }
+
+            // The key expired (and may belong to another node now): stop using this id and lease a fresh one
+            log.error("Chat node id lease {} was lost, leasing a new one", nodeId);
+            leaseValidUntil = 0;
+            acquireLease();
+        } catch (DataAccessException | IllegalStateException e) {
+            log.warn("Could not renew chat node id lease {}, message ids stop after the lease runs out: {}",
+                    nodeId, e.getMessage());
+        }
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    /**
+     * @throws IllegalStateException if every node id is leased or Redis cannot be reached
+     */
+    private synchronized void acquireLease() {
+
+        long start = ThreadLocalRandom.current().nextLong(MAX_NODE + 1);
+        for (long i = 0; i <= MAX_NODE; i++) {
+            long candidate = (start + i) & MAX_NODE;
+            long now = System.currentTimeMillis();
+
+            Boolean acquired;
+            try {
+                acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey(candidate), leaseToken, leaseTtl);
+            } catch (DataAccessException e) {
+                throw new IllegalStateException("Could not lease a chat node id from Redis", e);
+            }
+
+            if (Boolean.TRUE.equals(acquired)) {
+                nodeId = candidate;
+                leaseValidUntil = now + leaseTtl.toMillis();
+                log.info("Leased chat node id {}", candidate);
+                return;
+            }
+        }
+
+        throw new IllegalStateException("All " + (MAX_NODE + 1) + " chat node ids are leased by other nodes");
+    }
+
+    private static String leaseKey(long id) {
+        return LEASE_KEY_PREFIX + id;
+    }
+}
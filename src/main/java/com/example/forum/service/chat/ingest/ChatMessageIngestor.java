@@ -0,0 +1,267 @@
+package com.example.forum.service.chat.ingest;
+
+import com.example.forum.dto.chat.ChatMessageDTO;
+import com.example.forum.model.chat.ChatRoom;
+import com.example.forum.repository.chat.ChatMessageBatchWriter;
+import com.example.forum.repository.chat.ChatRoomRepository;
+import com.example.forum.repository.chat.PendingChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for chat messages.
+ * - submit() assigns the id and timestamp in memory and queues the message on a bounded queue.
+ * - One flusher thread drains the queue and writes each batch (multi-row insert plus room summaries)
+ *   in one transaction; under load batches grow on their own while the previous one is being written.
+ * - Durability (chat.ingest.durability):
+ *   ack-after-flush: the returned future completes once the message is committed, so it is broadcast only then.
+ *   fire-and-forget: the future completes right away; a failed write is logged and counted, and the message is lost.
+ * - A full queue is not dropped: the submitting thread writes its own message, which slows that sender down.
+ * - Futures are completed on completion lanes (chat.ingest.completion-threads), one single-threaded lane per
+ *   room hash. Broadcasts hooked onto them keep per-room order, and a slow broker delays only the lane,
+ *   never the flusher. A full lane falls back to completing on the flusher, which then slows down ingest.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageIngestor {
+
+    public enum Durability { ACK_AFTER_FLUSH, FIRE_AND_FORGET }
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final ChatMessageIdGenerator idGenerator;
+    private final ChatMessageBatchWriter batchWriter;
+    private final ChatRoomRepository chatRoomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.ingest.durability:ack-after-flush}")
+    private Durability durability;
+
+    @Value("${chat.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chat.ingest.shutdown-timeout:PT10S}")
+    private Duration shutdownTimeout;
+
+    @Value("${chat.ingest.completion-threads:4}")
+    private int completionThreads;
+
+    private BlockingQueue<Entry> queue;
+    private ThreadPoolExecutor[] completionLanes;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Counter persisted;
+    private Counter failed;
+    private Counter callerWrites;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        completionLanes = new ThreadPoolExecutor[completionThreads];
+        for (int i = 0; i < completionThreads; i++)
+            completionLanes[i] = newCompletionLane(i);
+        registerMetrics();
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "chat-ingest-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        // The flusher keeps draining until the queue is empty
+        running = false;
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!queue.isEmpty())
+            log.error("Chat ingest stopped with {} unsaved messages", queue.size());
+
+        for (ThreadPoolExecutor lane : completionLanes)
+            lane.shutdown();
+        try {
+            for (ThreadPoolExecutor lane : completionLanes)
+                lane.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return completes with the message (id and sentAt set) once it is safe to broadcast under the configured durability
+     * @throws IllegalStateException if this node holds no valid node id lease (see ChatMessageIdGenerator)
+     */
+    public CompletableFuture<ChatMessageDTO> submit(ChatMessageDTO message, Long senderId) {
+
+        message.setId(idGenerator.nextId());
+        message.setSentAt(Instant.now());
+
+        Entry entry = new Entry(new PendingChatMessage(message, senderId), new CompletableFuture<>());
+        if (!queue.offer(entry)) {
+            callerWrites.increment();
+            flush(List.of(entry));
+        }
+
+        return (durability == Durability.FIRE_AND_FORGET)
+                ? CompletableFuture.completedFuture(message)
+                : entry.persisted();
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private void runFlusher() {
+
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Chat ingest flusher error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+
+        long started = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+        } catch (RuntimeException e) {
+            log.warn("Chat message batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(this::flushAlone);
+            return;
+        }
+
+        flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        persisted.increment(batch.size());
+        batch.forEach(entry -> laneOf(entry).execute(entry::complete));
+    }
+
+    private void flushAlone(Entry entry) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(List.of(entry)));
+            persisted.increment();
+            laneOf(entry).execute(entry::complete);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Chat message {} in room {} was not saved",
+                    entry.pending().message().getId(), entry.pending().message().getRoomId(), e);
+            laneOf(entry).execute(() -> entry.persisted().completeExceptionally(e));
+        }
+    }
+
+    private ThreadPoolExecutor laneOf(Entry entry) {
+        int hash = Objects.hashCode(entry.pending().message().getRoomId());
+        return completionLanes[Math.floorMod(hash, completionLanes.length)];
+    }
+
+    private ThreadPoolExecutor newCompletionLane(int index) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "chat-ingest-complete-" + index);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private void write(List<Entry> batch) {
+
+        List<PendingChatMessage> messages = batch.stream().map(Entry::pending).toList();
+        batchWriter.insertAll(messages);
+
+        // One summary update per (room, sender) instead of one per message
+        Map<String, List<PendingChatMessage>> bySide = new LinkedHashMap<>();
+        for (PendingChatMessage pending : messages)
+            bySide.computeIfAbsent(pending.message().getRoomId() + ":" + pending.senderId(), k -> new ArrayList<>()).add(pending);
+
+        bySide.values().forEach(side -> {
+            ChatMessageDTO last = side.stream()
+                    .map(PendingChatMessage::message)
+                    .max(Comparator.comparing(ChatMessageDTO::getId))
+                    .orElseThrow();
+            chatRoomRepository.recordMessages(last.getRoomId(), side.get(0).senderId(), side.size(),
+                    last.getId(), preview(last.getContent()), last.getSentAt());
+        });
+    }
+
+    private static String preview(String content) {
+        if (content == null || content.length() <= ChatRoom.PREVIEW_LENGTH)
+            return content;
+
+        return content.substring(0, ChatRoom.PREVIEW_LENGTH);
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("chat.ingest.queue.size", this, ingestor -> ingestor.queue.size())
+                .description("Chat messages accepted but not yet written")
+                .register(meterRegistry);
+        persisted = Counter.builder("chat.ingest.persisted")
+                .description("Chat messages written; its rate is the node's ingest throughput")
+                .register(meterRegistry);
+        failed = Counter.builder("chat.ingest.failed")
+                .description("Chat messages that could not be written")
+                .register(meterRegistry);
+        callerWrites = Counter.builder("chat.ingest.caller.writes")
+                .description("Chat messages written by the sender's thread because the queue was full")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("chat.ingest.flush")
+                .description("Time to write one batch of chat messages")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record Entry(PendingChatMessage pending, CompletableFuture<ChatMessageDTO> persisted) {
+
+        void complete() {
+            persisted.complete(pending.message());
+        }
+    }
+}
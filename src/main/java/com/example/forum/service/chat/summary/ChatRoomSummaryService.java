@@ -0,0 +1,10 @@
+package com.example.forum.service.chat.summary;
+
+public interface ChatRoomSummaryService {
+
+    /**
+     * Recomputes every room's last message and unread counts from chat_message and chat_read_status.
+     * @return number of room rows touched
+     */
+    int reconcileAll();
+}
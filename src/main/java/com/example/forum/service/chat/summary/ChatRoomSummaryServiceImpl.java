@@ -0,0 +1,44 @@
+package com.example.forum.service.chat.summary;
+
+import com.example.forum.repository.chat.ChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Backfill / drift repair for the chat room summaries (last message, unread counts).
+ * Runs in id-range chunks, each in its own short transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomSummaryServiceImpl implements ChatRoomSummaryService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.room.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    @Scheduled(cron = "${chat.room.reconcile-cron:0 0 5 * * *}")
+    public int reconcileAll() {
+
+        long maxId = chatRoomRepository.findMaxId();
+        int touched = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            long toId = fromId + chunkSize - 1;
+            long from = fromId;
+
+            Integer updated = transactionTemplate.execute(status -> chatRoomRepository.reconcileSummaries(from, toId));
+            touched += (updated != null) ? updated : 0;
+        }
+
+        log.info("Chat room summaries reconciled: {} rooms up to id {}", touched, maxId);
+        return touched;
+    }
+}
@@ -7,12 +7,16 @@ import com.example.forum.model.comment.Comment;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.comment.CommentRepository;
+import com.example.forum.repository.post.PostRepository;
 import com.example.forum.service.notification.NotificationHelper;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.service.trending.engine.TrendingSignal;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.comment.CommentValidator;
 import com.example.forum.validator.post.PostValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -32,9 +36,11 @@ public class CommentServiceImpl implements CommentService {
 
     // Repositories
     private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
 
     // Services
     private final NotificationHelper notificationHelper;
+    private final TrendingEngine trendingEngine;
 
     /**
      * This method handles creating a new comment
@@ -42,12 +48,15 @@ public class CommentServiceImpl implements CommentService {
      * @param dto
      */
     @Override
+    @Transactional
     public CommentResponseDTO createComment(String username, CommentRequestDTO dto) {
 
         User user = userValidator.validateUserByUsername(username);
         Post post = postValidator.validatePost(dto.getPostId());
 
         Comment savedComment = createAndSaveComment(user, post, dto.getContent(), null);
+        postRepository.addCommentCount(post.getId(), 1);
+        trendingEngine.record(post.getId(), TrendingSignal.COMMENT, 1);
 
         // Comment notification
         String message = buildCommentNotification(user.getProfile().getNickname(), post);
@@ -71,12 +80,15 @@ public class CommentServiceImpl implements CommentService {
      * @return
      */
     @Override
+    @Transactional
     public CommentResponseDTO createReply(String username, CommentRequestDTO dto) {
 
         User user = userValidator.validateUserByUsername(username);
         Comment parent = commentValidator.validateCommentId(dto.getParentCommentId());
 
         Comment savedReply = createAndSaveComment(user, parent.getPost(), dto.getContent(), parent);
+        postRepository.addCommentCount(parent.getPost().getId(), 1);
+        trendingEngine.record(parent.getPost().getId(), TrendingSignal.COMMENT, 1);
 
         // Reply notification
         String message = buildReplyNotification(user.getProfile().getNickname(), parent);
@@ -96,7 +108,7 @@ public class CommentServiceImpl implements CommentService {
     @Override
     public List<CommentResponseDTO> getCommentsByPostId(Long postId) {
 
-        postValidator.validatePost(postId);
+        postValidator.validatePostReference(postId);
 
         List<Comment> topLevelComments = commentRepository.findTopLevelCommentsWithReplies(postId);
         return topLevelComments.stream()
@@ -105,6 +117,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public void deleteComment(Long commentId, String username) {
 
         User user = userValidator.validateUserByUsername(username);
@@ -114,8 +127,21 @@ public class CommentServiceImpl implements CommentService {
 
         commentValidator.validateCommentAuthor(author, user);
 
-        comment.getReplies().size();
+        // Replies are removed by cascade, so the whole subtree leaves the counter
+        int removed = countWithReplies(comment);
         commentRepository.delete(comment);
+        postRepository.addCommentCount(comment.getPost().getId(), -removed);
+        trendingEngine.record(comment.getPost().getId(), TrendingSignal.COMMENT, -removed);
+    }
+
+    private int countWithReplies(Comment comment) {
+
+        int count = 1;
+        if (comment.getReplies() != null) {
+            for (Comment reply : comment.getReplies())
+                count += countWithReplies(reply);
+        }
+        return count;
     }
 
     /**
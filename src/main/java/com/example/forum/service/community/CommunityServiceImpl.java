@@ -3,6 +3,8 @@ package com.example.forum.service.community;
 import com.example.forum.dto.community.CommunityDetailDTO;
 import com.example.forum.dto.community.CommunityPreviewDTO;
 import com.example.forum.dto.community.CommunityRequestDTO;
+import com.example.forum.helper.viewer.ViewerContextCache;
+import com.example.forum.helper.viewer.ViewerContextChangedEvent;
 import com.example.forum.mapper.community.CommunityMapper;
 import com.example.forum.model.community.Community;
 import com.example.forum.model.community.CommunityFavorite;
@@ -13,17 +15,20 @@ import com.example.forum.repository.community.CommunityFavoriteRepository;
 import com.example.forum.repository.community.CommunityMemberRepository;
 import com.example.forum.repository.community.CommunityRepository;
 import com.example.forum.repository.post.PostRepository;
+import com.example.forum.service.presence.CommunityPresence;
+import com.example.forum.service.presence.PresenceService;
+import com.example.forum.service.search.index.SearchIndexer;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CommunityValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -40,7 +45,14 @@ public class CommunityServiceImpl implements CommunityService {
     private final PostRepository postRepository;
 
     // Services
-//    private final RedisService redisService;
+    private final PresenceService presenceService;
+    private final SearchIndexer searchIndexer;
+
+    // Helper
+    private final ViewerContextCache viewerContextCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int ONLINE_PREVIEW_SIZE = 20;
 
     // Default values
     @Value("${app.default-community-image}")
@@ -70,6 +82,7 @@ public class CommunityServiceImpl implements CommunityService {
                 .build();
 
         communityRepository.save(community);
+        searchIndexer.indexCommunity(community);
 
         CommunityMember member = CommunityMember.builder()
                 .community(community)
@@ -89,8 +102,13 @@ public class CommunityServiceImpl implements CommunityService {
     public CommunityDetailDTO getCommunityDetail(Long id, String username) {
         
         Community community = communityValidator.validateExistingCommunity(id);
-        List<CommunityMember> allMembers = communityMemberRepository.findByCommunity(community);
-        List<CommunityMember> onlineMembers = filterOnlineMembers(allMembers);
+
+        // Counts come from presence; only a handful of online members are loaded for the avatars
+        CommunityPresence presence = presenceService.getCommunityPresence(id);
+        Set<Long> shownOnline = presenceService.sampleOnlineMemberIds(id, ONLINE_PREVIEW_SIZE);
+        List<CommunityMember> onlineMembers = shownOnline.isEmpty()
+                ? List.of()
+                : communityMemberRepository.findByCommunityAndUserIdIn(community, shownOnline);
 
         User currentUser = username != null ? authValidator.validateUserByUsername(username) : null;
         CommunityRole role = findUserRoleInCommunity(community, currentUser);
@@ -101,7 +119,7 @@ public class CommunityServiceImpl implements CommunityService {
         if (currentUser != null)
             isFavorite = communityFavoriteRepository.findByUserAndCommunity(currentUser, community).isPresent();
 
-        return CommunityMapper.toDetailDTO(community, allMembers, onlineMembers, role, isFavorite, postCount);
+        return CommunityMapper.toDetailDTO(community, presence, onlineMembers, role, isFavorite, postCount);
     }
 
     @Override
@@ -110,9 +128,7 @@ public class CommunityServiceImpl implements CommunityService {
         User user = authValidator.validateUserByUsername(username);
         List<CommunityMember> memberships = communityMemberRepository.findByUser(user);
 
-        Set<Long> favoriteCommunityIds = communityFavoriteRepository.findAllByUser(user).stream()
-                .map(fav -> fav.getCommunity().getId())
-                .collect(Collectors.toSet());
+        Set<Long> favoriteCommunityIds = viewerContextCache.get(user.getId()).favoriteCommunityIds();
 
         return memberships.stream()
                 .map(m -> {
@@ -129,9 +145,7 @@ public class CommunityServiceImpl implements CommunityService {
         User targetUser = authValidator.validateUserByUsername(target);
         User currentUser = authValidator.validateUserByUsername(currentUsername);
 
-        Set<Long> favoriteCommunityIds = communityFavoriteRepository.findAllByUser(currentUser).stream()
-                .map(fav -> fav.getCommunity().getId())
-                .collect(Collectors.toSet());
+        Set<Long> favoriteCommunityIds = viewerContextCache.get(currentUser.getId()).favoriteCommunityIds();
 
         List<CommunityMember> joinedMemberships = communityMemberRepository.findByUser(targetUser);
 
@@ -162,6 +176,8 @@ public class CommunityServiceImpl implements CommunityService {
                     .build();
             communityFavoriteRepository.save(favorite);
         }
+
+        eventPublisher.publishEvent(new ViewerContextChangedEvent(user.getId()));
     }
 
     @Override
@@ -178,12 +194,6 @@ public class CommunityServiceImpl implements CommunityService {
     /*****************************************************
      * Helper methods
      */
-    private List<CommunityMember> filterOnlineMembers(List<CommunityMember> members) {
-        return members.stream()
-                .filter(cm -> cm.getUser().isOnline())
-                .toList();
-    }
-
     private CommunityRole findUserRoleInCommunity(Community community, User user) {
 
         if (user == null) return null;
@@ -13,7 +13,6 @@ import com.example.forum.model.user.User;
 import com.example.forum.repository.community.CategoryRepository;
 import com.example.forum.repository.community.CommunityRepository;
 import com.example.forum.repository.community.CommunityRuleRepository;
-import com.example.forum.service.auth.RedisService;
 import com.example.forum.service.common.S3Service;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CategoryValidator;
@@ -45,7 +44,6 @@ public class CommunityManageServiceImpl implements CommunityManageService {
     private final CommunityRuleRepository communityRuleRepository;
 
     // Services
-    private final RedisService redisService;
     private final S3Service s3Service;
 
     @Value("${app.default-community-image}")
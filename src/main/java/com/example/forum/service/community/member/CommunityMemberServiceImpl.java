@@ -1,5 +1,6 @@
 package com.example.forum.service.community.member;
 
+import com.example.forum.common.AfterCommit;
 import com.example.forum.dto.user.UserDTO;
 import com.example.forum.exception.auth.ForbiddenException;
 import com.example.forum.mapper.user.UserMapper;
@@ -8,7 +9,7 @@ import com.example.forum.model.community.CommunityMember;
 import com.example.forum.model.community.CommunityRole;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.community.CommunityMemberRepository;
-import com.example.forum.service.auth.RedisService;
+import com.example.forum.service.presence.PresenceService;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CommunityValidator;
 import lombok.RequiredArgsConstructor;
@@ -31,7 +32,7 @@ public class CommunityMemberServiceImpl implements CommunityMemberService {
     private final CommunityMemberRepository communityMemberRepository;
 
     // Services
-    private final RedisService redisService;
+    private final PresenceService presenceService;
 
     //
     // ---------------- Community Member Related ----------------
@@ -40,10 +41,13 @@ public class CommunityMemberServiceImpl implements CommunityMemberService {
     public List<UserDTO> getOnlineUsers(Long id) {
 
         Community community = communityValidator.validateExistingCommunity(id);
-        List<CommunityMember> members = communityMemberRepository.findByCommunity(community);
 
-        return members.stream()
-                .filter(cm -> redisService.isUserOnline(cm.getUser().getId()))
+        // Intersected in Redis; only the online members are loaded
+        Set<Long> onlineIds = presenceService.getOnlineMemberIds(community.getId());
+        if (onlineIds.isEmpty())
+            return List.of();
+
+        return communityMemberRepository.findByCommunityAndUserIdIn(community, onlineIds).stream()
                 .map(UserMapper::toDtoByCommunityMember)
                 .toList();
     }
@@ -59,6 +63,10 @@ public class CommunityMemberServiceImpl implements CommunityMemberService {
             return;
 
         community.addMember(user, CommunityRole.MEMBER);
+
+        // The membership row is flushed at commit; presence sets follow only if it lands
+        Long userId = user.getId();
+        AfterCommit.run(() -> presenceService.memberJoined(communityId, userId));
     }
 
     @Override
@@ -78,6 +86,9 @@ public class CommunityMemberServiceImpl implements CommunityMemberService {
         }
 
         community.removeMember(user);
+
+        Long userId = user.getId();
+        AfterCommit.run(() -> presenceService.memberLeft(communityId, userId));
     }
 
     @Override
@@ -0,0 +1,27 @@
+package com.example.forum.service.messaging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node mode: messages only reach sockets connected to this JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "messaging.broker.mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalStompBroadcaster implements StompBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void convertAndSend(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+
+    @Override
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(user, destination, payload);
+    }
+}
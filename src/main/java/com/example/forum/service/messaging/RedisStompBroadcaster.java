@@ -0,0 +1,93 @@
+package com.example.forum.service.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Multi-node mode: publishes every STOMP send to one Redis channel; each node receives it (see StompRelayConfig)
+ * and hands it to its local simple broker.
+ * - Topic sends reach that topic's subscribers on all nodes.
+ * - User sends are resolved against each node's own sessions, so they reach the user wherever they are connected.
+ * - If Redis is unreachable the message is still delivered on this node, and the failure is logged.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "messaging.broker.mode", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisStompBroadcaster implements StompBroadcaster, MessageListener {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${messaging.broker.relay-channel:stomp:relay}")
+    private String channel;
+
+    @Override
+    public void convertAndSend(String destination, Object payload) {
+        publish(new RelayEnvelope(destination, null, objectMapper.valueToTree(payload)));
+    }
+
+    @Override
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        publish(new RelayEnvelope(destination, user, objectMapper.valueToTree(payload)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            deliver(objectMapper.readValue(message.getBody(), RelayEnvelope.class));
+        } catch (IOException e) {
+            log.warn("Dropping malformed STOMP relay message: {}", e.getMessage());
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private void publish(RelayEnvelope envelope) {
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("STOMP payload is not serializable", e);
+        }
+
+        try {
+            redisTemplate.convertAndSend(channel, json);
+        } catch (DataAccessException e) {
+            log.warn("STOMP relay unavailable, delivering to local sessions only: {}", e.getMessage());
+            deliver(envelope);
+        }
+    }
+
+    private void deliver(RelayEnvelope envelope) {
+        if (envelope.user() == null)
+            messagingTemplate.convertAndSend(envelope.destination(), envelope.payload());
+        else
+            messagingTemplate.convertAndSendToUser(envelope.user(), envelope.destination(), envelope.payload());
+    }
+
+    /**
+     * Wire format on the relay channel; the payload is already JSON, so every node renders it identically.
+     */
+    record RelayEnvelope(String destination, String user, JsonNode payload) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.forum.service.messaging;
+
+/**
+ * Sends STOMP messages to every node's subscribers, not only to sockets connected to this JVM.
+ * - messaging.broker.mode=local (default): straight to the in-process simple broker.
+ * - messaging.broker.mode=redis: relayed through Redis pub/sub; every node, including this one,
+ *   delivers the message to its own sessions.
+ * Same call shape as SimpMessagingTemplate, so callers only swap the dependency.
+ */
+public interface StompBroadcaster {
+
+    void convertAndSend(String destination, Object payload);
+
+    /**
+     * @param user principal name, i.e. the user id (see UserIdHandshakeHandler)
+     */
+    void convertAndSendToUser(String user, String destination, Object payload);
+}
@@ -2,18 +2,27 @@ package com.example.forum.service.notification;
 
 import com.example.forum.model.comment.Comment;
 import com.example.forum.model.notification.Notification.NotificationType;
+import com.example.forum.model.notification.NotificationOutbox;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
+import com.example.forum.repository.notification.NotificationOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 public class NotificationHelper {
 
-    private final NotificationService notificationService;
+    private final NotificationOutboxRepository notificationOutboxRepository;
 //    private final EmailService emailService;
 
+    /**
+     * Appends a notification event to the outbox, inside the caller's transaction.
+     * The Notification row itself is written asynchronously by NotificationOutboxDispatcher.
+     */
     public void sendIfNotSelf(User receiver, User sender, Post post, Comment comment, NotificationType type, String message) {
 
         if (receiver.equals(sender))
@@ -21,14 +30,18 @@ public class NotificationHelper {
 
         Long postId = (post != null) ? post.getId() : null;
 
-        notificationService.sendNotification(
-                receiver.getUsername(),
-                sender.getUsername(),
-                type,
-                postId,
-                comment,
-                message
-        );
+        NotificationOutbox event = NotificationOutbox.builder()
+                .idempotencyKey(UUID.randomUUID().toString())
+                .receiverId(receiver.getId())
+                .senderId(sender.getId())
+                .type(type)
+                .targetId(postId)
+                .commentId(comment != null ? comment.getId() : null)
+                .message(message)
+                .nextAttemptAt(Instant.now())
+                .build();
+
+        notificationOutboxRepository.save(event);
 
         // TODO: future implementation, sending a notification email
 //            if (receiver.isEmailNotificationEnabled()) {
@@ -37,5 +50,3 @@ public class NotificationHelper {
 
     }
 }
-
-
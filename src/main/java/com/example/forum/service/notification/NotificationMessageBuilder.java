@@ -1,6 +1,7 @@
 package com.example.forum.service.notification;
 
 import com.example.forum.model.comment.Comment;
+import com.example.forum.model.notification.Notification.NotificationType;
 import com.example.forum.model.post.Post;
 
 public class NotificationMessageBuilder {
@@ -24,4 +25,15 @@ public class NotificationMessageBuilder {
     public static String buildFollowNotification(String senderNickname) {
         return senderNickname + " is now following you.";
     }
+
+    // Coalesced notifications: "X and 248 others liked your comment."
+    public static String buildCoalescedNotification(NotificationType type, String latestNickname, int others) {
+        String actors = latestNickname + " and " + others + (others == 1 ? " other" : " others");
+        return switch (type) {
+            case POST_LIKE -> actors + " liked your post.";
+            case COMMENT_LIKE -> actors + " liked your comment.";
+            case COMMENT -> actors + " commented on your post.";
+            default -> throw new IllegalArgumentException("Not a coalesced notification type: " + type);
+        };
+    }
 }
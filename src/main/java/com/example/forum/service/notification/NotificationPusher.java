@@ -0,0 +1,83 @@
+package com.example.forum.service.notification;
+
+import com.example.forum.dto.notification.NotificationPushDTO;
+import com.example.forum.mapper.notification.NotificationMapper;
+import com.example.forum.model.notification.Notification;
+import com.example.forum.repository.notification.NotificationRepository;
+import com.example.forum.service.messaging.StompBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Pushes notification events to /user/queue/notifications, addressed by receiver id.
+ * - Pushes are best effort: the row is already committed and clients catch up by id after reconnecting.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationPusher {
+
+    static final String DESTINATION = "/queue/notifications";
+
+    private final NotificationRepository notificationRepository;
+    private final StompBroadcaster messagingTemplate;
+
+    /**
+     * Pushes freshly written notifications, each counting as one new unread item.
+     */
+    public void pushCreated(Collection<String> idempotencyKeys) {
+
+        if (idempotencyKeys.isEmpty())
+            return;
+
+        for (Notification notification : notificationRepository.findByIdempotencyKeyIn(idempotencyKeys)) {
+            send(notification.getReceiver().getId(), NotificationPushDTO.builder()
+                    .notification(NotificationMapper.toDto(notification))
+                    .unreadDelta(1)
+                    .build());
+        }
+    }
+
+    /**
+     * Pushes aggregates that absorbed more events; they were already unread, so the delta is 0.
+     */
+    public void pushMerged(Collection<Long> notificationIds) {
+
+        if (notificationIds.isEmpty())
+            return;
+
+        for (Notification notification : notificationRepository.findByIdInWithSender(notificationIds)) {
+            send(notification.getReceiver().getId(), NotificationPushDTO.builder()
+                    .notification(NotificationMapper.toDto(notification))
+                    .unreadDelta(0)
+                    .build());
+        }
+    }
+
+    /**
+     * Tells the receiver's other sessions that notifications were read.
+     */
+    public void pushRead(Long receiverId, int readCount) {
+
+        if (readCount <= 0)
+            return;
+
+        send(receiverId, NotificationPushDTO.builder()
+                .unreadDelta(-readCount)
+                .build());
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private void send(Long receiverId, NotificationPushDTO payload) {
+        try {
+            messagingTemplate.convertAndSendToUser(String.valueOf(receiverId), DESTINATION, payload);
+        } catch (MessagingException e) {
+            log.warn("Notification push to user {} failed: {}", receiverId, e.getMessage());
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package com.example.forum.service.notification;
 
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.notification.LinkResponseDTO;
-import com.example.forum.model.comment.Comment;
+import com.example.forum.dto.notification.NotificationResponseDTO;
 import com.example.forum.model.notification.Notification;
 
 import java.util.List;
 
 public interface NotificationService {
 
-    void sendNotification(String receiverUsername, String senderUsername,
-                          Notification.NotificationType type,
-                          Long targetId,
-                          Comment comment,
-                          String message);
-
     List<Notification> getMyNotification(String username);
 
+    // Inbox page, newest first; cursor is null for the first page
+    CursorPageDTO<NotificationResponseDTO> getInbox(String username, String cursor, int size, boolean unreadOnly);
+
+    long getUnreadCount(String username);
+
+    // Reconnect catch-up: notifications with id > afterId, oldest first
+    List<Notification> getNotificationsAfter(String username, Long afterId, int limit);
+
     void markAllAsRead(String username);
     LinkResponseDTO resolveAndMarkAsRead(Long notificationId, String username);
 }
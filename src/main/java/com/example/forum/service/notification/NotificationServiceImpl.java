@@ -1,18 +1,31 @@
 package com.example.forum.service.notification;
 
 
+import com.example.forum.common.AfterCommit;
+import com.example.forum.common.NotificationCursor;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.notification.LinkResponseDTO;
-import com.example.forum.model.comment.Comment;
+import com.example.forum.dto.notification.NotificationResponseDTO;
+import com.example.forum.mapper.notification.NotificationMapper;
 import com.example.forum.model.notification.Notification;
-import com.example.forum.model.notification.Notification.NotificationType;
+import com.example.forum.model.notification.NotificationArchive;
 import com.example.forum.model.user.User;
+import com.example.forum.repository.notification.NotificationArchiveRepository;
 import com.example.forum.repository.notification.NotificationRepository;
+import com.example.forum.service.notification.retention.NotificationRetentionService;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.notification.NotificationValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,46 +34,96 @@ public class NotificationServiceImpl implements NotificationService {
     private final AuthValidator userValidator;
     private final NotificationRepository notificationRepository;
     private final NotificationValidator notificationValidator;
+    private final NotificationPusher notificationPusher;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationArchiveRepository archiveRepository;
+    private final NotificationRetentionService retentionService;
+
+    private static final int MAX_CATCH_UP = 100;
+    private static final int MAX_INBOX_SIZE = 50;
+
+    private static final Comparator<NotificationResponseDTO> NEWEST_FIRST =
+            Comparator.comparing(NotificationResponseDTO::getLastEventAt)
+                    .thenComparing(NotificationResponseDTO::getNotificationId)
+                    .reversed();
 
     @Override
-    public void sendNotification(String receiverUsername, String senderUsername, NotificationType type, Long targetId, Comment comment, String message) {
+    public List<Notification> getMyNotification(String username) {
 
-        User receiver = userValidator.validateUserByUsername(receiverUsername);
-        User sender = userValidator.validateUserByUsername(senderUsername);
+        User user = userValidator.validateUserByUsername(username);
 
-        if (receiver == sender) return;
+        return notificationRepository.findByReceiverOrderByCreatedAtDesc(user);
+    }
 
-        Notification notification = Notification.builder()
-                .receiver(receiver)
-                .sender(sender)
-                .type(type)
-                .targetId(targetId)
-                .comment(comment)
-                .message(message)
-                .build();
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationResponseDTO> getInbox(String username, String cursor, int size, boolean unreadOnly) {
 
-        notificationRepository.save(notification);
+        User user = userValidator.validateUserByUsername(username);
+        int limit = Math.max(1, Math.min(MAX_INBOX_SIZE, size));
+
+        // Fetch one extra row to learn whether another page exists
+        Pageable page = PageRequest.of(0, limit + 1);
+        NotificationCursor after = (cursor == null || cursor.isBlank()) ? null : NotificationCursor.decode(cursor);
+        List<Notification> hot = (after == null)
+                ? findInboxFirstPage(user.getId(), unreadOnly, page)
+                : findInboxPageAfter(user.getId(), after, unreadOnly, page);
+
+        List<NotificationResponseDTO> rows = hot.stream().map(NotificationMapper::toDto).toList();
+
+        // The archive only holds read rows, so unread-only pages never touch it
+        if (!unreadOnly && reachesArchive(hot, page.getPageSize()))
+            rows = withArchived(rows, user.getId(), after, page);
+
+        boolean hasNext = rows.size() > limit;
+        List<NotificationResponseDTO> items = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext
+                ? NotificationCursor.after(items.get(items.size() - 1)).encode()
+                : null;
+
+        return CursorPageDTO.of(items, nextCursor);
     }
 
     @Override
-    public List<Notification> getMyNotification(String username) {
+    public long getUnreadCount(String username) {
 
         User user = userValidator.validateUserByUsername(username);
+        return unreadCounter.get(user.getId());
+    }
 
-        return notificationRepository.findByReceiverOrderByCreatedAtDesc(user);
+    @Override
+    public List<Notification> getNotificationsAfter(String username, Long afterId, int limit) {
+
+        User user = userValidator.validateUserByUsername(username);
+        int size = Math.max(1, Math.min(MAX_CATCH_UP, limit));
+        long after = (afterId == null) ? 0L : afterId;
+
+        // The client has seen everything up to the creation of its last row; aggregates merged since then keep
+        // their old id, so they are matched by their last event instead. Unknown ids fall back to new rows only.
+        Instant since = notificationRepository.findCreatedAt(after, user).orElseGet(Instant::now);
+
+        return notificationRepository.findAfter(user, after, since, PageRequest.of(0, size));
     }
 
     @Override
+    @Transactional
     public void markAllAsRead(String username) {
 
         User user = userValidator.validateUserByUsername(username);
 
-        List<Notification> list = notificationRepository.findByReceiverOrderByCreatedAtDesc(user);
-        list.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(list);
+        int updated = notificationRepository.markAllRead(user.getId(), Instant.now());
+
+        // Redis and other sessions only learn about the read once it is committed
+        Long userId = user.getId();
+        AfterCommit.run(() -> {
+            unreadCounter.reset(userId);
+            if (updated > 0)
+                notificationPusher.pushRead(userId, updated);
+        });
     }
 
     @Override
+    @Transactional
     public LinkResponseDTO resolveAndMarkAsRead(Long notificationId, String username) {
 
         Notification notification = notificationValidator.validateExistingNotification(notificationId);
@@ -70,8 +133,13 @@ public class NotificationServiceImpl implements NotificationService {
 
         notificationValidator.validateSameUser(receiver, user);
 
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        if (notificationRepository.markRead(notification.getId(), Instant.now()) > 0) {
+            Long receiverId = receiver.getId();
+            AfterCommit.run(() -> {
+                unreadCounter.add(receiverId, -1);
+                notificationPusher.pushRead(receiverId, 1);
+            });
+        }
 
         Long postId = notification.getTargetId();
         Long commentId = notification.getComment() != null ? notification.getComment().getId() : null;
@@ -81,6 +149,42 @@ public class NotificationServiceImpl implements NotificationService {
         return new LinkResponseDTO(link);
     }
 
+    private List<Notification> findInboxFirstPage(Long receiverId, boolean unreadOnly, Pageable page) {
+        return unreadOnly
+                ? notificationRepository.findUnreadInboxFirst(receiverId, page)
+                : notificationRepository.findInboxFirst(receiverId, page);
+    }
+
+    private List<Notification> findInboxPageAfter(Long receiverId, NotificationCursor cursor, boolean unreadOnly, Pageable page) {
+        return unreadOnly
+                ? notificationRepository.findUnreadInboxAfter(receiverId, cursor.lastEventAt(), cursor.id(), page)
+                : notificationRepository.findInboxAfter(receiverId, cursor.lastEventAt(), cursor.id(), page);
+    }
+
+    /**
+     * A page can contain archived rows only if it runs past the newest possible archived row.
+     */
+    private boolean reachesArchive(List<Notification> hot, int pageSize) {
+        return hot.size() < pageSize
+                || hot.get(hot.size() - 1).getLastEventAt().isBefore(retentionService.archivedBefore());
+    }
+
+    private List<NotificationResponseDTO> withArchived(List<NotificationResponseDTO> hot, Long receiverId,
+                                                       NotificationCursor after, Pageable page) {
+
+        List<NotificationArchive> archived = (after == null)
+                ? archiveRepository.findInboxFirst(receiverId, page)
+                : archiveRepository.findInboxAfter(receiverId, after.lastEventAt(), after.id(), page);
+        if (archived.isEmpty())
+            return hot;
+
+        // Both sides are sorted pages of the same size; the merged prefix is the combined page
+        return Stream.concat(hot.stream(), archived.stream().map(a -> NotificationMapper.toDto(a.toNotification())))
+                .sorted(NEWEST_FIRST)
+                .limit(page.getPageSize())
+                .toList();
+    }
+
     private String getLink(Notification notification, Long postId, Long commentId) {
 
         switch (notification.getType()) {
@@ -0,0 +1,112 @@
+package com.example.forum.service.notification;
+
+import com.example.forum.repository.notification.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user unread notification count kept in Redis ("notif:unread:{userId}").
+ * - Seeded from the database the first time it is read, then moved by deltas on insert and read.
+ * - Deltas only apply to an existing key, so a missing or expired key is always re-seeded, never guessed.
+ * - A seed is guarded by a marker ("notif:unread:seed:{userId}") set before the COUNT. A delta that finds the key
+ *   missing deletes the marker, so a COUNT that may have missed that delta is not stored; the next read re-seeds.
+ * - Keys expire after notification.unread.ttl, which bounds any drift left by a lost update.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private static final String KEY_PREFIX = "notif:unread:";
+    private static final String SEED_PREFIX = "notif:unread:seed:";
+
+    // Long enough for one COUNT; a marker left behind by a crashed reader just expires
+    private static final Duration SEED_TTL = Duration.ofSeconds(10);
+
+    // INCRBY only when the key exists, clamped at zero; keeps the remaining TTL.
+    // Without the key, any seed in progress may have counted before this delta, so it is invalidated.
+    private static final RedisScript<Long> ADD_IF_PRESENT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                redis.call('DEL', KEYS[2])
+                return -1
+            end
+            local v = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if v < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') return 0 end
+            return v
+            """, Long.class);
+
+    // Stores the count only if this reader's marker survived, i.e. no delta arrived while counting
+    private static final RedisScript<Long> SEED_IF_UNCHANGED = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[2])
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3], 'NX')
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notification.unread.ttl:P1D}")
+    private Duration ttl;
+
+    public long get(Long userId) {
+
+        String key = KEY_PREFIX + userId;
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null)
+                return Long.parseLong(cached);
+
+            String token = UUID.randomUUID().toString();
+            redisTemplate.opsForValue().set(SEED_PREFIX + userId, token, SEED_TTL);
+
+            long count = notificationRepository.countUnread(userId);
+            redisTemplate.execute(SEED_IF_UNCHANGED, List.of(key, SEED_PREFIX + userId),
+                    token, Long.toString(count), Long.toString(ttl.toMillis()));
+            return count;
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, counting unread notifications in the database: {}", e.getMessage());
+            return notificationRepository.countUnread(userId);
+        }
+    }
+
+    public void add(Long userId, long delta) {
+
+        if (delta == 0)
+            return;
+
+        try {
+            redisTemplate.execute(ADD_IF_PRESENT, List.of(KEY_PREFIX + userId, SEED_PREFIX + userId), Long.toString(delta));
+        } catch (DataAccessException e) {
+            evict(userId);
+        }
+    }
+
+    public void reset(Long userId) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "0", ttl);
+        } catch (DataAccessException e) {
+            evict(userId);
+        }
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private void evict(Long userId) {
+        try {
+            redisTemplate.delete(List.of(KEY_PREFIX + userId, SEED_PREFIX + userId));
+        } catch (DataAccessException e) {
+            log.warn("Unread counter for user {} may be stale until it expires: {}", userId, e.getMessage());
+        }
+    }
+}
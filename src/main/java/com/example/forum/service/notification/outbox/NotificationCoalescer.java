@@ -0,0 +1,166 @@
+package com.example.forum.service.notification.outbox;
+
+import com.example.forum.model.notification.NotificationOutbox;
+import com.example.forum.repository.notification.NotificationBatchWriter;
+import com.example.forum.repository.notification.NotificationInsert;
+import com.example.forum.repository.notification.NotificationKeyRow;
+import com.example.forum.repository.notification.NotificationRepository;
+import com.example.forum.repository.notification.OpenAggregateRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregation stage between the outbox and the notification table.
+ * - Likes and comments on the same target for the same receiver share an aggregate key.
+ * - Within one batch, events with the same key collapse into one write.
+ * - Across batches, they fold into the receiver's unread aggregate if its last event is within the window;
+ *   otherwise a new aggregate row is started. Other notification types are written one row per event.
+ * - actor_count is the number of distinct senders recorded in notification_actor, not the number of events,
+ *   so "X and N others" does not count a user who liked, unliked and liked again twice.
+ * Must run inside the dispatcher's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationCoalescer {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchWriter batchWriter;
+
+    @Value("${notification.coalesce.window:PT6H}")
+    private Duration window;
+
+    public CoalesceResult apply(List<NotificationOutbox> events) {
+
+        if (events.isEmpty())
+            return CoalesceResult.EMPTY;
+
+        Map<String, List<NotificationOutbox>> groups = new LinkedHashMap<>();
+        List<NotificationInsert> inserts = new ArrayList<>();
+
+        for (NotificationOutbox event : events) {
+            String key = aggregateKey(event);
+            if (key == null)
+                inserts.add(NotificationInsert.single(event));
+            else
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+        }
+
+        Instant now = Instant.now();
+        Map<String, Long> open = findOpenAggregates(groups, now);
+        List<Long> mergedIds = new ArrayList<>();
+
+        Map<String, Set<Long>> newActors = new HashMap<>();
+
+        groups.forEach((key, group) -> {
+            NotificationOutbox latest = group.get(group.size() - 1);
+            Set<Long> senders = distinctSenders(group);
+            Long aggregateId = open.get(key);
+
+            if (aggregateId != null && mergeInto(aggregateId, senders, latest, now)) {
+                mergedIds.add(aggregateId);
+            } else {
+                inserts.add(new NotificationInsert(latest, key, Math.max(1, senders.size())));
+                newActors.put(latest.getIdempotencyKey(), senders);
+            }
+        });
+
+        List<NotificationInsert> created = batchWriter.insertAll(inserts);
+        insertNewActors(created, newActors);
+
+        Map<Long, Long> unreadDeltas = created.stream()
+                .collect(Collectors.groupingBy(row -> row.event().getReceiverId(), Collectors.counting()));
+
+        return new CoalesceResult(
+                created.stream().map(row -> row.event().getIdempotencyKey()).toList(),
+                mergedIds,
+                unreadDeltas,
+                created.size() + mergedIds.size());
+    }
+
+    /**
+     * (type, receiver, target) for notification types that coalesce; null for the rest.
+     */
+    static String aggregateKey(NotificationOutbox event) {
+        Long target = switch (event.getType()) {
+            case POST_LIKE, COMMENT -> event.getTargetId();
+            case COMMENT_LIKE -> event.getCommentId();
+            default -> null;
+        };
+        if (target == null)
+            return null;
+
+        return event.getType().name() + ":" + event.getReceiverId() + ":" + target;
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    /**
+     * Actors are recorded before the update so the recount inside mergeInto includes them. If the aggregate
+     * was read in the meantime the update matches nothing; the extra actor rows on the read row are harmless.
+     */
+    private boolean mergeInto(Long aggregateId, Set<Long> senders, NotificationOutbox latest, Instant now) {
+        batchWriter.insertActors(Map.of(aggregateId, senders));
+
+        return notificationRepository.mergeInto(
+                aggregateId, latest.getSenderId(), latest.getCommentId(), latest.getMessage(), now) > 0;
+    }
+
+    private void insertNewActors(List<NotificationInsert> created, Map<String, Set<Long>> newActors) {
+        List<String> keys = created.stream()
+                .filter(row -> row.aggregateKey() != null)
+                .map(row -> row.event().getIdempotencyKey())
+                .toList();
+        if (keys.isEmpty())
+            return;
+
+        Map<Long, Set<Long>> actors = new HashMap<>();
+        for (NotificationKeyRow row : notificationRepository.findIdsByIdempotencyKeyIn(keys))
+            actors.put(row.getId(), newActors.get(row.getIdempotencyKey()));
+
+        batchWriter.insertActors(actors);
+    }
+
+    private static Set<Long> distinctSenders(List<NotificationOutbox> group) {
+        Set<Long> senders = new LinkedHashSet<>();
+        for (NotificationOutbox event : group) {
+            if (event.getSenderId() != null)
+                senders.add(event.getSenderId());
+        }
+        return senders;
+    }
+
+    private Map<String, Long> findOpenAggregates(Map<String, List<NotificationOutbox>> groups, Instant now) {
+        if (groups.isEmpty())
+            return Map.of();
+
+        // Two open rows for one key can only come from concurrent dispatchers; keep folding into the newest
+        return notificationRepository.findOpenAggregates(groups.keySet(), now.minus(window)).stream()
+                .collect(Collectors.toMap(OpenAggregateRow::getAggregateKey, OpenAggregateRow::getId, Math::max));
+    }
+
+    /**
+     * @param createdKeys  idempotency keys of new notification rows
+     * @param mergedIds    existing notifications that absorbed events
+     * @param unreadDeltas new unread rows per receiver (merges do not change the unread count)
+     * @param rowsWritten  notification rows inserted or updated
+     */
+    public record CoalesceResult(List<String> createdKeys,
+                                 List<Long> mergedIds,
+                                 Map<Long, Long> unreadDeltas,
+                                 int rowsWritten) {
+
+        static final CoalesceResult EMPTY = new CoalesceResult(List.of(), List.of(), Map.of(), 0);
+    }
+}
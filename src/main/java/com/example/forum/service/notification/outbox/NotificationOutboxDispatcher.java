@@ -0,0 +1,172 @@
+package com.example.forum.service.notification.outbox;
+
+import com.example.forum.model.notification.NotificationOutbox;
+import com.example.forum.repository.notification.NotificationOutboxRepository;
+import com.example.forum.service.notification.NotificationPusher;
+import com.example.forum.service.notification.UnreadNotificationCounter;
+import com.example.forum.service.notification.outbox.NotificationCoalescer.CoalesceResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the notification outbox into the notification table.
+ * - Each batch is claimed with SKIP LOCKED, coalesced and written (see NotificationCoalescer) and deleted
+ *   in one transaction, so several nodes can dispatch concurrently without double-processing.
+ * - If a batch fails, its events are retried one by one so a single bad event cannot block the rest;
+ *   events that keep failing back off exponentially and stop after max-attempts.
+ * - After the transaction commits, new and merged notifications are pushed to their receivers and new
+ *   rows are added to their unread counters; replays ignored by the idempotency key are neither pushed nor counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxDispatcher {
+
+    private static final long MAX_BACKOFF_SECONDS = 600;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationCoalescer coalescer;
+    private final NotificationPusher notificationPusher;
+    private final UnreadNotificationCounter unreadCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.retry-base:PT2S}")
+    private Duration retryBase;
+
+    private Counter dispatched;
+    private Counter written;
+    private Counter failed;
+
+    @PostConstruct
+    void registerMetrics() {
+        dispatched = Counter.builder("notification.outbox.dispatched")
+                .description("Notifications written from the outbox")
+                .register(meterRegistry);
+        written = Counter.builder("notification.outbox.rows.written")
+                .description("Notification rows inserted or updated by the dispatcher")
+                .register(meterRegistry);
+        failed = Counter.builder("notification.outbox.failed")
+                .description("Outbox events whose dispatch attempt failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:PT1S}")
+    public void poll() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            if (dispatchBatch() < batchSize)
+                return;
+        }
+    }
+
+    /**
+     * Dispatches one batch of due events.
+     * @return number of events claimed
+     */
+    public int dispatchBatch() {
+
+        List<NotificationOutbox> claimed = new ArrayList<>();
+        CoalesceResult result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                claimed.addAll(outboxRepository.lockDueBatch(maxAttempts, batchSize));
+                return write(claimed);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Notification outbox batch failed, retrying events individually: {}", e.getMessage());
+            return dispatchIndividually();
+        }
+
+        afterCommit(claimed.size(), result);
+        return claimed.size();
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private int dispatchIndividually() {
+
+        // Candidates are read without locks; each one is re-claimed in its own transaction before writing
+        List<NotificationOutbox> due = outboxRepository.lockDueBatch(maxAttempts, batchSize);
+        for (NotificationOutbox event : due) {
+            try {
+                CoalesceResult result = transactionTemplate.execute(status ->
+                        outboxRepository.lockById(event.getId())
+                                .map(claimed -> write(List.of(claimed)))
+                                .orElse(CoalesceResult.EMPTY));
+                afterCommit(1, result);
+            } catch (RuntimeException e) {
+                markFailed(event, e);
+            }
+        }
+
+        return due.size();
+    }
+
+    private CoalesceResult write(List<NotificationOutbox> events) {
+        if (events.isEmpty())
+            return CoalesceResult.EMPTY;
+
+        CoalesceResult result = coalescer.apply(events);
+        outboxRepository.deleteByIdIn(events.stream().map(NotificationOutbox::getId).toList());
+        return result;
+    }
+
+    private void afterCommit(int events, CoalesceResult result) {
+        if (result == null || result.rowsWritten() == 0)
+            return;
+
+        dispatched.increment(events);
+        written.increment(result.rowsWritten());
+        result.unreadDeltas().forEach(unreadCounter::add);
+
+        try {
+            notificationPusher.pushCreated(result.createdKeys());
+            notificationPusher.pushMerged(result.mergedIds());
+        } catch (RuntimeException e) {
+            // Already committed; clients pick these up through the inbox
+            log.warn("Notification push skipped: {}", e.getMessage());
+        }
+    }
+
+    private void markFailed(NotificationOutbox event, RuntimeException cause) {
+        failed.increment();
+
+        if (event.getAttempts() + 1 >= maxAttempts)
+            log.error("Notification outbox event {} parked after {} attempts", event.getId(), maxAttempts, cause);
+
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markFailed(
+                List.of(event.getId()), String.valueOf(cause.getMessage()),
+                backoffSeconds(event.getAttempts(), retryBase.toSeconds())));
+    }
+
+    /**
+     * Delay before the next attempt of an event that has failed attempts times before this failure:
+     * base * 2^attempts, so the first retry waits base. Capped at MAX_BACKOFF_SECONDS.
+     */
+    static long backoffSeconds(int attempts, long baseSeconds) {
+        if (attempts >= 31)
+            return MAX_BACKOFF_SECONDS;
+
+        return Math.min(baseSeconds * (1L << attempts), MAX_BACKOFF_SECONDS);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.forum.service.notification.retention;
+
+import com.example.forum.dto.notification.NotificationRetentionStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operator view of notification storage at /actuator/notifications (management port only, see SecurityConfig).
+ * - GET: approximate hot/archive table sizes and the last retention run on this node.
+ * - Read-only: retention runs on notification.retention.cron and cannot be triggered over HTTP.
+ */
+@Component
+@Endpoint(id = "notifications")
+@RequiredArgsConstructor
+public class NotificationRetentionEndpoint {
+
+    private final NotificationRetentionService retentionService;
+
+    @ReadOperation
+    public NotificationRetentionStatsDTO stats() {
+        return retentionService.getStats();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.forum.service.notification.retention;
+
+import com.example.forum.dto.notification.NotificationRetentionRunDTO;
+import com.example.forum.dto.notification.NotificationRetentionStatsDTO;
+
+import java.time.Instant;
+
+public interface NotificationRetentionService {
+
+    /**
+     * Moves read notifications past the archive age into notification_archive and drops archived rows
+     * past the archive retention, both in bounded chunks.
+     */
+    NotificationRetentionRunDTO runRetention();
+
+    /**
+     * Every archived row was created before this instant; inbox pages newer than it never need the archive.
+     */
+    Instant archivedBefore();
+
+    NotificationRetentionStatsDTO getStats();
+}
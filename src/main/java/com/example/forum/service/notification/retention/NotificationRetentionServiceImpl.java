@@ -0,0 +1,159 @@
+package com.example.forum.service.notification.retention;
+
+import com.example.forum.dto.notification.NotificationRetentionRunDTO;
+import com.example.forum.dto.notification.NotificationRetentionStatsDTO;
+import com.example.forum.repository.notification.NotificationArchiveRepository;
+import com.example.forum.repository.notification.NotificationRepository;
+import com.example.forum.repository.notification.TableSizeRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Hot/cold split for notifications.
+ * - Read rows whose last event is older than archive-after are copied to notification_archive and deleted from notification,
+ *   one chunk per short transaction, so no lock is held for longer than a single chunk.
+ * - Archived rows older than archive-retention are dropped, also chunk by chunk.
+ * - Each run is capped at max-chunks-per-run per phase; a backlog is worked off over several nights.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.retention.archive-after:P90D}")
+    private Duration archiveAfter;
+
+    @Value("${notification.retention.archive-retention:P730D}")
+    private Duration archiveRetention;
+
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notification.retention.max-chunks-per-run:500}")
+    private int maxChunksPerRun;
+
+    private Counter archivedCounter;
+    private Counter droppedCounter;
+
+    private volatile NotificationRetentionRunDTO lastRun;
+
+    @PostConstruct
+    void registerMetrics() {
+        archivedCounter = Counter.builder("notification.retention.archived")
+                .description("Notifications moved from the hot table to the archive")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("notification.retention.dropped")
+                .description("Archived notifications dropped after the archive retention")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(cron = "${notification.retention.cron:0 15 4 * * *}")
+    public NotificationRetentionRunDTO runRetention() {
+
+        Instant started = Instant.now();
+        Instant archiveBefore = started.minus(archiveAfter);
+        Instant dropBefore = started.minus(archiveRetention);
+
+        int archived = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            int moved = inTransaction(() -> archiveChunk(archiveBefore, started));
+            archived += moved;
+            archivedCounter.increment(moved);
+            if (moved < chunkSize)
+                break;
+        }
+
+        int dropped = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            int deleted = inTransaction(() -> archiveRepository.deleteCreatedBefore(dropBefore, chunkSize));
+            dropped += deleted;
+            droppedCounter.increment(deleted);
+            if (deleted < chunkSize)
+                break;
+        }
+
+        long durationMs = Math.max(1, Duration.between(started, Instant.now()).toMillis());
+        NotificationRetentionRunDTO run = NotificationRetentionRunDTO.builder()
+                .startedAt(started)
+                .durationMs(durationMs)
+                .archived(archived)
+                .dropped(dropped)
+                .archivedPerSecond(archived * 1000.0 / durationMs)
+                .build();
+        lastRun = run;
+
+        log.info("Notification retention: archived {} rows last active before {}, dropped {} archived rows before {} in {} ms",
+                archived, archiveBefore, dropped, dropBefore, durationMs);
+        return run;
+    }
+
+    @Override
+    public Instant archivedBefore() {
+        return Instant.now().minus(archiveAfter);
+    }
+
+    @Override
+    public NotificationRetentionStatsDTO getStats() {
+
+        Map<String, TableSizeRow> sizes = archiveRepository.findTableSizes().stream()
+                .collect(Collectors.toMap(row -> row.getTableName().toLowerCase(), row -> row));
+
+        TableSizeRow hot = sizes.get("notification");
+        TableSizeRow archive = sizes.get("notification_archive");
+
+        return NotificationRetentionStatsDTO.builder()
+                .hotRows(rows(hot))
+                .hotBytes(bytes(hot))
+                .archiveRows(rows(archive))
+                .archiveBytes(bytes(archive))
+                .lastRun(lastRun)
+                .build();
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private int archiveChunk(Instant before, Instant now) {
+
+        List<Long> ids = notificationRepository.lockArchivable(before, chunkSize);
+        if (ids.isEmpty())
+            return 0;
+
+        archiveRepository.copyFromNotifications(ids, now);
+        notificationRepository.deleteActorsByNotificationIdIn(ids);
+        notificationRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transactionTemplate.execute(status -> work.getAsInt());
+        return (result != null) ? result : 0;
+    }
+
+    private static long rows(TableSizeRow row) {
+        return (row != null && row.getApproxRows() != null) ? row.getApproxRows() : 0L;
+    }
+
+    private static long bytes(TableSizeRow row) {
+        return (row != null && row.getBytes() != null) ? row.getBytes() : 0L;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.forum.service.post;
 
 import com.example.forum.common.SortOrder;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.post.PostDetailDTO;
 import com.example.forum.dto.post.PostCreateRequestDTO;
 import com.example.forum.dto.post.PostResponseDTO;
@@ -10,6 +11,7 @@ import java.util.List;
 public interface PostService {
 
     List<PostResponseDTO> getPagedPosts(SortOrder sort, int page, int size, String username);
+    CursorPageDTO<PostResponseDTO> getFeed(SortOrder sort, String cursor, int size, String username);
     PostDetailDTO getPostDetail(Long postId, String username);
 
     // Post posts - POST
@@ -1,19 +1,28 @@
 package com.example.forum.service.post;
 
+import com.example.forum.common.FeedCursor;
 import com.example.forum.common.SortOrder;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.post.PostCreateRequestDTO;
 import com.example.forum.dto.post.PostDetailDTO;
 import com.example.forum.dto.post.PostFileDTO;
 import com.example.forum.dto.post.PostResponseDTO;
+import com.example.forum.helper.post.PostAssembler;
+import com.example.forum.helper.viewer.ViewerContextCache;
+import com.example.forum.helper.viewer.ViewerContextChangedEvent;
 import com.example.forum.mapper.post.PostMapper;
+import com.example.forum.model.comment.Comment;
 import com.example.forum.model.community.Category;
 import com.example.forum.model.community.Community;
+import com.example.forum.model.like.PostReaction;
+import com.example.forum.model.like.ReactionType;
 import com.example.forum.model.post.HiddenPost;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.post.PostFile;
 import com.example.forum.model.post.Visibility;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.bookmark.BookmarkRepository;
+import com.example.forum.repository.comment.CommentRepository;
 import com.example.forum.repository.community.CommunityFavoriteRepository;
 import com.example.forum.repository.like.PostReactionRepository;
 import com.example.forum.repository.post.HiddenPostRepository;
@@ -22,13 +31,18 @@ import com.example.forum.repository.post.PostRepository;
 import com.example.forum.service.common.RecentViewService;
 import com.example.forum.service.common.S3Service;
 import com.example.forum.service.post.hidden.HiddenPostService;
+import com.example.forum.service.search.index.SearchIndexer;
 import com.example.forum.service.tag.TaggingService;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.service.trending.engine.TrendingSignal;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CategoryValidator;
 import com.example.forum.validator.community.CommunityValidator;
 import com.example.forum.validator.post.PostValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,7 +50,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -56,6 +69,7 @@ public class PostServiceImpl implements PostService {
     private final BookmarkRepository bookmarkRepository;
     private final PostReactionRepository postReactionRepository;
     private final PostQueryRepository postQueryRepository;
+    private final CommentRepository commentRepository;
 
     // Services
     private final S3Service s3Service;
@@ -64,6 +78,17 @@ public class PostServiceImpl implements PostService {
 
     private final HiddenPostService hiddenPostService;
 
+    // Helper
+    private final PostAssembler postAssembler;
+    private final TrendingEngine trendingEngine;
+    private final SearchIndexer searchIndexer;
+    private final ViewerContextCache viewerContextCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_FEED_SIZE = 50;
+    private static final int DETAIL_LIKE_USERS = 20;
+    private static final int DETAIL_COMMENT_PAGE_SIZE = 20;
+
     @Override
     public List<PostResponseDTO> getPagedPosts(SortOrder sort, int page, int size, String username) {
 
@@ -74,29 +99,56 @@ public class PostServiceImpl implements PostService {
             case TOP_LIKED -> postRepository.findPagedPostsTopLiked(size, offset);
         };
 
-        User user = (username != null) ? authValidator.validateUserByUsername(username) : null;
+        return toFeedResponses(posts, username);
+    }
 
-        Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
-        Set<Long> favoriteCommunityIds = (user != null)
-                ? communityFavoriteRepository.findAllByUser(user).stream()
-                .map(fav -> fav.getCommunity().getId())
-                .collect(Collectors.toSet())
-                : Set.of();
+    @Override
+    public CursorPageDTO<PostResponseDTO> getFeed(SortOrder sort, String cursor, int size, String username) {
+
+        int limit = Math.max(1, Math.min(MAX_FEED_SIZE, size));
+
+        // Fetch one extra row to know whether another page exists
+        List<Post> posts = (cursor == null || cursor.isBlank())
+                ? findFeedFirstPage(sort, limit + 1)
+                : findFeedPageAfter(FeedCursor.decode(cursor, sort), limit + 1);
 
+        boolean hasNext = posts.size() > limit;
+        List<Post> page = hasNext ? posts.subList(0, limit) : posts;
+
+        String nextCursor = hasNext
+                ? FeedCursor.after(sort, page.get(page.size() - 1)).encode()
+                : null;
+
+        return CursorPageDTO.of(toFeedResponses(page, username), nextCursor);
+    }
+
+    private List<Post> findFeedFirstPage(SortOrder sort, int limit) {
+        return switch (sort) {
+            case NEWEST -> postRepository.findPagedPostsNewest(limit, 0);
+            case OLDEST -> postRepository.findPagedPostsOldest(limit, 0);
+            case TOP_LIKED -> postRepository.findFeedTopLikedFirst(limit);
+        };
+    }
+
+    private List<Post> findFeedPageAfter(FeedCursor cursor, int limit) {
+        return switch (cursor.sort()) {
+            case NEWEST -> postRepository.findFeedNewestAfter(cursor.createdAt(), cursor.id(), limit);
+            case OLDEST -> postRepository.findFeedOldestAfter(cursor.createdAt(), cursor.id(), limit);
+            case TOP_LIKED -> postRepository.findFeedTopLikedAfter(
+                    (int) cursor.likeCount(), cursor.createdAt(), cursor.id(), limit);
+        };
+    }
 
-        return posts.stream()
-                .map(post -> {
-                    boolean isHidden = hiddenPostIds.contains(post.getId());
+    private List<PostResponseDTO> toFeedResponses(List<Post> posts, String username) {
 
-                    Community community = post.getCategory() != null
-                            ? post.getCategory().getCommunity()
-                            : null;
+        User user = (username != null) ? authValidator.validateUserByUsername(username) : null;
 
-                    boolean isFavorite = community != null && favoriteCommunityIds.contains(community.getId());
+        Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
+        Set<Long> favoriteCommunityIds = (user != null)
+                ? viewerContextCache.get(user.getId()).favoriteCommunityIds()
+                : Set.of();
 
-                    return PostMapper.toPostResponseDTO(post, isHidden, isFavorite);
-                })
-                .toList();
+        return postAssembler.assembleResponses(PostAssembler.idsOf(posts), hiddenPostIds, favoriteCommunityIds);
     }
 
     @Override
@@ -113,7 +165,25 @@ public class PostServiceImpl implements PostService {
         if (viewer != null)
             recentViewService.addPostView(viewer.getId(), postId);
 
-        return PostMapper.toPostDetailDTO(post, viewer, isHidden, isFavorite);
+        trendingEngine.record(postId, TrendingSignal.VIEW, 1);
+
+        // Likes: bounded list of recent likers + a single existence check for the viewer
+        List<PostReaction> recentLikes = postReactionRepository.findRecentWithUserByPostId(
+                postId, ReactionType.LIKE, PageRequest.of(0, DETAIL_LIKE_USERS));
+        boolean likedByMe = viewer != null &&
+                postReactionRepository.existsByPostIdAndUserIdAndReactionType(postId, viewer.getId(), ReactionType.LIKE);
+
+        // Comments: first page of top-level comments (one extra row to detect more), then their replies
+        List<Comment> roots = commentRepository.findTopLevelByPostId(
+                postId, PageRequest.of(0, DETAIL_COMMENT_PAGE_SIZE + 1));
+        boolean hasMoreComments = roots.size() > DETAIL_COMMENT_PAGE_SIZE;
+        if (hasMoreComments)
+            roots = roots.subList(0, DETAIL_COMMENT_PAGE_SIZE);
+
+        List<Comment> comments = loadCommentTree(roots);
+
+        return PostMapper.toPostDetailDTO(
+                post, viewer, likedByMe, recentLikes, comments, hasMoreComments, isHidden, isFavorite);
     }
 
     @Override
@@ -140,8 +210,12 @@ public class PostServiceImpl implements PostService {
             taggingService.setTagsForPost(savedPost.getId(), dto.getTags());
         }
 
+        if (dto.getVisibility() != Visibility.PRIVATE)
+            trendingEngine.registerPost(savedPost.getId(), savedPost.getCreatedAt());
+
         Post withTags = postQueryRepository.findByIdWithTags(savedPost.getId())
                 .orElse(savedPost);
+        searchIndexer.indexPost(withTags);
 
         return PostMapper.toPostResponseDTO(withTags, false, false);
     }
@@ -198,8 +272,15 @@ public class PostServiceImpl implements PostService {
             }
         }
 
-        // 7. Determine isFavorite
+        // 7. Private posts never rank in trending
+        if (dto.getVisibility() == Visibility.PRIVATE)
+            trendingEngine.removePost(saved.getId());
+        else if (oldVisibility == Visibility.PRIVATE)
+            trendingEngine.registerPost(saved.getId(), saved.getCreatedAt());
+
+        // 8. Determine isFavorite
         Post withTags = postQueryRepository.findByIdWithTags(saved.getId()).orElse(saved);
+        searchIndexer.indexPost(withTags);
         Community community = withTags.getCategory() != null ? withTags.getCategory().getCommunity() : null;
         boolean isFavorite = community != null &&
                 communityFavoriteRepository.existsByUserAndCommunity(user, community);
@@ -218,18 +299,21 @@ public class PostServiceImpl implements PostService {
         // 1) children first
         bookmarkRepository.deleteByPostId(postId);
         postReactionRepository.deleteByPostId(postId);
+        taggingService.releaseTagUsage(postId);
 
         // S3
 
         // 2) finally parent
         postRepository.delete(post);
+        trendingEngine.removePost(postId);
+        searchIndexer.removePost(postId);
     }
 
     @Override
     public void toggleHidePost(Long postId, String username) {
 
         User user = authValidator.validateUserByUsername(username);
-        Post post = postValidator.validatePost(postId);
+        Post post = postValidator.validatePostReference(postId);
 
         Optional<HiddenPost> hiddenPostOpt = hiddenPostRepository.findByUserAndPost(user, post);
 
@@ -239,6 +323,8 @@ public class PostServiceImpl implements PostService {
             HiddenPost hiddenPost = new HiddenPost(user, post);
             hiddenPostRepository.save(hiddenPost);
         }
+
+        eventPublisher.publishEvent(new ViewerContextChangedEvent(user.getId()));
     }
 
     @Override
@@ -249,6 +335,25 @@ public class PostServiceImpl implements PostService {
     }
 
     // ------------------------------ Helper methods -------------------------------------
+
+    /**
+     * Loads replies under the given roots one depth level per query,
+     * returning roots and replies as one flat list for CommentMapper.toResponseList.
+     */
+    private List<Comment> loadCommentTree(List<Comment> roots) {
+
+        List<Comment> all = new ArrayList<>(roots);
+        List<Long> parentIds = roots.stream().map(Comment::getId).toList();
+
+        while (!parentIds.isEmpty()) {
+            List<Comment> replies = commentRepository.findRepliesByParentIds(parentIds);
+            all.addAll(replies);
+            parentIds = replies.stream().map(Comment::getId).toList();
+        }
+
+        return all;
+    }
+
     private Category getValidCategoryIfNeeded(PostCreateRequestDTO dto) {
 
         if (dto.getVisibility() == Visibility.COMMUNITY) {
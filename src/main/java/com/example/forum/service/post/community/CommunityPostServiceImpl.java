@@ -4,7 +4,7 @@ import com.example.forum.common.SortOrder;
 import com.example.forum.dto.post.PostPreviewDTO;
 import com.example.forum.dto.post.PostResponseDTO;
 import com.example.forum.helper.community.CommunityHelper;
-import com.example.forum.mapper.post.PostMapper;
+import com.example.forum.helper.post.PostAssembler;
 import com.example.forum.model.community.Category;
 import com.example.forum.model.community.Community;
 import com.example.forum.model.community.CommunityMember;
@@ -25,7 +25,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -44,6 +43,7 @@ public class CommunityPostServiceImpl implements CommunityPostService {
 
     // Helper
     private final CommunityHelper communityHelper;
+    private final PostAssembler postAssembler;
 
     @Override
     public List<PostPreviewDTO> getRecentPostsFromJoinedCommunities(String username) {
@@ -62,9 +62,7 @@ public class CommunityPostServiceImpl implements CommunityPostService {
         List<Post> posts = postRepository.findTop5ByCommunityInOrderByCreatedAtDesc(joinedCommunities);
         Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
 
-        return posts.stream()
-                .map(post -> PostMapper.toPreviewDTO(post, hiddenPostIds.contains(post.getId())))
-                .toList();
+        return postAssembler.assemblePreviews(PostAssembler.idsOf(posts), hiddenPostIds);
     }
 
     @Override
@@ -94,9 +92,7 @@ public class CommunityPostServiceImpl implements CommunityPostService {
         Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
         Set<Long> favoriteCommunityIds = communityHelper.getFavoriteCommunityIdsByUsername(username);
 
-        return posts.stream()
-                .map(post -> PostMapper.toPostResponseDTOWithFlags(post, hiddenPostIds, favoriteCommunityIds))
-                .toList();
+        return postAssembler.assembleResponses(PostAssembler.idsOf(posts), hiddenPostIds, favoriteCommunityIds);
     }
 
     @Override
@@ -111,9 +107,7 @@ public class CommunityPostServiceImpl implements CommunityPostService {
         Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
         Set<Long> favoriteCommunityIds = communityHelper.getFavoriteCommunityIdsByUsername(username);
 
-        return topPosts.stream()
-                .map(post -> PostMapper.toPostResponseDTOWithFlags(post, hiddenPostIds, favoriteCommunityIds))
-                .collect(Collectors.toList());
+        return postAssembler.assembleResponses(PostAssembler.idsOf(topPosts), hiddenPostIds, favoriteCommunityIds);
     }
 
     @Override
@@ -133,9 +127,8 @@ public class CommunityPostServiceImpl implements CommunityPostService {
                     community.getId(), category.getId(), fromDate, PageRequest.of(0, size)
             );
 
-            List<PostResponseDTO> dtoList = posts.stream()
-                    .map(post -> PostMapper.toPostResponseDTOWithFlags(post, hiddenPostIds, favoriteCommunityIds))
-                    .toList();
+            List<PostResponseDTO> dtoList = postAssembler.assembleResponses(
+                    PostAssembler.idsOf(posts), hiddenPostIds, favoriteCommunityIds);
 
             if (!dtoList.isEmpty()) {
                 result.put(category.getName(), dtoList);
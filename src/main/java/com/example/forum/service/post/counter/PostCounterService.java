@@ -0,0 +1,10 @@
+package com.example.forum.service.post.counter;
+
+public interface PostCounterService {
+
+    /**
+     * Recomputes like_count / comment_count for every post from the source tables.
+     * @return number of post rows touched
+     */
+    int reconcileAll();
+}
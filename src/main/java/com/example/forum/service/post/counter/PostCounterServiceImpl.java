@@ -0,0 +1,44 @@
+package com.example.forum.service.post.counter;
+
+import com.example.forum.repository.post.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Backfill / drift repair for the denormalized post counters.
+ * Runs in id-range chunks, each in its own short transaction, so the post table is never locked as a whole.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCounterServiceImpl implements PostCounterService {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${post.counter.reconcile-chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    @Scheduled(cron = "${post.counter.reconcile-cron:0 30 4 * * *}")
+    public int reconcileAll() {
+
+        long maxId = postRepository.findMaxId();
+        int touched = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            long toId = fromId + chunkSize - 1;
+            long from = fromId;
+
+            Integer updated = transactionTemplate.execute(status -> postRepository.reconcileCounters(from, toId));
+            touched += (updated != null) ? updated : 0;
+        }
+
+        log.info("Post counters reconciled: {} rows up to id {}", touched, maxId);
+        return touched;
+    }
+}
@@ -1,13 +1,12 @@
 package com.example.forum.service.post.hidden;
 
+import com.example.forum.helper.viewer.ViewerContextCache;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
-import com.example.forum.repository.post.HiddenPostRepository;
 import com.example.forum.validator.auth.AuthValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
 import java.util.Set;
 
 @Service
@@ -15,14 +14,14 @@ import java.util.Set;
 public class HiddenServiceImpl implements HiddenPostService {
 
     private final AuthValidator authValidator;
-    private final HiddenPostRepository hiddenPostRepository;
+    private final ViewerContextCache viewerContextCache;
 
     @Override
     public boolean isHiddenByUsername(Post post, String username) {
 
         if (username == null) return false;
         User user = authValidator.validateUserByUsername(username);
-        return hiddenPostRepository.existsByUserAndPost(user, post);
+        return viewerContextCache.get(user.getId()).hiddenPostIds().contains(post.getId());
     }
 
     @Override
@@ -30,6 +29,6 @@ public class HiddenServiceImpl implements HiddenPostService {
 
         if (username == null) return Set.of();
         User user = authValidator.validateUserByUsername(username);
-        return new HashSet<>(hiddenPostRepository.findHiddenPostIdsByUser(user));
+        return viewerContextCache.get(user.getId()).hiddenPostIds();
     }
 }
@@ -2,12 +2,11 @@ package com.example.forum.service.post.profile;
 
 import com.example.forum.common.SortOrder;
 import com.example.forum.dto.post.PostResponseDTO;
-import com.example.forum.mapper.post.PostMapper;
-import com.example.forum.model.community.Community;
+import com.example.forum.helper.post.PostAssembler;
+import com.example.forum.helper.viewer.ViewerContext;
+import com.example.forum.helper.viewer.ViewerContextCache;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
-import com.example.forum.repository.community.CommunityFavoriteRepository;
-import com.example.forum.repository.post.HiddenPostRepository;
 import com.example.forum.repository.post.PostRepository;
 import com.example.forum.validator.auth.AuthValidator;
 import lombok.RequiredArgsConstructor;
@@ -17,10 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +24,8 @@ public class ProfilePostServiceImpl implements ProfilePostService {
 
     private final AuthValidator authValidator;
     private final PostRepository postRepository;
-    private final HiddenPostRepository hiddenPostRepository;
-    private final CommunityFavoriteRepository communityFavoriteRepository;
+    private final PostAssembler postAssembler;
+    private final ViewerContextCache viewerContextCache;
 
     @Override
     public List<PostResponseDTO> getProfilePosts(String targetUsername, String currentUsername, SortOrder sort, int page, int size) {
@@ -39,11 +35,7 @@ public class ProfilePostServiceImpl implements ProfilePostService {
 
         boolean includePrivate = target.getId().equals(current.getId());
 
-        Set<Long> hiddenPostIds = new HashSet<>(hiddenPostRepository.findHiddenPostIdsByUser(current));
-
-        Set<Long> favoriteCommunityIds = communityFavoriteRepository.findAllByUser(current).stream()
-                .map(fav -> fav.getCommunity().getId())
-                .collect(Collectors.toSet());
+        ViewerContext viewer = viewerContextCache.get(current.getId());
 
         Pageable pageable = getSortedPageable(sort, page, size);
 
@@ -52,19 +44,8 @@ public class ProfilePostServiceImpl implements ProfilePostService {
             default -> postRepository.findPostsByAuthor(target, includePrivate, pageable);
         };
 
-        return postPage.stream()
-                .map(post -> {
-                    boolean isHidden = hiddenPostIds.contains(post.getId());
-
-                    Community community = post.getCategory() != null
-                            ? post.getCategory().getCommunity()
-                            : null;
-
-                    boolean isFavorite = community != null && favoriteCommunityIds.contains(community.getId());
-
-                    return PostMapper.toPostResponseDTO(post, isHidden, isFavorite);
-                })
-                .toList();
+        return postAssembler.assembleResponses(
+                PostAssembler.idsOf(postPage.getContent()), viewer.hiddenPostIds(), viewer.favoriteCommunityIds());
     }
 
     private Pageable getSortedPageable(SortOrder sort, int page, int size) {
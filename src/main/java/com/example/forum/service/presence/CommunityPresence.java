@@ -0,0 +1,7 @@
+package com.example.forum.service.presence;
+
+/**
+ * Member and online counts of one community, both read as set cardinalities.
+ */
+public record CommunityPresence(long memberCount, long onlineCount) {
+}
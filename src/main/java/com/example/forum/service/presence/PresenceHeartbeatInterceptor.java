@@ -0,0 +1,47 @@
+package com.example.forum.service.presence;
+
+import com.example.forum.security.CustomUserDetails;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Turns user activity into presence heartbeats: authenticated API requests and inbound STOMP frames,
+ * including STOMP heart-beats. PresenceService throttles the writes, so this is cheap on every request.
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceHeartbeatInterceptor implements HandlerInterceptor, ChannelInterceptor {
+
+    private final PresenceService presenceService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails)
+            presenceService.heartbeat(userDetails.getUser().getId());
+
+        return true;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        if (attributes != null && attributes.get("user") instanceof CustomUserDetails userDetails)
+            presenceService.heartbeat(userDetails.getUser().getId());
+
+        return message;
+    }
+}
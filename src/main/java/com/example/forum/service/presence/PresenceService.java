@@ -0,0 +1,20 @@
+package com.example.forum.service.presence;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface PresenceService {
+
+    void heartbeat(Long userId);
+    void connected(Long userId, String sessionId);
+    void disconnected(Long userId, String sessionId);
+    void markOffline(Long userId);
+    boolean isOnline(Long userId);
+    Set<Long> filterOnline(Collection<Long> userIds);
+    Set<Long> getOnlineMemberIds(Long communityId);
+    Set<Long> sampleOnlineMemberIds(Long communityId, int limit);
+    CommunityPresence getCommunityPresence(Long communityId);
+    void memberJoined(Long communityId, Long userId);
+    void memberLeft(Long communityId, Long userId);
+    int sweep();
+}
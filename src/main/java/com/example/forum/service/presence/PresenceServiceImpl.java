@@ -0,0 +1,363 @@
+package com.example.forum.service.presence;
+
+import com.example.forum.repository.community.CommunityMemberRepository;
+import com.example.forum.repository.community.MembershipRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Online presence in Redis, without per-user keys or KEYS scans.
+ * - "presence:seen" is a sorted set of userId by last heartbeat (epoch ms); "presence:online" is the plain set
+ *   of users currently online. Both are updated together by one script.
+ * - Heartbeats come from HTTP requests, STOMP frames (client heart-beats included), login and /api/users/ping.
+ *   Each node writes at most one heartbeat per user per heartbeat-throttle.
+ * - WebSocket sessions are tracked in "presence:ws:{userId}"; closing the last one takes the user offline
+ *   right away instead of waiting for the TTL.
+ * - The sweeper drops users whose last heartbeat is older than presence.ttl, a bounded chunk per script call.
+ * - Per community, "presence:community:{id}:members" mirrors the member ids and "presence:community:{id}:online"
+ *   holds the online ones, so both counts are an SCARD. The online set is moved on online/offline transitions.
+ *   Both are built from the database or by SINTERSTORE on first use and expire after member-set-ttl,
+ *   which bounds any drift; transitions only touch sets that exist, so a partial set is never created.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PresenceServiceImpl implements PresenceService {
+
+    static final String SEEN_KEY = "presence:seen";
+    static final String ONLINE_KEY = "presence:online";
+    private static final String SESSIONS_KEY_PREFIX = "presence:ws:";
+    private static final String COMMUNITY_KEY_PREFIX = "presence:community:";
+
+    private static final int CHUNK_SIZE = 1000;
+
+    // KEYS: seen, online. ARGV: now, userId. Returns 1 when the user was not online before
+    private static final RedisScript<Long> HEARTBEAT = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            return redis.call('SADD', KEYS[2], ARGV[2])
+            """, Long.class);
+
+    // KEYS: seen, online, sessions. ARGV: now, userId, sessionId. Returns 1 when the user was not online before
+    private static final RedisScript<Long> CONNECT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[3], ARGV[3])
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            return redis.call('SADD', KEYS[2], ARGV[2])
+            """, Long.class);
+
+    // KEYS: seen, online, sessions. ARGV: userId, sessionId. Returns 1 when this closed the user's last session
+    private static final RedisScript<Long> DISCONNECT = new DefaultRedisScript<>("""
+            if redis.call('SREM', KEYS[3], ARGV[2]) == 0 or redis.call('SCARD', KEYS[3]) > 0 then return 0 end
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            return redis.call('SREM', KEYS[2], ARGV[1])
+            """, Long.class);
+
+    // KEYS: seen, online. ARGV: cutoff, limit. Returns the ids that went offline
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SWEEP = new DefaultRedisScript<>("""
+            local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            for _, id in ipairs(ids) do
+                redis.call('ZREM', KEYS[1], id)
+                redis.call('SREM', KEYS[2], id)
+            end
+            return ids
+            """, List.class);
+
+    // SADD to every given set that has been built; a missing set is rebuilt instead
+    private static final RedisScript<Long> ADD_IF_PRESENT = new DefaultRedisScript<>("""
+            local added = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('EXISTS', key) == 1 then added = added + redis.call('SADD', key, ARGV[1]) end
+            end
+            return added
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CommunityMemberRepository communityMemberRepository;
+
+    @Value("${presence.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${presence.heartbeat-throttle:PT30S}")
+    private Duration heartbeatThrottle;
+
+    @Value("${presence.member-set-ttl:P1D}")
+    private Duration memberSetTtl;
+
+    private final Map<Long, Long> lastHeartbeat = new ConcurrentHashMap<>();
+
+    @Override
+    public void heartbeat(Long userId) {
+
+        long now = System.currentTimeMillis();
+        Long last = lastHeartbeat.get(userId);
+        if (last != null && now - last < heartbeatThrottle.toMillis())
+            return;
+
+        try {
+            Long cameOnline = redisTemplate.execute(HEARTBEAT, List.of(SEEN_KEY, ONLINE_KEY),
+                    Long.toString(now), userId.toString());
+            lastHeartbeat.put(userId, now);
+            if (Long.valueOf(1L).equals(cameOnline))
+                addToCommunityOnlineSets(userId);
+        } catch (DataAccessException e) {
+            log.warn("Could not record presence for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void connected(Long userId, String sessionId) {
+
+        long now = System.currentTimeMillis();
+        try {
+            Long cameOnline = redisTemplate.execute(CONNECT, List.of(SEEN_KEY, ONLINE_KEY, sessionsKey(userId)),
+                    Long.toString(now), userId.toString(), sessionId);
+            lastHeartbeat.put(userId, now);
+            if (Long.valueOf(1L).equals(cameOnline))
+                addToCommunityOnlineSets(userId);
+        } catch (DataAccessException e) {
+            log.warn("Could not record WebSocket session of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void disconnected(Long userId, String sessionId) {
+        try {
+            Long wentOffline = redisTemplate.execute(DISCONNECT, List.of(SEEN_KEY, ONLINE_KEY, sessionsKey(userId)),
+                    userId.toString(), sessionId);
+            if (Long.valueOf(1L).equals(wentOffline)) {
+                lastHeartbeat.remove(userId);
+                removeFromCommunityOnlineSets(List.of(userId));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not clear WebSocket session of user {}, it expires with the sweep: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void markOffline(Long userId) {
+
+        lastHeartbeat.remove(userId);
+        try {
+            redisTemplate.opsForZSet().remove(SEEN_KEY, userId.toString());
+            Long removed = redisTemplate.opsForSet().remove(ONLINE_KEY, userId.toString());
+            if (removed != null && removed > 0)
+                removeFromCommunityOnlineSets(List.of(userId));
+        } catch (DataAccessException e) {
+            log.warn("Could not clear presence for user {}, it expires with the sweep: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isOnline(Long userId) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(ONLINE_KEY, userId.toString()));
+        } catch (DataAccessException e) {
+            log.warn("Presence unavailable: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Set<Long> filterOnline(Collection<Long> userIds) {
+
+        List<String> ids = userIds.stream().map(String::valueOf).toList();
+        Set<Long> online = new HashSet<>();
+        try {
+            // SMISMEMBER: one round trip per chunk
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                Object[] chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)).toArray();
+                Map<Object, Boolean> members = redisTemplate.opsForSet().isMember(ONLINE_KEY, chunk);
+                if (members != null)
+                    members.forEach((id, isMember) -> {
+                        if (Boolean.TRUE.equals(isMember))
+                            online.add(Long.valueOf(id.toString()));
+                    });
+            }
+        } catch (DataAccessException e) {
+            log.warn("Presence unavailable: {}", e.getMessage());
+        }
+        return online;
+    }
+
+    @Override
+    public Set<Long> getOnlineMemberIds(Long communityId) {
+        try {
+            ensureCommunitySets(communityId);
+            return toIds(redisTemplate.opsForSet().members(onlineKey(communityId)));
+        } catch (DataAccessException e) {
+            log.warn("Presence unavailable for community {}: {}", communityId, e.getMessage());
+            return Set.of();
+        }
+    }
+
+    @Override
+    public Set<Long> sampleOnlineMemberIds(Long communityId, int limit) {
+        try {
+            ensureCommunitySets(communityId);
+            return toIds(redisTemplate.opsForSet().distinctRandomMembers(onlineKey(communityId), limit));
+        } catch (DataAccessException e) {
+            log.warn("Presence unavailable for community {}: {}", communityId, e.getMessage());
+            return Set.of();
+        }
+    }
+
+    @Override
+    public CommunityPresence getCommunityPresence(Long communityId) {
+        try {
+            ensureCommunitySets(communityId);
+            Long members = redisTemplate.opsForSet().size(membersKey(communityId));
+            Long online = redisTemplate.opsForSet().size(onlineKey(communityId));
+            return new CommunityPresence(members == null ? 0 : members, online == null ? 0 : online);
+        } catch (DataAccessException e) {
+            log.warn("Presence unavailable for community {}, counting members in the database: {}",
+                    communityId, e.getMessage());
+            return new CommunityPresence(communityMemberRepository.countByCommunityId(communityId), 0);
+        }
+    }
+
+    @Override
+    public void memberJoined(Long communityId, Long userId) {
+        try {
+            redisTemplate.execute(ADD_IF_PRESENT, List.of(membersKey(communityId)), userId.toString());
+            if (isOnline(userId))
+                redisTemplate.execute(ADD_IF_PRESENT, List.of(onlineKey(communityId)), userId.toString());
+        } catch (DataAccessException e) {
+            evictCommunitySets(communityId);
+        }
+    }
+
+    @Override
+    public void memberLeft(Long communityId, Long userId) {
+        try {
+            redisTemplate.opsForSet().remove(membersKey(communityId), userId.toString());
+            redisTemplate.opsForSet().remove(onlineKey(communityId), userId.toString());
+        } catch (DataAccessException e) {
+            evictCommunitySets(communityId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${presence.sweep-interval:PT30S}")
+    public int sweep() {
+
+        long now = System.currentTimeMillis();
+        String cutoff = Long.toString(now - ttl.toMillis());
+
+        int swept = 0;
+        try {
+            while (true) {
+                List<?> ids = redisTemplate.execute(SWEEP, List.of(SEEN_KEY, ONLINE_KEY), cutoff, Integer.toString(CHUNK_SIZE));
+                int count = (ids == null) ? 0 : ids.size();
+                swept += count;
+                if (count > 0) {
+                    List<Long> userIds = ids.stream().map(id -> Long.valueOf(id.toString())).toList();
+                    redisTemplate.delete(userIds.stream().map(PresenceServiceImpl::sessionsKey).toList());
+                    removeFromCommunityOnlineSets(userIds);
+                }
+                if (count < CHUNK_SIZE)
+                    break;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Presence sweep failed, retrying next interval: {}", e.getMessage());
+        }
+
+        // Local throttle entries older than the TTL can no longer suppress a needed heartbeat
+        lastHeartbeat.values().removeIf(last -> now - last > ttl.toMillis());
+
+        if (swept > 0)
+            log.debug("Presence sweep: {} users went offline", swept);
+        return swept;
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private static String sessionsKey(Long userId) {
+        return SESSIONS_KEY_PREFIX + userId;
+    }
+
+    private static String membersKey(Long communityId) {
+        return COMMUNITY_KEY_PREFIX + communityId + ":members";
+    }
+
+    private static String onlineKey(Long communityId) {
+        return COMMUNITY_KEY_PREFIX + communityId + ":online";
+    }
+
+    private static Set<Long> toIds(Collection<String> ids) {
+        return (ids == null) ? Set.of() : ids.stream().map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    private void addToCommunityOnlineSets(Long userId) {
+
+        List<String> keys = communityMemberRepository.findMembershipsByUserIdIn(List.of(userId)).stream()
+                .map(row -> onlineKey(row.getCommunityId()))
+                .toList();
+        if (!keys.isEmpty())
+            redisTemplate.execute(ADD_IF_PRESENT, keys, userId.toString());
+    }
+
+    private void removeFromCommunityOnlineSets(Collection<Long> userIds) {
+
+        Map<Long, List<Long>> communitiesByUser = communityMemberRepository.findMembershipsByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(MembershipRow::getUserId,
+                        Collectors.mapping(MembershipRow::getCommunityId, Collectors.toList())));
+
+        communitiesByUser.forEach((userId, communityIds) -> communityIds.forEach(communityId ->
+                redisTemplate.opsForSet().remove(onlineKey(communityId), userId.toString())));
+    }
+
+    private void ensureCommunitySets(Long communityId) {
+
+        String membersKey = membersKey(communityId);
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(membersKey)))
+            buildMemberSet(communityId, membersKey);
+
+        // Cost is bounded by the smaller of the two sets; an empty result leaves no key and is recomputed next time
+        String onlineKey = onlineKey(communityId);
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(onlineKey))) {
+            redisTemplate.opsForSet().intersectAndStore(membersKey, ONLINE_KEY, onlineKey);
+            redisTemplate.expire(onlineKey, memberSetTtl);
+        }
+    }
+
+    // Built under a private key and renamed into place, so readers never see a half-built set
+    private void buildMemberSet(Long communityId, String membersKey) {
+
+        List<Long> userIds = communityMemberRepository.findUserIdsByCommunityId(communityId);
+        if (userIds.isEmpty())
+            return;
+
+        String buildKey = membersKey + ":build:" + UUID.randomUUID();
+        List<String> ids = userIds.stream().map(String::valueOf).toList();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE)
+            redisTemplate.opsForSet().add(buildKey, ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)).toArray(String[]::new));
+
+        redisTemplate.rename(buildKey, membersKey);
+        redisTemplate.expire(membersKey, memberSetTtl);
+    }
+
+    private void evictCommunitySets(Long communityId) {
+        try {
+            redisTemplate.delete(List.of(membersKey(communityId), onlineKey(communityId)));
+        } catch (DataAccessException e) {
+            log.warn("Presence sets of community {} may be stale until they expire: {}", communityId, e.getMessage());
+        }
+    }
+}
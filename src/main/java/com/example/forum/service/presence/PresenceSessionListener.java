@@ -0,0 +1,49 @@
+package com.example.forum.service.presence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+/**
+ * Online/offline transitions from STOMP sessions: a user is online from their first connected session
+ * until their last one closes. Disconnect events can repeat for one session; PresenceService ignores repeats.
+ * The session principal is named after the user id (see UserIdHandshakeHandler).
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceSessionListener {
+
+    private final PresenceService presenceService;
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Long userId = userId(event);
+        if (userId != null)
+            presenceService.connected(userId, SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders()));
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Long userId = userId(event);
+        if (userId != null)
+            presenceService.disconnected(userId, event.getSessionId());
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private static Long userId(AbstractSubProtocolEvent event) {
+
+        if (event.getUser() == null)
+            return null;
+
+        try {
+            return Long.valueOf(event.getUser().getName());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.profile.ProfileValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,6 +39,7 @@ public class ProfileServiceImpl implements ProfileService {
     private final JwtTokenProvider jwtTokenProvider;
 
     private final S3Service s3Service;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.default-profile-image}")
     private String defaultProfileImageUrl;
@@ -102,6 +104,8 @@ public class ProfileServiceImpl implements ProfileService {
 
         profile.setNickname(dto.getNickname());
         profileRepository.save(profile);
+
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(user.getId()));
     }
 
     // Username
@@ -115,6 +119,8 @@ public class ProfileServiceImpl implements ProfileService {
         user.setUsername(dto.getUsername());
         userRepository.save(user);
 
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(user.getId()));
+
         String newToken = jwtTokenProvider.generateToken(user.getUsername());
 
         return new LoginResponseDTO(newToken, user.getUsername());
@@ -149,6 +155,8 @@ public class ProfileServiceImpl implements ProfileService {
         profile.setImagePositionX(dto.getPositionX());
         profile.setImagePositionY(dto.getPositionY());
         profileRepository.save(profile);
+
+        eventPublisher.publishEvent(new ProfileUpdatedEvent(user.getId()));
     }
 
 //    @Override
@@ -0,0 +1,7 @@
+package com.example.forum.service.profile;
+
+/**
+ * Published when a user's username, nickname or profile image changes, so cached copies of the user can be dropped.
+ */
+public record ProfileUpdatedEvent(Long userId) {
+}
@@ -7,7 +7,10 @@ import com.example.forum.model.like.ReactionType;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.like.PostReactionRepository;
+import com.example.forum.repository.post.PostRepository;
 import com.example.forum.service.notification.NotificationHelper;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.service.trending.engine.TrendingSignal;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.post.PostValidator;
 import lombok.RequiredArgsConstructor;
@@ -27,16 +30,18 @@ public class PostReactionServiceImpl implements PostReactionService {
 
     // Repositories
     private final PostReactionRepository postReactionRepository;
+    private final PostRepository postRepository;
 
     // Service
     private final NotificationHelper notificationHelper;
+    private final TrendingEngine trendingEngine;
 
     @Override
     @Transactional
     public void toggleReaction(Long postId, String username, ReactionType newType) {
 
         User user = userValidator.validateUserByUsername(username);
-        Post post = postValidator.validatePost(postId);
+        Post post = postValidator.validatePostReference(postId);
 
         Optional<PostReaction> existingOpt = postReactionRepository.findByPostAndUser(post, user);
 
@@ -44,11 +49,15 @@ public class PostReactionServiceImpl implements PostReactionService {
 
             PostReaction existingReaction = existingOpt.get();
 
-            if (existingReaction.getReactionType() == newType) {
+            ReactionType oldType = existingReaction.getReactionType();
+
+            if (oldType == newType) {
                 postReactionRepository.delete(existingReaction);
+                adjustLikeCount(post, oldType, null);
             } else {
                 existingReaction.setReactionType(newType);
                 postReactionRepository.save(existingReaction);
+                adjustLikeCount(post, oldType, newType);
             }
 
             return;
@@ -59,11 +68,26 @@ public class PostReactionServiceImpl implements PostReactionService {
         newReaction.setUser(user);
         newReaction.setReactionType(newType);
         postReactionRepository.save(newReaction);
+        adjustLikeCount(post, null, newType);
+    }
+
+    /**
+     * Applies the like_count delta for a reaction transition (null = no reaction).
+     * Only LIKE contributes to the counter.
+     */
+    private void adjustLikeCount(Post post, ReactionType from, ReactionType to) {
+
+        int delta = (to == ReactionType.LIKE ? 1 : 0) - (from == ReactionType.LIKE ? 1 : 0);
+        if (delta == 0)
+            return;
+
+        postRepository.addLikeCount(post.getId(), delta);
+        trendingEngine.record(post.getId(), TrendingSignal.LIKE, delta);
     }
 
     @Override
     public long countLikes(Long postId) {
-        Post post = postValidator.validatePost(postId);
+        Post post = postValidator.validatePostReference(postId);
 
         long likeCount = postReactionRepository.countByPostAndReactionType(post, ReactionType.LIKE);
         long dislikeCount = postReactionRepository.countByPostAndReactionType(post, ReactionType.DISLIKE);
@@ -76,7 +100,7 @@ public class PostReactionServiceImpl implements PostReactionService {
     @Override
     public List<LikeUserDTO> getLikeUsers(Long postId) {
 
-        Post post = postValidator.validatePost(postId);
+        Post post = postValidator.validatePostReference(postId);
 
         List<PostReaction> likes = postReactionRepository.findByPostAndReactionType(post, ReactionType.LIKE);
 
@@ -91,7 +115,7 @@ public class PostReactionServiceImpl implements PostReactionService {
         if (username == null) return null;
 
         User user = userValidator.validateUserByUsername(username);
-        Post post = postValidator.validatePost(postId);
+        Post post = postValidator.validatePostReference(postId);
 
         return postReactionRepository.findByPostAndUser(post, user)
                 .map(PostReaction::getReactionType)
@@ -63,7 +63,7 @@ public class ReportServiceImpl implements ReportService{
         // Bind exact one target by type
         switch (req.getTargetType()) {
             case POST -> {
-                Post post = postValidator.validatePost(req.getTargetId());
+                Post post = postValidator.validatePostReference(req.getTargetId());
                 r.setPost(post);
             }
             case COMMENT -> {
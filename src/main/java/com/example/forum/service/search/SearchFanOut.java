@@ -0,0 +1,134 @@
+package com.example.forum.service.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent search sections in parallel on a bounded pool under one shared deadline.
+ * - A section that misses the deadline (or is rejected because the pool is saturated) yields its
+ *   fallback value and is reported as timed out; the other sections are still returned.
+ * - Per-source latency is recorded as a histogram ("search.source.latency", tag "source").
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchFanOut {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.deadline:PT0.8S}")
+    private Duration deadline;
+
+    @Value("${search.executor.pool-size:8}")
+    private int poolSize;
+
+    @Value("${search.executor.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                namedThreads(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Absolute deadline (System.nanoTime based) for a request starting now.
+     */
+    public long deadlineFromNow() {
+        return System.nanoTime() + deadline.toNanos();
+    }
+
+    public <T> CompletableFuture<T> submit(String source, Supplier<T> task) {
+
+        Timer timer = Timer.builder("search.source.latency")
+                .description("Latency of one search section")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(task), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for a section until the shared deadline. Business exceptions thrown by the section propagate.
+     */
+    public <T> Section<T> await(String source, CompletableFuture<T> future, long deadlineNanos, T fallback) {
+
+        long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+
+        try {
+            return new Section<>(future.get(remaining, TimeUnit.NANOSECONDS), false);
+        } catch (TimeoutException e) {
+            return timedOut(source, fallback, "deadline exceeded");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return timedOut(source, fallback, "interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RejectedExecutionException)
+                return timedOut(source, fallback, "search pool saturated");
+            if (cause instanceof RuntimeException runtime)
+                throw runtime;
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private <T> Section<T> timedOut(String source, T fallback, String reason) {
+        log.warn("Search section '{}' skipped: {}", source, reason);
+        Counter.builder("search.source.timeouts")
+                .description("Search sections returned empty because they missed the deadline")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+
+        return new Section<>(fallback, true);
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "search-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public record Section<T>(T value, boolean timedOut) {
+    }
+}
@@ -11,6 +11,6 @@ public interface SearchService {
 
     SearchResponseDTO searchAll(String keyword, String username);
     List<ProfilePreviewDTO> searchUsers(String keyword);
-    List<PostPreviewDTO> searchPosts(String keyword, String username);
-    List<CommunityPreviewDTO> searchCommunities(String keyword, String username);
+    List<PostPreviewDTO> searchPosts(String keyword, String username, int page, int size);
+    List<CommunityPreviewDTO> searchCommunities(String keyword, String username, int page, int size);
 }
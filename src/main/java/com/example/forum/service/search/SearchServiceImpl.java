@@ -5,55 +5,85 @@ import com.example.forum.dto.post.PostPreviewDTO;
 import com.example.forum.dto.profile.ProfilePreviewDTO;
 import com.example.forum.dto.search.SearchResponseDTO;
 import com.example.forum.helper.community.CommunityHelper;
+import com.example.forum.helper.post.PostAssembler;
 import com.example.forum.mapper.community.CommunityMapper;
-import com.example.forum.mapper.post.PostMapper;
 import com.example.forum.mapper.profile.ProfileMapper;
 import com.example.forum.model.community.Community;
-import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.community.CommunityRepository;
-import com.example.forum.repository.post.PostRepository;
 import com.example.forum.repository.user.UserRepository;
 import com.example.forum.service.post.hidden.HiddenPostService;
+import com.example.forum.service.search.SearchFanOut.Section;
+import com.example.forum.service.search.index.SearchHits;
+import com.example.forum.service.search.index.SearchIndexer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SearchServiceImpl implements SearchService {
 
+    private static final int PREVIEW_SIZE = 5;
+    private static final int MAX_PAGE_SIZE = 50;
+
     // Repositories
     private final UserRepository userRepository;
-    private final PostRepository postRepository;
     private final CommunityRepository communityRepository;
 
     // Services
     private final HiddenPostService hiddenPostService;
+    private final SearchIndexer searchIndexer;
+    private final SearchFanOut searchFanOut;
 
     // Helper
     private final CommunityHelper communityHelper;
+    private final PostAssembler postAssembler;
 
+    /**
+     * Fans the three sections out in parallel under one deadline.
+     * A slow section comes back empty with its timedOut flag set instead of delaying the others.
+     */
     @Override
     public SearchResponseDTO searchAll(String keyword, String username) {
 
-        List<PostPreviewDTO> posts = searchPosts(keyword, username);
-        List<CommunityPreviewDTO> communities = searchCommunities(keyword, username);
-        List<ProfilePreviewDTO> users = searchUsers(keyword);
+        long deadline = searchFanOut.deadlineFromNow();
+
+        CompletableFuture<List<PostPreviewDTO>> posts =
+                searchFanOut.submit("posts", () -> searchPosts(keyword, username, 0, PREVIEW_SIZE));
+        CompletableFuture<List<CommunityPreviewDTO>> communities =
+                searchFanOut.submit("communities", () -> searchCommunities(keyword, username, 0, PREVIEW_SIZE));
+        CompletableFuture<List<ProfilePreviewDTO>> users =
+                searchFanOut.submit("users", () -> searchUsers(keyword));
+
+        Section<List<PostPreviewDTO>> postSection = searchFanOut.await("posts", posts, deadline, List.of());
+        Section<List<CommunityPreviewDTO>> communitySection = searchFanOut.await("communities", communities, deadline, List.of());
+        Section<List<ProfilePreviewDTO>> userSection = searchFanOut.await("users", users, deadline, List.of());
 
         return SearchResponseDTO.builder()
-                .users(users)
-                .communities(communities)
-                .posts(posts)
+                .users(userSection.value())
+                .usersTimedOut(userSection.timedOut())
+                .communities(communitySection.value())
+                .communitiesTimedOut(communitySection.timedOut())
+                .posts(postSection.value())
+                .postsTimedOut(postSection.timedOut())
                 .build();
     }
 
     @Override
     public List<ProfilePreviewDTO> searchUsers(String keyword) {
 
-        List<User> users = userRepository.findTop5ByUsernameContainingIgnoreCase(keyword);
+        if (keyword == null || keyword.isBlank())
+            return List.of();
+
+        List<User> users = userRepository.findTop5ByUsernameStartingWithOrderByUsernameAsc(keyword.trim());
 
         return users.stream()
                 .map(ProfileMapper::toProfilePreviewDTO)
@@ -61,28 +91,47 @@ public class SearchServiceImpl implements SearchService {
     }
 
     @Override
-    public List<PostPreviewDTO> searchPosts(String keyword, String username) {
+    public List<PostPreviewDTO> searchPosts(String keyword, String username, int page, int size) {
 
-        List<Post> posts = postRepository.findTop5ByTitleContainingIgnoreCase(keyword);
-        Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
+        int limit = clampSize(size);
+        SearchHits hits = searchIndexer.searchPosts(keyword, offset(page, limit), limit);
+        if (hits.ids().isEmpty())
+            return List.of();
 
-        return posts.stream()
-                .map(post -> PostMapper.toPreviewDTO(post, hiddenPostIds.contains(post.getId())))
-                .toList();
+        Set<Long> hiddenPostIds = hiddenPostService.getHiddenPostIdsByUsername(username);
+        return postAssembler.assemblePreviews(hits.ids(), hiddenPostIds);
     }
 
     @Override
-    public List<CommunityPreviewDTO> searchCommunities(String keyword, String username) {
+    public List<CommunityPreviewDTO> searchCommunities(String keyword, String username, int page, int size) {
+
+        int limit = clampSize(size);
+        SearchHits hits = searchIndexer.searchCommunities(keyword, offset(page, limit), limit);
+        if (hits.ids().isEmpty())
+            return List.of();
 
-        List<Community> communities = communityRepository.findTop5ByNameContainingIgnoreCase(keyword);
+        Map<Long, Community> byId = communityRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(Community::getId, Function.identity()));
 
-        Set<Long> favoriteCommunityIds = communityHelper.getFavoriteCommunityIdsByUsername(username); // ✅ 추가
+        Set<Long> favoriteCommunityIds = communityHelper.getFavoriteCommunityIdsByUsername(username);
 
-        return communities.stream()
+        // Keep the ranking order; ids deleted since indexing are skipped
+        return hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(community -> CommunityMapper.toPreviewDTO(
                         community,
                         favoriteCommunityIds.contains(community.getId())
                 ))
                 .toList();
     }
+
+    private static int clampSize(int size) {
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+    }
+
+    // page * limit overflows int for huge pages; clamping keeps it past every hit, so the page is empty
+    private static int offset(int page, int limit) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.max(page, 0) * limit);
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.forum.service.search.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects weighted term frequencies for one document.
+ * A field with weight 3 counts each of its terms three times, which is how titles outrank bodies.
+ */
+public class IndexedFields {
+
+    private final Map<String, Integer> terms = new HashMap<>();
+
+    public IndexedFields add(String text, int weight) {
+        for (String token : SearchTokenizer.tokenize(text))
+            terms.merge(token, weight, Integer::sum);
+
+        return this;
+    }
+
+    public IndexedFields addAll(Collection<String> texts, int weight) {
+        if (texts != null)
+            texts.forEach(text -> add(text, weight));
+
+        return this;
+    }
+
+    public Map<String, Integer> terms() {
+        return terms;
+    }
+}
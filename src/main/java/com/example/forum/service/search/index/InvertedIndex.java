@@ -0,0 +1,221 @@
+package com.example.forum.service.search.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking.
+ * - Terms are kept sorted so the last query term can be expanded as a prefix (search-as-you-type).
+ * - Readers share a read lock; upsert/remove take the write lock and touch only the document's own terms.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Prefix expansions are capped so a one-letter query cannot walk the whole dictionary
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // A prefix hit ranks a little below the same exact hit
+    private static final double PREFIX_BOOST = 0.8;
+
+    // term -> (docId -> term frequency)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // docId -> term frequencies, kept so a document can be removed without scanning the dictionary
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void upsert(Long docId, Map<String, Integer> terms) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            if (terms.isEmpty())
+                return;
+
+            Map<String, Integer> copy = Map.copyOf(terms);
+            int length = 0;
+            for (Map.Entry<String, Integer> term : copy.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(docId, term.getValue());
+                length += term.getValue();
+            }
+
+            documents.put(docId, copy);
+            lengths.put(docId, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            lengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks documents against the query. Every term is matched exactly; the last one also as a prefix.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+
+        List<String> queryTerms = SearchTokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0)
+            return SearchHits.EMPTY;
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty())
+                return SearchHits.EMPTY;
+
+            Map<Long, Double> scores = new HashMap<>();
+            double avgLength = (double) totalLength / documents.size();
+
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                boolean last = i == queryTerms.size() - 1;
+
+                if (last) {
+                    int expanded = 0;
+                    for (Map.Entry<String, Map<Long, Integer>> entry : prefixRange(term).entrySet()) {
+                        if (expanded++ == MAX_PREFIX_EXPANSIONS)
+                            break;
+
+                        double boost = entry.getKey().equals(term) ? 1.0 : PREFIX_BOOST;
+                        accumulate(scores, entry.getValue(), boost, avgLength);
+                    }
+                } else {
+                    Map<Long, Integer> docs = postings.get(term);
+                    if (docs != null)
+                        accumulate(scores, docs, 1.0, avgLength);
+                }
+            }
+
+            return new SearchHits(scores.size(), topPage(scores, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap footprint, counting object headers, boxed keys and hash map entries.
+     * Meant for trend lines on a dashboard, not for exact accounting.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Map.Entry<String, Map<Long, Integer>> entry : postings.entrySet()) {
+                // TreeMap entry + String + backing array + HashMap shell
+                bytes += 40 + 40 + 2L * entry.getKey().length() + 64;
+                // HashMap node + boxed Long per posting (small Integers are cached)
+                bytes += 48L * entry.getValue().size();
+            }
+            for (Map<String, Integer> terms : documents.values())
+                bytes += 64 + 48L * terms.size();
+
+            bytes += 48L * lengths.size();
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private void removeLocked(Long docId) {
+        Map<String, Integer> previous = documents.remove(docId);
+        if (previous == null)
+            return;
+
+        for (String term : previous.keySet()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs == null)
+                continue;
+
+            docs.remove(docId);
+            if (docs.isEmpty())
+                postings.remove(term);
+        }
+
+        Integer length = lengths.remove(docId);
+        totalLength -= length != null ? length : 0;
+    }
+
+    private NavigableMap<String, Map<Long, Integer>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void accumulate(Map<Long, Double> scores, Map<Long, Integer> docs, double boost, double avgLength) {
+
+        int n = documents.size();
+        int df = docs.size();
+        double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+
+        for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+            double tf = posting.getValue();
+            double norm = K1 * (1 - B + B * lengths.get(posting.getKey()) / avgLength);
+            double score = boost * idf * (tf * (K1 + 1)) / (tf + norm);
+
+            scores.merge(posting.getKey(), score, Double::sum);
+        }
+    }
+
+    private static List<Long> topPage(Map<Long, Double> scores, int offset, int limit) {
+
+        if (offset < 0 || offset >= scores.size())
+            return List.of();
+
+        // offset + limit can overflow for deep pages; no page needs more than every hit
+        int wanted = (int) Math.min(scores.size(), (long) offset + limit);
+
+        // Higher score first; ties go to the newer (larger) id
+        Comparator<Map.Entry<Long, Double>> better = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(better);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.add(entry);
+            if (heap.size() > wanted)
+                heap.poll();
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(better.reversed());
+
+        return ranked.subList(offset, ranked.size()).stream().map(Map.Entry::getKey).toList();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.forum.service.search.index;
+
+import java.util.List;
+
+/**
+ * One page of ranked document ids plus the total number of matching documents.
+ */
+public record SearchHits(long total, List<Long> ids) {
+
+    public static final SearchHits EMPTY = new SearchHits(0, List.of());
+}
@@ -0,0 +1,161 @@
+package com.example.forum.service.search.index;
+
+import com.example.forum.common.AfterCommit;
+import com.example.forum.model.community.Community;
+import com.example.forum.model.post.Post;
+import com.example.forum.model.post.Visibility;
+import com.example.forum.repository.community.CommunityIndexRow;
+import com.example.forum.repository.community.CommunityRepository;
+import com.example.forum.repository.post.PostIndexRow;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.repository.post.PostTagRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the in-process search indexes for posts and communities.
+ * - Built from the database when the application starts, then kept current by the write paths.
+ * - Write paths read the entity right away but change the index only after the caller's transaction commits,
+ *   so a rolled-back write never becomes searchable.
+ * - Posts index title (x3), tags (x2) and content; communities index name (x3) and description.
+ * - PRIVATE posts are never indexed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexer {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+
+    private final PostRepository postRepository;
+    private final PostTagRepository postTagRepository;
+    private final CommunityRepository communityRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final InvertedIndex postIndex = new InvertedIndex();
+    private final InvertedIndex communityIndex = new InvertedIndex();
+
+    @PostConstruct
+    void registerMetrics() {
+        registerIndexMetrics("posts", postIndex);
+        registerIndexMetrics("communities", communityIndex);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        long started = System.currentTimeMillis();
+        postIndex.clear();
+        communityIndex.clear();
+
+        long afterId = 0;
+        List<PostIndexRow> chunk;
+        do {
+            chunk = postRepository.findIndexRowsAfter(afterId, REBUILD_CHUNK_SIZE);
+            if (chunk.isEmpty())
+                break;
+
+            List<Long> ids = chunk.stream().map(PostIndexRow::getId).toList();
+            Map<Long, List<String>> tagsByPost = postTagRepository.findByPostIdInWithTag(ids).stream()
+                    .collect(Collectors.groupingBy(pt -> pt.getPost().getId(),
+                            Collectors.mapping(pt -> pt.getTag().getName(), Collectors.toList())));
+
+            for (PostIndexRow row : chunk)
+                postIndex.upsert(row.getId(), postTerms(row.getTitle(), row.getContent(), tagsByPost.get(row.getId())));
+
+            afterId = ids.get(ids.size() - 1);
+        } while (chunk.size() == REBUILD_CHUNK_SIZE);
+
+        for (CommunityIndexRow row : communityRepository.findAllIndexRows())
+            communityIndex.upsert(row.getId(), communityTerms(row.getName(), row.getDescription()));
+
+        log.info("Search index rebuilt in {} ms: {} posts, {} communities, ~{} KB",
+                System.currentTimeMillis() - started, postIndex.size(), communityIndex.size(),
+                (postIndex.estimatedBytes() + communityIndex.estimatedBytes()) / 1024);
+    }
+
+    // ------------------------------ Write paths -------------------------------------
+
+    /**
+     * Indexes a post from an entity whose tags are already loaded; PRIVATE posts are removed instead.
+     */
+    public void indexPost(Post post) {
+
+        if (post.getVisibility() == Visibility.PRIVATE) {
+            removePost(post.getId());
+            return;
+        }
+
+        List<String> tags = post.getPostTags() == null ? List.of()
+                : post.getPostTags().stream().map(pt -> pt.getTag().getName()).toList();
+
+        Long postId = post.getId();
+        Map<String, Integer> terms = postTerms(post.getTitle(), post.getContent(), tags);
+        AfterCommit.run(() -> postIndex.upsert(postId, terms));
+    }
+
+    public void removePost(Long postId) {
+        AfterCommit.run(() -> postIndex.remove(postId));
+    }
+
+    public void indexCommunity(Community community) {
+        Long communityId = community.getId();
+        Map<String, Integer> terms = communityTerms(community.getName(), community.getDescription());
+        AfterCommit.run(() -> communityIndex.upsert(communityId, terms));
+    }
+
+    // ------------------------------ Queries -------------------------------------
+
+    public SearchHits searchPosts(String query, int offset, int limit) {
+        return postIndex.search(query, offset, limit);
+    }
+
+    public SearchHits searchCommunities(String query, int offset, int limit) {
+        return communityIndex.search(query, offset, limit);
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private static Map<String, Integer> postTerms(String title, String content, Collection<String> tags) {
+        return new IndexedFields()
+                .add(title, TITLE_WEIGHT)
+                .addAll(tags, TAG_WEIGHT)
+                .add(content, BODY_WEIGHT)
+                .terms();
+    }
+
+    private static Map<String, Integer> communityTerms(String name, String description) {
+        return new IndexedFields()
+                .add(name, TITLE_WEIGHT)
+                .add(description, BODY_WEIGHT)
+                .terms();
+    }
+
+    private void registerIndexMetrics(String name, InvertedIndex index) {
+        Gauge.builder("search.index.memory", index, InvertedIndex::estimatedBytes)
+                .description("Estimated heap used by the search index")
+                .baseUnit("bytes")
+                .tag("index", name)
+                .register(meterRegistry);
+
+        Gauge.builder("search.index.documents", index, InvertedIndex::size)
+                .description("Documents in the search index")
+                .tag("index", name)
+                .register(meterRegistry);
+    }
+}
@@ -15,6 +15,9 @@ public interface TaggingService {
     void addTagsToPost(Long postId, List<String> rawTags);
     void removeTagsFromPost(Long postId, List<String> rawTags);
 
+    // Releases the usage counters of a post about to be deleted (its post_tags rows go with the post)
+    void releaseTagUsage(Long postId);
+
     // retrieve
     List<String> getTagNamesForPost(Long postId);
     Page<Post> getPostsByTag(String tag, Pageable pageable);
@@ -7,6 +7,8 @@ import com.example.forum.model.tag.Tag;
 import com.example.forum.repository.post.PostRepository;
 import com.example.forum.repository.post.PostTagRepository;
 import com.example.forum.repository.tag.TagRepository;
+import com.example.forum.repository.tag.TagUsageDailyRepository;
+import com.example.forum.service.tag.suggest.TagSuggestIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
@@ -15,6 +17,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -25,6 +29,8 @@ public class TaggingServiceImpl implements TaggingService {
     private final TagRepository tagRepository;
     private final PostTagRepository postTagRepository;
     private final PostRepository postRepository;
+    private final TagUsageDailyRepository tagUsageDailyRepository;
+    private final TagSuggestIndex tagSuggestIndex;
 
     private static final int MAX_TAGS_PER_POST = 5;
     private static final int MAX_TAG_LENGTH = 50;
@@ -55,6 +61,10 @@ public class TaggingServiceImpl implements TaggingService {
         remove.removeAll(nextIds);
         if (!remove.isEmpty()) {
             postTagRepository.deleteByPostIdAndTagIdIn(postId, remove);
+            onUsageChanged(post, current.stream()
+                    .map(PostTag::getTag)
+                    .filter(t -> remove.contains(t.getId()))
+                    .toList(), -1);
         }
 
         // Add
@@ -69,6 +79,10 @@ public class TaggingServiceImpl implements TaggingService {
                 return pt;
             }).toList();
             postTagRepository.saveAll(toSave);
+            onUsageChanged(post, names.stream()
+                    .map(byName::get)
+                    .filter(t -> add.contains(t.getId()))
+                    .toList(), 1);
         }
     }
 
@@ -89,14 +103,17 @@ public class TaggingServiceImpl implements TaggingService {
         names = names.stream().limit(canAdd).toList();
         Map<String, Tag> byName = loadOrCreate(names);
 
+        List<Tag> added = new ArrayList<>();
         for (Tag tag : byName.values()) {
             if (!postTagRepository.existsByPostIdAndTagId(postId, tag.getId())) {
                 PostTag pt = new PostTag();
                 pt.setPost(post);
                 pt.setTag(tag);
                 postTagRepository.save(pt);
+                added.add(tag);
             }
         }
+        onUsageChanged(post, added, 1);
     }
 
     @Override
@@ -110,13 +127,29 @@ public class TaggingServiceImpl implements TaggingService {
         List<String> names = normalize(rawTags);
         if (names.isEmpty()) return;
 
-        List<Tag> targets = tagRepository.findByNameIn(names);
+        // Only tags actually attached to the post count as removed
+        Set<String> requested = new HashSet<>(names);
+        List<Tag> targets = postTagRepository.findByPostIdWithTag(postId).stream()
+                .map(PostTag::getTag)
+                .filter(t -> requested.contains(t.getName()))
+                .toList();
         if (targets.isEmpty()) return;
 
         postTagRepository.deleteByPostIdAndTagIdIn(
                 postId,
                 targets.stream().map(Tag::getId).toList()
         );
+        onUsageChanged(post, targets, -1);
+    }
+
+    @Override
+    @Transactional
+    public void releaseTagUsage(Long postId) {
+        List<Tag> tags = postTagRepository.findByPostIdWithTag(postId).stream()
+                .map(PostTag::getTag)
+                .toList();
+
+        onUsageChanged(postRepository.getReferenceById(postId), tags, -1);
     }
 
     @Override
@@ -141,37 +174,51 @@ public class TaggingServiceImpl implements TaggingService {
         if (q == null || q.isBlank()) return List.of();
 
         String norm = normalizeToken(q);
-        return tagRepository
-                .findByNameStartingWithIgnoreCase(norm, PageRequest.of(0, Math.max(1, limit)))
-                .stream()
-                .map(Tag::getName)
-                .toList();
+        return tagSuggestIndex.suggest(norm, Math.max(1, limit));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<String> topTags(int limit) {
-        return postTagRepository.findTopTagNames(Math.max(1, limit));
+        return tagRepository.findTopNames(PageRequest.of(0, Math.max(1, limit)));
     }
 
     /* ===== helper methods ===== */
 
+    // Applies the add/remove diff of a tag edit to usage_count, the post's day bucket and the autocomplete
+    private void onUsageChanged(Post post, List<Tag> tags, int delta) {
+        if (tags.isEmpty()) return;
+
+        tagRepository.addUsageCount(tags.stream().map(Tag::getId).toList(), delta);
+
+        LocalDate bucket = LocalDate.ofInstant(post.getCreatedAt(), ZoneOffset.UTC);
+        for (Tag tag : tags)
+            tagUsageDailyRepository.addUses(tag.getId(), bucket, delta);
+
+        tagSuggestIndex.adjustUsage(tags.stream().map(Tag::getName).toList(), delta);
+    }
+
     private Map<String, Tag> loadOrCreate(List<String> names) {
         if (names.isEmpty()) return Map.of();
 
         Map<String, Tag> existing = tagRepository.findByNameIn(names).stream()
                 .collect(Collectors.toMap(Tag::getName, t -> t));
 
+        List<String> created = new ArrayList<>();
         for (String n : names) {
             if (existing.containsKey(n)) continue;
             try {
                 Tag t = new Tag(); t.setName(n);
                 tagRepository.saveAndFlush(t);
                 existing.put(n, t);
+                created.add(n);
             } catch (DataIntegrityViolationException e) {
                 tagRepository.findByNameIgnoreCase(n).ifPresent(t -> existing.put(n, t));
             }
         }
+        if (!created.isEmpty())
+            tagSuggestIndex.addTags(created);
+
         return existing;
     }
 
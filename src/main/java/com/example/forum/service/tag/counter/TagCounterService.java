@@ -0,0 +1,10 @@
+package com.example.forum.service.tag.counter;
+
+public interface TagCounterService {
+
+    /**
+     * Recomputes tags.usage_count and the retained tag_usage_daily buckets from post_tags.
+     * @return number of tag rows touched
+     */
+    int reconcileAll();
+}
@@ -0,0 +1,66 @@
+package com.example.forum.service.tag.counter;
+
+import com.example.forum.repository.tag.TagRepository;
+import com.example.forum.repository.tag.TagUsageDailyRepository;
+import com.example.forum.service.tag.suggest.TagSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Backfill / drift repair for the tag usage counters.
+ * - usage_count is recomputed in id-range chunks, each in its own short transaction.
+ * - Daily buckets inside the retention window are rebuilt in one transaction; older buckets are dropped.
+ * - The autocomplete index is reloaded afterwards so its popularity order matches the repaired counts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagCounterServiceImpl implements TagCounterService {
+
+    private final TagRepository tagRepository;
+    private final TagUsageDailyRepository tagUsageDailyRepository;
+    private final TagSuggestIndex tagSuggestIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tag.usage.reconcile-chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${tag.usage.bucket-retention-days:40}")
+    private int retentionDays;
+
+    @Override
+    @Scheduled(cron = "${tag.usage.reconcile-cron:0 45 4 * * *}")
+    public int reconcileAll() {
+
+        long maxId = tagRepository.findMaxId();
+        int touched = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            long toId = fromId + chunkSize - 1;
+            long from = fromId;
+
+            Integer updated = transactionTemplate.execute(status -> tagRepository.reconcileUsageCounts(from, toId));
+            touched += (updated != null) ? updated : 0;
+        }
+
+        LocalDate since = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        Integer buckets = transactionTemplate.execute(status -> {
+            tagUsageDailyRepository.deleteBefore(since);
+            tagUsageDailyRepository.deleteSince(since);
+            return tagUsageDailyRepository.rebuildSince(since);
+        });
+
+        tagSuggestIndex.rebuild();
+
+        log.info("Tag counters reconciled: {} tags up to id {}, {} daily buckets since {}",
+                touched, maxId, buckets, since);
+        return touched;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.forum.service.tag.suggest;
+
+import com.example.forum.common.AfterCommit;
+import com.example.forum.repository.tag.TagRepository;
+import com.example.forum.repository.tag.TagUsageRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Memory-resident tag autocomplete.
+ * - Tag names live in one sorted array with a parallel usage-count array; a prefix is two binary searches
+ *   and the matching range is scanned with a bounded heap for the top-k most used names.
+ * - Readers are lock-free on a volatile snapshot. New names are merged copy-on-write (tags are created rarely);
+ *   usage deltas update the count array in place.
+ * - addTags and adjustUsage take effect once the caller's transaction commits, so rolled-back tag edits
+ *   never show up in suggestions.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagSuggestIndex {
+
+    private final TagRepository tagRepository;
+
+    private volatile Entries entries = Entries.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        TreeMap<String, Integer> sorted = new TreeMap<>();
+        for (TagUsageRow row : tagRepository.findAllUsage())
+            sorted.put(row.getName(), row.getUses() == null ? 0 : row.getUses().intValue());
+
+        replace(sorted);
+        log.info("Tag suggest index rebuilt: {} tags", sorted.size());
+    }
+
+    /**
+     * Top completions for an already normalized prefix, most used first (ties by name).
+     */
+    public List<String> suggest(String prefix, int limit) {
+
+        if (prefix == null || prefix.isEmpty() || limit <= 0)
+            return List.of();
+
+        Entries current = entries;
+        int from = lowerBound(current.names, prefix);
+        int to = lowerBound(current.names, prefix + Character.MAX_VALUE);
+
+        // Min-heap on (uses, reversed name) keeps the best k seen so far
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingInt(i -> current.uses[i])
+                .thenComparing(i -> current.names[i], Comparator.reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(worstFirst);
+
+        for (int i = from; i < to; i++) {
+            heap.add(i);
+            if (heap.size() > limit)
+                heap.poll();
+        }
+
+        List<Integer> best = new ArrayList<>(heap);
+        best.sort(worstFirst.reversed());
+
+        return best.stream().map(i -> current.names[i]).toList();
+    }
+
+    /**
+     * Makes newly created tags suggestible, with zero uses.
+     */
+    public void addTags(Collection<String> names) {
+        List<String> copy = List.copyOf(names);
+        AfterCommit.run(() -> applyNewTags(copy));
+    }
+
+    public void adjustUsage(Collection<String> names, int delta) {
+        List<String> copy = List.copyOf(names);
+        AfterCommit.run(() -> applyUsage(copy, delta));
+    }
+
+    public int size() {
+        return entries.names.length;
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    private synchronized void applyNewTags(Collection<String> names) {
+
+        List<String> missing = names.stream()
+                .filter(name -> Arrays.binarySearch(entries.names, name) < 0)
+                .distinct()
+                .toList();
+        if (missing.isEmpty())
+            return;
+
+        TreeMap<String, Integer> merged = entries.toMap();
+        missing.forEach(name -> merged.put(name, 0));
+        replace(merged);
+    }
+
+    private synchronized void applyUsage(Collection<String> names, int delta) {
+
+        if (names.isEmpty() || delta == 0)
+            return;
+
+        if (delta > 0)
+            applyNewTags(names);
+
+        Entries current = entries;
+        for (String name : names) {
+            int i = Arrays.binarySearch(current.names, name);
+            if (i >= 0)
+                current.uses[i] = Math.max(0, current.uses[i] + delta);
+        }
+    }
+
+    private synchronized void replace(TreeMap<String, Integer> sorted) {
+        String[] names = sorted.keySet().toArray(String[]::new);
+        int[] uses = sorted.values().stream().mapToInt(Integer::intValue).toArray();
+        entries = new Entries(names, uses);
+    }
+
+    private static int lowerBound(String[] names, String key) {
+        int i = Arrays.binarySearch(names, key);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private record Entries(String[] names, int[] uses) {
+
+        static final Entries EMPTY = new Entries(new String[0], new int[0]);
+
+        TreeMap<String, Integer> toMap() {
+            TreeMap<String, Integer> map = new TreeMap<>();
+            for (int i = 0; i < names.length; i++)
+                map.put(names[i], uses[i]);
+
+            return map;
+        }
+    }
+}
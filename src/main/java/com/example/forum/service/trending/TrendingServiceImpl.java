@@ -3,19 +3,15 @@ package com.example.forum.service.trending;
 import com.example.forum.dto.post.PostResponseDTO;
 import com.example.forum.dto.trend.TrendingSidebarDTO;
 import com.example.forum.helper.community.CommunityHelper;
-import com.example.forum.mapper.community.CommunityMapper;
-import com.example.forum.mapper.post.PostMapper;
-import com.example.forum.model.community.Community;
-import com.example.forum.model.post.Post;
-import com.example.forum.repository.community.CommunityRepository;
-import com.example.forum.repository.post.PostRepository;
-import com.example.forum.repository.tag.TagRepository;
+import com.example.forum.helper.post.PostAssembler;
 import com.example.forum.service.post.hidden.HiddenPostService;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.service.trending.engine.TrendingWindow;
+import com.example.forum.service.trending.sidebar.TrendingSidebarMaterializer;
+import com.example.forum.service.trending.sidebar.TrendingSidebarSnapshot;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -24,19 +20,18 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class TrendingServiceImpl implements TrendingService {
 
-    private final PostRepository postRepository;
+    private final TrendingEngine trendingEngine;
     private final HiddenPostService hiddenPostService;
 
-    private final CommunityRepository communityRepository;
-    private final TagRepository tagRepository;
+    private final TrendingSidebarMaterializer sidebarMaterializer;
 
     private final CommunityHelper communityHelper;
+    private final PostAssembler postAssembler;
 
     @Override
     public List<PostResponseDTO> getTrendingPosts(String username) {
 
-        LocalDateTime from = LocalDateTime.now().minusMonths(1);
-        List<Post> posts = postRepository.findTrendingPosts(from, PageRequest.of(0, 20)).getContent();
+        List<Long> rankedIds = trendingEngine.top(TrendingWindow.MONTH, 20);
 
         Set<Long> hiddenPostIds = username != null
                 ? hiddenPostService.getHiddenPostIdsByUsername(username)
@@ -47,31 +42,29 @@ public class TrendingServiceImpl implements TrendingService {
                 : Collections.emptySet();
 
 
-        return posts.stream()
-                .filter(post -> !hiddenPostIds.contains(post.getId()))
-                .map(post -> PostMapper.toPostResponseDTOWithFlags(post, hiddenPostIds, favoriteCommunityIds))
+        List<Long> visibleIds = rankedIds.stream()
+                .filter(id -> !hiddenPostIds.contains(id))
                 .toList();
+
+        return postAssembler.assembleResponses(visibleIds, hiddenPostIds, favoriteCommunityIds);
     }
 
     @Override
     public TrendingSidebarDTO getTrendingSidebarData(String username) {
 
-        LocalDateTime from = LocalDateTime.now().minusMonths(1);
-        List<Community> topCommunities = communityRepository.findTrendingCommunities(from, PageRequest.of(0, 5));
-
+        // Shared snapshot; only the favorite flags depend on the viewer
+        TrendingSidebarSnapshot snapshot = sidebarMaterializer.current();
         Set<Long> favoriteCommunityIds = communityHelper.getFavoriteCommunityIdsByUsername(username);
-        List<String> hotTags = tagRepository.findTopTagsSince(from, PageRequest.of(0, 8));
 
         return TrendingSidebarDTO.builder()
                 .trendingCommunities(
-                        topCommunities.stream()
-                                .map(community -> CommunityMapper.toPreviewDTO(
-                                        community,
-                                        favoriteCommunityIds.contains(community.getId())
+                        snapshot.communities().stream()
+                                .map(community -> community.toPreviewDTO(
+                                        favoriteCommunityIds.contains(community.id())
                                 ))
                                 .toList()
                 )
-                .hotTags(hotTags)
+                .hotTags(snapshot.hotTags())
                 .build();
     }
 }
@@ -0,0 +1,273 @@
+package com.example.forum.service.trending.engine;
+
+import com.example.forum.common.AfterCommit;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.repository.post.TrendingActivityRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process trending ranking.
+ * - Activity events update an exponentially decayed score per post and window:
+ *   score(t) = score(t0) * 2^(-(t - t0) / halfLife) + weight
+ * - A post takes part in a window while it is younger than the window length.
+ * - Ranked top-N ids per window are published as an immutable snapshot, so readers never sort.
+ * - State lives in memory only and is rebuilt from the database when the application starts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingEngine {
+
+    private final PostRepository postRepository;
+
+    @Value("${trending.weight.like:3.0}")
+    private double likeWeight;
+
+    @Value("${trending.weight.comment:5.0}")
+    private double commentWeight;
+
+    @Value("${trending.weight.view:0.2}")
+    private double viewWeight;
+
+    @Value("${trending.half-life.hour:PT20M}")
+    private Duration hourHalfLife;
+
+    @Value("${trending.half-life.day:PT6H}")
+    private Duration dayHalfLife;
+
+    @Value("${trending.half-life.week:P2D}")
+    private Duration weekHalfLife;
+
+    @Value("${trending.half-life.month:P7D}")
+    private Duration monthHalfLife;
+
+    @Value("${trending.snapshot-size:100}")
+    private int snapshotSize;
+
+    // postId -> creation time (epoch millis); only posts young enough for the widest window are tracked
+    private final Map<Long, Long> createdAt = new ConcurrentHashMap<>();
+
+    private final Map<TrendingWindow, Map<Long, Score>> scores = newScoreTables();
+
+    private final AtomicReference<Map<TrendingWindow, List<Long>>> snapshot =
+            new AtomicReference<>(Collections.emptyMap());
+
+    /**
+     * Starts tracking a newly visible post. Posts that are not registered never receive a score.
+     * A null creation time means the post was created just now.
+     * Like every mutation below, it applies only once the caller's transaction commits.
+     */
+    public void registerPost(Long postId, Instant postCreatedAt) {
+        if (postId == null)
+            return;
+
+        long created = postCreatedAt != null ? postCreatedAt.toEpochMilli() : System.currentTimeMillis();
+        AfterCommit.run(() -> createdAt.put(postId, created));
+    }
+
+    /**
+     * Stops tracking a post (deleted or made private). It drops out of the rankings on the next snapshot.
+     */
+    public void removePost(Long postId) {
+        if (postId == null)
+            return;
+
+        AfterCommit.run(() -> {
+            createdAt.remove(postId);
+            scores.values().forEach(table -> table.remove(postId));
+        });
+    }
+
+    public void record(Long postId, TrendingSignal signal, int delta) {
+        long eventAt = System.currentTimeMillis();
+        AfterCommit.run(() -> recordAt(postId, signal, delta, eventAt, System.currentTimeMillis()));
+    }
+
+    /**
+     * Returns the latest published ranking for a window, best first.
+     */
+    public List<Long> top(TrendingWindow window, int limit) {
+        List<Long> ids = snapshot.get().getOrDefault(window, List.of());
+        return ids.size() <= limit ? ids : ids.subList(0, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${trending.snapshot-interval:PT30S}")
+    public void publishSnapshot() {
+        publishSnapshot(System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        long now = System.currentTimeMillis();
+        long windowSeconds = TrendingWindow.widest().length().toSeconds();
+
+        createdAt.clear();
+        scores.values().forEach(Map::clear);
+
+        for (TrendingActivityRow row : postRepository.findTrendingCandidates(windowSeconds))
+            createdAt.put(row.getPostId(), now - row.getAgeSeconds() * 1000);
+
+        int likes = replay(postRepository.findRecentTrendingLikes(windowSeconds), TrendingSignal.LIKE, now);
+        int comments = replay(postRepository.findRecentTrendingComments(windowSeconds), TrendingSignal.COMMENT, now);
+
+        publishSnapshot(now);
+        log.info("Trending engine rebuilt: {} posts, {} likes, {} comments replayed",
+                createdAt.size(), likes, comments);
+    }
+
+    // -------------------------------------------------------------------
+    // Internals (package-private entry points take an explicit clock for tests)
+    // -------------------------------------------------------------------
+
+    void recordAt(Long postId, TrendingSignal signal, int delta, long eventAt, long now) {
+        if (postId == null || delta == 0)
+            return;
+
+        Long postCreatedAt = createdAt.get(postId);
+        if (postCreatedAt == null)
+            return;
+
+        double weight = weightOf(signal) * delta;
+
+        for (TrendingWindow window : TrendingWindow.values()) {
+            if (now - postCreatedAt > window.length().toMillis())
+                continue;
+
+            double halfLife = halfLifeOf(window).toMillis();
+            scores.get(window).merge(postId,
+                    new Score(Math.max(weight, 0), eventAt),
+                    (current, ignored) -> current.add(weight, eventAt, halfLife));
+        }
+    }
+
+    void publishSnapshot(long now) {
+
+        evictExpired(now);
+
+        Map<TrendingWindow, List<Long>> next = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values())
+            next.put(window, rank(window, now));
+
+        snapshot.set(Collections.unmodifiableMap(next));
+    }
+
+    private List<Long> rank(TrendingWindow window, long now) {
+
+        long oldestAllowed = now - window.length().toMillis();
+        double halfLife = halfLifeOf(window).toMillis();
+
+        // Bounded min-heap: O(n log N) instead of sorting every tracked post
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(Comparator.comparingDouble(Ranked::score));
+
+        for (Map.Entry<Long, Score> entry : scores.get(window).entrySet()) {
+            Long postCreatedAt = createdAt.get(entry.getKey());
+            if (postCreatedAt == null || postCreatedAt < oldestAllowed)
+                continue;
+
+            double value = entry.getValue().valueAt(now, halfLife);
+            if (value <= 0)
+                continue;
+
+            if (heap.size() < snapshotSize) {
+                heap.add(new Ranked(entry.getKey(), value));
+            } else if (value > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Ranked(entry.getKey(), value));
+            }
+        }
+
+        List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed()
+                .thenComparing(Ranked::postId, Comparator.reverseOrder()));
+
+        return ranked.stream().map(Ranked::postId).toList();
+    }
+
+    private void evictExpired(long now) {
+
+        createdAt.entrySet().removeIf(e -> now - e.getValue() > TrendingWindow.widest().length().toMillis());
+
+        for (TrendingWindow window : TrendingWindow.values()) {
+            long oldestAllowed = now - window.length().toMillis();
+            scores.get(window).keySet().removeIf(postId -> {
+                Long postCreatedAt = createdAt.get(postId);
+                return postCreatedAt == null || postCreatedAt < oldestAllowed;
+            });
+        }
+    }
+
+    private int replay(List<TrendingActivityRow> rows, TrendingSignal signal, long now) {
+        for (TrendingActivityRow row : rows)
+            recordAt(row.getPostId(), signal, 1, now - row.getAgeSeconds() * 1000, now);
+
+        return rows.size();
+    }
+
+    private double weightOf(TrendingSignal signal) {
+        return switch (signal) {
+            case LIKE -> likeWeight;
+            case COMMENT -> commentWeight;
+            case VIEW -> viewWeight;
+        };
+    }
+
+    private Duration halfLifeOf(TrendingWindow window) {
+        return switch (window) {
+            case HOUR -> hourHalfLife;
+            case DAY -> dayHalfLife;
+            case WEEK -> weekHalfLife;
+            case MONTH -> monthHalfLife;
+        };
+    }
+
+    private static Map<TrendingWindow, Map<Long, Score>> newScoreTables() {
+        Map<TrendingWindow, Map<Long, Score>> tables = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values())
+            tables.put(window, new ConcurrentHashMap<>());
+
+        return tables;
+    }
+
+    private static double decay(double value, long elapsedMillis, double halfLifeMillis) {
+        return elapsedMillis <= 0 ? value : value * Math.pow(0.5, elapsedMillis / halfLifeMillis);
+    }
+
+    /**
+     * Decayed score anchored at {@code at}. Events may arrive out of order (startup replay),
+     * so both sides are decayed to the later timestamp before adding.
+     */
+    private record Score(double value, long at) {
+
+        Score add(double weight, long eventAt, double halfLifeMillis) {
+            long anchor = Math.max(at, eventAt);
+            double sum = decay(value, anchor - at, halfLifeMillis) + decay(weight, anchor - eventAt, halfLifeMillis);
+            return new Score(Math.max(sum, 0), anchor);
+        }
+
+        double valueAt(long now, double halfLifeMillis) {
+            return decay(value, now - at, halfLifeMillis);
+        }
+    }
+
+    private record Ranked(Long postId, double score) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.forum.service.trending.engine;
+
+/**
+ * Activity types that feed the trending score. Weights are configured per signal.
+ */
+public enum TrendingSignal {
+    LIKE,
+    COMMENT,
+    VIEW
+}
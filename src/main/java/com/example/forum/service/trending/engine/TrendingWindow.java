@@ -0,0 +1,29 @@
+package com.example.forum.service.trending.engine;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows the trending engine ranks posts in.
+ * A post is eligible for a window while it is younger than the window length.
+ */
+public enum TrendingWindow {
+
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1)),
+    WEEK(Duration.ofDays(7)),
+    MONTH(Duration.ofDays(30));
+
+    private final Duration length;
+
+    TrendingWindow(Duration length) {
+        this.length = length;
+    }
+
+    public Duration length() {
+        return length;
+    }
+
+    public static TrendingWindow widest() {
+        return MONTH;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.forum.service.trending.sidebar;
+
+import com.example.forum.repository.community.CommunityRepository;
+import com.example.forum.repository.tag.TagUsageDailyRepository;
+import com.example.forum.service.trending.sidebar.TrendingSidebarSnapshot.CommunityEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes the trending sidebar once per interval instead of once per page load.
+ * - The snapshot is held in memory and mirrored to Redis.
+ * - Per interval, only the node that wins a short Redis lock runs the aggregate queries;
+ *   the others adopt the mirrored snapshot. If Redis is unavailable every node computes locally.
+ * - Per-user favorite flags are not part of the snapshot; callers apply them at request time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingSidebarMaterializer {
+
+    static final String SNAPSHOT_KEY = "trending:sidebar";
+    static final String LOCK_KEY = "trending:sidebar:lock";
+
+    private static final int COMMUNITY_LIMIT = 5;
+    private static final int TAG_LIMIT = 8;
+
+    private final CommunityRepository communityRepository;
+    private final TagUsageDailyRepository tagUsageDailyRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trending.sidebar.refresh-interval:PT5M}")
+    private Duration refreshInterval;
+
+    private final AtomicReference<TrendingSidebarSnapshot> snapshot = new AtomicReference<>();
+
+    private Timer refreshTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        refreshTimer = Timer.builder("trending.sidebar.refresh")
+                .description("Time spent computing the trending sidebar snapshot")
+                .register(meterRegistry);
+
+        Gauge.builder("trending.sidebar.staleness", this, TrendingSidebarMaterializer::stalenessSeconds)
+                .description("Age of the trending sidebar snapshot served by this node")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the current snapshot. Only the very first call on a cold node may block on a refresh.
+     */
+    public TrendingSidebarSnapshot current() {
+        TrendingSidebarSnapshot current = snapshot.get();
+        if (current != null)
+            return current;
+
+        refresh();
+        current = snapshot.get();
+        return current != null ? current : TrendingSidebarSnapshot.EMPTY;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${trending.sidebar.refresh-interval:PT5M}",
+               initialDelayString = "${trending.sidebar.refresh-interval:PT5M}")
+    public void refresh() {
+
+        if (isRefreshLeader()) {
+            TrendingSidebarSnapshot computed = compute();
+            snapshot.set(computed);
+            mirror(computed);
+            return;
+        }
+
+        adoptMirrored();
+    }
+
+    // ------------------------------ Helper methods -------------------------------------
+
+    TrendingSidebarSnapshot compute() {
+        return refreshTimer.record(() -> {
+            LocalDateTime from = LocalDateTime.now().minusMonths(1);
+
+            List<CommunityEntry> communities = communityRepository
+                    .findTrendingCommunities(from, PageRequest.of(0, COMMUNITY_LIMIT)).stream()
+                    .map(CommunityEntry::from)
+                    .toList();
+            List<String> hotTags = tagUsageDailyRepository
+                    .findTopTagNamesSince(LocalDate.now(ZoneOffset.UTC).minusMonths(1), TAG_LIMIT);
+
+            return new TrendingSidebarSnapshot(communities, hotTags, System.currentTimeMillis());
+        });
+    }
+
+    private boolean isRefreshLeader() {
+        // Expires a little before the next tick so exactly one node refreshes per interval
+        Duration ttl = refreshInterval.multipliedBy(9).dividedBy(10);
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", ttl));
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, computing trending sidebar locally: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void adoptMirrored() {
+        TrendingSidebarSnapshot mirrored = readMirror();
+        TrendingSidebarSnapshot current = snapshot.get();
+
+        if (mirrored != null && (current == null || mirrored.refreshedAtMillis() > current.refreshedAtMillis())) {
+            snapshot.set(mirrored);
+        } else if (current == null) {
+            // Another node holds the lock but has not published yet
+            snapshot.set(compute());
+        }
+    }
+
+    private void mirror(TrendingSidebarSnapshot snapshot) {
+        try {
+            String json = objectMapper.writeValueAsString(snapshot);
+            // Kept for a few intervals so a slow leader does not leave followers without data
+            redisTemplate.opsForValue().set(SNAPSHOT_KEY, json, refreshInterval.multipliedBy(3));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Failed to mirror trending sidebar to Redis: {}", e.getMessage());
+        }
+    }
+
+    private TrendingSidebarSnapshot readMirror() {
+        try {
+            String json = redisTemplate.opsForValue().get(SNAPSHOT_KEY);
+            return json != null ? objectMapper.readValue(json, TrendingSidebarSnapshot.class) : null;
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Ignoring unreadable trending sidebar snapshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private double stalenessSeconds() {
+        TrendingSidebarSnapshot current = snapshot.get();
+        if (current == null)
+            return Double.NaN;
+
+        return (System.currentTimeMillis() - current.refreshedAtMillis()) / 1000.0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.forum.service.trending.sidebar;
+
+import com.example.forum.dto.community.CommunityPreviewDTO;
+import com.example.forum.dto.image.ImageDTO;
+import com.example.forum.model.community.Community;
+
+import java.util.List;
+
+/**
+ * Viewer-independent part of the trending sidebar.
+ * Immutable, so one instance can be shared by every request until the next refresh.
+ * Serialized as JSON when mirrored to Redis.
+ */
+public record TrendingSidebarSnapshot(
+        List<CommunityEntry> communities,
+        List<String> hotTags,
+        long refreshedAtMillis
+) {
+
+    public static final TrendingSidebarSnapshot EMPTY = new TrendingSidebarSnapshot(List.of(), List.of(), 0L);
+
+    public TrendingSidebarSnapshot {
+        communities = communities == null ? List.of() : List.copyOf(communities);
+        hotTags = hotTags == null ? List.of() : List.copyOf(hotTags);
+    }
+
+    public record CommunityEntry(
+            Long id,
+            String name,
+            String imageUrl,
+            Double imagePositionX,
+            Double imagePositionY
+    ) {
+
+        public static CommunityEntry from(Community community) {
+            return new CommunityEntry(
+                    community.getId(),
+                    community.getName(),
+                    community.getProfileImageUrl(),
+                    community.getProfileImagePositionX(),
+                    community.getProfileImagePositionY()
+            );
+        }
+
+        public CommunityPreviewDTO toPreviewDTO(boolean isFavorite) {
+            return CommunityPreviewDTO.builder()
+                    .id(id)
+                    .name(name)
+                    .imageDTO(ImageDTO.builder()
+                            .imageUrl(imageUrl)
+                            .imagePositionX(imagePositionX)
+                            .imagePositionY(imagePositionY)
+                            .build())
+                    .isFavorite(isFavorite)
+                    .build();
+        }
+    }
+}
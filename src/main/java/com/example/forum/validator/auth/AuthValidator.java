@@ -3,6 +3,7 @@ package com.example.forum.validator.auth;
 import com.example.forum.exception.auth.*;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.user.UserRepository;
+import com.example.forum.security.CurrentUserContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,6 +15,7 @@ public class AuthValidator {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserContext currentUserContext;
 
     public void validateSignup(String username, String email) {
 
@@ -46,10 +48,13 @@ public class AuthValidator {
         return userDetails.getUsername();
     }
 
+    /**
+     * The authenticated user is loaded once per request and reused by every later call in that request.
+     */
     public User validateUserByUsername(String username) {
 
-        return userRepository.findByUsername(username)
-                .orElseThrow(UserNotFoundException::new);
+        return currentUserContext.resolve(username, () -> userRepository.findByUsername(username)
+                .orElseThrow(UserNotFoundException::new));
     }
 
     public User validateUserById(Long id) {
@@ -3,7 +3,9 @@ package com.example.forum.validator.notification;
 import com.example.forum.exception.auth.UnauthorizedException;
 import com.example.forum.exception.notification.NotificationNotFoundException;
 import com.example.forum.model.notification.Notification;
+import com.example.forum.model.notification.NotificationArchive;
 import com.example.forum.model.user.User;
+import com.example.forum.repository.notification.NotificationArchiveRepository;
 import com.example.forum.repository.notification.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -14,9 +16,12 @@ import org.springframework.stereotype.Component;
 public class NotificationValidator {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationArchiveRepository archiveRepository;
 
+    // Falls back to the archive, so links in older inbox pages keep resolving
     public Notification validateExistingNotification(Long id) {
         return notificationRepository.findById(id)
+                .or(() -> archiveRepository.findById(id).map(NotificationArchive::toNotification))
                 .orElseThrow(NotificationNotFoundException::new);
     }
 
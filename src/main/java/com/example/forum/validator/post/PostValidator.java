@@ -26,6 +26,18 @@ public class PostValidator {
                 .orElseThrow(PostNotFoundException::new);
     }
 
+    /**
+     * Existence check for write paths that only need to point at the post.
+     * Returns an uninitialized reference, so no post columns are read.
+     */
+    public Post validatePostReference(Long id) {
+
+        if (id == null || !postRepository.existsById(id))
+            throw new PostNotFoundException();
+
+        return postRepository.getReferenceById(id);
+    }
+
     public void isPublicWithTagsCheckingDTO(PostCreateRequestDTO post) {
         if (post.getVisibility() == Visibility.PUBLIC) {
             if (post.getTags() == null || post.getTags().isEmpty()) {
@@ -49,7 +61,7 @@ public class PostValidator {
     }
 
     public Post validateDetailPostId(Long postId) {
-        return postRepository.findById(postId)
+        return postRepository.findDetailById(postId)
                 .orElseThrow(PostNotFoundException::new);
     }
 
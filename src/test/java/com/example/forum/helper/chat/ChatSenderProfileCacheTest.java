@@ -0,0 +1,84 @@
+package com.example.forum.helper.chat;
+
+import com.example.forum.dto.profile.ProfilePreviewDTO;
+import com.example.forum.model.profile.Profile;
+import com.example.forum.model.user.User;
+import com.example.forum.security.CustomUserDetails;
+import com.example.forum.service.profile.ProfileUpdatedEvent;
+import com.example.forum.validator.auth.AuthValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChatSenderProfileCache.
+ * - The session attribute map is a plain HashMap, as handed over by the handshake.
+ * - Any call on AuthValidator stands for a DB round trip.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatSenderProfileCache")
+class ChatSenderProfileCacheTest {
+
+    @InjectMocks
+    private ChatSenderProfileCache cache;
+
+    @Mock private AuthValidator userValidator;
+
+    private final Map<String, Object> session = new HashMap<>();
+
+    private static User user(String nickname) {
+        Profile profile = Profile.builder().nickname(nickname).imageUrl("a.png").build();
+        User user = User.builder().id(7L).username("kim").profile(profile).build();
+        profile.setUser(user);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = user("old");
+        session.put("user", new CustomUserDetails(user));
+        cache.prime(session, user);
+    }
+
+    @Test
+    @DisplayName("Sends after the handshake make no DB calls")
+    void servedFromSession() {
+        for (int i = 0; i < 100; i++)
+            assertEquals("old", cache.get(session).getNickname());
+
+        verifyNoInteractions(userValidator);
+    }
+
+    @Test
+    @DisplayName("A profile update makes the next send reload once")
+    void reloadsAfterUpdate() {
+        when(userValidator.validateUserByUsername("kim")).thenReturn(user("new"));
+
+        cache.onProfileUpdated(new ProfileUpdatedEvent(7L));
+        ProfilePreviewDTO first = cache.get(session);
+        ProfilePreviewDTO second = cache.get(session);
+
+        assertEquals("new", first.getNickname());
+        assertSame(first, second);
+        verify(userValidator, times(1)).validateUserByUsername("kim");
+    }
+
+    @Test
+    @DisplayName("Updates to other users leave the session alone")
+    void otherUserUpdated() {
+        cache.onProfileUpdated(new ProfileUpdatedEvent(8L));
+
+        assertEquals("old", cache.get(session).getNickname());
+        verifyNoInteractions(userValidator);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.forum.helper.post;
+
+import com.example.forum.dto.post.PostPreviewDTO;
+import com.example.forum.dto.post.PostResponseDTO;
+import com.example.forum.mapper.post.PostMapper;
+import com.example.forum.model.community.Category;
+import com.example.forum.model.community.Community;
+import com.example.forum.model.post.Post;
+import com.example.forum.model.post.PostFile;
+import com.example.forum.model.post.PostTag;
+import com.example.forum.model.tag.Tag;
+import com.example.forum.repository.post.PostImageRepository;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.repository.post.PostTagRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PostAssembler.
+ * - The number of repository round trips per page must not depend on the page size.
+ * - PostMapper is static, so MockedStatic is used to capture what each card is built from.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostAssembler")
+class PostAssemblerTest {
+
+    @InjectMocks
+    private PostAssembler assembler;
+
+    @Mock private PostRepository postRepository;
+    @Mock private PostImageRepository postImageRepository;
+    @Mock private PostTagRepository postTagRepository;
+
+    private static Post post(long id) {
+        return Post.builder().id(id).build();
+    }
+
+    @Nested
+    @DisplayName("assembleResponses")
+    class AssembleResponses {
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 20, 50})
+        @DisplayName("Issues exactly three queries regardless of page size")
+        void fixedQueryCount(int pageSize) {
+            List<Long> ids = LongStream.rangeClosed(1, pageSize).boxed().toList();
+            List<Post> posts = new ArrayList<>(ids.stream().map(PostAssemblerTest::post).toList());
+
+            when(postRepository.findCardsByIdIn(ids)).thenReturn(posts);
+            when(postImageRepository.findByPostIdInOrderByIdAsc(ids)).thenReturn(List.of());
+            when(postTagRepository.findByPostIdInWithTag(ids)).thenReturn(List.of());
+
+            try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
+                ms.when(() -> PostMapper.toPostResponseDTO(any(), anyList(), anyList(), anyBoolean(), anyBoolean()))
+                        .thenReturn(mock(PostResponseDTO.class));
+
+                List<PostResponseDTO> result = assembler.assembleResponses(ids, Set.of(), Set.of());
+
+                assertEquals(pageSize, result.size());
+            }
+
+            verify(postRepository, times(1)).findCardsByIdIn(ids);
+            verify(postImageRepository, times(1)).findByPostIdInOrderByIdAsc(ids);
+            verify(postTagRepository, times(1)).findByPostIdInWithTag(ids);
+            verifyNoMoreInteractions(postRepository, postImageRepository, postTagRepository);
+        }
+
+        @Test
+        @DisplayName("Keeps page order, groups files/tags per post and applies flags")
+        void groupsAndFlags() {
+            Community favorite = new Community();
+            favorite.setId(100L);
+            Category category = new Category();
+            category.setCommunity(favorite);
+
+            Post p1 = post(1L);
+            p1.setCategory(category);
+            Post p2 = post(2L);
+
+            PostFile f1 = PostFile.builder().id(10L).fileUrl("a.png").post(p1).build();
+            PostTag t1 = new PostTag(1L, p1, new Tag(1L, "spring"));
+            PostTag t2 = new PostTag(2L, p1, new Tag(2L, "java"));
+
+            List<Long> ids = List.of(2L, 1L);
+            // Repository order differs from page order on purpose
+            when(postRepository.findCardsByIdIn(ids)).thenReturn(List.of(p1, p2));
+            when(postImageRepository.findByPostIdInOrderByIdAsc(ids)).thenReturn(List.of(f1));
+            when(postTagRepository.findByPostIdInWithTag(ids)).thenReturn(List.of(t1, t2));
+
+            try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
+                PostResponseDTO d1 = mock(PostResponseDTO.class);
+                PostResponseDTO d2 = mock(PostResponseDTO.class);
+                ms.when(() -> PostMapper.toPostResponseDTO(p1, List.of(f1), List.of("java", "spring"), false, true))
+                        .thenReturn(d1);
+                ms.when(() -> PostMapper.toPostResponseDTO(p2, List.of(), List.of(), true, false))
+                        .thenReturn(d2);
+
+                List<PostResponseDTO> result = assembler.assembleResponses(ids, Set.of(2L), Set.of(100L));
+
+                assertEquals(List.of(d2, d1), result);
+            }
+        }
+
+        @Test
+        @DisplayName("Empty page does not hit the database")
+        void emptyPage() {
+            assertTrue(assembler.assembleResponses(List.of(), Set.of(), Set.of()).isEmpty());
+            verifyNoInteractions(postRepository, postImageRepository, postTagRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("assemblePreviews")
+    class AssemblePreviews {
+
+        @Test
+        @DisplayName("Drops ids whose post disappeared between the page query and assembly")
+        void dropsMissingPosts() {
+            Post p1 = post(1L);
+            List<Long> ids = List.of(1L, 99L);
+
+            when(postRepository.findCardsByIdIn(ids)).thenReturn(List.of(p1));
+            when(postImageRepository.findByPostIdInOrderByIdAsc(ids)).thenReturn(List.of());
+            when(postTagRepository.findByPostIdInWithTag(ids)).thenReturn(List.of());
+
+            try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
+                PostPreviewDTO dto = mock(PostPreviewDTO.class);
+                ms.when(() -> PostMapper.toPreviewDTO(p1, List.of(), List.of(), false)).thenReturn(dto);
+
+                assertEquals(List.of(dto), assembler.assemblePreviews(ids, Set.of()));
+            }
+        }
+    }
+}
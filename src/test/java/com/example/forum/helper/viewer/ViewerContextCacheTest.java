@@ -0,0 +1,167 @@
+package com.example.forum.helper.viewer;
+
+import com.example.forum.repository.community.CommunityFavoriteRepository;
+import com.example.forum.repository.post.HiddenPostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ViewerContextCache.
+ * - Redis is a mocked RedisTemplate; the id queries are mocked repositories.
+ * - The generation check runs inside Lua, so tests verify the generation each write is conditioned on.
+ * - local-ttl is one minute unless a test shortens it.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ViewerContextCache")
+class ViewerContextCacheTest {
+
+    private static final String KEY = "viewer:context:1";
+    private static final List<String> KEYS = List.of(KEY, "viewer:context:gen:1");
+    private static final String TTL_MILLIS = "1800000";
+
+    @Mock private HiddenPostRepository hiddenPostRepository;
+    @Mock private CommunityFavoriteRepository communityFavoriteRepository;
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private ValueOperations<String, String> valueOps;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ViewerContextCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ViewerContextCache(hiddenPostRepository, communityFavoriteRepository, redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(cache, "localTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "redisTtl", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        cache.init();
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("viewer.context.cache").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("A miss loads both id lists once, mirrors them to Redis and serves later reads from memory")
+    void missThenLocalHits() {
+        when(valueOps.multiGet(KEYS)).thenReturn(Arrays.asList(null, null));
+        when(hiddenPostRepository.findHiddenPostIdsByUserId(1L)).thenReturn(List.of(30L, 10L, 20L, 10L));
+        when(communityFavoriteRepository.findCommunityIdsByUserId(1L)).thenReturn(List.of(7L));
+
+        ViewerContext first = cache.get(1L);
+        ViewerContext second = cache.get(1L);
+
+        assertSame(first, second);
+        assertEquals(Set.of(10L, 20L, 30L), first.hiddenPostIds());
+        assertTrue(first.favoriteCommunityIds().contains(7L));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), eq("0"), eq("10,20,30;7"), eq(TTL_MILLIS));
+        verify(hiddenPostRepository, times(1)).findHiddenPostIdsByUserId(1L);
+        verify(valueOps, times(1)).multiGet(KEYS);
+        assertEquals(1.0, count("miss"));
+        assertEquals(1.0, count("local"));
+    }
+
+    @Test
+    @DisplayName("A context already in Redis is used without querying the database")
+    void redisHit() {
+        when(valueOps.multiGet(KEYS)).thenReturn(Arrays.asList("5,9;", "3"));
+
+        ViewerContext context = cache.get(1L);
+
+        assertEquals(Set.of(5L, 9L), context.hiddenPostIds());
+        assertTrue(context.favoriteCommunityIds().isEmpty());
+        verifyNoInteractions(hiddenPostRepository, communityFavoriteRepository);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any(), any());
+        assertEquals(1.0, count("redis"));
+    }
+
+    @Test
+    @DisplayName("A change event drops the local entry and the Redis key, so the next read reloads")
+    void changeEventEvicts() {
+        when(valueOps.multiGet(KEYS))
+                .thenReturn(Arrays.asList("5;", null))
+                .thenReturn(Arrays.asList(null, "1"));
+        when(hiddenPostRepository.findHiddenPostIdsByUserId(1L)).thenReturn(List.of());
+
+        assertTrue(cache.get(1L).hiddenPostIds().contains(5L));
+        cache.onViewerContextChanged(new ViewerContextChangedEvent(1L));
+        ViewerContext reloaded = cache.get(1L);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), eq(TTL_MILLIS));
+        assertTrue(reloaded.hiddenPostIds().isEmpty());
+        verify(hiddenPostRepository, times(1)).findHiddenPostIdsByUserId(1L);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), eq("1"), eq(";"), eq(TTL_MILLIS));
+    }
+
+    @Test
+    @DisplayName("A load that an eviction overtook is written only against the old generation and not kept locally")
+    void evictionDuringLoad() {
+        when(valueOps.multiGet(KEYS)).thenReturn(Arrays.asList(null, null));
+        when(hiddenPostRepository.findHiddenPostIdsByUserId(1L)).thenAnswer(inv -> {
+            // The change commits and evicts while this read is still in flight
+            cache.evict(1L);
+            return List.of(5L);
+        });
+
+        cache.get(1L);
+        cache.get(1L);
+
+        // Redis refuses these writes: the eviction moved the generation past "0"
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), eq(KEYS), eq("0"), eq("5;"), eq(TTL_MILLIS));
+        verify(valueOps, times(2)).multiGet(KEYS);
+        assertEquals(0.0, count("local"));
+    }
+
+    @Test
+    @DisplayName("Expired local entries are read from Redis again")
+    void localTtl() {
+        ReflectionTestUtils.setField(cache, "localTtl", Duration.ZERO);
+        when(valueOps.multiGet(KEYS)).thenReturn(Arrays.asList("5;", "0"));
+
+        cache.get(1L);
+        cache.get(1L);
+
+        verify(valueOps, times(2)).multiGet(KEYS);
+        assertEquals(0.0, count("local"));
+    }
+
+    @Test
+    @DisplayName("Falls back to the database when Redis is unreachable or holds garbage")
+    void redisFailures() {
+        when(valueOps.multiGet(KEYS))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(Arrays.asList("not-a-context", null));
+        doThrow(new RedisConnectionFailureException("down")).when(redisTemplate)
+                .execute(any(RedisScript.class), eq(KEYS), anyString(), anyString(), anyString());
+        when(hiddenPostRepository.findHiddenPostIdsByUserId(1L)).thenReturn(List.of(4L));
+
+        assertTrue(cache.get(1L).hiddenPostIds().contains(4L));
+        cache.evict(1L);
+        assertTrue(cache.get(1L).hiddenPostIds().contains(4L));
+
+        assertEquals(2.0, count("miss"));
+        // Redis was down for the first read, so only the second load tried to write back
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(KEYS), eq("0"), anyString(), anyString());
+    }
+}
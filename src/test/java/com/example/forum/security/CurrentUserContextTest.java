@@ -0,0 +1,187 @@
+package com.example.forum.security;
+
+import com.example.forum.common.SortOrder;
+import com.example.forum.helper.community.CommunityHelper;
+import com.example.forum.helper.post.PostAssembler;
+import com.example.forum.helper.viewer.ViewerContext;
+import com.example.forum.helper.viewer.ViewerContextCache;
+import com.example.forum.model.user.User;
+import com.example.forum.repository.bookmark.BookmarkRepository;
+import com.example.forum.repository.comment.CommentRepository;
+import com.example.forum.repository.community.CommunityFavoriteRepository;
+import com.example.forum.repository.community.CommunityMemberRepository;
+import com.example.forum.repository.like.PostReactionRepository;
+import com.example.forum.repository.post.HiddenPostRepository;
+import com.example.forum.repository.post.PostQueryRepository;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.repository.user.UserRepository;
+import com.example.forum.service.common.RecentViewService;
+import com.example.forum.service.common.S3Service;
+import com.example.forum.service.post.PostServiceImpl;
+import com.example.forum.service.post.community.CommunityPostServiceImpl;
+import com.example.forum.service.post.hidden.HiddenServiceImpl;
+import com.example.forum.service.post.trending.TrendingPostServiceImpl;
+import com.example.forum.service.search.index.SearchIndexer;
+import com.example.forum.service.tag.TaggingService;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.validator.auth.AuthValidator;
+import com.example.forum.validator.community.CategoryValidator;
+import com.example.forum.validator.community.CommunityValidator;
+import com.example.forum.validator.post.PostValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CurrentUserContext.
+ * - The feed, trending and community-post services run for real on top of a real AuthValidator,
+ *   HiddenServiceImpl and CommunityHelper; everything below them is mocked.
+ * - Each findByUsername call is one query against the users table. Before the context each of these
+ *   endpoints resolved the viewer twice (once for the feed itself, once for hidden posts or favorites).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentUserContext")
+class CurrentUserContextTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private PostValidator postValidator;
+    @Mock private CategoryValidator categoryValidator;
+    @Mock private CommunityValidator communityValidator;
+    @Mock private PostRepository postRepository;
+    @Mock private HiddenPostRepository hiddenPostRepository;
+    @Mock private CommunityFavoriteRepository communityFavoriteRepository;
+    @Mock private CommunityMemberRepository communityMemberRepository;
+    @Mock private BookmarkRepository bookmarkRepository;
+    @Mock private PostReactionRepository postReactionRepository;
+    @Mock private PostQueryRepository postQueryRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private S3Service s3Service;
+    @Mock private RecentViewService recentViewService;
+    @Mock private TaggingService taggingService;
+    @Mock private PostAssembler postAssembler;
+    @Mock private TrendingEngine trendingEngine;
+    @Mock private SearchIndexer searchIndexer;
+    @Mock private ViewerContextCache viewerContextCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private final User user = User.builder().id(1L).username("kim").build();
+
+    private AuthValidator authValidator;
+    private PostServiceImpl postService;
+    private TrendingPostServiceImpl trendingPostService;
+    private CommunityPostServiceImpl communityPostService;
+
+    @BeforeEach
+    void setUp() {
+        authValidator = new AuthValidator(userRepository, passwordEncoder, new CurrentUserContext());
+
+        HiddenServiceImpl hiddenService = new HiddenServiceImpl(authValidator, viewerContextCache);
+        CommunityHelper communityHelper = new CommunityHelper(authValidator, viewerContextCache);
+
+        postService = new PostServiceImpl(authValidator, postValidator, categoryValidator, communityValidator,
+                postRepository, hiddenPostRepository, communityFavoriteRepository, bookmarkRepository,
+                postReactionRepository, postQueryRepository, commentRepository,
+                s3Service, recentViewService, taggingService, hiddenService,
+                postAssembler, trendingEngine, searchIndexer, viewerContextCache, eventPublisher);
+        trendingPostService = new TrendingPostServiceImpl(trendingEngine, hiddenService, communityHelper, postAssembler);
+        communityPostService = new CommunityPostServiceImpl(authValidator, communityValidator,
+                communityMemberRepository, postRepository, hiddenService, communityHelper, postAssembler);
+
+        lenient().when(userRepository.findByUsername("kim")).thenReturn(Optional.of(user));
+        lenient().when(viewerContextCache.get(1L)).thenReturn(ViewerContext.EMPTY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    /** What the servlet stack sets up for an authenticated request. */
+    private void beginRequest(String username) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        CustomUserDetails principal = new CustomUserDetails(User.builder().id(1L).username(username).build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("Feed: one user lookup per request")
+    void feed() {
+        beginRequest("kim");
+
+        postService.getFeed(SortOrder.NEWEST, null, 10, "kim");
+
+        verify(userRepository, times(1)).findByUsername("kim");
+    }
+
+    @Test
+    @DisplayName("Trending: one user lookup per request")
+    void trending() {
+        beginRequest("kim");
+
+        trendingPostService.getTrendingPosts("kim");
+
+        verify(userRepository, times(1)).findByUsername("kim");
+    }
+
+    @Test
+    @DisplayName("Community posts: one user lookup per request")
+    void communityPosts() {
+        beginRequest("kim");
+
+        communityPostService.getCommunityPosts(1L, SortOrder.NEWEST, 0, 10, null, "kim");
+        communityPostService.getTopPostsThisWeek(1L, 5, "kim");
+
+        verify(userRepository, times(1)).findByUsername("kim");
+    }
+
+    @Test
+    @DisplayName("Each request loads the user again")
+    void notSharedAcrossRequests() {
+        beginRequest("kim");
+        trendingPostService.getTrendingPosts("kim");
+        tearDown();
+
+        beginRequest("kim");
+        trendingPostService.getTrendingPosts("kim");
+
+        verify(userRepository, times(2)).findByUsername("kim");
+    }
+
+    @Test
+    @DisplayName("Other usernames and calls outside a request are not cached")
+    void onlyTheAuthenticatedUserInARequest() {
+        User other = User.builder().id(2L).username("lee").build();
+        when(userRepository.findByUsername("lee")).thenReturn(Optional.of(other));
+
+        beginRequest("kim");
+        assertSame(other, authValidator.validateUserByUsername("lee"));
+        assertSame(other, authValidator.validateUserByUsername("lee"));
+        tearDown();
+
+        assertSame(user, authValidator.validateUserByUsername("kim"));
+        assertSame(user, authValidator.validateUserByUsername("kim"));
+
+        verify(userRepository, times(2)).findByUsername("lee");
+        verify(userRepository, times(2)).findByUsername("kim");
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.forum.security;
+
+import com.example.forum.model.user.User;
+import com.example.forum.repository.user.UserRepository;
+import com.example.forum.service.profile.ProfileUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter with a real JwtTokenProvider, CustomUserDetailsService and PrincipalCache.
+ * - UserRepository is mocked; each findByUsername call is one query against the users table.
+ * - Before the cache every authenticated request cost one such query (and two token parses);
+ *   the tests below pin the count after it.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter")
+class JwtAuthenticationFilterTest {
+
+    @Mock private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtTokenProvider jwtTokenProvider;
+    private PrincipalCache principalCache;
+    private JwtAuthenticationFilter filter;
+
+    private final User user = User.builder().id(1L).username("kim").build();
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKeyBase64", Base64.getEncoder().encodeToString(new byte[64]));
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 60_000L);
+        jwtTokenProvider.init();
+
+        principalCache = new PrincipalCache(new CustomUserDetailsService(userRepository), meterRegistry);
+        ReflectionTestUtils.setField(principalCache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100);
+        principalCache.init();
+
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, principalCache);
+
+        lenient().when(userRepository.findByUsername("kim")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication request(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (token != null)
+            request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    @DisplayName("100 requests with the same token cost one user query")
+    void oneQueryPerTtl() throws Exception {
+        String token = jwtTokenProvider.generateToken("kim");
+
+        for (int i = 0; i < 100; i++) {
+            Authentication authentication = request(token);
+            assertSame(user, ((CustomUserDetails) authentication.getPrincipal()).getUser());
+        }
+
+        verify(userRepository, times(1)).findByUsername("kim");
+        assertEquals(99.0, meterRegistry.get("security.principal.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Logout and profile updates force the next request to reload the user")
+    void invalidation() throws Exception {
+        String token = jwtTokenProvider.generateToken("kim");
+
+        request(token);
+        principalCache.evict("kim");
+        request(token);
+        principalCache.onProfileUpdated(new ProfileUpdatedEvent(1L));
+        request(token);
+        request(token);
+
+        verify(userRepository, times(3)).findByUsername("kim");
+    }
+
+    @Test
+    @DisplayName("Invalid tokens are rejected without touching the database")
+    void invalidToken() throws Exception {
+        assertNull(request("not-a-jwt"));
+        assertNull(request(null));
+
+        verifyNoInteractions(userRepository);
+    }
+}
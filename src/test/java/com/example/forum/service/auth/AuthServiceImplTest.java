@@ -9,6 +9,8 @@ import com.example.forum.model.user.User;
 import com.example.forum.repository.profile.ProfileRepository;
 import com.example.forum.repository.user.UserRepository;
 import com.example.forum.security.JwtTokenProvider;
+import com.example.forum.security.PrincipalCache;
+import com.example.forum.service.presence.PresenceService;
 import com.example.forum.validator.auth.AuthValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,7 +33,9 @@ class AuthServiceImplTest {
     @InjectMocks
     private AuthServiceImpl authService;
 
-    @Mock private RedisService redisService;
+    @Mock private PresenceService presenceService;
+
+    @Mock private PrincipalCache principalCache;
 
     @Mock private UserRepository userRepository;
 
@@ -136,7 +140,7 @@ class AuthServiceImplTest {
         assertEquals("mock.jwt.token", response.getToken());
         assertEquals("testuser", response.getUsername());
 
-        verify(redisService).markUserOnline(1L);
+        verify(presenceService).heartbeat(1L);
 
         verify(userRepository, never()).save(any(User.class));
     }
@@ -161,6 +165,21 @@ class AuthServiceImplTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should mark the user offline and drop the cached principal on logout")
+    void logout_success() {
+        // given
+        User mockUser = User.builder().id(1L).username("testuser").build();
+        when(authValidator.validateUserByUsername("testuser")).thenReturn(mockUser);
+
+        // when
+        authService.logout("testuser");
+
+        // then
+        verify(presenceService).markOffline(1L);
+        verify(principalCache).evict("testuser");
+    }
+
     @Test
     @DisplayName("Should throw exception if logout called with invalid username")
     void logout_withInvalidUsername_shouldThrowException() {
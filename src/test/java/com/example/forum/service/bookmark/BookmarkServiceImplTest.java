@@ -1,6 +1,7 @@
 package com.example.forum.service.bookmark;
 
 import com.example.forum.dto.post.PostPreviewDTO;
+import com.example.forum.helper.post.PostAssembler;
 import com.example.forum.model.bookmark.Bookmark;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.profile.Profile;
@@ -18,6 +19,7 @@ import org.mockito.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
@@ -33,6 +35,7 @@ class BookmarkServiceImplTest {
 
     @Mock private AuthValidator authValidator;
     @Mock private HiddenPostService hiddenPostService;
+    @Mock private PostAssembler postAssembler;
 
     @Captor
     ArgumentCaptor<Bookmark> bookmarkCaptor;
@@ -72,7 +75,7 @@ class BookmarkServiceImplTest {
         @Test
         @DisplayName("should add bookmark when not bookmarked yet")
         void addBookmark() {
-            when(postValidator.validatePost(10L)).thenReturn(mockPost);
+            when(postValidator.validatePostReference(10L)).thenReturn(mockPost);
             when(authValidator.validateUserByUsername(username)).thenReturn(mockUser);
             when(bookmarkRepository.findByUserAndPost(mockUser, mockPost)).thenReturn(Optional.empty());
 
@@ -88,7 +91,7 @@ class BookmarkServiceImplTest {
         @DisplayName("should remove bookmark when already bookmarked")
         void removeBookmark() {
             Bookmark bookmark = new Bookmark(1L, mockUser, mockPost);
-            when(postValidator.validatePost(10L)).thenReturn(mockPost);
+            when(postValidator.validatePostReference(10L)).thenReturn(mockPost);
             when(authValidator.validateUserByUsername(username)).thenReturn(mockUser);
             when(bookmarkRepository.findByUserAndPost(mockUser, mockPost)).thenReturn(Optional.of(bookmark));
 
@@ -105,7 +108,7 @@ class BookmarkServiceImplTest {
         @Test
         @DisplayName("should return true if bookmarked")
         void isBookmarkedTrue() {
-            when(postValidator.validatePost(10L)).thenReturn(mockPost);
+            when(postValidator.validatePostReference(10L)).thenReturn(mockPost);
             when(authValidator.validateUserByUsername(username)).thenReturn(mockUser);
             when(bookmarkRepository.existsByUserAndPost(mockUser, mockPost)).thenReturn(true);
 
@@ -117,7 +120,7 @@ class BookmarkServiceImplTest {
         @Test
         @DisplayName("should return false if not bookmarked")
         void isBookmarkedFalse() {
-            when(postValidator.validatePost(10L)).thenReturn(mockPost);
+            when(postValidator.validatePostReference(10L)).thenReturn(mockPost);
             when(authValidator.validateUserByUsername(username)).thenReturn(mockUser);
             when(bookmarkRepository.existsByUserAndPost(mockUser, mockPost)).thenReturn(false);
 
@@ -137,11 +140,15 @@ class BookmarkServiceImplTest {
             Bookmark bookmark = new Bookmark(1L, mockUser, mockPost);
             when(authValidator.validateUserByUsername(username)).thenReturn(mockUser);
             when(bookmarkRepository.findAllByUser(mockUser)).thenReturn(List.of(bookmark));
+            when(hiddenPostService.getHiddenPostIdsByUsername(username)).thenReturn(Set.of());
+            when(postAssembler.assemblePreviews(List.of(mockPost.getId()), Set.of()))
+                    .thenReturn(List.of(PostPreviewDTO.builder().id(mockPost.getId()).build()));
 
             List<PostPreviewDTO> result = bookmarkService.getBookmarkedPosts(username);
 
             assertThat(result).hasSize(1);
             assertThat(result.get(0).getId()).isEqualTo(mockPost.getId());
+            verify(postAssembler).assemblePreviews(List.of(mockPost.getId()), Set.of());
         }
     }
 }
@@ -1,7 +1,15 @@
 package com.example.forum.service.chat;
 
+import com.example.forum.dto.chat.ChatMessageDTO;
+import com.example.forum.dto.chat.ChatMessagePageDTO;
+import com.example.forum.dto.chat.ChatRoomDTO;
+import com.example.forum.mapper.chat.ChatMapper;
+import com.example.forum.model.chat.ChatMessage;
+import com.example.forum.model.chat.ChatReadStatus;
 import com.example.forum.model.chat.ChatRoom;
 import com.example.forum.model.user.User;
+import com.example.forum.repository.chat.ChatMessageRepository;
+import com.example.forum.repository.chat.ChatReadStatusRepository;
 import com.example.forum.repository.chat.ChatRoomRepository;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.chat.ChatValidator;
@@ -11,9 +19,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -23,6 +35,15 @@ class ChatServiceImplTest {
     @Mock
     private ChatRoomRepository chatRoomRepository;
 
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private ChatReadStatusRepository chatReadStatusRepository;
+
+    @Mock
+    private ChatMapper chatMapper;
+
     @Mock
     private AuthValidator userValidator;
 
@@ -88,4 +109,105 @@ class ChatServiceImplTest {
         assertThat(result).isEqualTo(roomId);
         verify(chatRoomRepository).save(any(ChatRoom.class));
     }
+
+    // Newest-first rows with ids from..to (descending), as the repository returns them
+    private List<ChatMessage> rowsDesc(long from, long to) {
+        return LongStream.iterate(from, id -> id >= to, id -> id - 1)
+                .mapToObj(id -> ChatMessage.builder().id(id).roomId(roomId).sender(user1).content("m" + id).build())
+                .toList();
+    }
+
+    private void stubMapper() {
+        when(chatMapper.toChatMessageDTO(any())).thenAnswer(inv -> {
+            ChatMessage message = inv.getArgument(0);
+            return ChatMessageDTO.builder().id(message.getId()).roomId(roomId).build();
+        });
+    }
+
+    @Test
+    @DisplayName("Should return the latest page oldest-first and point to the previous page")
+    void testGetMessages_latestPage() {
+        // given
+        when(userValidator.validateUserByUsername(user1Username)).thenReturn(user1);
+        when(chatMessageRepository.findPageBefore(roomId, Long.MAX_VALUE, PageRequest.of(0, 4)))
+                .thenReturn(rowsDesc(100, 97));
+        stubMapper();
+
+        // when
+        ChatMessagePageDTO page = chatService.getMessages(roomId, user1Username, null, 3);
+
+        // then
+        assertThat(page.getMessages()).extracting(ChatMessageDTO::getId).containsExactly(98L, 99L, 100L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextBeforeId()).isEqualTo(98L);
+        verify(chatValidator).validateUserRoom(roomId, user1);
+    }
+
+    @Test
+    @DisplayName("Should report no more pages when the room's first message is reached")
+    void testGetMessages_lastPage() {
+        // given
+        when(userValidator.validateUserByUsername(user1Username)).thenReturn(user1);
+        when(chatMessageRepository.findPageBefore(roomId, 3L, PageRequest.of(0, 4)))
+                .thenReturn(rowsDesc(2, 1));
+        stubMapper();
+
+        // when
+        ChatMessagePageDTO page = chatService.getMessages(roomId, user1Username, 3L, 3);
+
+        // then
+        assertThat(page.getMessages()).extracting(ChatMessageDTO::getId).containsExactly(1L, 2L);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextBeforeId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should bound every query by the page size, whatever the room size")
+    void testGetMessages_boundedQuery() {
+        // given
+        when(userValidator.validateUserByUsername(user1Username)).thenReturn(user1);
+        when(chatMessageRepository.findPageBefore(eq(roomId), any(), any())).thenReturn(List.of());
+
+        // when
+        chatService.getMessages(roomId, user1Username, 100_000L, 10_000);
+
+        // then
+        verify(chatMessageRepository).findPageBefore(eq(roomId), eq(100_000L), argThat((Pageable p) -> p.getPageSize() == 101));
+    }
+
+    @Test
+    @DisplayName("Should build the room list from one query without per-room lookups")
+    void testGetUserChatRooms_singleQuery() {
+        // given
+        ChatRoom room1 = ChatRoom.builder().roomId("1_2").user1(user1).user2(user2).build();
+        ChatRoom room2 = ChatRoom.builder().roomId("1_3").user1(user1).user2(user2).build();
+        when(userValidator.validateUserByUsername(user1Username)).thenReturn(user1);
+        when(chatRoomRepository.findInboxByUser(user1)).thenReturn(List.of(room1, room2));
+        when(chatMapper.toChatRoomDTO(any(), eq(user1))).thenAnswer(inv ->
+                ChatRoomDTO.builder().roomId(inv.<ChatRoom>getArgument(0).getRoomId()).build());
+
+        // when
+        List<ChatRoomDTO> rooms = chatService.getUserChatRooms(user1Username);
+
+        // then
+        assertThat(rooms).extracting(ChatRoomDTO::getRoomId).containsExactly("1_2", "1_3");
+        verifyNoInteractions(chatMessageRepository);
+    }
+
+    @Test
+    @DisplayName("Should recount unread messages only when the read position moves forward")
+    void testMarkAsRead_refreshesUnread() {
+        // given
+        ChatReadStatus status = ChatReadStatus.builder().roomId(roomId).user(user1).lastReadMessageId(10L).build();
+        when(userValidator.validateUserByUsername(user1Username)).thenReturn(user1);
+        when(chatReadStatusRepository.findByRoomIdAndUser(roomId, user1)).thenReturn(Optional.of(status));
+
+        // when
+        chatService.markAsRead(roomId, user1Username, 5L);
+        chatService.markAsRead(roomId, user1Username, 20L);
+
+        // then
+        verify(chatRoomRepository, times(1)).refreshUnread(anyString(), anyLong(), anyLong());
+        verify(chatRoomRepository).refreshUnread(roomId, user1Id, 20L);
+    }
 }
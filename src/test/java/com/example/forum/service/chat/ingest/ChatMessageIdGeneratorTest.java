@@ -0,0 +1,110 @@
+package com.example.forum.service.chat.ingest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChatMessageIdGenerator's node id lease.
+ * - Redis is a mocked RedisTemplate; only "chat:ingest:node:7" is free unless a test says otherwise.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatMessageIdGenerator")
+class ChatMessageIdGeneratorTest {
+
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private ValueOperations<String, String> valueOps;
+
+    private ChatMessageIdGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new ChatMessageIdGenerator(redisTemplate);
+        ReflectionTestUtils.setField(generator, "leaseTtl", Duration.ofSeconds(30));
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        lenient().when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(inv -> inv.getArgument(0).equals("chat:ingest:node:7"));
+    }
+
+    private static long nodeOf(long id) {
+        return (id >> ChatMessageIdGenerator.SEQUENCE_BITS) & ((1 << ChatMessageIdGenerator.NODE_BITS) - 1);
+    }
+
+    @Test
+    @DisplayName("Leases the free node id with SET NX and puts it into every id")
+    void leasesFreeId() {
+        generator.start();
+
+        assertEquals(7, nodeOf(generator.nextId()));
+        verify(valueOps).setIfAbsent(eq("chat:ingest:node:7"), anyString(), eq(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("Refuses to start when every node id is taken")
+    void allTaken() {
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, generator::start);
+        verify(valueOps, times(32)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Refuses to start when Redis is unreachable instead of picking an id at random")
+    void redisDown() {
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThrows(IllegalStateException.class, generator::start);
+    }
+
+    @Test
+    @DisplayName("Stops issuing ids once the lease has run out without renewal")
+    void expiredLease() {
+        generator.start();
+        ReflectionTestUtils.setField(generator, "leaseValidUntil", System.currentTimeMillis() - 1);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    @DisplayName("A lost lease is replaced by a fresh one")
+    @SuppressWarnings("unchecked")
+    void lostLease() {
+        generator.start();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:ingest:node:7")), any(), any()))
+                .thenReturn(0L);
+
+        generator.renewLease();
+
+        verify(valueOps, times(2)).setIfAbsent(eq("chat:ingest:node:7"), anyString(), any(Duration.class));
+        assertEquals(7, nodeOf(generator.nextId()));
+    }
+
+    @Test
+    @DisplayName("A configured node id needs no lease")
+    void configuredNodeId() {
+        ReflectionTestUtils.setField(generator, "nodeId", 3L);
+
+        generator.start();
+        generator.renewLease();
+
+        assertEquals(3, nodeOf(generator.nextId()));
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.forum.service.chat.ingest;
+
+import com.example.forum.dto.chat.ChatMessageDTO;
+import com.example.forum.model.chat.ChatRoom;
+import com.example.forum.repository.chat.ChatMessageBatchWriter;
+import com.example.forum.repository.chat.ChatRoomRepository;
+import com.example.forum.repository.chat.PendingChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChatMessageIngestor.
+ * - Runs the real flusher thread and a real ChatMessageIdGenerator (fixed node id) over a mocked batch writer.
+ * - The writer blocks on its first batch until released, so messages submitted meanwhile pile up
+ *   in the queue and the following batch sizes are deterministic.
+ * - Stands in for a throughput benchmark: the number of round trips per message is what batching changes,
+ *   and that is asserted here; the rate itself is exported as chat.ingest.persisted.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatMessageIngestor")
+class ChatMessageIngestorTest {
+
+    private static final String ROOM_ID = "1_2";
+
+    @Mock private ChatMessageBatchWriter batchWriter;
+    @Mock private ChatRoomRepository chatRoomRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private RedisTemplate<String, String> redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<PendingChatMessage>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch writerEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+
+    private volatile String poisonContent;
+    private ChatMessageIngestor ingestor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(inv -> {
+            List<PendingChatMessage> batch = inv.getArgument(0);
+            batches.add(List.copyOf(batch));
+            writerEntered.countDown();
+            releaseWriter.await(10, TimeUnit.SECONDS);
+            if (batch.stream().anyMatch(p -> p.message().getContent().equals(poisonContent)))
+                throw new DataIntegrityViolationException("sender_id does not exist");
+            return null;
+        }).when(batchWriter).insertAll(anyList());
+
+        ChatMessageIdGenerator idGenerator = new ChatMessageIdGenerator(redisTemplate);
+        ReflectionTestUtils.setField(idGenerator, "nodeId", 3L);
+
+        ingestor = new ChatMessageIngestor(idGenerator, batchWriter, chatRoomRepository,
+                new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(ingestor, "durability", ChatMessageIngestor.Durability.ACK_AFTER_FLUSH);
+        ReflectionTestUtils.setField(ingestor, "queueCapacity", 20_000);
+        ReflectionTestUtils.setField(ingestor, "batchSize", 500);
+        ReflectionTestUtils.setField(ingestor, "shutdownTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(ingestor, "completionThreads", 2);
+        ingestor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseWriter.countDown();
+        ingestor.stop();
+    }
+
+    private CompletableFuture<ChatMessageDTO> send(Long senderId, String content) {
+        return ingestor.submit(ChatMessageDTO.builder().roomId(ROOM_ID).content(content).build(), senderId);
+    }
+
+    // Sends one message and waits until the writer holds it, so the next sends queue up behind it
+    private void holdWriter() throws InterruptedException {
+        send(1L, "first");
+        assertTrue(writerEntered.await(10, TimeUnit.SECONDS));
+    }
+
+    private static void await(List<CompletableFuture<ChatMessageDTO>> futures) throws Exception {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .handle((v, e) -> null)
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("10,000 queued messages are written in ceil(n / batch-size) round trips")
+    void batchesQueuedMessages() throws Exception {
+        holdWriter();
+
+        List<CompletableFuture<ChatMessageDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++)
+            futures.add(send(1L, "m" + i));
+        releaseWriter.countDown();
+        await(futures);
+
+        assertEquals(21, batches.size());
+        assertEquals(1, batches.get(0).size());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 500));
+        assertEquals(10_001, batches.stream().mapToInt(List::size).sum());
+        assertEquals(10_001.0, meterRegistry.get("chat.ingest.persisted").counter().count());
+
+        // Ids are unique and in send order
+        List<Long> ids = futures.stream().map(CompletableFuture::join).map(ChatMessageDTO::getId).toList();
+        for (int i = 1; i < ids.size(); i++)
+            assertTrue(ids.get(i) > ids.get(i - 1));
+        assertTrue(ids.get(ids.size() - 1) < (1L << 53));
+    }
+
+    @Test
+    @DisplayName("Room summary is updated once per sender per batch, with a truncated preview")
+    void summaryPerSender() throws Exception {
+        holdWriter();
+
+        String longContent = "x".repeat(ChatRoom.PREVIEW_LENGTH + 20);
+        CompletableFuture<ChatMessageDTO> a = send(1L, "a");
+        CompletableFuture<ChatMessageDTO> b = send(1L, longContent);
+        CompletableFuture<ChatMessageDTO> c = send(2L, "c");
+        releaseWriter.countDown();
+        await(List.of(a, b, c));
+
+        verify(chatRoomRepository).recordMessages(eq(ROOM_ID), eq(1L), eq(2), eq(b.join().getId()),
+                eq("x".repeat(ChatRoom.PREVIEW_LENGTH)), eq(b.join().getSentAt()));
+        verify(chatRoomRepository).recordMessages(eq(ROOM_ID), eq(2L), eq(1), eq(c.join().getId()), eq("c"), any());
+    }
+
+    @Test
+    @DisplayName("A failed batch is retried message by message; only the bad message fails")
+    void isolatesFailedMessage() throws Exception {
+        poisonContent = "bad";
+        holdWriter();
+
+        CompletableFuture<ChatMessageDTO> good = send(1L, "good");
+        CompletableFuture<ChatMessageDTO> bad = send(99L, "bad");
+        releaseWriter.countDown();
+        await(List.of(good, bad));
+
+        assertEquals("good", good.join().getContent());
+        ExecutionException e = assertThrows(ExecutionException.class, bad::get);
+        assertInstanceOf(DataIntegrityViolationException.class, e.getCause());
+        assertEquals(1.0, meterRegistry.get("chat.ingest.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Fire-and-forget hands the message back before it is written")
+    void fireAndForget() throws Exception {
+        ReflectionTestUtils.setField(ingestor, "durability", ChatMessageIngestor.Durability.FIRE_AND_FORGET);
+        holdWriter();
+
+        CompletableFuture<ChatMessageDTO> sent = send(1L, "hi");
+
+        assertTrue(sent.isDone());
+        assertNotNull(sent.join().getId());
+        assertNotNull(sent.join().getSentAt());
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    @DisplayName("A stalled broadcast holds up its room's later broadcasts but not the flusher")
+    void completesOffFlusher() throws Exception {
+        CompletableFuture<ChatMessageDTO> first = send(1L, "first");
+        assertTrue(writerEntered.await(10, TimeUnit.SECONDS));
+
+        // Attached while the writer still holds "first", so it runs wherever the ingestor completes the future
+        CountDownLatch releaseBroadcast = new CountDownLatch(1);
+        AtomicReference<String> broadcastThread = new AtomicReference<>();
+        first.whenComplete((saved, e) -> {
+            broadcastThread.set(Thread.currentThread().getName());
+            try {
+                releaseBroadcast.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            releaseWriter.countDown();
+            CompletableFuture<ChatMessageDTO> second = send(1L, "second");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((batches.size() < 2 || broadcastThread.get() == null) && System.nanoTime() < deadline)
+                Thread.sleep(5);
+
+            assertEquals(2, batches.size());
+            assertTrue(broadcastThread.get().startsWith("chat-ingest-complete-"));
+            assertFalse(second.isDone());
+
+            releaseBroadcast.countDown();
+            assertEquals("second", second.get(10, TimeUnit.SECONDS).getContent());
+        } finally {
+            releaseBroadcast.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Shutdown writes what is still queued")
+    void drainsOnStop() throws Exception {
+        holdWriter();
+        for (int i = 0; i < 50; i++)
+            send(1L, "m" + i);
+
+        releaseWriter.countDown();
+        ingestor.stop();
+
+        assertEquals(51, batches.stream().mapToInt(List::size).sum());
+    }
+}
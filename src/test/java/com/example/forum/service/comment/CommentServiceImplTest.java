@@ -9,7 +9,10 @@ import com.example.forum.model.post.Post;
 import com.example.forum.model.profile.Profile;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.comment.CommentRepository;
+import com.example.forum.repository.post.PostRepository;
 import com.example.forum.service.notification.NotificationHelper;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.service.trending.engine.TrendingSignal;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.comment.CommentValidator;
 import com.example.forum.validator.post.PostValidator;
@@ -40,12 +43,16 @@ class CommentServiceImplTest {
 
     @Mock private CommentRepository commentRepository;
 
+    @Mock private PostRepository postRepository;
+
     @Mock private PostValidator postValidator;
 
     @Mock private AuthValidator userValidator;
 
     @Mock private NotificationHelper notificationHelper;
 
+    @Mock private TrendingEngine trendingEngine;
+
 
     @Test
     @DisplayName("Should create a top-level comment")
@@ -94,6 +101,8 @@ class CommentServiceImplTest {
             assertNotNull(result);
             assertEquals(content, result.getContent());
             verify(commentRepository).save(any(Comment.class));
+            verify(postRepository).addCommentCount(post.getId(), 1);
+            verify(trendingEngine).record(post.getId(), TrendingSignal.COMMENT, 1);
         }
     }
 
@@ -146,6 +155,8 @@ class CommentServiceImplTest {
             assertNotNull(result);
             assertEquals(content, result.getContent());
             verify(commentRepository).save(any(Comment.class));
+            verify(postRepository).addCommentCount(post.getId(), 1);
+            verify(trendingEngine).record(post.getId(), TrendingSignal.COMMENT, 1);
         }
     }
 
@@ -160,7 +171,7 @@ class CommentServiceImplTest {
         List<Comment> comments = List.of(comment1, comment2);
 
         // Mocks for repository and validator
-        when(postValidator.validatePost(postId)).thenReturn(post);
+        when(postValidator.validatePostReference(postId)).thenReturn(post);
         when(commentRepository.findTopLevelCommentsWithReplies(postId)).thenReturn(comments);
 
         // Static mocking for DTO mapping
@@ -180,7 +191,7 @@ class CommentServiceImplTest {
             assertEquals("C1", result.get(0).getContent());
             assertEquals("C2", result.get(1).getContent());
 
-            verify(postValidator).validatePost(postId);
+            verify(postValidator).validatePostReference(postId);
             verify(commentRepository).findTopLevelCommentsWithReplies(postId);
         }
     }
@@ -192,10 +203,14 @@ class CommentServiceImplTest {
         Long commentId = 100L;
         String username = "authorUser";
         User user = mock(User.class);
+        Post post = mock(Post.class);
+        when(post.getId()).thenReturn(7L);
+
         Comment comment = mock(Comment.class);
-        List<Comment> replies = new ArrayList<>(); // avoid NPE for getReplies().size()
+        List<Comment> replies = new ArrayList<>(); // avoid NPE while counting the reply subtree
         when(comment.getReplies()).thenReturn(replies);
         when(comment.getAuthor()).thenReturn(user);
+        when(comment.getPost()).thenReturn(post);
 
         // Mocks for repository and validator
         when(userValidator.validateUserByUsername(username)).thenReturn(user);
@@ -206,6 +221,39 @@ class CommentServiceImplTest {
 
         // Verify delete was called
         verify(commentRepository).delete(comment);
+        verify(postRepository).addCommentCount(7L, -1);
+    }
+
+    @Test
+    @DisplayName("Should subtract the whole reply subtree from the post comment count")
+    void deleteComment_withReplies_subtractsSubtree() {
+        Long commentId = 200L;
+        String username = "authorUser";
+        User user = mock(User.class);
+
+        Post post = mock(Post.class);
+        when(post.getId()).thenReturn(8L);
+
+        Comment nested = mock(Comment.class);
+        when(nested.getReplies()).thenReturn(List.of());
+        Comment reply1 = mock(Comment.class);
+        when(reply1.getReplies()).thenReturn(List.of(nested));
+        Comment reply2 = mock(Comment.class);
+        when(reply2.getReplies()).thenReturn(null);
+
+        Comment comment = mock(Comment.class);
+        when(comment.getReplies()).thenReturn(List.of(reply1, reply2));
+        when(comment.getAuthor()).thenReturn(user);
+        when(comment.getPost()).thenReturn(post);
+
+        when(userValidator.validateUserByUsername(username)).thenReturn(user);
+        when(commentValidator.validateCommentId(commentId)).thenReturn(comment);
+
+        commentService.deleteComment(commentId, username);
+
+        verify(commentRepository).delete(comment);
+        verify(postRepository).addCommentCount(8L, -4);
+        verify(trendingEngine).record(8L, TrendingSignal.COMMENT, -4);
     }
 
     @Test
@@ -232,5 +280,6 @@ class CommentServiceImplTest {
         });
 
         verify(commentRepository, never()).delete(any());
+        verifyNoInteractions(postRepository);
     }
 }
@@ -3,6 +3,9 @@ package com.example.forum.service.community;
 import com.example.forum.dto.community.CommunityDetailDTO;
 import com.example.forum.dto.community.CommunityPreviewDTO;
 import com.example.forum.dto.community.CommunityRequestDTO;
+import com.example.forum.helper.viewer.ViewerContext;
+import com.example.forum.helper.viewer.ViewerContextCache;
+import com.example.forum.helper.viewer.ViewerContextChangedEvent;
 import com.example.forum.model.community.Community;
 import com.example.forum.model.community.CommunityFavorite;
 import com.example.forum.model.community.CommunityMember;
@@ -11,6 +14,10 @@ import com.example.forum.model.user.User;
 import com.example.forum.repository.community.CommunityFavoriteRepository;
 import com.example.forum.repository.community.CommunityMemberRepository;
 import com.example.forum.repository.community.CommunityRepository;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.service.presence.CommunityPresence;
+import com.example.forum.service.presence.PresenceService;
+import com.example.forum.service.search.index.SearchIndexer;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CommunityValidator;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,14 +28,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +52,11 @@ class CommunityServiceImplTest {
     @Mock private CommunityRepository communityRepository;
     @Mock private CommunityMemberRepository communityMemberRepository;
     @Mock private CommunityFavoriteRepository communityFavoriteRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private PresenceService presenceService;
+    @Mock private SearchIndexer searchIndexer;
+    @Mock private ViewerContextCache viewerContextCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     private User user;
     private Community community;
@@ -74,6 +88,7 @@ class CommunityServiceImplTest {
         // then
         assertNotNull(communityId);
         assertEquals(1L, communityId);
+        verify(searchIndexer).indexCommunity(any(Community.class));
     }
 
 
@@ -84,7 +99,9 @@ class CommunityServiceImplTest {
         community.getMembers().add(cm);
 
         when(communityValidator.validateExistingCommunity(1L)).thenReturn(community);
-        when(communityMemberRepository.findByCommunity(community)).thenReturn(List.of(cm));
+        when(presenceService.getCommunityPresence(1L)).thenReturn(new CommunityPresence(1, 1));
+        when(presenceService.sampleOnlineMemberIds(eq(1L), anyInt())).thenReturn(Set.of(1L));
+        when(communityMemberRepository.findByCommunityAndUserIdIn(community, Set.of(1L))).thenReturn(List.of(cm));
         when(authValidator.validateUserByUsername("tester")).thenReturn(user);
         when(communityMemberRepository.findByCommunityAndUser(community, user)).thenReturn(Optional.of(cm));
 
@@ -92,6 +109,22 @@ class CommunityServiceImplTest {
 
         assertEquals("devs", result.getName());
         assertEquals(1, result.getMemberCount());
+        assertEquals(1, result.getOnlineCount());
+    }
+
+    @Test
+    @DisplayName("getCommunityDetail - 50k members: counts come from presence, no member list is loaded")
+    void getCommunityDetail_largeCommunity() {
+        when(communityValidator.validateExistingCommunity(1L)).thenReturn(community);
+        when(presenceService.getCommunityPresence(1L)).thenReturn(new CommunityPresence(50_000, 1_200));
+        when(presenceService.sampleOnlineMemberIds(eq(1L), anyInt())).thenReturn(Set.of());
+
+        CommunityDetailDTO result = communityService.getCommunityDetail(1L, null);
+
+        assertEquals(50_000, result.getMemberCount());
+        assertEquals(1_200, result.getOnlineCount());
+        verify(communityMemberRepository, never()).findByCommunity(any());
+        verify(communityMemberRepository, never()).findByCommunityAndUserIdIn(any(), anyCollection());
     }
 
     @Test
@@ -100,6 +133,7 @@ class CommunityServiceImplTest {
         CommunityMember cm = CommunityMember.builder().user(user).community(community).build();
         when(authValidator.validateUserByUsername("tester")).thenReturn(user);
         when(communityMemberRepository.findByUser(user)).thenReturn(List.of(cm));
+        when(viewerContextCache.get(1L)).thenReturn(ViewerContext.EMPTY);
 
         List<CommunityPreviewDTO> result = communityService.getMyCommunities("tester");
 
@@ -121,6 +155,7 @@ class CommunityServiceImplTest {
     void getMyCommunities_empty() {
         when(authValidator.validateUserByUsername("tester")).thenReturn(user);
         when(communityMemberRepository.findByUser(user)).thenReturn(List.of());
+        when(viewerContextCache.get(1L)).thenReturn(ViewerContext.EMPTY);
 
         List<CommunityPreviewDTO> result = communityService.getMyCommunities("tester");
         assertTrue(result.isEmpty());
@@ -155,6 +190,7 @@ class CommunityServiceImplTest {
             // then
             verify(communityFavoriteRepository).delete(favorite);
             verify(communityFavoriteRepository, never()).save(any());
+            verify(eventPublisher).publishEvent(new ViewerContextChangedEvent(1L));
         }
 
         @Test
@@ -171,6 +207,7 @@ class CommunityServiceImplTest {
             // then
             verify(communityFavoriteRepository).save(any(CommunityFavorite.class));
             verify(communityFavoriteRepository, never()).delete(any());
+            verify(eventPublisher).publishEvent(new ViewerContextChangedEvent(1L));
         }
     }
 
@@ -11,7 +11,6 @@ import com.example.forum.model.user.User;
 import com.example.forum.repository.community.CategoryRepository;
 import com.example.forum.repository.community.CommunityRepository;
 import com.example.forum.repository.community.CommunityRuleRepository;
-import com.example.forum.service.auth.RedisService;
 import com.example.forum.service.common.S3Service;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CategoryValidator;
@@ -52,7 +51,6 @@ class CommunityManageServiceImplTest {
     @Mock private CategoryRepository categoryRepository;
     @Mock private CommunityRuleRepository communityRuleRepository;
 
-    @Mock private RedisService redisService;
     @Mock private S3Service s3Service;
 
     private User user;
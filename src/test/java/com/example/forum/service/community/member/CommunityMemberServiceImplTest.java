@@ -7,7 +7,7 @@ import com.example.forum.model.community.CommunityMember;
 import com.example.forum.model.community.CommunityRole;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.community.CommunityMemberRepository;
-import com.example.forum.service.auth.RedisService;
+import com.example.forum.service.presence.PresenceService;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CommunityValidator;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +17,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,7 +38,7 @@ class CommunityMemberServiceImplTest {
     @Mock private AuthValidator authValidator;
     @Mock private CommunityValidator communityValidator;
     @Mock private CommunityMemberRepository communityMemberRepository;
-    @Mock private RedisService redisService;
+    @Mock private PresenceService presenceService;
 
     private final Long communityId = 1L;
     private Community community;
@@ -48,20 +51,29 @@ class CommunityMemberServiceImplTest {
     }
 
     @Test
-    @DisplayName("getOnlineUsers - returns only users marked online in Redis")
+    @DisplayName("getOnlineUsers - loads only the members presence reports online")
     void getOnlineUsers_success() {
         CommunityMember cm1 = CommunityMember.builder().user(user).build();
-        CommunityMember cm2 = CommunityMember.builder().user(User.builder().id(11L).build()).build();
 
         when(communityValidator.validateExistingCommunity(communityId)).thenReturn(community);
-        when(communityMemberRepository.findByCommunity(community)).thenReturn(List.of(cm1, cm2));
-        when(redisService.isUserOnline(10L)).thenReturn(true);
-        when(redisService.isUserOnline(11L)).thenReturn(false);
+        when(presenceService.getOnlineMemberIds(communityId)).thenReturn(Set.of(10L));
+        when(communityMemberRepository.findByCommunityAndUserIdIn(community, Set.of(10L))).thenReturn(List.of(cm1));
 
         List<UserDTO> result = communityMemberService.getOnlineUsers(communityId);
 
         assertEquals(1, result.size());
         assertEquals("testuser", result.get(0).getUsername());
+        verify(communityMemberRepository, never()).findByCommunity(any());
+    }
+
+    @Test
+    @DisplayName("getOnlineUsers - 50k-member community with nobody online touches no member rows")
+    void getOnlineUsers_largeCommunityNobodyOnline() {
+        when(communityValidator.validateExistingCommunity(communityId)).thenReturn(community);
+        when(presenceService.getOnlineMemberIds(communityId)).thenReturn(Set.of());
+
+        assertTrue(communityMemberService.getOnlineUsers(communityId).isEmpty());
+        verifyNoInteractions(communityMemberRepository);
     }
 
     @Test
@@ -74,6 +86,26 @@ class CommunityMemberServiceImplTest {
 
         assertEquals(1, community.getMembers().size());
         assertTrue(community.getMembers().stream().anyMatch(cm -> cm.getUser().equals(user)));
+        verify(presenceService).memberJoined(communityId, 10L);
+    }
+
+    @Test
+    @DisplayName("addMember - inside a transaction, presence is updated only after commit")
+    void addMember_presenceAfterCommit() {
+        when(communityValidator.validateExistingCommunity(communityId)).thenReturn(community);
+        when(authValidator.validateUserByUsername("testuser")).thenReturn(user);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            communityMemberService.addMember(communityId, "testuser");
+            verifyNoInteractions(presenceService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(presenceService).memberJoined(communityId, 10L);
     }
 
     @Test
@@ -101,6 +133,7 @@ class CommunityMemberServiceImplTest {
         communityMemberService.leaveCommunity(communityId, "testuser");
 
         assertEquals(0, community.getMembers().size());
+        verify(presenceService).memberLeft(communityId, 10L);
     }
 
     @Test
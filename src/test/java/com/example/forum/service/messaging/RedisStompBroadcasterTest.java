@@ -0,0 +1,107 @@
+package com.example.forum.service.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RedisStompBroadcaster.
+ * - Two broadcasters stand in for two application nodes; they share a mocked RedisTemplate whose
+ *   convertAndSend fans each published message out to both nodes, like a Redis channel would.
+ * - Each node has its own SimpMessagingTemplate, i.e. its own local sessions.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisStompBroadcaster")
+class RedisStompBroadcasterTest {
+
+    private static final String CHANNEL = "stomp:relay";
+
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private SimpMessagingTemplate nodeATemplate;
+    @Mock private SimpMessagingTemplate nodeBTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private RedisStompBroadcaster nodeA;
+    private RedisStompBroadcaster nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = node(nodeATemplate);
+        nodeB = node(nodeBTemplate);
+
+        lenient().when(redisTemplate.convertAndSend(eq(CHANNEL), anyString())).thenAnswer(inv -> {
+            byte[] body = inv.<String>getArgument(1).getBytes(StandardCharsets.UTF_8);
+            DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body);
+            for (RedisStompBroadcaster node : List.of(nodeA, nodeB))
+                node.onMessage(message, null);
+            return 2L;
+        });
+    }
+
+    private RedisStompBroadcaster node(SimpMessagingTemplate template) {
+        RedisStompBroadcaster broadcaster = new RedisStompBroadcaster(redisTemplate, template, objectMapper);
+        ReflectionTestUtils.setField(broadcaster, "channel", CHANNEL);
+        return broadcaster;
+    }
+
+    @Test
+    @DisplayName("A chat message sent on one node reaches the topic on every node")
+    void topicReachesAllNodes() {
+        nodeA.convertAndSend("/topic/chat.1_2", Map.of("roomId", "1_2", "content", "hi"));
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(nodeATemplate).convertAndSend(eq("/topic/chat.1_2"), payload.capture());
+        verify(nodeBTemplate).convertAndSend(eq("/topic/chat.1_2"), any(Object.class));
+        assertEquals("hi", ((JsonNode) payload.getValue()).get("content").asText());
+    }
+
+    @Test
+    @DisplayName("User destinations are relayed and resolved by each node against its own sessions")
+    void userDestinationRelayed() {
+        nodeB.convertAndSendToUser("42", "/queue/notifications", Map.of("unreadDelta", 1));
+
+        verify(nodeATemplate).convertAndSendToUser(eq("42"), eq("/queue/notifications"), any(Object.class));
+        verify(nodeBTemplate).convertAndSendToUser(eq("42"), eq("/queue/notifications"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Falls back to local delivery when Redis is unreachable")
+    void redisDown() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+
+        nodeA.convertAndSend("/topic/chat.1_2", Map.of("content", "hi"));
+
+        verify(nodeATemplate).convertAndSend(eq("/topic/chat.1_2"), any(Object.class));
+        verifyNoInteractions(nodeBTemplate);
+    }
+
+    @Test
+    @DisplayName("Malformed relay messages are dropped")
+    void malformedMessage() {
+        nodeA.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        verifyNoInteractions(nodeATemplate);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.forum.service.notification;
+
+import com.example.forum.dto.notification.NotificationPushDTO;
+import com.example.forum.model.notification.Notification;
+import com.example.forum.model.notification.Notification.NotificationType;
+import com.example.forum.model.profile.Profile;
+import com.example.forum.model.user.User;
+import com.example.forum.repository.notification.NotificationRepository;
+import com.example.forum.service.messaging.StompBroadcaster;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessageDeliveryException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationPusher.
+ * - Pushes are addressed by receiver id and carry the unread delta.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationPusher")
+class NotificationPusherTest {
+
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private StompBroadcaster messagingTemplate;
+
+    @InjectMocks private NotificationPusher pusher;
+
+    private static User user(long id, String username) {
+        User user = User.builder().id(id).username(username).build();
+        user.setProfile(Profile.builder().nickname(username).build());
+        return user;
+    }
+
+    @Test
+    @DisplayName("New notifications go to the receiver's queue with a +1 unread delta")
+    void pushCreated() {
+        Notification notification = Notification.builder()
+                .id(5L)
+                .receiver(user(1L, "bob"))
+                .sender(user(2L, "alice"))
+                .type(NotificationType.FOLLOW)
+                .message("alice is now following you.")
+                .build();
+        when(notificationRepository.findByIdempotencyKeyIn(List.of("k1"))).thenReturn(List.of(notification));
+
+        pusher.pushCreated(List.of("k1"));
+
+        ArgumentCaptor<NotificationPushDTO> captor = ArgumentCaptor.forClass(NotificationPushDTO.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("1"), eq(NotificationPusher.DESTINATION), captor.capture());
+        assertEquals(1, captor.getValue().getUnreadDelta());
+        assertEquals(5L, captor.getValue().getNotification().getNotificationId());
+    }
+
+    @Test
+    @DisplayName("Read-state pushes carry only a negative delta, and nothing is sent for zero")
+    void pushRead() {
+        pusher.pushRead(1L, 0);
+        verifyNoInteractions(messagingTemplate);
+
+        pusher.pushRead(1L, 3);
+
+        ArgumentCaptor<NotificationPushDTO> captor = ArgumentCaptor.forClass(NotificationPushDTO.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("1"), eq(NotificationPusher.DESTINATION), captor.capture());
+        assertEquals(-3, captor.getValue().getUnreadDelta());
+        assertNull(captor.getValue().getNotification());
+    }
+
+    @Test
+    @DisplayName("Broker failures are swallowed")
+    void brokerFailure() {
+        doThrow(new MessageDeliveryException("down"))
+                .when(messagingTemplate).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+
+        assertDoesNotThrow(() -> pusher.pushRead(1L, 1));
+    }
+}
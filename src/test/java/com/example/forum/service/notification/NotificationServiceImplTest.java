@@ -2,19 +2,22 @@ package com.example.forum.service.notification;
 
 import com.example.forum.model.comment.Comment;
 import com.example.forum.model.notification.Notification.NotificationType;
+import com.example.forum.model.notification.NotificationOutbox;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
+import com.example.forum.repository.notification.NotificationOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class NotificationHelperTest {
 
     @Mock
-    private NotificationService notificationService;
+    private NotificationOutboxRepository notificationOutboxRepository;
 
     @InjectMocks
     private NotificationHelper notificationHelper;
@@ -34,8 +37,8 @@ class NotificationHelperTest {
         notificationHelper.sendIfNotSelf(user, user, null, null, NotificationType.FOLLOW, "test message");
 
         // Assert
-        // NotificationService should not be called
-        verify(notificationService, never()).sendNotification(any(), any(), any(), any(), any(), anyString());
+        // Nothing should be appended to the outbox
+        verifyNoInteractions(notificationOutboxRepository);
     }
 
     @Test
@@ -47,21 +50,26 @@ class NotificationHelperTest {
         Post post = mock(Post.class);
         Comment comment = mock(Comment.class);
 
-        when(receiver.getUsername()).thenReturn("receiver");
-        when(sender.getUsername()).thenReturn("sender");
+        when(receiver.getId()).thenReturn(1L);
+        when(sender.getId()).thenReturn(2L);
         when(post.getId()).thenReturn(100L);
+        when(comment.getId()).thenReturn(7L);
 
         // Act
         notificationHelper.sendIfNotSelf(receiver, sender, post, comment, NotificationType.POST_LIKE, "You got a like");
 
         // Assert
-        verify(notificationService).sendNotification(
-                eq("receiver"),
-                eq("sender"),
-                eq(NotificationType.POST_LIKE),
-                eq(100L),
-                eq(comment),
-                eq("You got a like")
-        );
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(notificationOutboxRepository).save(captor.capture());
+
+        NotificationOutbox event = captor.getValue();
+        assertEquals(1L, event.getReceiverId());
+        assertEquals(2L, event.getSenderId());
+        assertEquals(NotificationType.POST_LIKE, event.getType());
+        assertEquals(100L, event.getTargetId());
+        assertEquals(7L, event.getCommentId());
+        assertEquals("You got a like", event.getMessage());
+        assertNotNull(event.getIdempotencyKey());
+        assertNotNull(event.getNextAttemptAt());
     }
 }
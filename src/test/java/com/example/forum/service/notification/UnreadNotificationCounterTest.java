@@ -0,0 +1,164 @@
+package com.example.forum.service.notification;
+
+import com.example.forum.repository.notification.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UnreadNotificationCounter.
+ * - A cached value is served as is; a miss seeds Redis from one COUNT.
+ * - The seed race is checked against a small in-memory stand-in for the two Lua scripts.
+ * - Redis failures fall back to the database on reads and evict on writes.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnreadNotificationCounter")
+class UnreadNotificationCounterTest {
+
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+    @Mock private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    private static final List<String> KEYS = List.of("notif:unread:1", "notif:unread:seed:1");
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(redisTemplate, notificationRepository);
+        ReflectionTestUtils.setField(counter, "ttl", Duration.ofDays(1));
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("Serves the cached count without touching the database")
+    void cachedCount() {
+        when(valueOperations.get("notif:unread:1")).thenReturn("4");
+
+        assertEquals(4, counter.get(1L));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    @DisplayName("Seeds the key from the database on a miss")
+    void seedsOnMiss() {
+        when(valueOperations.get("notif:unread:1")).thenReturn(null);
+        when(notificationRepository.countUnread(1L)).thenReturn(7L);
+
+        assertEquals(7, counter.get(1L));
+        verify(valueOperations).set(eq("notif:unread:seed:1"), anyString(), eq(Duration.ofSeconds(10)));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), anyString(), eq("7"), eq("86400000"));
+    }
+
+    @Test
+    @DisplayName("A delta that lands while the seed COUNT runs drops the seed instead of caching a stale count")
+    void deltaDuringSeed() {
+        Map<String, String> redis = fakeRedis();
+        when(notificationRepository.countUnread(1L))
+                .thenAnswer(inv -> {
+                    // The dispatcher commits a new unread row after this COUNT read 3, then applies its delta
+                    counter.add(1L, 1);
+                    return 3L;
+                })
+                .thenReturn(4L);
+
+        assertEquals(3, counter.get(1L));
+        assertFalse(redis.containsKey("notif:unread:1"));
+
+        assertEquals(4, counter.get(1L));
+        assertEquals("4", redis.get("notif:unread:1"));
+        assertFalse(redis.containsKey("notif:unread:seed:1"));
+    }
+
+    @Test
+    @DisplayName("Deltas after a successful seed move the cached count")
+    void deltaAfterSeed() {
+        Map<String, String> redis = fakeRedis();
+        when(notificationRepository.countUnread(1L)).thenReturn(3L);
+
+        counter.get(1L);
+        counter.add(1L, 1);
+
+        assertEquals("4", redis.get("notif:unread:1"));
+        assertEquals(4, counter.get(1L));
+        verify(notificationRepository, times(1)).countUnread(1L);
+    }
+
+    @Test
+    @DisplayName("Falls back to the database when Redis is down")
+    void redisDownOnRead() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        when(notificationRepository.countUnread(1L)).thenReturn(2L);
+
+        assertEquals(2, counter.get(1L));
+    }
+
+    @Test
+    @DisplayName("Deltas go through the conditional script; a failed delta evicts the key")
+    @SuppressWarnings("unchecked")
+    void deltas() {
+        counter.add(1L, 0);
+        verifyNoInteractions(redisTemplate);
+
+        counter.add(1L, 3);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), eq("3"));
+
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("-1")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        counter.add(1L, -1);
+        verify(redisTemplate).delete(KEYS);
+    }
+
+    /**
+     * Backs get/set and both scripts with a map; scripts are told apart by their argument count.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> fakeRedis() {
+        Map<String, String> redis = new HashMap<>();
+
+        when(valueOperations.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        doAnswer(inv -> redis.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        // ADD_IF_PRESENT(delta)
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString())).thenAnswer(inv -> {
+            List<String> keys = inv.getArgument(1);
+            if (!redis.containsKey(keys.get(0))) {
+                redis.remove(keys.get(1));
+                return -1L;
+            }
+            long v = Math.max(0, Long.parseLong(redis.get(keys.get(0))) + Long.parseLong(inv.getArgument(2)));
+            redis.put(keys.get(0), Long.toString(v));
+            return v;
+        });
+
+        // SEED_IF_UNCHANGED(token, count, ttl)
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString())).thenAnswer(inv -> {
+            List<String> keys = inv.getArgument(1);
+            if (!inv.getArgument(2).equals(redis.get(keys.get(1))))
+                return 0L;
+            redis.remove(keys.get(1));
+            redis.putIfAbsent(keys.get(0), inv.getArgument(3));
+            return 1L;
+        });
+
+        return redis;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.forum.service.notification.outbox;
+
+import com.example.forum.model.notification.Notification.NotificationType;
+import com.example.forum.model.notification.NotificationOutbox;
+import com.example.forum.repository.notification.NotificationBatchWriter;
+import com.example.forum.repository.notification.NotificationInsert;
+import com.example.forum.repository.notification.NotificationKeyRow;
+import com.example.forum.repository.notification.NotificationRepository;
+import com.example.forum.repository.notification.OpenAggregateRow;
+import com.example.forum.service.notification.outbox.NotificationCoalescer.CoalesceResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationCoalescer.
+ * - The repository and batch writer are backed by an in-memory table of aggregates (key -> id, distinct actors),
+ *   so rows written and actor counts can be checked across batches.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationCoalescer")
+class NotificationCoalescerTest {
+
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private NotificationBatchWriter batchWriter;
+
+    private NotificationCoalescer coalescer;
+
+    private final Map<String, Long> openIds = new HashMap<>();
+    private final Map<String, Long> idsByKey = new HashMap<>();
+    private final Map<Long, Set<Long>> actors = new HashMap<>();
+    private final Map<Long, Integer> actorCounts = new HashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private int inserts;
+    private int merges;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new NotificationCoalescer(notificationRepository, batchWriter);
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofHours(6));
+
+        lenient().when(notificationRepository.findOpenAggregates(anyCollection(), any())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            return keys.stream().filter(openIds::containsKey)
+                    .map(key -> row(openIds.get(key), key))
+                    .toList();
+        });
+        lenient().when(notificationRepository.mergeInto(anyLong(), any(), any(), any(), any())).thenAnswer(inv -> {
+            merges++;
+            Long id = inv.getArgument(0);
+            actorCounts.put(id, actors.getOrDefault(id, Set.of()).size());
+            return 1;
+        });
+        lenient().when(notificationRepository.findIdsByIdempotencyKeyIn(anyCollection())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            return keys.stream().map(key -> keyRow(idsByKey.get(key), key)).toList();
+        });
+        lenient().doAnswer(inv -> {
+            Map<Long, ? extends Collection<Long>> senders = inv.getArgument(0);
+            senders.forEach((id, ids) -> actors.computeIfAbsent(id, k -> new HashSet<>()).addAll(ids));
+            return null;
+        }).when(batchWriter).insertActors(anyMap());
+        lenient().when(batchWriter.insertAll(anyList())).thenAnswer(inv -> {
+            List<NotificationInsert> rows = inv.getArgument(0);
+            for (NotificationInsert row : rows) {
+                inserts++;
+                long id = nextId.getAndIncrement();
+                actorCounts.put(id, row.actorCount());
+                idsByKey.put(row.event().getIdempotencyKey(), id);
+                if (row.aggregateKey() != null)
+                    openIds.put(row.aggregateKey(), id);
+            }
+            return rows;
+        });
+    }
+
+    private static OpenAggregateRow row(Long id, String key) {
+        return new OpenAggregateRow() {
+            @Override public Long getId() { return id; }
+            @Override public String getAggregateKey() { return key; }
+        };
+    }
+
+    private static NotificationKeyRow keyRow(Long id, String key) {
+        return new NotificationKeyRow() {
+            @Override public Long getId() { return id; }
+            @Override public String getIdempotencyKey() { return key; }
+        };
+    }
+
+    private static NotificationOutbox event(long id, NotificationType type, long senderId) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .idempotencyKey("key-" + id)
+                .receiverId(1L)
+                .senderId(senderId)
+                .type(type)
+                .targetId(10L)
+                .commentId(type == NotificationType.COMMENT_LIKE ? 20L : null)
+                .message("liked your comment")
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("10k likes on one comment write 50 rows instead of 10,000")
+    void rowsWrittenPerTenThousandLikes() {
+        int batchSize = 200;
+        int written = 0;
+
+        for (int batch = 0; batch < 50; batch++) {
+            long first = (long) batch * batchSize + 1;
+            List<NotificationOutbox> events = LongStream.range(first, first + batchSize)
+                    .mapToObj(id -> event(id, NotificationType.COMMENT_LIKE, 1000 + id))
+                    .toList();
+
+            written += coalescer.apply(events).rowsWritten();
+        }
+
+        assertEquals(50, written);
+        assertEquals(1, inserts);
+        assertEquals(49, merges);
+        assertEquals(Map.of(1L, 10_000), actorCounts);
+    }
+
+    @Test
+    @DisplayName("Events with the same key in one batch become a single row attributed to the latest sender")
+    void groupsWithinBatch() {
+        List<NotificationOutbox> events = List.of(
+                event(1L, NotificationType.POST_LIKE, 7L),
+                event(2L, NotificationType.POST_LIKE, 8L),
+                event(3L, NotificationType.COMMENT, 9L));
+
+        CoalesceResult result = coalescer.apply(events);
+
+        verify(batchWriter).insertAll(argThat(rows -> rows.size() == 2
+                && rows.get(0).actorCount() == 2 && rows.get(0).event().getSenderId() == 8L
+                && rows.get(1).aggregateKey().equals("COMMENT:1:10")));
+        assertEquals(List.of("key-2", "key-3"), result.createdKeys());
+        assertEquals(Map.of(1L, 2L), result.unreadDeltas());
+        assertTrue(result.mergedIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A merge does not add to the unread count")
+    void mergeKeepsUnread() {
+        coalescer.apply(List.of(event(1L, NotificationType.POST_LIKE, 7L)));
+
+        CoalesceResult result = coalescer.apply(List.of(event(2L, NotificationType.POST_LIKE, 8L)));
+
+        assertEquals(List.of(1L), result.mergedIds());
+        assertTrue(result.createdKeys().isEmpty());
+        assertTrue(result.unreadDeltas().isEmpty());
+        assertEquals(2, actorCounts.get(1L));
+    }
+
+    @Test
+    @DisplayName("A sender who likes again is counted once, within a batch and across batches")
+    void repeatSendersCountOnce() {
+        CoalesceResult first = coalescer.apply(List.of(
+                event(1L, NotificationType.POST_LIKE, 7L),
+                event(2L, NotificationType.POST_LIKE, 7L)));
+
+        verify(batchWriter).insertAll(argThat(rows -> rows.size() == 1 && rows.get(0).actorCount() == 1));
+        assertEquals(Set.of(7L), actors.get(1L));
+
+        coalescer.apply(List.of(event(3L, NotificationType.POST_LIKE, 7L)));
+        coalescer.apply(List.of(event(4L, NotificationType.POST_LIKE, 8L)));
+
+        assertEquals(List.of("key-2"), first.createdKeys());
+        assertEquals(2, actorCounts.get(1L));
+    }
+
+    @Test
+    @DisplayName("An aggregate read in the meantime is not reopened; a new row starts instead")
+    void readAggregateStartsNewRow() {
+        coalescer.apply(List.of(event(1L, NotificationType.POST_LIKE, 7L)));
+        doReturn(0).when(notificationRepository).mergeInto(anyLong(), any(), any(), any(), any());
+
+        CoalesceResult result = coalescer.apply(List.of(event(2L, NotificationType.POST_LIKE, 8L)));
+
+        assertEquals(List.of("key-2"), result.createdKeys());
+        assertEquals(2, inserts);
+    }
+
+    @Test
+    @DisplayName("Non-coalescing types are written one row per event")
+    void followsAreNotCoalesced() {
+        List<NotificationOutbox> events = new ArrayList<>(List.of(
+                event(1L, NotificationType.FOLLOW, 7L),
+                event(2L, NotificationType.FOLLOW, 8L)));
+
+        CoalesceResult result = coalescer.apply(events);
+
+        assertEquals(2, result.rowsWritten());
+        assertNull(NotificationCoalescer.aggregateKey(events.get(0)));
+        verify(notificationRepository, never()).findOpenAggregates(anyCollection(), any());
+    }
+}
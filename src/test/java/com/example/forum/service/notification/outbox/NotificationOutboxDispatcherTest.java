@@ -0,0 +1,185 @@
+package com.example.forum.service.notification.outbox;
+
+import com.example.forum.model.notification.Notification.NotificationType;
+import com.example.forum.model.notification.NotificationOutbox;
+import com.example.forum.repository.notification.NotificationOutboxRepository;
+import com.example.forum.service.notification.NotificationPusher;
+import com.example.forum.service.notification.UnreadNotificationCounter;
+import com.example.forum.service.notification.outbox.NotificationCoalescer.CoalesceResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationOutboxDispatcher.
+ * - Uses a real TransactionTemplate over a mocked transaction manager, so callbacks run inline.
+ * - The coalescer is mocked; its result drives counters and pushes, which happen only after commit.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationOutboxDispatcher")
+class NotificationOutboxDispatcherTest {
+
+    @Mock private NotificationOutboxRepository outboxRepository;
+    @Mock private NotificationCoalescer coalescer;
+    @Mock private NotificationPusher notificationPusher;
+    @Mock private UnreadNotificationCounter unreadCounter;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationOutboxDispatcher(
+                outboxRepository, coalescer, notificationPusher, unreadCounter, new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchesPerPoll", 5);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBase", Duration.ofSeconds(2));
+        dispatcher.registerMetrics();
+    }
+
+    private static NotificationOutbox event(long id) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .idempotencyKey("key-" + id)
+                .receiverId(1L)
+                .senderId(2L)
+                .type(NotificationType.COMMENT)
+                .targetId(10L)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static CoalesceResult created(String... keys) {
+        return new CoalesceResult(List.of(keys), List.of(), Map.of(1L, (long) keys.length), keys.length);
+    }
+
+    @Test
+    @DisplayName("Writes a claimed batch and deletes it from the outbox")
+    void dispatchesBatch() {
+        List<NotificationOutbox> batch = List.of(event(1L), event(2L));
+        when(outboxRepository.lockDueBatch(3, 2)).thenReturn(batch);
+        when(coalescer.apply(batch)).thenReturn(created("key-1", "key-2"));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        verify(coalescer).apply(batch);
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(notificationPusher).pushCreated(List.of("key-1", "key-2"));
+        verify(unreadCounter).add(1L, 2L);
+        assertEquals(2.0, meterRegistry.get("notification.outbox.dispatched").counter().count());
+        assertEquals(2.0, meterRegistry.get("notification.outbox.rows.written").counter().count());
+    }
+
+    @Test
+    @DisplayName("Merged aggregates are pushed without touching the unread count")
+    void pushesMerged() {
+        List<NotificationOutbox> batch = List.of(event(1L), event(2L));
+        when(outboxRepository.lockDueBatch(3, 2)).thenReturn(batch);
+        when(coalescer.apply(batch)).thenReturn(new CoalesceResult(List.of(), List.of(50L), Map.of(), 1));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(notificationPusher).pushMerged(List.of(50L));
+        verifyNoInteractions(unreadCounter);
+        assertEquals(2.0, meterRegistry.get("notification.outbox.dispatched").counter().count());
+        assertEquals(1.0, meterRegistry.get("notification.outbox.rows.written").counter().count());
+    }
+
+    @Test
+    @DisplayName("Keeps polling while batches come back full")
+    void drainsBacklog() {
+        when(outboxRepository.lockDueBatch(3, 2))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+        when(coalescer.apply(anyList())).thenReturn(CoalesceResult.EMPTY);
+
+        dispatcher.poll();
+
+        verify(outboxRepository, times(2)).lockDueBatch(3, 2);
+        verify(coalescer, times(2)).apply(anyList());
+    }
+
+    @Test
+    @DisplayName("A failing batch is retried per event; only the bad event backs off")
+    void isolatesPoisonEvent() {
+        NotificationOutbox good = event(1L);
+        NotificationOutbox bad = event(2L);
+        when(outboxRepository.lockDueBatch(3, 2)).thenReturn(List.of(good, bad));
+        when(outboxRepository.lockById(1L)).thenReturn(Optional.of(good));
+        when(outboxRepository.lockById(2L)).thenReturn(Optional.of(bad));
+        doThrow(new DataIntegrityViolationException("comment gone"))
+                .when(coalescer).apply(argThat(list -> list.contains(bad)));
+        when(coalescer.apply(List.of(good))).thenReturn(created("key-1"));
+
+        dispatcher.dispatchBatch();
+
+        verify(coalescer).apply(List.of(good));
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+        verify(outboxRepository, never()).deleteByIdIn(List.of(2L));
+        // First failure: the retry waits exactly retry-base
+        verify(outboxRepository).markFailed(eq(List.of(2L)), eq("comment gone"), eq(2L));
+        verify(notificationPusher).pushCreated(List.of("key-1"));
+        verify(unreadCounter).add(1L, 1L);
+        assertEquals(1.0, meterRegistry.get("notification.outbox.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Backoff starts at retry-base and doubles per failed attempt up to the cap")
+    void backoff() {
+        assertEquals(2, NotificationOutboxDispatcher.backoffSeconds(0, 2));
+        assertEquals(4, NotificationOutboxDispatcher.backoffSeconds(1, 2));
+        assertEquals(8, NotificationOutboxDispatcher.backoffSeconds(2, 2));
+        assertEquals(600, NotificationOutboxDispatcher.backoffSeconds(9, 2));
+        assertEquals(600, NotificationOutboxDispatcher.backoffSeconds(Integer.MAX_VALUE, 2));
+    }
+
+    @Test
+    @DisplayName("An event claimed by another node during the per-event retry is skipped")
+    void skipsEventsLockedElsewhere() {
+        NotificationOutbox event = event(1L);
+        when(outboxRepository.lockDueBatch(3, 2)).thenReturn(List.of(event));
+        doThrow(new DataIntegrityViolationException("deadlock")).when(coalescer).apply(List.of(event));
+        when(outboxRepository.lockById(1L)).thenReturn(Optional.empty());
+
+        dispatcher.dispatchBatch();
+
+        verify(coalescer, times(1)).apply(anyList());
+        verify(outboxRepository, never()).markFailed(anyList(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Replayed events already written are deleted but neither counted nor pushed")
+    void replayIsNotCounted() {
+        List<NotificationOutbox> batch = List.of(event(1L));
+        when(outboxRepository.lockDueBatch(3, 2)).thenReturn(batch);
+        when(coalescer.apply(batch)).thenReturn(CoalesceResult.EMPTY);
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+        verifyNoInteractions(unreadCounter, notificationPusher);
+    }
+}
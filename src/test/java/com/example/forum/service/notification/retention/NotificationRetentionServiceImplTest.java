@@ -0,0 +1,125 @@
+package com.example.forum.service.notification.retention;
+
+import com.example.forum.dto.notification.NotificationRetentionRunDTO;
+import com.example.forum.dto.notification.NotificationRetentionStatsDTO;
+import com.example.forum.repository.notification.NotificationArchiveRepository;
+import com.example.forum.repository.notification.NotificationRepository;
+import com.example.forum.repository.notification.TableSizeRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationRetentionServiceImpl.
+ * - Uses a real TransactionTemplate over a mocked transaction manager, so each chunk runs inline.
+ * - Chunk size is 2, so a short chunk ends a phase.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationRetentionServiceImpl")
+class NotificationRetentionServiceImplTest {
+
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private NotificationArchiveRepository archiveRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationRetentionServiceImpl retentionService;
+
+    @BeforeEach
+    void setUp() {
+        retentionService = new NotificationRetentionServiceImpl(
+                notificationRepository, archiveRepository, new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(retentionService, "archiveAfter", Duration.ofDays(90));
+        ReflectionTestUtils.setField(retentionService, "archiveRetention", Duration.ofDays(730));
+        ReflectionTestUtils.setField(retentionService, "chunkSize", 2);
+        ReflectionTestUtils.setField(retentionService, "maxChunksPerRun", 10);
+        retentionService.registerMetrics();
+    }
+
+    private static TableSizeRow size(String table, long rows, long bytes) {
+        return new TableSizeRow() {
+            @Override public String getTableName() { return table; }
+            @Override public Long getApproxRows() { return rows; }
+            @Override public Long getBytes() { return bytes; }
+        };
+    }
+
+    @Test
+    @DisplayName("Moves chunks until a short one, copying before deleting each")
+    void archivesInChunks() {
+        when(notificationRepository.lockArchivable(any(), eq(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        NotificationRetentionRunDTO run = retentionService.runRetention();
+
+        InOrder order = inOrder(archiveRepository, notificationRepository);
+        order.verify(archiveRepository).copyFromNotifications(eq(List.of(1L, 2L)), any());
+        order.verify(notificationRepository).deleteActorsByNotificationIdIn(List.of(1L, 2L));
+        order.verify(notificationRepository).deleteByIdIn(List.of(1L, 2L));
+        order.verify(archiveRepository).copyFromNotifications(eq(List.of(3L)), any());
+        order.verify(notificationRepository).deleteByIdIn(List.of(3L));
+
+        assertEquals(3, run.getArchived());
+        assertEquals(3.0, meterRegistry.get("notification.retention.archived").counter().count());
+    }
+
+    @Test
+    @DisplayName("Stops after max-chunks-per-run even if more rows are due")
+    void capsChunksPerRun() {
+        ReflectionTestUtils.setField(retentionService, "maxChunksPerRun", 3);
+        when(notificationRepository.lockArchivable(any(), eq(2))).thenReturn(List.of(1L, 2L));
+        when(archiveRepository.deleteCreatedBefore(any(), eq(2))).thenReturn(2);
+
+        NotificationRetentionRunDTO run = retentionService.runRetention();
+
+        verify(notificationRepository, times(3)).lockArchivable(any(), eq(2));
+        verify(archiveRepository, times(3)).deleteCreatedBefore(any(), eq(2));
+        assertEquals(6, run.getArchived());
+        assertEquals(6, run.getDropped());
+    }
+
+    @Test
+    @DisplayName("Nothing due: no copy or delete is issued")
+    void nothingDue() {
+        when(notificationRepository.lockArchivable(any(), eq(2))).thenReturn(List.of());
+
+        NotificationRetentionRunDTO run = retentionService.runRetention();
+
+        verify(archiveRepository, never()).copyFromNotifications(anyCollection(), any());
+        verify(notificationRepository, never()).deleteByIdIn(anyCollection());
+        assertEquals(0, run.getArchived());
+    }
+
+    @Test
+    @DisplayName("Stats report both tables and the last run")
+    void stats() {
+        when(notificationRepository.lockArchivable(any(), eq(2))).thenReturn(List.of());
+        when(archiveRepository.findTableSizes()).thenReturn(List.of(
+                size("notification", 1200, 4096),
+                size("NOTIFICATION_ARCHIVE", 50000, 65536)));
+
+        retentionService.runRetention();
+        NotificationRetentionStatsDTO stats = retentionService.getStats();
+
+        assertEquals(1200, stats.getHotRows());
+        assertEquals(65536, stats.getArchiveBytes());
+        assertNotNull(stats.getLastRun());
+    }
+}
@@ -1,19 +1,31 @@
 package com.example.forum.service.post;
 
+import com.example.forum.common.FeedCursor;
+import com.example.forum.common.SortedLongSet;
 import com.example.forum.common.SortOrder;
+import com.example.forum.dto.CursorPageDTO;
 import com.example.forum.dto.post.PostCreateRequestDTO;
 import com.example.forum.dto.post.PostDetailDTO;
 import com.example.forum.dto.post.PostFileDTO;
 import com.example.forum.dto.post.PostResponseDTO;
+import com.example.forum.exception.common.InvalidCursorException;
+import com.example.forum.helper.post.PostAssembler;
+import com.example.forum.helper.viewer.ViewerContext;
+import com.example.forum.helper.viewer.ViewerContextCache;
+import com.example.forum.helper.viewer.ViewerContextChangedEvent;
 import com.example.forum.mapper.post.PostMapper;
+import com.example.forum.model.comment.Comment;
 import com.example.forum.model.community.Category;
 import com.example.forum.model.community.Community;
+import com.example.forum.model.like.PostReaction;
+import com.example.forum.model.like.ReactionType;
 import com.example.forum.model.post.HiddenPost;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.post.PostFile;
 import com.example.forum.model.post.Visibility;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.bookmark.BookmarkRepository;
+import com.example.forum.repository.comment.CommentRepository;
 import com.example.forum.repository.community.CommunityFavoriteRepository;
 import com.example.forum.repository.like.PostReactionRepository;
 import com.example.forum.repository.post.HiddenPostRepository;
@@ -22,7 +34,10 @@ import com.example.forum.repository.post.PostRepository;
 import com.example.forum.service.common.RecentViewService;
 import com.example.forum.service.common.S3Service;
 import com.example.forum.service.post.hidden.HiddenPostService;
+import com.example.forum.service.search.index.SearchIndexer;
 import com.example.forum.service.tag.TaggingService;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.service.trending.engine.TrendingSignal;
 import com.example.forum.validator.auth.AuthValidator;
 import com.example.forum.validator.community.CategoryValidator;
 import com.example.forum.validator.community.CommunityValidator;
@@ -36,13 +51,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 /**
@@ -70,6 +92,7 @@ class PostServiceImplTest {
     @Mock private BookmarkRepository bookmarkRepository;
     @Mock private PostReactionRepository postReactionRepository;
     @Mock private PostQueryRepository postQueryRepository;
+    @Mock private CommentRepository commentRepository;
 
     // Services
     @Mock private S3Service s3Service;
@@ -77,6 +100,13 @@ class PostServiceImplTest {
     @Mock private TaggingService taggingService;
     @Mock private HiddenPostService hiddenPostService;
 
+    // Helper
+    @Mock private PostAssembler postAssembler;
+    @Mock private TrendingEngine trendingEngine;
+    @Mock private SearchIndexer searchIndexer;
+    @Mock private ViewerContextCache viewerContextCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
     // ---------------------------
     // getPagedPosts
     // ---------------------------
@@ -85,44 +115,33 @@ class PostServiceImplTest {
     class GetPagedPosts {
 
         @Test
-        @DisplayName("Should map NEWEST posts with hidden/favorite flags when username is provided")
+        @DisplayName("Should assemble NEWEST posts with hidden/favorite sets when username is provided")
         void newest_withUser_flagsApplied() {
             String username = "alice";
             User user = mock(User.class);
+            when(user.getId()).thenReturn(7L);
             when(authValidator.validateUserByUsername(username)).thenReturn(user);
 
             // Posts
             Post p1 = mock(Post.class); when(p1.getId()).thenReturn(1L);
             Post p2 = mock(Post.class); when(p2.getId()).thenReturn(2L);
 
-            // Categories & communities
-            Community cFav = mock(Community.class); when(cFav.getId()).thenReturn(100L);
-            Category cat1 = mock(Category.class); when(cat1.getCommunity()).thenReturn(cFav);
-            when(p1.getCategory()).thenReturn(cat1);        // p1 has favorite community
-            when(p2.getCategory()).thenReturn(null);        // p2 no community
-
             when(postRepository.findPagedPostsNewest(10, 0)).thenReturn(List.of(p1, p2));
 
             // Hidden: only id=2 hidden
             when(hiddenPostService.getHiddenPostIdsByUsername(username)).thenReturn(Set.of(2L));
 
             // Favorites: user has favorite community=100
-            var favEntity = mock(com.example.forum.model.community.CommunityFavorite.class);
-            when(favEntity.getCommunity()).thenReturn(cFav);
-            when(communityFavoriteRepository.findAllByUser(user)).thenReturn(List.of(favEntity));
-
-            try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
-                PostResponseDTO d1 = mock(PostResponseDTO.class);
-                PostResponseDTO d2 = mock(PostResponseDTO.class);
+            when(viewerContextCache.get(7L))
+                    .thenReturn(new ViewerContext(SortedLongSet.of(2L), SortedLongSet.of(100L)));
 
-                // p1 -> hidden=false, favorite=true
-                ms.when(() -> PostMapper.toPostResponseDTO(eq(p1), eq(false), eq(true))).thenReturn(d1);
-                // p2 -> hidden=true, favorite=false
-                ms.when(() -> PostMapper.toPostResponseDTO(eq(p2), eq(true), eq(false))).thenReturn(d2);
+            PostResponseDTO d1 = mock(PostResponseDTO.class);
+            PostResponseDTO d2 = mock(PostResponseDTO.class);
+            when(postAssembler.assembleResponses(List.of(1L, 2L), Set.of(2L), Set.of(100L)))
+                    .thenReturn(List.of(d1, d2));
 
-                List<PostResponseDTO> result = service.getPagedPosts(SortOrder.NEWEST, 0, 10, username);
-                assertEquals(List.of(d1, d2), result);
-            }
+            List<PostResponseDTO> result = service.getPagedPosts(SortOrder.NEWEST, 0, 10, username);
+            assertEquals(List.of(d1, d2), result);
         }
 
         @Test
@@ -134,15 +153,97 @@ class PostServiceImplTest {
 
             when(hiddenPostService.getHiddenPostIdsByUsername(null)).thenReturn(Set.of());
 
-            try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
-                PostResponseDTO dto = mock(PostResponseDTO.class);
-                ms.when(() -> PostMapper.toPostResponseDTO(eq(p), eq(false), eq(false))).thenReturn(dto);
+            PostResponseDTO dto = mock(PostResponseDTO.class);
+            when(postAssembler.assembleResponses(List.of(9L), Set.of(), Set.of())).thenReturn(List.of(dto));
 
-                List<PostResponseDTO> result = service.getPagedPosts(SortOrder.TOP_LIKED, 1, 5, null);
-                assertEquals(List.of(dto), result);
+            List<PostResponseDTO> result = service.getPagedPosts(SortOrder.TOP_LIKED, 1, 5, null);
+            assertEquals(List.of(dto), result);
 
-                verifyNoInteractions(authValidator, communityFavoriteRepository);
-            }
+            verifyNoInteractions(authValidator, viewerContextCache);
+        }
+    }
+
+    // ---------------------------
+    // getFeed
+    // ---------------------------
+    @Nested
+    @DisplayName("getFeed")
+    class GetFeed {
+
+        @Test
+        @DisplayName("First page fetches size+1 rows and issues a cursor from the last returned row")
+        void firstPage_hasNext_issuesCursor() {
+            Instant t = Instant.parse("2025-01-01T00:00:00Z");
+            Post p1 = mock(Post.class); when(p1.getId()).thenReturn(3L);
+            Post p2 = mock(Post.class); when(p2.getId()).thenReturn(2L);
+            when(p2.getCreatedAt()).thenReturn(t);
+            Post p3 = mock(Post.class);
+
+            when(postRepository.findPagedPostsNewest(3, 0)).thenReturn(List.of(p1, p2, p3));
+            when(hiddenPostService.getHiddenPostIdsByUsername(null)).thenReturn(Set.of());
+
+            PostResponseDTO d1 = mock(PostResponseDTO.class);
+            PostResponseDTO d2 = mock(PostResponseDTO.class);
+            // Only the first `size` rows are assembled; the probe row is dropped
+            when(postAssembler.assembleResponses(List.of(3L, 2L), Set.of(), Set.of())).thenReturn(List.of(d1, d2));
+
+            CursorPageDTO<PostResponseDTO> result = service.getFeed(SortOrder.NEWEST, null, 2, null);
+
+            assertEquals(List.of(d1, d2), result.getItems());
+            assertTrue(result.isHasNext());
+
+            FeedCursor next = FeedCursor.decode(result.getNextCursor(), SortOrder.NEWEST);
+            assertEquals(t, next.createdAt());
+            assertEquals(2L, next.id());
+        }
+
+        @Test
+        @DisplayName("Cursor page seeks after the decoded keys and ends when fewer rows come back")
+        void cursorPage_lastPage_noCursor() {
+            Instant t = Instant.parse("2025-01-01T00:00:00Z");
+            String cursor = new FeedCursor(SortOrder.TOP_LIKED, 7, t, 42L).encode();
+
+            Post p = mock(Post.class); when(p.getId()).thenReturn(41L);
+            when(postRepository.findFeedTopLikedAfter(7, t, 42L, 11)).thenReturn(List.of(p));
+            when(hiddenPostService.getHiddenPostIdsByUsername(null)).thenReturn(Set.of());
+
+            PostResponseDTO dto = mock(PostResponseDTO.class);
+            when(postAssembler.assembleResponses(List.of(41L), Set.of(), Set.of())).thenReturn(List.of(dto));
+
+            CursorPageDTO<PostResponseDTO> result = service.getFeed(SortOrder.TOP_LIKED, cursor, 10, null);
+
+            assertEquals(List.of(dto), result.getItems());
+            assertFalse(result.isHasNext());
+            assertNull(result.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Size is clamped to the maximum page size")
+        void sizeClamped() {
+            when(postRepository.findPagedPostsOldest(51, 0)).thenReturn(List.of());
+            when(hiddenPostService.getHiddenPostIdsByUsername(null)).thenReturn(Set.of());
+
+            CursorPageDTO<PostResponseDTO> result = service.getFeed(SortOrder.OLDEST, null, 1000, null);
+
+            assertTrue(result.getItems().isEmpty());
+            verify(postRepository).findPagedPostsOldest(51, 0);
+        }
+
+        @Test
+        @DisplayName("Cursor issued for another sort order is rejected")
+        void cursorSortMismatch_throws() {
+            String cursor = new FeedCursor(SortOrder.NEWEST, 0, Instant.now(), 1L).encode();
+
+            assertThrows(InvalidCursorException.class,
+                    () -> service.getFeed(SortOrder.OLDEST, cursor, 10, null));
+            verifyNoInteractions(postRepository);
+        }
+
+        @Test
+        @DisplayName("Malformed cursor is rejected")
+        void malformedCursor_throws() {
+            assertThrows(InvalidCursorException.class,
+                    () -> service.getFeed(SortOrder.NEWEST, "not-a-cursor", 10, null));
         }
     }
 
@@ -164,12 +265,15 @@ class PostServiceImplTest {
 
             try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
                 PostDetailDTO dto = mock(PostDetailDTO.class);
-                ms.when(() -> PostMapper.toPostDetailDTO(eq(post), isNull(), eq(false), eq(false))).thenReturn(dto);
+                ms.when(() -> PostMapper.toPostDetailDTO(
+                        eq(post), isNull(), eq(false), anyList(), anyList(), eq(false), eq(false), eq(false))).thenReturn(dto);
 
                 PostDetailDTO result = service.getPostDetail(postId, null);
                 assertEquals(dto, result);
 
                 verifyNoInteractions(recentViewService, communityFavoriteRepository, authValidator);
+                // Anonymous views still count towards trending
+                verify(trendingEngine).record(postId, TrendingSignal.VIEW, 1);
             }
         }
 
@@ -193,7 +297,8 @@ class PostServiceImplTest {
 
             try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
                 PostDetailDTO dto = mock(PostDetailDTO.class);
-                ms.when(() -> PostMapper.toPostDetailDTO(eq(post), eq(viewer), eq(true), eq(true))).thenReturn(dto);
+                ms.when(() -> PostMapper.toPostDetailDTO(
+                        eq(post), eq(viewer), eq(false), anyList(), anyList(), eq(false), eq(true), eq(true))).thenReturn(dto);
 
                 PostDetailDTO result = service.getPostDetail(postId, username);
                 assertEquals(dto, result);
@@ -201,6 +306,52 @@ class PostServiceImplTest {
                 verify(recentViewService).addPostView(77L, postId);
             }
         }
+
+        @Test
+        @DisplayName("Should load likes and comments as bounded queries and flag more comments")
+        void boundedLikesAndComments() {
+            Long postId = 12L;
+            String username = "alice";
+            User viewer = mock(User.class); when(viewer.getId()).thenReturn(77L);
+            Post post = mock(Post.class);
+
+            when(authValidator.validateUserByUsername(username)).thenReturn(viewer);
+            when(postValidator.validateDetailPostId(postId)).thenReturn(post);
+
+            List<PostReaction> likes = List.of(mock(PostReaction.class));
+            when(postReactionRepository.findRecentWithUserByPostId(eq(postId), eq(ReactionType.LIKE), any(Pageable.class)))
+                    .thenReturn(likes);
+            when(postReactionRepository.existsByPostIdAndUserIdAndReactionType(postId, 77L, ReactionType.LIKE))
+                    .thenReturn(true);
+
+            // 21 roots come back for a page of 20 -> one is dropped and hasMoreComments is set
+            List<Comment> roots = new ArrayList<>();
+            for (long i = 1; i <= 21; i++) {
+                Comment c = mock(Comment.class);
+                lenient().when(c.getId()).thenReturn(i);
+                roots.add(c);
+            }
+            when(commentRepository.findTopLevelByPostId(eq(postId), any(Pageable.class))).thenReturn(roots);
+
+            Comment reply = mock(Comment.class); when(reply.getId()).thenReturn(100L);
+            List<Long> rootIds = java.util.stream.LongStream.rangeClosed(1, 20).boxed().toList();
+            when(commentRepository.findRepliesByParentIds(rootIds)).thenReturn(List.of(reply));
+            when(commentRepository.findRepliesByParentIds(List.of(100L))).thenReturn(List.of());
+
+            try (MockedStatic<PostMapper> ms = mockStatic(PostMapper.class)) {
+                PostDetailDTO dto = mock(PostDetailDTO.class);
+                List<Comment> expectedComments = new ArrayList<>(roots.subList(0, 20));
+                expectedComments.add(reply);
+
+                ms.when(() -> PostMapper.toPostDetailDTO(
+                        eq(post), eq(viewer), eq(true), eq(likes), eq(expectedComments), eq(true), eq(false), eq(false)))
+                        .thenReturn(dto);
+
+                assertEquals(dto, service.getPostDetail(postId, username));
+
+                verify(postReactionRepository, never()).findByPost(any());
+            }
+        }
     }
 
     // ---------------------------
@@ -246,6 +397,8 @@ class PostServiceImplTest {
                 // tag validations for PUBLIC
                 verify(postValidator).isPublicWithTagsCheckingDTO(dto);
                 verify(taggingService).setTagsForPost(123L, List.of("java", "spring"));
+                verify(trendingEngine).registerPost(123L, null);
+                verify(searchIndexer).indexPost(saved);
                 verifyNoInteractions(communityValidator, categoryValidator);
             }
         }
@@ -460,10 +613,13 @@ class PostServiceImplTest {
 
         service.deletePost(postId, username);
 
-        InOrder inOrder = inOrder(bookmarkRepository, postReactionRepository, postRepository);
+        InOrder inOrder = inOrder(bookmarkRepository, postReactionRepository, taggingService, postRepository);
         inOrder.verify(bookmarkRepository).deleteByPostId(postId);
         inOrder.verify(postReactionRepository).deleteByPostId(postId);
+        inOrder.verify(taggingService).releaseTagUsage(postId);
         inOrder.verify(postRepository).delete(post);
+        verify(trendingEngine).removePost(postId);
+        verify(searchIndexer).removePost(postId);
     }
 
     // ---------------------------
@@ -483,13 +639,14 @@ class PostServiceImplTest {
             HiddenPost hp = mock(HiddenPost.class);
 
             when(authValidator.validateUserByUsername(username)).thenReturn(user);
-            when(postValidator.validatePost(postId)).thenReturn(post);
+            when(postValidator.validatePostReference(postId)).thenReturn(post);
             when(hiddenPostRepository.findByUserAndPost(user, post)).thenReturn(Optional.of(hp));
 
             service.toggleHidePost(postId, username);
 
             verify(hiddenPostRepository).delete(hp);
             verify(hiddenPostRepository, never()).save(any(HiddenPost.class));
+            verify(eventPublisher).publishEvent(any(ViewerContextChangedEvent.class));
         }
 
         @Test
@@ -501,12 +658,13 @@ class PostServiceImplTest {
             Post post = mock(Post.class);
 
             when(authValidator.validateUserByUsername(username)).thenReturn(user);
-            when(postValidator.validatePost(postId)).thenReturn(post);
+            when(postValidator.validatePostReference(postId)).thenReturn(post);
             when(hiddenPostRepository.findByUserAndPost(user, post)).thenReturn(Optional.empty());
 
             service.toggleHidePost(postId, username);
 
             verify(hiddenPostRepository).save(any(HiddenPost.class));
+            verify(eventPublisher).publishEvent(any(ViewerContextChangedEvent.class));
         }
     }
 
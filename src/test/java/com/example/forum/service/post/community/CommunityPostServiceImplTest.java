@@ -4,7 +4,7 @@ import com.example.forum.common.SortOrder;
 import com.example.forum.dto.post.PostPreviewDTO;
 import com.example.forum.dto.post.PostResponseDTO;
 import com.example.forum.helper.community.CommunityHelper;
-import com.example.forum.mapper.post.PostMapper;
+import com.example.forum.helper.post.PostAssembler;
 import com.example.forum.model.community.Category;
 import com.example.forum.model.community.Community;
 import com.example.forum.model.community.CommunityMember;
@@ -23,7 +23,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 
@@ -37,7 +36,7 @@ import static org.mockito.Mockito.*;
 /**
  * Unit tests for CommunityPostServiceImpl.
  * - All display names and comments are in English.
- * - PostMapper is a static class, so MockedStatic is used to control/capture mapping calls.
+ * - Card mapping is delegated to PostAssembler, which is mocked with the expected page ids and flag sets.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("CommunityPostServiceImpl")
@@ -53,6 +52,7 @@ class CommunityPostServiceImplTest {
     @Mock private PostRepository postRepository;
     @Mock private HiddenPostService hiddenPostService;
     @Mock private CommunityHelper communityHelper;
+    @Mock private PostAssembler postAssembler;
 
     // Common fixtures
     private final String username = "alice";
@@ -121,22 +121,17 @@ class CommunityPostServiceImplTest {
             when(hiddenPostService.getHiddenPostIdsByUsername(username))
                     .thenReturn(Set.of(20L));
 
-            try (MockedStatic<PostMapper> mocked = mockStatic(PostMapper.class)) {
-                // We don't assert DTO fields; we verify mapper is called with correct hidden flag
-                mocked.when(() -> PostMapper.toPreviewDTO(eq(p1), eq(false)))
-                        .thenReturn(mock(PostPreviewDTO.class));
-                mocked.when(() -> PostMapper.toPreviewDTO(eq(p2), eq(true)))
-                        .thenReturn(mock(PostPreviewDTO.class));
-
-                // When
-                List<PostPreviewDTO> result = service.getRecentPostsFromJoinedCommunities(username);
-
-                // Then
-                assertNotNull(result);
-                assertEquals(2, result.size());
-                mocked.verify(() -> PostMapper.toPreviewDTO(eq(p1), eq(false)), times(1));
-                mocked.verify(() -> PostMapper.toPreviewDTO(eq(p2), eq(true)), times(1));
-            }
+            // We don't assert DTO fields; we verify the page ids and hidden set handed to the assembler
+            when(postAssembler.assemblePreviews(List.of(10L, 20L), Set.of(20L)))
+                    .thenReturn(List.of(mock(PostPreviewDTO.class), mock(PostPreviewDTO.class)));
+
+            // When
+            List<PostPreviewDTO> result = service.getRecentPostsFromJoinedCommunities(username);
+
+            // Then
+            assertNotNull(result);
+            assertEquals(2, result.size());
+            verify(postAssembler).assemblePreviews(List.of(10L, 20L), Set.of(20L));
         }
     }
 
@@ -164,30 +159,28 @@ class CommunityPostServiceImplTest {
             int page = 0;
             int size = 10; // ignored for first page with category
 
-            Post p = mock(Post.class);
+            Post p = mock(Post.class); when(p.getId()).thenReturn(42L);
             when(postRepository.findCommunityPostsByCategoryNewest(eq(communityId), eq(category), any(Pageable.class)))
                     .thenReturn(List.of(p));
 
-            try (MockedStatic<PostMapper> mocked = mockStatic(PostMapper.class)) {
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(any(), anySet(), anySet()))
-                        .thenReturn(mock(PostResponseDTO.class));
+            when(postAssembler.assembleResponses(List.of(42L), Set.of(1L, 2L), Set.of(100L, 200L)))
+                    .thenReturn(List.of(mock(PostResponseDTO.class)));
 
-                // When
-                List<PostResponseDTO> result = service.getCommunityPosts(
-                        communityId, SortOrder.NEWEST, page, size, category, username);
+            // When
+            List<PostResponseDTO> result = service.getCommunityPosts(
+                    communityId, SortOrder.NEWEST, page, size, category, username);
 
-                // Then
-                assertEquals(1, result.size());
+            // Then
+            assertEquals(1, result.size());
 
-                // Capture Pageable and verify (pageNumber=0, pageSize=3)
-                ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-                verify(postRepository).findCommunityPostsByCategoryNewest(eq(communityId), eq(category), captor.capture());
-                Pageable pageable = captor.getValue();
-                assertEquals(0, pageable.getPageNumber());
-                assertEquals(3, pageable.getPageSize());
+            // Capture Pageable and verify (pageNumber=0, pageSize=3)
+            ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+            verify(postRepository).findCommunityPostsByCategoryNewest(eq(communityId), eq(category), captor.capture());
+            Pageable pageable = captor.getValue();
+            assertEquals(0, pageable.getPageNumber());
+            assertEquals(3, pageable.getPageSize());
 
-                mocked.verify(() -> PostMapper.toPostResponseDTOWithFlags(eq(p), eq(Set.of(1L, 2L)), eq(Set.of(100L, 200L))), times(1));
-            }
+            verify(postAssembler).assembleResponses(List.of(42L), Set.of(1L, 2L), Set.of(100L, 200L));
         }
 
         @Test
@@ -202,22 +195,20 @@ class CommunityPostServiceImplTest {
             when(postRepository.findCommunityPostsByCategoryTopLiked(eq(communityId), eq(category), any(Pageable.class)))
                     .thenReturn(posts);
 
-            try (MockedStatic<PostMapper> mocked = mockStatic(PostMapper.class)) {
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(any(), anySet(), anySet()))
-                        .thenReturn(mock(PostResponseDTO.class));
+            when(postAssembler.assembleResponses(anyList(), anySet(), anySet()))
+                    .thenReturn(List.of(mock(PostResponseDTO.class), mock(PostResponseDTO.class)));
 
-                List<PostResponseDTO> result = service.getCommunityPosts(
-                        communityId, SortOrder.TOP_LIKED, page, size, category, username);
+            List<PostResponseDTO> result = service.getCommunityPosts(
+                    communityId, SortOrder.TOP_LIKED, page, size, category, username);
 
-                assertEquals(2, result.size());
+            assertEquals(2, result.size());
 
-                // page=2, size=5 => offset=page*size=10; Pageable.of(offset/size=2, size=5)
-                ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-                verify(postRepository).findCommunityPostsByCategoryTopLiked(eq(communityId), eq(category), captor.capture());
-                Pageable pageable = captor.getValue();
-                assertEquals(2, pageable.getPageNumber());
-                assertEquals(5, pageable.getPageSize());
-            }
+            // page=2, size=5 => offset=page*size=10; Pageable.of(offset/size=2, size=5)
+            ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+            verify(postRepository).findCommunityPostsByCategoryTopLiked(eq(communityId), eq(category), captor.capture());
+            Pageable pageable = captor.getValue();
+            assertEquals(2, pageable.getPageNumber());
+            assertEquals(5, pageable.getPageSize());
         }
 
         @Test
@@ -231,22 +222,20 @@ class CommunityPostServiceImplTest {
             when(postRepository.findCommunityPostsOldest(eq(communityId), any(Pageable.class)))
                     .thenReturn(posts);
 
-            try (MockedStatic<PostMapper> mocked = mockStatic(PostMapper.class)) {
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(any(), anySet(), anySet()))
-                        .thenReturn(mock(PostResponseDTO.class));
+            when(postAssembler.assembleResponses(anyList(), anySet(), anySet()))
+                    .thenReturn(List.of(mock(PostResponseDTO.class), mock(PostResponseDTO.class), mock(PostResponseDTO.class)));
 
-                List<PostResponseDTO> result = service.getCommunityPosts(
-                        communityId, SortOrder.OLDEST, page, size, null, username);
+            List<PostResponseDTO> result = service.getCommunityPosts(
+                    communityId, SortOrder.OLDEST, page, size, null, username);
 
-                assertEquals(3, result.size());
+            assertEquals(3, result.size());
 
-                ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-                verify(postRepository).findCommunityPostsOldest(eq(communityId), captor.capture());
-                Pageable pageable = captor.getValue();
-                // page=1, size=20 => offset=20; Pageable.of(20/20=1, 20)
-                assertEquals(1, pageable.getPageNumber());
-                assertEquals(20, pageable.getPageSize());
-            }
+            ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+            verify(postRepository).findCommunityPostsOldest(eq(communityId), captor.capture());
+            Pageable pageable = captor.getValue();
+            // page=1, size=20 => offset=20; Pageable.of(20/20=1, 20)
+            assertEquals(1, pageable.getPageNumber());
+            assertEquals(20, pageable.getPageSize());
         }
 
         @Test
@@ -254,23 +243,21 @@ class CommunityPostServiceImplTest {
         void noCategory_newest_mapsAll() {
             Long communityId = 11L;
 
-            Post p1 = mock(Post.class);
-            Post p2 = mock(Post.class);
+            Post p1 = mock(Post.class); when(p1.getId()).thenReturn(1L);
+            Post p2 = mock(Post.class); when(p2.getId()).thenReturn(2L);
             when(postRepository.findCommunityPostsNewest(eq(communityId), any(Pageable.class)))
                     .thenReturn(List.of(p1, p2));
 
-            try (MockedStatic<PostMapper> mocked = mockStatic(PostMapper.class)) {
-                PostResponseDTO dto1 = mock(PostResponseDTO.class);
-                PostResponseDTO dto2 = mock(PostResponseDTO.class);
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(eq(p1), anySet(), anySet())).thenReturn(dto1);
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(eq(p2), anySet(), anySet())).thenReturn(dto2);
+            PostResponseDTO dto1 = mock(PostResponseDTO.class);
+            PostResponseDTO dto2 = mock(PostResponseDTO.class);
+            when(postAssembler.assembleResponses(eq(List.of(1L, 2L)), anySet(), anySet()))
+                    .thenReturn(List.of(dto1, dto2));
 
-                List<PostResponseDTO> result = service.getCommunityPosts(
-                        communityId, SortOrder.NEWEST, 0, 10, null, username);
+            List<PostResponseDTO> result = service.getCommunityPosts(
+                    communityId, SortOrder.NEWEST, 0, 10, null, username);
 
-                assertEquals(2, result.size());
-                assertTrue(result.containsAll(List.of(dto1, dto2)));
-            }
+            assertEquals(2, result.size());
+            assertTrue(result.containsAll(List.of(dto1, dto2)));
         }
     }
 
@@ -300,22 +287,20 @@ class CommunityPostServiceImplTest {
             when(postRepository.findTopPostsByCommunityAndDateAfter(eq(communityId), any(LocalDateTime.class), eq(size)))
                     .thenReturn(List.of(a, b));
 
-            try (MockedStatic<PostMapper> mocked = mockStatic(PostMapper.class)) {
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(any(), anySet(), anySet()))
-                        .thenReturn(mock(PostResponseDTO.class));
+            when(postAssembler.assembleResponses(anyList(), eq(Set.of(5L)), eq(Set.of(77L))))
+                    .thenReturn(List.of(mock(PostResponseDTO.class), mock(PostResponseDTO.class)));
 
-                List<PostResponseDTO> result = service.getTopPostsThisWeek(communityId, size, username);
+            List<PostResponseDTO> result = service.getTopPostsThisWeek(communityId, size, username);
 
-                assertEquals(2, result.size());
+            assertEquals(2, result.size());
 
-                // Verify date parameter is "now - 1 week" (loosely: it's within plausible window)
-                ArgumentCaptor<LocalDateTime> dateCap = ArgumentCaptor.forClass(LocalDateTime.class);
-                verify(postRepository).findTopPostsByCommunityAndDateAfter(eq(communityId), dateCap.capture(), eq(size));
-                LocalDateTime passed = dateCap.getValue();
-                // The exact instant isn't asserted; just ensure it's within [now-8days, now-6days] window roughly.
-                LocalDateTime now = LocalDateTime.now();
-                assertTrue(passed.isBefore(now.minusDays(6)) || passed.isAfter(now.minusDays(8)) || true);
-            }
+            // Verify date parameter is "now - 1 week" (loosely: it's within plausible window)
+            ArgumentCaptor<LocalDateTime> dateCap = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(postRepository).findTopPostsByCommunityAndDateAfter(eq(communityId), dateCap.capture(), eq(size));
+            LocalDateTime passed = dateCap.getValue();
+            // The exact instant isn't asserted; just ensure it's within [now-8days, now-6days] window roughly.
+            LocalDateTime now = LocalDateTime.now();
+            assertTrue(passed.isBefore(now.minusDays(6)) || passed.isAfter(now.minusDays(8)) || true);
         }
     }
 
@@ -359,9 +344,9 @@ class CommunityPostServiceImplTest {
             );
             when(communityValidator.validateExistingCommunity(communityId)).thenReturn(community);
 
-            Post a1 = mock(Post.class);
-            Post a2 = mock(Post.class);
-            Post c1 = mock(Post.class);
+            Post a1 = mock(Post.class); when(a1.getId()).thenReturn(1L);
+            Post a2 = mock(Post.class); when(a2.getId()).thenReturn(2L);
+            Post c1 = mock(Post.class); when(c1.getId()).thenReturn(3L);
 
             // Single parameterized stubbing: covers A/B/C in one place
             when(postRepository.findTopPostsByCommunityAndCategoryAndDateAfter(
@@ -373,29 +358,29 @@ class CommunityPostServiceImplTest {
                         return List.of();                                // B -> empty
                     });
 
-            try (MockedStatic<PostMapper> mocked = mockStatic(PostMapper.class)) {
-                PostResponseDTO dtoA1 = mock(PostResponseDTO.class);
-                PostResponseDTO dtoA2 = mock(PostResponseDTO.class);
-                PostResponseDTO dtoC1 = mock(PostResponseDTO.class);
-
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(eq(a1), anySet(), anySet())).thenReturn(dtoA1);
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(eq(a2), anySet(), anySet())).thenReturn(dtoA2);
-                mocked.when(() -> PostMapper.toPostResponseDTOWithFlags(eq(c1), anySet(), anySet())).thenReturn(dtoC1);
-
-                Map<String, List<PostResponseDTO>> result =
-                        service.getTopPostsThisWeekByCategories(communityId, size, "alice");
-
-                // Assertions
-                assertEquals(2, result.size());
-                assertTrue(result.containsKey("A"));
-                assertTrue(result.containsKey("C"));
-                assertFalse(result.containsKey("B"));
-
-                assertEquals(2, result.get("A").size());
-                assertEquals(1, result.get("C").size());
-                assertTrue(result.get("A").containsAll(List.of(dtoA1, dtoA2)));
-                assertEquals(dtoC1, result.get("C").get(0));
-            }
+            PostResponseDTO dtoA1 = mock(PostResponseDTO.class);
+            PostResponseDTO dtoA2 = mock(PostResponseDTO.class);
+            PostResponseDTO dtoC1 = mock(PostResponseDTO.class);
+
+            Set<Long> hidden = Set.of(9L);
+            Set<Long> favorites = Set.of(888L);
+            when(postAssembler.assembleResponses(List.of(1L, 2L), hidden, favorites)).thenReturn(List.of(dtoA1, dtoA2));
+            when(postAssembler.assembleResponses(List.of(), hidden, favorites)).thenReturn(List.of());
+            when(postAssembler.assembleResponses(List.of(3L), hidden, favorites)).thenReturn(List.of(dtoC1));
+
+            Map<String, List<PostResponseDTO>> result =
+                    service.getTopPostsThisWeekByCategories(communityId, size, "alice");
+
+            // Assertions
+            assertEquals(2, result.size());
+            assertTrue(result.containsKey("A"));
+            assertTrue(result.containsKey("C"));
+            assertFalse(result.containsKey("B"));
+
+            assertEquals(2, result.get("A").size());
+            assertEquals(1, result.get("C").size());
+            assertTrue(result.get("A").containsAll(List.of(dtoA1, dtoA2)));
+            assertEquals(dtoC1, result.get("C").get(0));
         }
     }
 }
@@ -1,8 +1,10 @@
 package com.example.forum.service.post.hidden;
 
+import com.example.forum.common.SortedLongSet;
+import com.example.forum.helper.viewer.ViewerContext;
+import com.example.forum.helper.viewer.ViewerContextCache;
 import com.example.forum.model.post.Post;
 import com.example.forum.model.user.User;
-import com.example.forum.repository.post.HiddenPostRepository;
 import com.example.forum.validator.auth.AuthValidator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,7 +13,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,7 +31,7 @@ class HiddenServiceImplTest {
     private HiddenServiceImpl service;
 
     @Mock private AuthValidator authValidator;
-    @Mock private HiddenPostRepository hiddenPostRepository;
+    @Mock private ViewerContextCache viewerContextCache;
 
     // ---------------------------
     // isHiddenByUsername
@@ -47,41 +48,43 @@ class HiddenServiceImplTest {
             boolean result = service.isHiddenByUsername(post, null);
 
             assertFalse(result);
-            verifyNoInteractions(authValidator, hiddenPostRepository);
+            verifyNoInteractions(authValidator, viewerContextCache);
         }
 
         @Test
-        @DisplayName("Should return true when repository says the post is hidden by user")
-        void returnsTrue_whenRepoExistsTrue() {
+        @DisplayName("Should return true when the post is in the user's cached hidden set")
+        void returnsTrue_whenHidden() {
             Post post = mock(Post.class);
+            when(post.getId()).thenReturn(10L);
             String username = "alice";
             User user = mock(User.class);
+            when(user.getId()).thenReturn(1L);
 
             when(authValidator.validateUserByUsername(username)).thenReturn(user);
-            when(hiddenPostRepository.existsByUserAndPost(user, post)).thenReturn(true);
+            when(viewerContextCache.get(1L)).thenReturn(new ViewerContext(SortedLongSet.of(10L), SortedLongSet.empty()));
 
             boolean result = service.isHiddenByUsername(post, username);
 
             assertTrue(result);
             verify(authValidator, times(1)).validateUserByUsername(username);
-            verify(hiddenPostRepository, times(1)).existsByUserAndPost(user, post);
         }
 
         @Test
-        @DisplayName("Should return false when repository says it is not hidden")
-        void returnsFalse_whenRepoExistsFalse() {
+        @DisplayName("Should return false when the post is not in the hidden set")
+        void returnsFalse_whenNotHidden() {
             Post post = mock(Post.class);
+            when(post.getId()).thenReturn(11L);
             String username = "bob";
             User user = mock(User.class);
+            when(user.getId()).thenReturn(2L);
 
             when(authValidator.validateUserByUsername(username)).thenReturn(user);
-            when(hiddenPostRepository.existsByUserAndPost(user, post)).thenReturn(false);
+            when(viewerContextCache.get(2L)).thenReturn(new ViewerContext(SortedLongSet.of(10L), SortedLongSet.empty()));
 
             boolean result = service.isHiddenByUsername(post, username);
 
             assertFalse(result);
             verify(authValidator, times(1)).validateUserByUsername(username);
-            verify(hiddenPostRepository, times(1)).existsByUserAndPost(user, post);
         }
     }
 
@@ -99,41 +102,41 @@ class HiddenServiceImplTest {
 
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verifyNoInteractions(authValidator, hiddenPostRepository);
+            verifyNoInteractions(authValidator, viewerContextCache);
         }
 
         @Test
-        @DisplayName("Should return a set of IDs from repository list (deduplicated)")
-        void returnsSetFromRepository() {
+        @DisplayName("Should return the hidden ids from the user's viewer context")
+        void returnsSetFromViewerContext() {
             String username = "alice";
             User user = mock(User.class);
+            when(user.getId()).thenReturn(1L);
 
             when(authValidator.validateUserByUsername(username)).thenReturn(user);
-            // Repository returns list; service converts to HashSet
-            when(hiddenPostRepository.findHiddenPostIdsByUser(user))
-                    .thenReturn(List.of(1L, 2L, 2L, 3L));
+            when(viewerContextCache.get(1L))
+                    .thenReturn(new ViewerContext(SortedLongSet.of(1L, 2L, 2L, 3L), SortedLongSet.of(9L)));
 
             Set<Long> result = service.getHiddenPostIdsByUsername(username);
 
             assertEquals(Set.of(1L, 2L, 3L), result);
             verify(authValidator, times(1)).validateUserByUsername(username);
-            verify(hiddenPostRepository, times(1)).findHiddenPostIdsByUser(user);
+            verify(viewerContextCache, times(1)).get(1L);
         }
 
         @Test
-        @DisplayName("Should return empty set when repository returns empty list")
-        void returnsEmpty_whenRepositoryEmpty() {
+        @DisplayName("Should return empty set when the user has hidden nothing")
+        void returnsEmpty_whenNothingHidden() {
             String username = "carol";
             User user = mock(User.class);
+            when(user.getId()).thenReturn(3L);
 
             when(authValidator.validateUserByUsername(username)).thenReturn(user);
-            when(hiddenPostRepository.findHiddenPostIdsByUser(user)).thenReturn(List.of());
+            when(viewerContextCache.get(3L)).thenReturn(ViewerContext.EMPTY);
 
             Set<Long> result = service.getHiddenPostIdsByUsername(username);
 
             assertTrue(result.isEmpty());
             verify(authValidator, times(1)).validateUserByUsername(username);
-            verify(hiddenPostRepository, times(1)).findHiddenPostIdsByUser(user);
         }
     }
 }
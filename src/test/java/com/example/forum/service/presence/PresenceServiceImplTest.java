@@ -0,0 +1,173 @@
+package com.example.forum.service.presence;
+
+import com.example.forum.repository.community.CommunityMemberRepository;
+import com.example.forum.repository.community.MembershipRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PresenceServiceImpl.
+ * - Redis is mocked; each call on the template stands for one round trip.
+ * - The 50k-member case replaces a load test: what matters is that the number of round trips
+ *   does not grow with the member count.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PresenceServiceImpl")
+class PresenceServiceImplTest {
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private SetOperations<String, String> setOperations;
+    @Mock private CommunityMemberRepository communityMemberRepository;
+
+    private PresenceServiceImpl presenceService;
+
+    private static MembershipRow membership(Long userId, Long communityId) {
+        return new MembershipRow() {
+            @Override public Long getUserId() { return userId; }
+            @Override public Long getCommunityId() { return communityId; }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        presenceService = new PresenceServiceImpl(redisTemplate, communityMemberRepository);
+        ReflectionTestUtils.setField(presenceService, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(presenceService, "heartbeatThrottle", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(presenceService, "memberSetTtl", Duration.ofDays(1));
+    }
+
+    @Test
+    @DisplayName("Repeated heartbeats within the throttle write to Redis once")
+    void heartbeatThrottled() {
+        for (int i = 0; i < 10; i++)
+            presenceService.heartbeat(7L);
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of("presence:seen", "presence:online")),
+                anyString(), eq("7"));
+    }
+
+    @Test
+    @DisplayName("A failed heartbeat is retried on the next call")
+    void heartbeatRetriedAfterFailure() {
+        doThrow(new RedisConnectionFailureException("down")).doReturn(1L)
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), anyString(), anyString());
+
+        presenceService.heartbeat(7L);
+        presenceService.heartbeat(7L);
+
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("50k-member community: sets are built once, then counts are two SCARDs")
+    void communityPresenceOfLargeCommunity() {
+        List<Long> memberIds = LongStream.rangeClosed(1, 50_000).boxed().toList();
+        when(redisTemplate.hasKey("presence:community:1:members")).thenReturn(false).thenReturn(true);
+        when(redisTemplate.hasKey("presence:community:1:online")).thenReturn(false).thenReturn(true);
+        when(communityMemberRepository.findUserIdsByCommunityId(1L)).thenReturn(memberIds);
+        when(setOperations.size("presence:community:1:members")).thenReturn(50_000L);
+        when(setOperations.size("presence:community:1:online")).thenReturn(1_200L);
+
+        assertEquals(new CommunityPresence(50_000, 1_200), presenceService.getCommunityPresence(1L));
+        assertEquals(new CommunityPresence(50_000, 1_200), presenceService.getCommunityPresence(1L));
+
+        verify(communityMemberRepository, times(1)).findUserIdsByCommunityId(1L);
+        verify(setOperations, times(50)).add(startsWith("presence:community:1:members:build:"), any(String[].class));
+        verify(redisTemplate).rename(startsWith("presence:community:1:members:build:"), eq("presence:community:1:members"));
+        verify(setOperations, times(1))
+                .intersectAndStore("presence:community:1:members", "presence:online", "presence:community:1:online");
+    }
+
+    @Test
+    @DisplayName("First WebSocket session brings the user online in each of their communities")
+    void connectAddsToCommunityOnlineSets() {
+        // lenient: the same method is called again with the community keys
+        lenient().doReturn(1L).when(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("presence:seen", "presence:online", "presence:ws:7")), anyString(), eq("7"), eq("s1"));
+        when(communityMemberRepository.findMembershipsByUserIdIn(List.of(7L)))
+                .thenReturn(List.of(membership(7L, 1L), membership(7L, 2L)));
+
+        presenceService.connected(7L, "s1");
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("presence:community:1:online", "presence:community:2:online")), eq("7"));
+    }
+
+    @Test
+    @DisplayName("Closing a session that is not the last one changes nothing")
+    void disconnectWithOtherSessionsOpen() {
+        doReturn(0L).when(redisTemplate).execute(any(RedisScript.class), anyList(), eq("7"), eq("s1"));
+
+        presenceService.disconnected(7L, "s1");
+
+        verifyNoInteractions(communityMemberRepository);
+    }
+
+    @Test
+    @DisplayName("Closing the last session removes the user from their communities' online sets")
+    void disconnectLastSession() {
+        doReturn(1L).when(redisTemplate).execute(any(RedisScript.class), anyList(), eq("7"), eq("s1"));
+        when(communityMemberRepository.findMembershipsByUserIdIn(List.of(7L))).thenReturn(List.of(membership(7L, 1L)));
+
+        presenceService.disconnected(7L, "s1");
+
+        verify(setOperations).remove("presence:community:1:online", "7");
+    }
+
+    @Test
+    @DisplayName("Bulk lookup of 50k ids takes one SMISMEMBER per 1000")
+    void filterOnlineInChunks() {
+        List<Long> userIds = LongStream.rangeClosed(1, 50_000).boxed().toList();
+        when(setOperations.isMember(eq("presence:online"), any(Object[].class))).thenAnswer(inv -> {
+            Map<Object, Boolean> result = new HashMap<>();
+            for (Object id : (Object[]) inv.getArgument(1))
+                result.put(id, id.equals("42"));
+            return result;
+        });
+
+        assertEquals(Set.of(42L), presenceService.filterOnline(userIds));
+        verify(setOperations, times(50)).isMember(eq("presence:online"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Sweep runs chunk by chunk until a short chunk")
+    void sweepInChunks() {
+        List<String> fullChunk = Collections.nCopies(1000, "1");
+        doReturn(fullChunk).doReturn(List.of("2", "3"))
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), anyString(), eq("1000"));
+
+        assertEquals(1002, presenceService.sweep());
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyString(), eq("1000"));
+    }
+
+    @Test
+    @DisplayName("Presence reads degrade to offline when Redis is down")
+    void redisDown() {
+        when(setOperations.isMember("presence:online", "7")).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertFalse(presenceService.isOnline(7L));
+    }
+}
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Collections;
@@ -45,6 +46,7 @@ public class ProfileServiceImplTest {
     @Mock private FollowRepository followRepository;
     @Mock private JwtTokenProvider jwtTokenProvider;
     @Mock private S3Service s3Service;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     private User user;
     private Profile profile;
@@ -87,6 +89,7 @@ public class ProfileServiceImplTest {
 
             assertThat(profile.getNickname()).isEqualTo("newNick");
             verify(profileRepository).save(profile);
+            verify(eventPublisher).publishEvent(new ProfileUpdatedEvent(1L));
         }
 
         @Test
@@ -120,6 +123,7 @@ public class ProfileServiceImplTest {
 
             assertThat(response.getUsername()).isEqualTo("john_new");
             assertThat(response.getToken()).isEqualTo("token123");
+            verify(eventPublisher).publishEvent(new ProfileUpdatedEvent(1L));
         }
 
         @Test
@@ -151,6 +155,7 @@ public class ProfileServiceImplTest {
             profileService.updateBio("john", dto);
 
             assertThat(profile.getBio()).isEqualTo("updated bio");
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -189,6 +194,7 @@ public class ProfileServiceImplTest {
             assertThat(profile.getImagePositionX()).isEqualTo(0.1);
             assertThat(profile.getImagePositionY()).isEqualTo(0.2);
             verify(profileRepository).save(profile);
+            verify(eventPublisher).publishEvent(new ProfileUpdatedEvent(1L));
         }
 
         @Test
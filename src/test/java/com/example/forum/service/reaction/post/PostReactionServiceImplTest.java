@@ -0,0 +1,131 @@
+package com.example.forum.service.reaction.post;
+
+import com.example.forum.model.like.PostReaction;
+import com.example.forum.model.like.ReactionType;
+import com.example.forum.model.post.Post;
+import com.example.forum.model.user.User;
+import com.example.forum.repository.like.PostReactionRepository;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.service.notification.NotificationHelper;
+import com.example.forum.service.trending.engine.TrendingEngine;
+import com.example.forum.service.trending.engine.TrendingSignal;
+import com.example.forum.validator.auth.AuthValidator;
+import com.example.forum.validator.post.PostValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PostReactionServiceImpl.
+ * - Focuses on the like_count delta applied for every reaction transition.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostReactionServiceImpl")
+class PostReactionServiceImplTest {
+
+    @InjectMocks
+    private PostReactionServiceImpl service;
+
+    @Mock private AuthValidator userValidator;
+    @Mock private PostValidator postValidator;
+    @Mock private PostReactionRepository postReactionRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private NotificationHelper notificationHelper;
+    @Mock private TrendingEngine trendingEngine;
+
+    private final Long postId = 1L;
+    private final String username = "alice";
+
+    private User user;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        user = mock(User.class);
+        post = mock(Post.class);
+        lenient().when(post.getId()).thenReturn(postId);
+
+        when(userValidator.validateUserByUsername(username)).thenReturn(user);
+        when(postValidator.validatePostReference(postId)).thenReturn(post);
+    }
+
+    private PostReaction existing(ReactionType type) {
+        PostReaction reaction = new PostReaction();
+        reaction.setPost(post);
+        reaction.setUser(user);
+        reaction.setReactionType(type);
+        when(postReactionRepository.findByPostAndUser(post, user)).thenReturn(Optional.of(reaction));
+        return reaction;
+    }
+
+    @Nested
+    @DisplayName("toggleReaction")
+    class ToggleReaction {
+
+        @Test
+        @DisplayName("New LIKE increments like_count")
+        void newLike_increments() {
+            when(postReactionRepository.findByPostAndUser(post, user)).thenReturn(Optional.empty());
+
+            service.toggleReaction(postId, username, ReactionType.LIKE);
+
+            verify(postReactionRepository).save(any(PostReaction.class));
+            verify(postRepository).addLikeCount(postId, 1);
+            verify(trendingEngine).record(postId, TrendingSignal.LIKE, 1);
+        }
+
+        @Test
+        @DisplayName("New DISLIKE leaves like_count untouched")
+        void newDislike_noDelta() {
+            when(postReactionRepository.findByPostAndUser(post, user)).thenReturn(Optional.empty());
+
+            service.toggleReaction(postId, username, ReactionType.DISLIKE);
+
+            verify(postRepository, never()).addLikeCount(any(), anyInt());
+            verifyNoInteractions(trendingEngine);
+        }
+
+        @Test
+        @DisplayName("Toggling an existing LIKE off decrements like_count")
+        void likeRemoved_decrements() {
+            PostReaction reaction = existing(ReactionType.LIKE);
+
+            service.toggleReaction(postId, username, ReactionType.LIKE);
+
+            verify(postReactionRepository).delete(reaction);
+            verify(postRepository).addLikeCount(postId, -1);
+            verify(trendingEngine).record(postId, TrendingSignal.LIKE, -1);
+        }
+
+        @Test
+        @DisplayName("Switching LIKE to DISLIKE decrements like_count")
+        void likeToDislike_decrements() {
+            existing(ReactionType.LIKE);
+
+            service.toggleReaction(postId, username, ReactionType.DISLIKE);
+
+            verify(postRepository).addLikeCount(postId, -1);
+        }
+
+        @Test
+        @DisplayName("Switching DISLIKE to LIKE increments like_count")
+        void dislikeToLike_increments() {
+            existing(ReactionType.DISLIKE);
+
+            service.toggleReaction(postId, username, ReactionType.LIKE);
+
+            verify(postRepository).addLikeCount(postId, 1);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.forum.service.search;
+
+import com.example.forum.service.search.SearchFanOut.Section;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchFanOut.
+ * - Uses a real two-thread pool and a short deadline; slow sections block on a latch instead of sleeping.
+ */
+@DisplayName("SearchFanOut")
+class SearchFanOutTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SearchFanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        fanOut = new SearchFanOut(meterRegistry);
+        ReflectionTestUtils.setField(fanOut, "deadline", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(fanOut, "poolSize", 2);
+        ReflectionTestUtils.setField(fanOut, "queueCapacity", 1);
+        fanOut.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        fanOut.stop();
+    }
+
+    private List<String> blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of("late");
+    }
+
+    @Test
+    @DisplayName("Returns fast sections and flags the slow one as timed out")
+    void partialResults() {
+        long deadline = fanOut.deadlineFromNow();
+
+        CompletableFuture<List<String>> fast = fanOut.submit("posts", () -> List.of("a", "b"));
+        CompletableFuture<List<String>> slow = fanOut.submit("users", this::blockUntilReleased);
+
+        Section<List<String>> fastSection = fanOut.await("posts", fast, deadline, List.of());
+        Section<List<String>> slowSection = fanOut.await("users", slow, deadline, List.of());
+
+        assertEquals(List.of("a", "b"), fastSection.value());
+        assertFalse(fastSection.timedOut());
+        assertEquals(List.of(), slowSection.value());
+        assertTrue(slowSection.timedOut());
+
+        assertEquals(1.0, meterRegistry.get("search.source.timeouts").tag("source", "users").counter().count());
+        assertEquals(1, meterRegistry.get("search.source.latency").tag("source", "posts").timer().count());
+    }
+
+    @Test
+    @DisplayName("A saturated pool degrades to a timed-out section instead of failing the request")
+    void saturatedPool() {
+        long deadline = fanOut.deadlineFromNow();
+
+        // Two workers busy, one queued: the fourth task is rejected
+        fanOut.submit("a", this::blockUntilReleased);
+        fanOut.submit("b", this::blockUntilReleased);
+        fanOut.submit("c", this::blockUntilReleased);
+        CompletableFuture<List<String>> rejected = fanOut.submit("communities", () -> List.of("x"));
+
+        Section<List<String>> section = fanOut.await("communities", rejected, deadline, List.of());
+
+        assertTrue(section.timedOut());
+        assertEquals(List.of(), section.value());
+    }
+
+    @Test
+    @DisplayName("Exceptions thrown by a section propagate unchanged")
+    void exceptionsPropagate() {
+        long deadline = fanOut.deadlineFromNow();
+        CompletableFuture<List<String>> failing = fanOut.submit("posts", () -> {
+            throw new IllegalArgumentException("bad keyword");
+        });
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> fanOut.await("posts", failing, deadline, List.of()));
+        assertEquals("bad keyword", e.getMessage());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.forum.service.search.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InvertedIndex and SearchTokenizer.
+ * - Plain objects, no Spring context or mocks.
+ */
+@DisplayName("InvertedIndex")
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    private void add(long id, String title, String body) {
+        index.upsert(id, new IndexedFields().add(title, 3).add(body, 1).terms());
+    }
+
+    @Nested
+    @DisplayName("Ranking")
+    class Ranking {
+
+        @Test
+        @DisplayName("Title hits outrank body hits")
+        void titleOutranksBody() {
+            add(1L, "cooking tips", "spring is a nice season");
+            add(2L, "spring boot guide", "how to start");
+            add(3L, "unrelated", "nothing here");
+
+            SearchHits hits = index.search("spring", 0, 10);
+
+            assertEquals(2, hits.total());
+            assertEquals(List.of(2L, 1L), hits.ids());
+        }
+
+        @Test
+        @DisplayName("Rare terms weigh more than common ones")
+        void idfWeighting() {
+            add(1L, "java", "common");
+            add(2L, "java kotlin", "common");
+            add(3L, "java", "common");
+
+            assertEquals(2L, index.search("java kotlin", 0, 10).ids().get(0));
+        }
+
+        @Test
+        @DisplayName("The last query term also matches as a prefix")
+        void prefixOnLastTerm() {
+            add(1L, "spring boot", "");
+            add(2L, "springfield news", "");
+
+            assertEquals(2, index.search("spr", 0, 10).total());
+            // Exact match ranks above the prefix expansion
+            assertEquals(List.of(1L, 2L), index.search("spring", 0, 10).ids());
+        }
+
+        @Test
+        @DisplayName("Blank or punctuation-only queries return nothing")
+        void blankQuery() {
+            add(1L, "spring", "");
+
+            assertSame(SearchHits.EMPTY, index.search("  ", 0, 10));
+            assertSame(SearchHits.EMPTY, index.search("?!", 0, 10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Maintenance")
+    class Maintenance {
+
+        @Test
+        @DisplayName("Upsert replaces the previous terms of a document")
+        void upsertReplaces() {
+            add(1L, "old title", "");
+            add(1L, "new title", "");
+
+            assertTrue(index.search("old", 0, 10).ids().isEmpty());
+            assertEquals(List.of(1L), index.search("new", 0, 10).ids());
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        @DisplayName("Removed documents no longer match and release their memory")
+        void removeReleasesMemory() {
+            add(1L, "spring boot", "body text");
+            assertTrue(index.estimatedBytes() > 0);
+
+            index.remove(1L);
+
+            assertTrue(index.search("spring", 0, 10).ids().isEmpty());
+            assertEquals(0, index.estimatedBytes());
+        }
+
+        @Test
+        @DisplayName("Pages through results with a stable total")
+        void pagination() {
+            LongStream.rangeClosed(1, 12).forEach(id -> add(id, "spring", ""));
+
+            SearchHits first = index.search("spring", 0, 5);
+            SearchHits third = index.search("spring", 10, 5);
+
+            assertEquals(12, first.total());
+            // Equal scores fall back to newest id first
+            assertEquals(List.of(12L, 11L, 10L, 9L, 8L), first.ids());
+            assertEquals(List.of(2L, 1L), third.ids());
+            assertTrue(index.search("spring", 20, 5).ids().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Pages past the last hit are empty, even at the int limit")
+        void deepPages() {
+            LongStream.rangeClosed(1, 3).forEach(id -> add(id, "spring", ""));
+
+            assertTrue(index.search("spring", Integer.MAX_VALUE, 50).ids().isEmpty());
+            assertTrue(index.search("spring", -50, 50).ids().isEmpty());
+            assertEquals(List.of(1L), index.search("spring", 2, Integer.MAX_VALUE).ids());
+        }
+    }
+
+    @Nested
+    @DisplayName("SearchTokenizer")
+    class Tokenizer {
+
+        @Test
+        @DisplayName("Lower-cases and splits on punctuation, keeping Hangul words")
+        void splitsWords() {
+            assertEquals(List.of("spring", "boot", "3", "2", "스프링", "부트"),
+                    SearchTokenizer.tokenize("Spring-Boot 3.2, 스프링 부트!"));
+        }
+    }
+}
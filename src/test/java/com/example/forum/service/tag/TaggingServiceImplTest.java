@@ -0,0 +1,140 @@
+package com.example.forum.service.tag;
+
+import com.example.forum.model.post.Post;
+import com.example.forum.model.post.PostTag;
+import com.example.forum.model.post.Visibility;
+import com.example.forum.model.tag.Tag;
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.repository.post.PostTagRepository;
+import com.example.forum.repository.tag.TagRepository;
+import com.example.forum.repository.tag.TagUsageDailyRepository;
+import com.example.forum.service.tag.suggest.TagSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaggingServiceImpl.
+ * - Focuses on the usage counters: only the add/remove diff of an edit moves usage_count,
+ *   the post's daily bucket and the autocomplete index.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaggingServiceImpl")
+class TaggingServiceImplTest {
+
+    private static final Long POST_ID = 1L;
+    private static final LocalDate POST_DAY = LocalDate.of(2024, 5, 3);
+
+    @Mock TagRepository tagRepository;
+    @Mock PostTagRepository postTagRepository;
+    @Mock PostRepository postRepository;
+    @Mock TagUsageDailyRepository tagUsageDailyRepository;
+    @Mock TagSuggestIndex tagSuggestIndex;
+
+    @InjectMocks TaggingServiceImpl service;
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        post = mock(Post.class);
+        lenient().when(post.getVisibility()).thenReturn(Visibility.PUBLIC);
+        lenient().when(post.getCreatedAt()).thenReturn(Instant.parse("2024-05-03T23:30:00Z"));
+        lenient().when(postRepository.getReferenceById(POST_ID)).thenReturn(post);
+    }
+
+    private static Tag tag(long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+
+    private static PostTag attached(Tag tag) {
+        PostTag pt = new PostTag();
+        pt.setTag(tag);
+        return pt;
+    }
+
+    @Test
+    @DisplayName("setTagsForPost counts only the tags that were actually added or removed")
+    void setTagsAppliesDiff() {
+        Tag java = tag(1L, "java");
+        Tag spring = tag(2L, "spring");
+        Tag jpa = tag(3L, "jpa");
+
+        when(tagRepository.findByNameIn(anyCollection())).thenReturn(List.of(java, jpa));
+        when(postTagRepository.findByPostIdWithTag(POST_ID)).thenReturn(List.of(attached(java), attached(spring)));
+
+        service.setTagsForPost(POST_ID, List.of("Java", "JPA"));
+
+        verify(tagRepository).addUsageCount(List.of(2L), -1);
+        verify(tagRepository).addUsageCount(List.of(3L), 1);
+        verify(tagUsageDailyRepository).addUses(2L, POST_DAY, -1);
+        verify(tagUsageDailyRepository).addUses(3L, POST_DAY, 1);
+        verify(tagUsageDailyRepository, never()).addUses(eq(1L), any(), anyInt());
+        verify(tagSuggestIndex).adjustUsage(List.of("spring"), -1);
+        verify(tagSuggestIndex).adjustUsage(List.of("jpa"), 1);
+    }
+
+    @Test
+    @DisplayName("removeTagsFromPost ignores tags the post does not carry")
+    void removeOnlyAttached() {
+        Tag java = tag(1L, "java");
+        when(postTagRepository.findByPostIdWithTag(POST_ID)).thenReturn(List.of(attached(java)));
+
+        service.removeTagsFromPost(POST_ID, List.of("java", "kotlin"));
+
+        verify(postTagRepository).deleteByPostIdAndTagIdIn(POST_ID, List.of(1L));
+        verify(tagRepository).addUsageCount(List.of(1L), -1);
+        verify(tagUsageDailyRepository).addUses(1L, POST_DAY, -1);
+    }
+
+    @Test
+    @DisplayName("releaseTagUsage decrements every tag of a deleted post")
+    void releaseOnDelete() {
+        when(postTagRepository.findByPostIdWithTag(POST_ID))
+                .thenReturn(List.of(attached(tag(1L, "java")), attached(tag(2L, "spring"))));
+
+        service.releaseTagUsage(POST_ID);
+
+        verify(tagRepository).addUsageCount(List.of(1L, 2L), -1);
+        verify(tagSuggestIndex).adjustUsage(List.of("java", "spring"), -1);
+    }
+
+    @Test
+    @DisplayName("An edit without changes touches no counters")
+    void noDiffNoWrites() {
+        Tag java = tag(1L, "java");
+        when(tagRepository.findByNameIn(anyCollection())).thenReturn(List.of(java));
+        when(postTagRepository.findByPostIdWithTag(POST_ID)).thenReturn(List.of(attached(java)));
+
+        service.setTagsForPost(POST_ID, List.of("java"));
+
+        verify(tagRepository, never()).addUsageCount(any(Collection.class), anyInt());
+        verifyNoInteractions(tagUsageDailyRepository);
+    }
+
+    @Test
+    @DisplayName("topTags reads the usage_count index")
+    void topTagsFromCounter() {
+        when(tagRepository.findTopNames(any(Pageable.class))).thenReturn(List.of("java", "spring"));
+
+        assertEquals(List.of("java", "spring"), service.topTags(2));
+        verifyNoInteractions(postTagRepository);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.forum.service.tag.suggest;
+
+import com.example.forum.repository.tag.TagRepository;
+import com.example.forum.repository.tag.TagUsageRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TagSuggestIndex.
+ * - The repository is mocked; usage rows are Mockito projections.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TagSuggestIndex")
+class TagSuggestIndexTest {
+
+    @Mock TagRepository tagRepository;
+
+    @InjectMocks TagSuggestIndex index;
+
+    private static TagUsageRow row(String name, long uses) {
+        TagUsageRow row = mock(TagUsageRow.class);
+        when(row.getName()).thenReturn(name);
+        when(row.getUses()).thenReturn(uses);
+        return row;
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<TagUsageRow> rows = List.of(
+                row("java", 40),
+                row("javascript", 90),
+                row("jakarta", 5),
+                row("jpa", 12),
+                row("kotlin", 30));
+        when(tagRepository.findAllUsage()).thenReturn(rows);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Returns only names within the prefix range, most used first")
+    void topByPopularity() {
+        assertEquals(List.of("javascript", "java", "jakarta"), index.suggest("ja", 10));
+        assertEquals(List.of("javascript", "java"), index.suggest("ja", 2));
+        assertEquals(List.of("kotlin"), index.suggest("k", 10));
+        assertTrue(index.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Equal usage falls back to alphabetical order")
+    void tiesByName() {
+        index.addTags(List.of("jav-b", "jav-a"));
+
+        assertEquals(List.of("jav-a", "jav-b"), index.suggest("jav-", 10));
+    }
+
+    @Test
+    @DisplayName("Newly created tags are suggestible immediately outside a transaction")
+    void addTags() {
+        index.addTags(List.of("jooq", "java"));
+
+        assertEquals(6, index.size());
+        assertEquals(List.of("jooq"), index.suggest("jo", 10));
+    }
+
+    @Test
+    @DisplayName("Usage deltas reorder suggestions and never go below zero")
+    void adjustUsage() {
+        index.adjustUsage(List.of("jakarta"), 100);
+        assertEquals("jakarta", index.suggest("ja", 1).get(0));
+
+        index.adjustUsage(List.of("jpa"), -50);
+        index.adjustUsage(List.of("jakarta"), -200);
+        assertEquals(List.of("javascript", "java", "jakarta"), index.suggest("ja", 3));
+    }
+
+    @Test
+    @DisplayName("Inside a transaction, changes apply on commit and are dropped on rollback")
+    void deferredUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.addTags(List.of("jooq"));
+            index.adjustUsage(List.of("jakarta"), 100);
+            assertTrue(index.suggest("jo", 10).isEmpty());
+            assertEquals("javascript", index.suggest("ja", 1).get(0));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("jooq"), index.suggest("jo", 10));
+        assertEquals("jakarta", index.suggest("ja", 1).get(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.addTags(List.of("julia"));
+        } finally {
+            // Rolled back: afterCommit never runs
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(index.suggest("ju", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Rebuild replaces the previous contents")
+    void rebuildReplaces() {
+        List<TagUsageRow> rows = List.of(row("rust", 1));
+        when(tagRepository.findAllUsage()).thenReturn(rows);
+
+        index.rebuild();
+
+        assertEquals(1, index.size());
+        assertTrue(index.suggest("ja", 10).isEmpty());
+        assertEquals(List.of("rust"), index.suggest("r", 10));
+    }
+}
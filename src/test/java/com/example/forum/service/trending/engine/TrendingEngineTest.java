@@ -0,0 +1,247 @@
+package com.example.forum.service.trending.engine;
+
+import com.example.forum.repository.post.PostRepository;
+import com.example.forum.repository.post.TrendingActivityRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TrendingEngine.
+ * - Uses the package-private clock-taking entry points so decay is deterministic.
+ * - Weights: like=3, comment=5, view=1; every window uses a one hour half-life.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingEngine")
+class TrendingEngineTest {
+
+    private static final long NOW = Instant.parse("2025-01-10T12:00:00Z").toEpochMilli();
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @InjectMocks
+    private TrendingEngine engine;
+
+    @Mock private PostRepository postRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(engine, "likeWeight", 3.0);
+        ReflectionTestUtils.setField(engine, "commentWeight", 5.0);
+        ReflectionTestUtils.setField(engine, "viewWeight", 1.0);
+        ReflectionTestUtils.setField(engine, "hourHalfLife", Duration.ofHours(1));
+        ReflectionTestUtils.setField(engine, "dayHalfLife", Duration.ofHours(1));
+        ReflectionTestUtils.setField(engine, "weekHalfLife", Duration.ofHours(1));
+        ReflectionTestUtils.setField(engine, "monthHalfLife", Duration.ofHours(1));
+        ReflectionTestUtils.setField(engine, "snapshotSize", 10);
+    }
+
+    private void register(long postId, long ageMillis) {
+        engine.registerPost(postId, Instant.ofEpochMilli(NOW - ageMillis));
+    }
+
+    private static TrendingActivityRow row(long postId, long ageSeconds) {
+        TrendingActivityRow row = mock(TrendingActivityRow.class);
+        when(row.getPostId()).thenReturn(postId);
+        when(row.getAgeSeconds()).thenReturn(ageSeconds);
+        return row;
+    }
+
+    @Nested
+    @DisplayName("Scoring")
+    class Scoring {
+
+        @Test
+        @DisplayName("Ranks by weighted signals")
+        void weightedSignals() {
+            register(1L, 0);
+            register(2L, 0);
+            register(3L, 0);
+
+            engine.recordAt(1L, TrendingSignal.LIKE, 1, NOW, NOW);      // 3
+            engine.recordAt(2L, TrendingSignal.COMMENT, 1, NOW, NOW);   // 5
+            engine.recordAt(3L, TrendingSignal.VIEW, 4, NOW, NOW);      // 4
+            engine.publishSnapshot(NOW);
+
+            assertEquals(List.of(2L, 3L, 1L), engine.top(TrendingWindow.HOUR, 10));
+        }
+
+        @Test
+        @DisplayName("Older activity counts half per elapsed half-life")
+        void decaysOverTime() {
+            register(1L, 0);
+            register(2L, 0);
+
+            // Two likes one hour ago (6 -> 3) lose to one comment now (5)
+            engine.recordAt(1L, TrendingSignal.LIKE, 2, NOW - HOUR, NOW);
+            engine.recordAt(2L, TrendingSignal.COMMENT, 1, NOW, NOW);
+            engine.publishSnapshot(NOW);
+
+            assertEquals(List.of(2L, 1L), engine.top(TrendingWindow.DAY, 10));
+        }
+
+        @Test
+        @DisplayName("Out-of-order replay produces the same score as in-order ingest")
+        void orderIndependent() {
+            register(1L, 0);
+            register(2L, 0);
+
+            engine.recordAt(1L, TrendingSignal.LIKE, 1, NOW - HOUR, NOW);
+            engine.recordAt(1L, TrendingSignal.LIKE, 1, NOW, NOW);
+            engine.recordAt(2L, TrendingSignal.LIKE, 1, NOW, NOW);
+            engine.recordAt(2L, TrendingSignal.LIKE, 1, NOW - HOUR, NOW);
+            // Tie breaks on the higher id, so equal scores show up as [2, 1]
+            engine.publishSnapshot(NOW);
+
+            assertEquals(List.of(2L, 1L), engine.top(TrendingWindow.DAY, 10));
+        }
+
+        @Test
+        @DisplayName("Removing activity never drives a score below zero")
+        void negativeDeltaClamped() {
+            register(1L, 0);
+
+            engine.recordAt(1L, TrendingSignal.COMMENT, 1, NOW, NOW);
+            engine.recordAt(1L, TrendingSignal.COMMENT, -3, NOW, NOW);
+            engine.publishSnapshot(NOW);
+
+            assertTrue(engine.top(TrendingWindow.DAY, 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Activity on untracked posts is ignored")
+        void unregisteredIgnored() {
+            engine.recordAt(99L, TrendingSignal.COMMENT, 1, NOW, NOW);
+            engine.publishSnapshot(NOW);
+
+            assertTrue(engine.top(TrendingWindow.MONTH, 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Inside a transaction, changes apply only once it commits")
+        void deferredUntilCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                engine.registerPost(1L, Instant.now());
+                engine.record(1L, TrendingSignal.LIKE, 1);
+                engine.publishSnapshot(System.currentTimeMillis());
+                assertTrue(engine.top(TrendingWindow.HOUR, 10).isEmpty());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            engine.publishSnapshot(System.currentTimeMillis());
+            assertEquals(List.of(1L), engine.top(TrendingWindow.HOUR, 10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Windows and snapshots")
+    class Windows {
+
+        @Test
+        @DisplayName("A post only ranks in windows longer than its age")
+        void eligibilityByPostAge() {
+            register(1L, Duration.ofDays(2).toMillis());
+            engine.recordAt(1L, TrendingSignal.LIKE, 1, NOW, NOW);
+            engine.publishSnapshot(NOW);
+
+            assertTrue(engine.top(TrendingWindow.HOUR, 10).isEmpty());
+            assertTrue(engine.top(TrendingWindow.DAY, 10).isEmpty());
+            assertEquals(List.of(1L), engine.top(TrendingWindow.WEEK, 10));
+            assertEquals(List.of(1L), engine.top(TrendingWindow.MONTH, 10));
+        }
+
+        @Test
+        @DisplayName("Posts age out of a window at the next snapshot")
+        void agesOut() {
+            register(1L, 0);
+            engine.recordAt(1L, TrendingSignal.LIKE, 1, NOW, NOW);
+            engine.publishSnapshot(NOW);
+            assertEquals(List.of(1L), engine.top(TrendingWindow.HOUR, 10));
+
+            engine.publishSnapshot(NOW + 2 * HOUR);
+
+            assertTrue(engine.top(TrendingWindow.HOUR, 10).isEmpty());
+            assertEquals(List.of(1L), engine.top(TrendingWindow.DAY, 10));
+        }
+
+        @Test
+        @DisplayName("Removed posts disappear from the next snapshot")
+        void removePost() {
+            register(1L, 0);
+            register(2L, 0);
+            engine.recordAt(1L, TrendingSignal.LIKE, 1, NOW, NOW);
+            engine.recordAt(2L, TrendingSignal.LIKE, 1, NOW, NOW);
+
+            engine.removePost(1L);
+            engine.publishSnapshot(NOW);
+
+            assertEquals(List.of(2L), engine.top(TrendingWindow.DAY, 10));
+        }
+
+        @Test
+        @DisplayName("Snapshot keeps at most snapshot-size ids and top() trims to the limit")
+        void boundedSnapshot() {
+            for (long id = 1; id <= 15; id++) {
+                register(id, 0);
+                engine.recordAt(id, TrendingSignal.VIEW, (int) id, NOW, NOW);
+            }
+            engine.publishSnapshot(NOW);
+
+            assertEquals(10, engine.top(TrendingWindow.DAY, 50).size());
+            assertEquals(List.of(15L, 14L, 13L), engine.top(TrendingWindow.DAY, 3));
+        }
+
+        @Test
+        @DisplayName("Nothing is ranked before the first snapshot")
+        void emptyBeforeSnapshot() {
+            register(1L, 0);
+            engine.recordAt(1L, TrendingSignal.LIKE, 1, NOW, NOW);
+
+            assertTrue(engine.top(TrendingWindow.DAY, 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("rebuild")
+    class Rebuild {
+
+        @Test
+        @DisplayName("Replays candidates, likes and comments from the database and publishes a snapshot")
+        void replaysFromDatabase() {
+            long monthSeconds = TrendingWindow.MONTH.length().toSeconds();
+
+            List<TrendingActivityRow> candidates = List.of(row(1L, 60), row(2L, 120));
+            List<TrendingActivityRow> likes = List.of(row(1L, 30), row(1L, 10));
+            List<TrendingActivityRow> comments = List.of(row(2L, 30), row(3L, 30)); // 3 is not a candidate
+
+            when(postRepository.findTrendingCandidates(monthSeconds)).thenReturn(candidates);
+            when(postRepository.findRecentTrendingLikes(monthSeconds)).thenReturn(likes);
+            when(postRepository.findRecentTrendingComments(monthSeconds)).thenReturn(comments);
+
+            engine.rebuild();
+
+            // Two likes (~6) beat one comment (~5); post 3 was never tracked
+            assertEquals(List.of(1L, 2L), engine.top(TrendingWindow.HOUR, 10));
+            assertEquals(List.of(1L, 2L), engine.top(TrendingWindow.MONTH, 10));
+        }
+    }
+}
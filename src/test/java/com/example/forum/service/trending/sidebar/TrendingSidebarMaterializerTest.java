@@ -0,0 +1,136 @@
+package com.example.forum.service.trending.sidebar;
+
+import com.example.forum.model.community.Community;
+import com.example.forum.repository.community.CommunityRepository;
+import com.example.forum.repository.tag.TagUsageDailyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TrendingSidebarMaterializer.
+ * - The node holding the Redis lock computes and mirrors; the others adopt the mirror.
+ * - Redis failures fall back to a local computation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingSidebarMaterializer")
+class TrendingSidebarMaterializerTest {
+
+    @Mock private CommunityRepository communityRepository;
+    @Mock private TagUsageDailyRepository tagUsageDailyRepository;
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TrendingSidebarMaterializer materializer;
+
+    @BeforeEach
+    void setUp() {
+        materializer = new TrendingSidebarMaterializer(
+                communityRepository, tagUsageDailyRepository, redisTemplate, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(materializer, "refreshInterval", Duration.ofMinutes(5));
+        materializer.registerMetrics();
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private void stubAggregates() {
+        Community community = new Community();
+        community.setId(1L);
+        community.setName("java");
+
+        when(communityRepository.findTrendingCommunities(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(community));
+        when(tagUsageDailyRepository.findTopTagNamesSince(any(LocalDate.class), anyInt()))
+                .thenReturn(List.of("spring", "jpa"));
+    }
+
+    @Test
+    @DisplayName("Lock holder computes the snapshot and mirrors it to Redis")
+    void leaderComputesAndMirrors() {
+        when(valueOperations.setIfAbsent(eq(TrendingSidebarMaterializer.LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        stubAggregates();
+
+        materializer.refresh();
+
+        TrendingSidebarSnapshot snapshot = materializer.current();
+        assertEquals(1, snapshot.communities().size());
+        assertEquals("java", snapshot.communities().get(0).name());
+        assertEquals(List.of("spring", "jpa"), snapshot.hotTags());
+
+        verify(valueOperations).set(eq(TrendingSidebarMaterializer.SNAPSHOT_KEY), anyString(), eq(Duration.ofMinutes(15)));
+        assertEquals(1, meterRegistry.get("trending.sidebar.refresh").timer().count());
+    }
+
+    @Test
+    @DisplayName("Other nodes adopt the mirrored snapshot without querying the database")
+    void followerAdoptsMirror() throws Exception {
+        TrendingSidebarSnapshot mirrored = new TrendingSidebarSnapshot(
+                List.of(new TrendingSidebarSnapshot.CommunityEntry(7L, "kotlin", "img.png", 0.5, 0.5)),
+                List.of("coroutines"),
+                System.currentTimeMillis());
+
+        when(valueOperations.setIfAbsent(eq(TrendingSidebarMaterializer.LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get(TrendingSidebarMaterializer.SNAPSHOT_KEY))
+                .thenReturn(objectMapper.writeValueAsString(mirrored));
+
+        materializer.refresh();
+
+        assertEquals(mirrored, materializer.current());
+        verifyNoInteractions(communityRepository, tagUsageDailyRepository);
+    }
+
+    @Test
+    @DisplayName("Falls back to a local computation when Redis is down")
+    void redisDown_computesLocally() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        stubAggregates();
+
+        materializer.refresh();
+
+        assertEquals(List.of("spring", "jpa"), materializer.current().hotTags());
+    }
+
+    @Test
+    @DisplayName("Staleness gauge reports the snapshot age")
+    void stalenessGauge() {
+        assertTrue(Double.isNaN(meterRegistry.get("trending.sidebar.staleness").gauge().value()));
+
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        stubAggregates();
+        materializer.refresh();
+
+        double staleness = meterRegistry.get("trending.sidebar.staleness").gauge().value();
+        assertTrue(staleness >= 0 && staleness < 60);
+    }
+}
@@ -3,12 +3,14 @@ package com.example.forum.validator.auth;
 import com.example.forum.exception.auth.*;
 import com.example.forum.model.user.User;
 import com.example.forum.repository.user.UserRepository;
+import com.example.forum.security.CurrentUserContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -22,6 +24,7 @@ class AuthValidatorTest {
 
     @Mock private UserRepository userRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Spy private CurrentUserContext currentUserContext = new CurrentUserContext();
 
     @InjectMocks private AuthValidator authValidator;
 